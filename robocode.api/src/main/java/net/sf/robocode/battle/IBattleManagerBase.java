@@ -8,9 +8,12 @@
 package net.sf.robocode.battle;
 
 
+import robocode.BattleResults;
 import robocode.control.BattleSpecification;
 import robocode.control.events.IBattleListener;
 
+import java.util.concurrent.Future;
+
 
 /**
  * @author Pavel Savara (original)
@@ -27,4 +30,8 @@ public interface IBattleManagerBase {
 	void startNewBattle(BattleSpecification spec, String initialPositions, boolean waitTillOver, boolean enableRecording);
 
 	void takeScreenshot();
+
+	Future<BattleResults[]> submitBattle(BattleSpecification spec, String initialPositions, IBattleListener listener);
+
+	void setBattlePoolSize(int size);
 }
@@ -246,6 +246,16 @@ public class FileUtil {
 		return new File(getRobotsDir(), "/robot.database");
 	}
 
+	/**
+	 * Returns the file with the cached analysis of robot classes.
+	 *
+	 * @return a File that contains the analysis of robot classes.
+	 * @since 1.9.5.4
+	 */
+	public static File getRobotAnalysisFile() {
+		return new File(getRobotsDir(), "/robot.analysis");
+	}
+
 	/**
 	 * Returns the directory containing data files of robots.
 	 *
@@ -15,6 +15,7 @@ import robocode.BattleRules;
 import robocode.Bullet;
 import robocode.Event;
 import robocode.RobotStatus;
+import robocode.control.RandomFactory;
 import robocode.control.RobotSpecification;
 import robocode.control.events.IBattleListener;
 import robocode.robotinterfaces.IBasicRobot;
@@ -31,6 +32,7 @@ import java.net.URLClassLoader;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Random;
 
 
 /**
@@ -44,6 +46,7 @@ public class HiddenAccess {
 	private static IHiddenSpecificationHelper specificationHelper;
 	private static IHiddenStatusHelper statusHelper;
 	private static IHiddenRulesHelper rulesHelper;
+	private static IHiddenRandomHelper randomHelper;
 	private static Method initContainer;
 	private static Method initContainerRe;
 	private static Method cleanup;
@@ -83,6 +86,11 @@ public class HiddenAccess {
 			rulesHelper = (IHiddenRulesHelper) method.invoke(null);
 			method.setAccessible(false);
 
+			method = RandomFactory.class.getDeclaredMethod("createHiddenHelper");
+			method.setAccessible(true);
+			randomHelper = (IHiddenRandomHelper) method.invoke(null);
+			method.setAccessible(false);
+
 			ClassLoader loader = getClassLoader();
 			Class<?> main = loader.loadClass("net.sf.robocode.core.RobocodeMainBase");
 
@@ -241,6 +249,10 @@ public class HiddenAccess {
 				hideEnemyNames, sentryBorderSize);
 	}
 
+	public static void setThreadRandom(Random random) {
+		randomHelper.setThreadRandom(random);
+	}
+
 	public static boolean isSafeThread() {
 		final IThreadManagerBase threadManager = ContainerBase.getComponent(IThreadManagerBase.class);
 
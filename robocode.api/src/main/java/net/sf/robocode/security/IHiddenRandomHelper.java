@@ -0,0 +1,19 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.security;
+
+
+import java.util.Random;
+
+
+/**
+ * Helper for setting the random number generator returned to robot threads.
+ */
+public interface IHiddenRandomHelper {
+	void setThreadRandom(Random random);
+}
@@ -15,6 +15,7 @@ import robocode.robotinterfaces.ITeamRobot;
 
 import java.awt.*;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 
 
 /**
@@ -60,6 +61,22 @@ public final class MessageEvent extends Event {
 		return message;
 	}
 
+	/**
+	 * Returns the message as a buffer of bytes, when it was sent with
+	 * {@link TeamRobot#sendRawMessage(String, java.nio.ByteBuffer) sendRawMessage()} or
+	 * {@link TeamRobot#broadcastRawMessage(java.nio.ByteBuffer) broadcastRawMessage()},
+	 * or is a byte array in the first place.
+	 * Each call returns a new buffer positioned at the first byte of the message.
+	 *
+	 * @return the bytes of the message, or {@code null} if the message is
+	 *         not a byte array
+	 * @see robocode.util.MessageCodecs
+	 * @since 1.9.5.4
+	 */
+	public ByteBuffer getRawMessage() {
+		return message instanceof byte[] ? ByteBuffer.wrap((byte[]) message) : null;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
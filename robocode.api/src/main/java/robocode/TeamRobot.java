@@ -14,6 +14,7 @@ import robocode.robotinterfaces.peer.ITeamRobotPeer;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Vector;
 
 
@@ -53,6 +54,15 @@ import java.util.Vector;
  */
 public class TeamRobot extends AdvancedRobot implements ITeamRobot, ITeamEvents {
 
+	/**
+	 * The maximum size of a message in bytes, which is the size of the
+	 * serialized object for {@link #sendMessage(String, Serializable)}, and
+	 * the number of bytes for {@link #sendRawMessage(String, ByteBuffer)}.
+	 *
+	 * @since 1.9.5.4
+	 */
+	public static final int MAX_MESSAGE_SIZE = 32768;
+
 	/**
 	 * Broadcasts a message to all teammates.
 	 * <p>
@@ -201,4 +211,59 @@ public class TeamRobot extends AdvancedRobot implements ITeamRobot, ITeamEvents
 			uninitializedException();
 		}
 	}
+
+	/**
+	 * Broadcasts a message of raw bytes to all teammates, which is cheaper
+	 * than broadcasting a serialized object. The remaining bytes of the
+	 * buffer are sent, and the buffer itself is not changed.
+	 * <p>
+	 * Example:
+	 * <pre>
+	 *   private final MessageCodecs codecs = new MessageCodecs();
+	 *   private final ByteBuffer buffer = ByteBuffer.allocate(MAX_MESSAGE_SIZE);
+	 *
+	 *   public void onScannedRobot(ScannedRobotEvent e) {
+	 *       buffer.clear();
+	 *       codecs.encode(new double[] { getX(), getY(), e.getBearingRadians() }, buffer);
+	 *       buffer.flip();
+	 *       broadcastRawMessage(buffer);
+	 *   }
+	 * </pre>
+	 *
+	 * @param message the bytes to broadcast to all teammates
+	 * @throws IOException if the message could not be broadcasted to the
+	 *                     teammates
+	 * @see #sendRawMessage(String, ByteBuffer)
+	 * @see MessageEvent#getRawMessage()
+	 * @see robocode.util.MessageCodecs
+	 * @since 1.9.5.4
+	 */
+	public void broadcastRawMessage(ByteBuffer message) throws IOException {
+		if (peer != null) {
+			((ITeamRobotPeer) peer).broadcastRawMessage(message);
+		} else {
+			uninitializedException();
+		}
+	}
+
+	/**
+	 * Sends a message of raw bytes to one (or more) teammates, which is
+	 * cheaper than sending a serialized object. The remaining bytes of the
+	 * buffer are sent, and the buffer itself is not changed.
+	 *
+	 * @param name	the name of the intended recipient of the message
+	 * @param message the bytes to send
+	 * @throws IOException if the message could not be sent
+	 * @see #broadcastRawMessage(ByteBuffer)
+	 * @see MessageEvent#getRawMessage()
+	 * @see robocode.util.MessageCodecs
+	 * @since 1.9.5.4
+	 */
+	public void sendRawMessage(String name, ByteBuffer message) throws IOException {
+		if (peer != null) {
+			((ITeamRobotPeer) peer).sendRawMessage(name, message);
+		} else {
+			uninitializedException();
+		}
+	}
 }
@@ -8,8 +8,11 @@
 package robocode.control;
 
 
+import robocode.BattleResults;
 import robocode.control.events.IBattleListener;
 
+import java.util.concurrent.Future;
+
 
 /**
  * Interface for the RobocodeEngine.
@@ -134,6 +137,35 @@ public interface IRobocodeEngine {
 	void runBattle(BattleSpecification battleSpecification, String initialPositions, boolean waitTillOver);
 	void runBattle(BattleSpecification battleSpecification, String initialPositions, boolean waitTillOver, boolean enableRecording);
 
+	/**
+	 * Submits the specified battle to the battle pool, which runs a number of battles in parallel,
+	 * independently of the current battle started with {@link #runBattle(BattleSpecification)}.
+	 * <p>
+	 * Each battle in the pool sends its events to the specified listener only, and not to the battle
+	 * listeners added to this engine. Battles in the pool are not recorded, and are not shown in the
+	 * Robocode window.
+	 * @param battleSpecification the specification of the battle to run including the
+	 *                     participating robots.
+	 * @param initialPositions a comma or space separated list like: x1,y1,heading1,
+	 *        x2,y2,heading2, which are the coordinates and heading of robot #1 and #2,
+	 *        or {@code null} if the robots must be placed randomly.
+	 * @param listener the listener that must receive the events of the battle, or {@code null}.
+	 * @return the future results of the battle sorted by rank. Cancelling the future aborts the battle.
+	 * @see #setBattlePoolSize(int)
+	 * @since 1.9.5.4
+	 */
+	Future<BattleResults[]> submitBattle(BattleSpecification battleSpecification, String initialPositions, IBattleListener listener);
+
+	/**
+	 * Sets the number of battles that the battle pool runs in parallel.
+	 * Defaults to the number of processors, or the BATTLEPOOL system property if set.
+	 * Battles already submitted are not affected.
+	 * @param size the number of battles to run in parallel, which must be at least 1.
+	 * @see #submitBattle(BattleSpecification, String, IBattleListener)
+	 * @since 1.9.5.4
+	 */
+	void setBattlePoolSize(int size);
+
 	/**
 	 * Will block caller until current battle is over.
 	 * @see #runBattle(robocode.control.BattleSpecification)
@@ -9,6 +9,8 @@ package robocode.control;
 
 import static net.sf.robocode.io.Logger.logWarning;
 
+import net.sf.robocode.security.IHiddenRandomHelper;
+
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.security.SecureRandom;
@@ -28,6 +30,9 @@ import java.util.Random;
 public class RandomFactory {
 	private static Random randomNumberGenerator = new SecureRandom();
 
+	// Random number generators of robots, which are set for each robot thread by the game
+	private static final ThreadLocal<Random> threadRandomNumberGenerator = new InheritableThreadLocal<>();
+
 	private static boolean warningNotSupportedLogged;
 	private static boolean isDeterministic;
 
@@ -38,11 +43,20 @@ public class RandomFactory {
 	/**
 	 * Returns the random number generator used for generating a stream of random
 	 * numbers.
+	 * <p>
+	 * When called from a robot thread, the robot gets its own stream of random
+	 * numbers from the battle, which is repeatable when the battle is started with
+	 * the -DRANDOMSEED option.
 	 *
 	 * @return a {@link java.util.Random} instance.
 	 * @see java.util.Random
 	 */
 	public static Random getRandom() {
+		final Random threadRandom = threadRandomNumberGenerator.get();
+
+		if (threadRandom != null) {
+			return threadRandom;
+		}
 		if (randomNumberGenerator == null) {
 			Field field = getRandomNumberGeneratorField();
 			if (field != null) {
@@ -160,4 +174,20 @@ public class RandomFactory {
 			warningNotSupportedLogged = true;
 		}
 	}
+
+	// this method is invisible on RobotAPI
+	static IHiddenRandomHelper createHiddenHelper() {
+		return new HiddenRandomHelper();
+	}
+
+	private static class HiddenRandomHelper implements IHiddenRandomHelper {
+
+		public void setThreadRandom(Random random) {
+			if (random == null) {
+				threadRandomNumberGenerator.remove();
+			} else {
+				threadRandomNumberGenerator.set(random);
+			}
+		}
+	}
 }
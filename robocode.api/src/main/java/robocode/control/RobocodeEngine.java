@@ -16,11 +16,13 @@ import net.sf.robocode.io.Logger;
 import net.sf.robocode.manager.IVersionManagerBase;
 import net.sf.robocode.repository.IRepositoryManagerBase;
 import net.sf.robocode.security.HiddenAccess;
+import robocode.BattleResults;
 import robocode.control.events.*;
 
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
 
 
 /**
@@ -264,6 +266,21 @@ public class RobocodeEngine implements IRobocodeEngine {
 				waitTillOver, enableRecording);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	public Future<BattleResults[]> submitBattle(BattleSpecification battleSpecification, String initialPositions, IBattleListener listener) {
+		return ContainerBase.getComponent(IBattleManagerBase.class).submitBattle(battleSpecification, initialPositions,
+				listener);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setBattlePoolSize(int size) {
+		ContainerBase.getComponent(IBattleManagerBase.class).setBattlePoolSize(size);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -12,6 +12,7 @@ import robocode.MessageEvent;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 
@@ -119,6 +120,42 @@ public interface ITeamRobotPeer extends IAdvancedRobotPeer {
 	 */
 	void sendMessage(String name, Serializable message) throws IOException;
 
+	/**
+	 * Broadcasts a message of raw bytes to all teammates, which is cheaper
+	 * than sending a serialized object.
+	 * <p>
+	 * The remaining bytes of the buffer are sent, and the buffer itself is
+	 * not changed. Teammates receive the bytes with
+	 * {@link MessageEvent#getRawMessage()}.
+	 *
+	 * @param message the bytes to broadcast to all teammates
+	 * @throws IOException if the message could not be broadcasted to the
+	 *                     teammates, e.g. if it is bigger than
+	 *                     {@link robocode.TeamRobot#MAX_MESSAGE_SIZE}
+	 * @see #sendRawMessage(String, ByteBuffer)
+	 * @see robocode.util.MessageCodecs
+	 * @since 1.9.5.4
+	 */
+	void broadcastRawMessage(ByteBuffer message) throws IOException;
+
+	/**
+	 * Sends a message of raw bytes to one (or more) teammates, which is
+	 * cheaper than sending a serialized object.
+	 * <p>
+	 * The remaining bytes of the buffer are sent, and the buffer itself is
+	 * not changed. Teammates receive the bytes with
+	 * {@link MessageEvent#getRawMessage()}.
+	 *
+	 * @param name	the name of the intended recipient of the message
+	 * @param message the bytes to send
+	 * @throws IOException if the message could not be sent, e.g. if it is
+	 *                     bigger than {@link robocode.TeamRobot#MAX_MESSAGE_SIZE}
+	 * @see #broadcastRawMessage(ByteBuffer)
+	 * @see robocode.util.MessageCodecs
+	 * @since 1.9.5.4
+	 */
+	void sendRawMessage(String name, ByteBuffer message) throws IOException;
+
 	/**
 	 * Returns a vector containing all MessageEvents currently in the robot's
 	 * queue. You might, for example, call this while processing another event.
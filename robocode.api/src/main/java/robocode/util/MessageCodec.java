@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package robocode.util;
+
+
+import java.nio.ByteBuffer;
+
+
+/**
+ * Writes values of a type to the bytes of a team message, and reads them back, without the cost of Java
+ * serialization. Codecs are registered with a {@link MessageCodecs} registry.
+ * <p>
+ * Example of a codec for a class of your own:
+ * <pre>
+ *   class TargetCodec implements MessageCodec&lt;Target&gt; {
+ *       public void encode(Target target, ByteBuffer buffer) {
+ *           MessageCodecs.STRING.encode(target.name, buffer);
+ *           buffer.putDouble(target.x);
+ *           buffer.putDouble(target.y);
+ *       }
+ *
+ *       public Target decode(ByteBuffer buffer) {
+ *           return new Target(MessageCodecs.STRING.decode(buffer), buffer.getDouble(), buffer.getDouble());
+ *       }
+ *   }
+ * </pre>
+ *
+ * @param <T> the type of the values.
+ * @see MessageCodecs
+ * @since 1.9.5.4
+ */
+public interface MessageCodec<T> {
+
+	/**
+	 * Writes a value at the position of the buffer.
+	 *
+	 * @param value  the value to write.
+	 * @param buffer the buffer to write to.
+	 * @throws java.nio.BufferOverflowException if the buffer has no room for the value.
+	 */
+	void encode(T value, ByteBuffer buffer);
+
+	/**
+	 * Reads a value from the position of the buffer.
+	 *
+	 * @param buffer the buffer to read from.
+	 * @return the value read.
+	 * @throws java.nio.BufferUnderflowException if the buffer ends before the value.
+	 */
+	T decode(ByteBuffer buffer);
+}
@@ -0,0 +1,421 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package robocode.util;
+
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * A registry of codecs that write the values of team messages as raw bytes, and read them back, for
+ * {@link robocode.TeamRobot#sendRawMessage(String, ByteBuffer)} and
+ * {@link robocode.MessageEvent#getRawMessage()}.
+ * <p>
+ * Each value is written as a one byte tag for its type followed by the value. The boxed primitives,
+ * strings and arrays of primitives have codecs from the start, and codecs for your own classes are added
+ * with {@link #register(Class, MessageCodec)}. The tags are given in the order the codecs are registered,
+ * so all members of a team must register the same codecs in the same order.
+ * <p>
+ * A message is limited to {@link robocode.TeamRobot#MAX_MESSAGE_SIZE} bytes, so values are best written to
+ * a buffer of that capacity, which throws a {@link java.nio.BufferOverflowException} when a value does not
+ * fit.
+ * <p>
+ * Example:
+ * <pre>
+ *   private final MessageCodecs codecs = new MessageCodecs();
+ *
+ *   public void run() {
+ *       codecs.register(Target.class, new TargetCodec());
+ *       ...
+ *   }
+ *
+ *   public void onMessageReceived(MessageEvent e) {
+ *       ByteBuffer message = e.getRawMessage();
+ *       if (message != null) {
+ *           Object value = codecs.decode(message);
+ *           ...
+ *       }
+ *   }
+ * </pre>
+ * A registry is not thread-safe, and is meant to be used by a single robot.
+ *
+ * @see MessageCodec
+ * @since 1.9.5.4
+ */
+public final class MessageCodecs {
+
+	/**
+	 * Writes a {@link Boolean} value.
+	 */
+	public static final MessageCodec<Boolean> BOOLEAN = new MessageCodec<Boolean>() {
+		public void encode(Boolean value, ByteBuffer buffer) {
+			buffer.put((byte) (value ? 1 : 0));
+		}
+
+		public Boolean decode(ByteBuffer buffer) {
+			return buffer.get() != 0;
+		}
+	};
+
+	/**
+	 * Writes a {@link Byte} value.
+	 */
+	public static final MessageCodec<Byte> BYTE = new MessageCodec<Byte>() {
+		public void encode(Byte value, ByteBuffer buffer) {
+			buffer.put(value);
+		}
+
+		public Byte decode(ByteBuffer buffer) {
+			return buffer.get();
+		}
+	};
+
+	/**
+	 * Writes a {@link Short} value.
+	 */
+	public static final MessageCodec<Short> SHORT = new MessageCodec<Short>() {
+		public void encode(Short value, ByteBuffer buffer) {
+			buffer.putShort(value);
+		}
+
+		public Short decode(ByteBuffer buffer) {
+			return buffer.getShort();
+		}
+	};
+
+	/**
+	 * Writes a {@link Character} value.
+	 */
+	public static final MessageCodec<Character> CHARACTER = new MessageCodec<Character>() {
+		public void encode(Character value, ByteBuffer buffer) {
+			buffer.putChar(value);
+		}
+
+		public Character decode(ByteBuffer buffer) {
+			return buffer.getChar();
+		}
+	};
+
+	/**
+	 * Writes an {@link Integer} value.
+	 */
+	public static final MessageCodec<Integer> INTEGER = new MessageCodec<Integer>() {
+		public void encode(Integer value, ByteBuffer buffer) {
+			buffer.putInt(value);
+		}
+
+		public Integer decode(ByteBuffer buffer) {
+			return buffer.getInt();
+		}
+	};
+
+	/**
+	 * Writes a {@link Long} value.
+	 */
+	public static final MessageCodec<Long> LONG = new MessageCodec<Long>() {
+		public void encode(Long value, ByteBuffer buffer) {
+			buffer.putLong(value);
+		}
+
+		public Long decode(ByteBuffer buffer) {
+			return buffer.getLong();
+		}
+	};
+
+	/**
+	 * Writes a {@link Float} value.
+	 */
+	public static final MessageCodec<Float> FLOAT = new MessageCodec<Float>() {
+		public void encode(Float value, ByteBuffer buffer) {
+			buffer.putFloat(value);
+		}
+
+		public Float decode(ByteBuffer buffer) {
+			return buffer.getFloat();
+		}
+	};
+
+	/**
+	 * Writes a {@link Double} value.
+	 */
+	public static final MessageCodec<Double> DOUBLE = new MessageCodec<Double>() {
+		public void encode(Double value, ByteBuffer buffer) {
+			buffer.putDouble(value);
+		}
+
+		public Double decode(ByteBuffer buffer) {
+			return buffer.getDouble();
+		}
+	};
+
+	/**
+	 * Writes a string, which may be {@code null}, as its length and UTF-8 bytes.
+	 */
+	public static final MessageCodec<String> STRING = new MessageCodec<String>() {
+		public void encode(String value, ByteBuffer buffer) {
+			if (value == null) {
+				buffer.putInt(-1);
+			} else {
+				final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+				buffer.putInt(bytes.length);
+				buffer.put(bytes);
+			}
+		}
+
+		public String decode(ByteBuffer buffer) {
+			final int length = getLength(buffer, 1);
+
+			if (length < 0) {
+				return null;
+			}
+			final byte[] bytes = new byte[length];
+
+			buffer.get(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	};
+
+	/**
+	 * Writes an array of {@code byte}, which may be {@code null}, as its length and elements.
+	 */
+	public static final MessageCodec<byte[]> BYTE_ARRAY = new MessageCodec<byte[]>() {
+		public void encode(byte[] value, ByteBuffer buffer) {
+			if (putLength(value != null ? value.length : -1, buffer)) {
+				buffer.put(value);
+			}
+		}
+
+		public byte[] decode(ByteBuffer buffer) {
+			final int length = getLength(buffer, 1);
+
+			if (length < 0) {
+				return null;
+			}
+			final byte[] value = new byte[length];
+
+			buffer.get(value);
+			return value;
+		}
+	};
+
+	/**
+	 * Writes an array of {@code int}, which may be {@code null}, as its length and elements.
+	 */
+	public static final MessageCodec<int[]> INT_ARRAY = new MessageCodec<int[]>() {
+		public void encode(int[] value, ByteBuffer buffer) {
+			if (putLength(value != null ? value.length : -1, buffer)) {
+				buffer.asIntBuffer().put(value);
+				skip(buffer, value.length * 4);
+			}
+		}
+
+		public int[] decode(ByteBuffer buffer) {
+			final int length = getLength(buffer, 4);
+
+			if (length < 0) {
+				return null;
+			}
+			final int[] value = new int[length];
+
+			buffer.asIntBuffer().get(value);
+			skip(buffer, length * 4);
+			return value;
+		}
+	};
+
+	/**
+	 * Writes an array of {@code long}, which may be {@code null}, as its length and elements.
+	 */
+	public static final MessageCodec<long[]> LONG_ARRAY = new MessageCodec<long[]>() {
+		public void encode(long[] value, ByteBuffer buffer) {
+			if (putLength(value != null ? value.length : -1, buffer)) {
+				buffer.asLongBuffer().put(value);
+				skip(buffer, value.length * 8);
+			}
+		}
+
+		public long[] decode(ByteBuffer buffer) {
+			final int length = getLength(buffer, 8);
+
+			if (length < 0) {
+				return null;
+			}
+			final long[] value = new long[length];
+
+			buffer.asLongBuffer().get(value);
+			skip(buffer, length * 8);
+			return value;
+		}
+	};
+
+	/**
+	 * Writes an array of {@code float}, which may be {@code null}, as its length and elements.
+	 */
+	public static final MessageCodec<float[]> FLOAT_ARRAY = new MessageCodec<float[]>() {
+		public void encode(float[] value, ByteBuffer buffer) {
+			if (putLength(value != null ? value.length : -1, buffer)) {
+				buffer.asFloatBuffer().put(value);
+				skip(buffer, value.length * 4);
+			}
+		}
+
+		public float[] decode(ByteBuffer buffer) {
+			final int length = getLength(buffer, 4);
+
+			if (length < 0) {
+				return null;
+			}
+			final float[] value = new float[length];
+
+			buffer.asFloatBuffer().get(value);
+			skip(buffer, length * 4);
+			return value;
+		}
+	};
+
+	/**
+	 * Writes an array of {@code double}, which may be {@code null}, as its length and elements.
+	 */
+	public static final MessageCodec<double[]> DOUBLE_ARRAY = new MessageCodec<double[]>() {
+		public void encode(double[] value, ByteBuffer buffer) {
+			if (putLength(value != null ? value.length : -1, buffer)) {
+				buffer.asDoubleBuffer().put(value);
+				skip(buffer, value.length * 8);
+			}
+		}
+
+		public double[] decode(ByteBuffer buffer) {
+			final int length = getLength(buffer, 8);
+
+			if (length < 0) {
+				return null;
+			}
+			final double[] value = new double[length];
+
+			buffer.asDoubleBuffer().get(value);
+			skip(buffer, length * 8);
+			return value;
+		}
+	};
+
+	// Tag 0 is a null value, so the codec of a tag is at the index before it
+	private static final int MAX_CODECS = 255;
+
+	private final Map<Class<?>, Integer> tags = new HashMap<Class<?>, Integer>();
+	private final List<MessageCodec<?>> codecs = new ArrayList<MessageCodec<?>>();
+
+	/**
+	 * Creates a registry with the codecs of the boxed primitives, strings and arrays of primitives.
+	 */
+	public MessageCodecs() {
+		register(Boolean.class, BOOLEAN);
+		register(Byte.class, BYTE);
+		register(Short.class, SHORT);
+		register(Character.class, CHARACTER);
+		register(Integer.class, INTEGER);
+		register(Long.class, LONG);
+		register(Float.class, FLOAT);
+		register(Double.class, DOUBLE);
+		register(String.class, STRING);
+		register(byte[].class, BYTE_ARRAY);
+		register(int[].class, INT_ARRAY);
+		register(long[].class, LONG_ARRAY);
+		register(float[].class, FLOAT_ARRAY);
+		register(double[].class, DOUBLE_ARRAY);
+	}
+
+	/**
+	 * Registers the codec of a class. Values are only encoded with the codec of their exact class, not with
+	 * the codec of a superclass.
+	 *
+	 * @param type  the class of the values.
+	 * @param codec the codec of the values.
+	 * @param <T>   the type of the values.
+	 * @throws IllegalArgumentException if the class already has a codec.
+	 * @throws IllegalStateException    if there is no room for more codecs.
+	 */
+	public <T> void register(Class<T> type, MessageCodec<T> codec) {
+		if (tags.containsKey(type)) {
+			throw new IllegalArgumentException("A codec is already registered for " + type.getName());
+		}
+		if (codecs.size() == MAX_CODECS) {
+			throw new IllegalStateException("No more than " + MAX_CODECS + " codecs can be registered");
+		}
+		codecs.add(codec);
+		tags.put(type, codecs.size());
+	}
+
+	/**
+	 * Writes a value and the tag of its type at the position of the buffer.
+	 *
+	 * @param value  the value to write, which may be {@code null}.
+	 * @param buffer the buffer to write to.
+	 * @throws IllegalArgumentException         if there is no codec for the class of the value.
+	 * @throws java.nio.BufferOverflowException if the buffer has no room for the value.
+	 */
+	@SuppressWarnings("unchecked")
+	public void encode(Object value, ByteBuffer buffer) {
+		if (value == null) {
+			buffer.put((byte) 0);
+			return;
+		}
+		final Integer tag = tags.get(value.getClass());
+
+		if (tag == null) {
+			throw new IllegalArgumentException("No codec is registered for " + value.getClass().getName());
+		}
+		buffer.put(tag.byteValue());
+		((MessageCodec<Object>) codecs.get(tag - 1)).encode(value, buffer);
+	}
+
+	/**
+	 * Reads a value written by {@link #encode(Object, ByteBuffer)} from the position of the buffer.
+	 *
+	 * @param buffer the buffer to read from.
+	 * @return the value read, which may be {@code null}.
+	 * @throws IllegalArgumentException          if no codec is registered for the tag read.
+	 * @throws java.nio.BufferUnderflowException if the buffer ends before the value.
+	 */
+	public Object decode(ByteBuffer buffer) {
+		final int tag = buffer.get() & 0xFF;
+
+		if (tag == 0) {
+			return null;
+		}
+		if (tag > codecs.size()) {
+			throw new IllegalArgumentException("No codec is registered for tag " + tag);
+		}
+		return codecs.get(tag - 1).decode(buffer);
+	}
+
+	private static boolean putLength(int length, ByteBuffer buffer) {
+		buffer.putInt(length);
+		return length >= 0;
+	}
+
+	// The length is checked before an array is allocated for it
+	private static int getLength(ByteBuffer buffer, int elementSize) {
+		final int length = buffer.getInt();
+
+		if (length > buffer.remaining() / elementSize) {
+			throw new BufferUnderflowException();
+		}
+		return length;
+	}
+
+	private static void skip(ByteBuffer buffer, int count) {
+		buffer.position(buffer.position() + count);
+	}
+}
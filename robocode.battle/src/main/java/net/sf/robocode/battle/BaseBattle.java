@@ -55,6 +55,9 @@ public abstract class BaseBattle implements IBattle, Runnable {
 	private long measuredTurnStartTime;
 	private int measuredTurnCounter;
 
+	// Set for battles that are never displayed, which run as fast as they can even when the GUI is visible
+	private boolean isUnmanagedTPS;
+
 	// Battle state
 	private final AtomicBoolean isRunning = new AtomicBoolean(false);
 	protected boolean isAborted;
@@ -79,6 +82,10 @@ public abstract class BaseBattle implements IBattle, Runnable {
 		battleThread = newBattleThread;
 	}
 
+	public void setUnmanagedTPS(boolean value) {
+		isUnmanagedTPS = value;
+	}
+
 	/**
 	 * Sets the roundNum.
 	 *
@@ -241,6 +248,9 @@ public abstract class BaseBattle implements IBattle, Runnable {
 		while (!roundOver) {
 			processCommand();
 
+			if (roundOver) {
+				break;
+			}
 			if (shouldPause() && !shouldStep()) {
 				shortSleep();
 				continue;
@@ -260,6 +270,13 @@ public abstract class BaseBattle implements IBattle, Runnable {
 		return (endTimer > 5 * TURNS_DISPLAYED_AFTER_ENDING);
 	}
 
+	/**
+	 * Ends the current round before its next turn, also when the battle is paused.
+	 */
+	protected void endRound() {
+		roundOver = true;
+	}
+
 	protected void finalizeRound() {}
 
 	private void cleanupRound() {
@@ -296,7 +313,7 @@ public abstract class BaseBattle implements IBattle, Runnable {
 		// Let the battle sleep is the GUI is enabled and is not minimized
 		// in order to keep the desired TPS
 
-		if (battleManager.isManagedTPS()) {
+		if (!isUnmanagedTPS && battleManager.isManagedTPS()) {
 			long delay = 0;
 
 			if (!isAborted() && endTimer < TURNS_DISPLAYED_AFTER_ENDING) {
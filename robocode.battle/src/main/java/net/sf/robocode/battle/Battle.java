@@ -9,6 +9,7 @@ package net.sf.robocode.battle;
 
 
 import net.sf.robocode.battle.events.BattleEventDispatcher;
+import net.sf.robocode.battle.peer.BulletArena;
 import net.sf.robocode.battle.peer.BulletPeer;
 import net.sf.robocode.battle.peer.ContestantPeer;
 import net.sf.robocode.battle.peer.RobotPeer;
@@ -22,18 +23,15 @@ import net.sf.robocode.repository.IRobotItem;
 import net.sf.robocode.security.HiddenAccess;
 import net.sf.robocode.settings.ISettingsManager;
 import robocode.*;
-import robocode.control.RandomFactory;
 import robocode.control.RobotResults;
 import robocode.control.RobotSetup;
 import robocode.control.RobotSpecification;
 import robocode.control.events.*;
 import robocode.control.events.RoundEndedEvent;
-import robocode.control.snapshot.BulletState;
 import robocode.control.snapshot.ITurnSnapshot;
 import robocode.robotinterfaces.IBasicRobot;
 
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -55,8 +53,12 @@ public final class Battle extends BaseBattle {
 
 	private static final int DEBUG_TURN_WAIT_MILLIS = 10 * 60 * 1000; // 10 seconds
 
+	// Cell size of the grids used for bullet collisions. A robot covers at most 2x2 cells,
+	// and a bullet moves less than a cell per turn
+	private static final double BULLET_GRID_CELL_SIZE = 2 * RobotPeer.WIDTH;
+
 	private final IHostManager hostManager;
-	private final long cpuConstant;
+	private long cpuConstant;
 
 	// Inactivity related items
 	private int inactiveTurnCount;
@@ -71,14 +73,37 @@ public final class Battle extends BaseBattle {
 	private int robotsCount;
 	private List<RobotPeer> robots = new ArrayList<>();
 	private List<ContestantPeer> contestants = new ArrayList<>();
-	private final List<BulletPeer> bullets = new CopyOnWriteArrayList<>();
+	private final BulletArena bullets = new BulletArena();
 
 	// Robot counters
 	private int activeParticipants;
 	private int activeSentries;
 
+	// Counters of the robots alive, which are recounted every turn and updated when the dead robots are handled.
+	// A group is a robot without a team, or a team, and a contestant is a group with participants alive, i.e. no
+	// sentries.
+	private int[] teamRobotsAlive;
+	private int[] teamParticipantsAlive;
+	private int aliveGroups;
+	private int activeContestants;
+
 	// Death events
-	private final List<RobotPeer> deathRobots = new CopyOnWriteArrayList<>();
+	private final List<RobotPeer> deathRobots = new ArrayList<>();
+
+	// Random number generators of this battle
+	private BattleRandom random;
+
+	// Reusable random orders for fair play, shuffled once per phase of a turn
+	private final RandomOrder<RobotPeer> robotOrder = new RandomOrder<>();
+	private final RandomOrder<BulletPeer> bulletOrder = new RandomOrder<>();
+	private final RandomOrder<RobotPeer> deathRobotOrder = new RandomOrder<>();
+
+	// Broad phase for bullet collisions, rebuilt every turn
+	private final SpatialGrid bulletRobotGrid = new SpatialGrid(BULLET_GRID_CELL_SIZE);
+	private final SpatialGrid bulletGrid = new SpatialGrid(BULLET_GRID_CELL_SIZE);
+
+	// Broad phase for robot collisions and scans, rebuilt for each phase of a turn
+	private final SpatialGrid robotGrid = new SpatialGrid(Rules.RADAR_SCAN_RADIUS);
 
 	// Initial robot setups (if any)
 	private RobotSetup[] initialRobotSetups;
@@ -89,8 +114,14 @@ public final class Battle extends BaseBattle {
 		this.cpuConstant = cpuManager.getCpuConstant();
 	}
 
-	void setup(RobotSpecification[] battlingRobotsList, BattleProperties battleProps, boolean paused) {
+	// Sets the time a robot is allowed to use per turn, which is calibrated by the cpu manager per default
+	void setCpuConstant(long cpuConstant) {
+		this.cpuConstant = cpuConstant;
+	}
+
+	void setup(RobotSpecification[] battlingRobotsList, BattleProperties battleProps, boolean paused, long seed) {
 		isPaused = paused;
+		random = new BattleRandom(seed);
 		battleRules = HiddenAccess.createRules(battleProps.getBattlefieldWidth(), battleProps.getBattlefieldHeight(),
 				battleProps.getNumRounds(), battleProps.getGunCoolingRate(), battleProps.getInactivityTime(),
 				battleProps.getHideEnemyNames(), battleProps.getSentryBorderSize());
@@ -167,12 +198,23 @@ public final class Battle extends BaseBattle {
 				contestants.add(robotPeer);
 			}
 		}
+		teamRobotsAlive = new int[teamNames.size()];
+		teamParticipantsAlive = new int[teamNames.size()];
 	}
 
 	public void registerDeathRobot(RobotPeer r) {
 		deathRobots.add(r);
 	}
 
+	/**
+	 * Returns the random number generators of this battle.
+	 *
+	 * @return the random number generators of this battle.
+	 */
+	public BattleRandom getBattleRandom() {
+		return random;
+	}
+
 	public BattleRules getBattleRules() {
 		return battleRules;
 	}
@@ -189,6 +231,18 @@ public final class Battle extends BaseBattle {
 		bullets.add(bullet);
 	}
 
+	/**
+	 * Creates a new bullet, which is a recycled bullet if there is one. The bullet is added to the battle with
+	 * {@link #addBullet(BulletPeer)}.
+	 *
+	 * @param owner    the robot firing the bullet.
+	 * @param bulletId the id of the bullet.
+	 * @return the new bullet.
+	 */
+	public BulletPeer createBullet(RobotPeer owner, int bulletId) {
+		return bullets.newBullet(owner, battleRules, bulletId);
+	}
+
 	public void resetInactiveTurnCount(double energyLoss) {
 		if (energyLoss < 0) {
 			return;
@@ -221,6 +275,10 @@ public final class Battle extends BaseBattle {
 	@Override
 	public void cleanup() {
 
+		robotOrder.clear();
+		bulletOrder.clear();
+		deathRobotOrder.clear();
+
 		if (contestants != null) {
 			contestants.clear();
 			contestants = null;
@@ -234,11 +292,6 @@ public final class Battle extends BaseBattle {
 		super.cleanup();
 
 		battleManager = null;
-
-		// Request garbage collecting
-		for (int i = 4; i >= 0; i--) { // Make sure it is run
-			System.gc();
-		}
 	}
 
 	@Override
@@ -275,10 +328,10 @@ public final class Battle extends BaseBattle {
 			eventDispatcher.onBattleCompleted(new BattleCompletedEvent(battleRules, computeBattleResults()));
 		}
 
+		// The robots remove their own thread groups from the thread manager, which is shared with other battles
 		for (RobotPeer robotPeer : robots) {
 			robotPeer.cleanup();
 		}
-		hostManager.resetThreadManager();
 
 		super.finalizeBattle();
 	}
@@ -287,6 +340,9 @@ public final class Battle extends BaseBattle {
 	protected void preloadRound() {
 		super.preloadRound();
 
+		// Robots killed after the last turn of the previous round, e.g. for being unstoppable, do not die in this one
+		deathRobots.clear();
+
 		computeActiveRobots(); // Used for robotPeer.initializeRound()
 
 		// At this point the unsafe loader thread will now set itself to wait for a notify
@@ -363,7 +419,9 @@ public final class Battle extends BaseBattle {
 	protected void initializeTurn() {
 		super.initializeTurn();
 
-		eventDispatcher.onTurnStarted(new TurnStartedEvent());
+		if (eventDispatcher.isInterested(BattleEventDispatcher.TURN_STARTED)) {
+			eventDispatcher.onTurnStarted(new TurnStartedEvent());
+		}
 	}
 
 	@Override
@@ -484,7 +542,14 @@ public final class Battle extends BaseBattle {
 
 	@Override
 	protected void finalizeTurn() {
-		eventDispatcher.onTurnEnded(new TurnEndedEvent(new TurnSnapshot(this, robots, bullets, true)));
+		if (eventDispatcher.isInterested(BattleEventDispatcher.TURN_ENDED)) {
+			eventDispatcher.onTurnEnded(new TurnEndedEvent(new TurnSnapshot(this, robots, bullets, true)));
+		} else {
+			// Nobody reads the snapshots, so the output text of the robots is thrown away instead
+			for (RobotPeer robotPeer : robots) {
+				robotPeer.discardOutText();
+			}
+		}
 
 		super.finalizeTurn();
 	}
@@ -511,43 +576,40 @@ public final class Battle extends BaseBattle {
 	}
 
 	/**
-	 * Returns a list of all robots in random order. This method is used to gain fair play in Robocode,
+	 * Returns all robots in random order. This method is used to gain fair play in Robocode,
 	 * so that a robot placed before another robot in the list will not gain any benefit when the game
 	 * checks if a robot has won, is dead, etc.
 	 * This method was introduced as two equal robots like sample.RamFire got different scores even
 	 * though the code was exactly the same.
+	 * <p>
+	 * The returned list is reused, so it is only valid until the next call of this method.
 	 *
 	 * @return a list of robot peers.
 	 */
 	private List<RobotPeer> getRobotsAtRandom() {
-		List<RobotPeer> shuffledList = new ArrayList<>(robots);
-
-		Collections.shuffle(shuffledList, RandomFactory.getRandom());
-		return shuffledList;
+		return robotOrder.shuffle(robots, random.getEngineRandom());
 	}
 
 	/**
-	 * Returns a list of all bullets in random order. This method is used to gain fair play in Robocode.
+	 * Returns all bullets in random order. This method is used to gain fair play in Robocode.
+	 * <p>
+	 * The returned list is reused, so it is only valid until the next call of this method.
 	 *
 	 * @return a list of bullet peers.
 	 */
 	private List<BulletPeer> getBulletsAtRandom() {
-		List<BulletPeer> shuffledList = new ArrayList<>(bullets);
-
-		Collections.shuffle(shuffledList, RandomFactory.getRandom());
-		return shuffledList;
+		return bulletOrder.shuffle(bullets, random.getEngineRandom());
 	}
 
 	/**
-	 * Returns a list of all death robots in random order. This method is used to gain fair play in Robocode.
+	 * Returns all death robots in random order. This method is used to gain fair play in Robocode.
+	 * <p>
+	 * The returned list is reused, so it is only valid until the next call of this method.
 	 *
 	 * @return a list of robot peers.
 	 */
 	private List<RobotPeer> getDeathRobotsAtRandom() {
-		List<RobotPeer> shuffledList = new ArrayList<>(deathRobots);
-
-		Collections.shuffle(shuffledList, RandomFactory.getRandom());
-		return shuffledList;
+		return deathRobotOrder.shuffle(deathRobots, random.getEngineRandom());
 	}
 
 	private void loadCommands() {
@@ -558,12 +620,26 @@ public final class Battle extends BaseBattle {
 	}
 
 	private void updateBullets() {
-		for (BulletPeer bullet : getBulletsAtRandom()) {
-			bullet.update(getRobotsAtRandom(), getBulletsAtRandom());
-			if (bullet.getState() == BulletState.INACTIVE) {
-				bullets.remove(bullet);
-			}
+		// Bullets fired or exploding during this phase are not active, so they cannot be hit by the
+		// bullets being updated, and are left out of the snapshot taken here
+		final List<BulletPeer> bulletsAtRandom = getBulletsAtRandom();
+		final List<RobotPeer> robotsAtRandom = getRobotsAtRandom();
+
+		// The grids are indexed by the positions in the random orders, so the bullets will check the robots and
+		// other bullets in the same order as when checking against every robot and bullet
+		bulletRobotGrid.reset(battleRules.getBattlefieldWidth(), battleRules.getBattlefieldHeight());
+		for (int i = 0; i < robotsAtRandom.size(); i++) {
+			robotsAtRandom.get(i).insertInto(bulletRobotGrid, i);
 		}
+		bulletGrid.reset(battleRules.getBattlefieldWidth(), battleRules.getBattlefieldHeight());
+		for (int i = 0; i < bulletsAtRandom.size(); i++) {
+			bulletsAtRandom.get(i).insertInto(bulletGrid, i);
+		}
+
+		for (BulletPeer bullet : bulletsAtRandom) {
+			bullet.update(robotsAtRandom, bulletRobotGrid, bulletsAtRandom, bulletGrid);
+		}
+		bullets.removeInactive();
 	}
 
 	private void updateRobots() {
@@ -572,8 +648,16 @@ public final class Battle extends BaseBattle {
 		final double zapEnergy = isAborted() ? 5 : zap ? .1 : 0;
 
 		// Move all bots
-		for (RobotPeer robotPeer : getRobotsAtRandom()) {
-			robotPeer.performMove(getRobotsAtRandom(), zapEnergy);
+		List<RobotPeer> robotsAtRandom = getRobotsAtRandom();
+
+		buildRobotGrid(robotsAtRandom);
+		for (int i = 0; i < robotsAtRandom.size(); i++) {
+			final RobotPeer robotPeer = robotsAtRandom.get(i);
+
+			robotPeer.performMove(robotsAtRandom, robotGrid, zapEnergy);
+
+			// Only the robot that has moved can have left its cells
+			robotPeer.updateIn(robotGrid, i);
 		}
 
 		// Correct bounding box after collisions
@@ -582,33 +666,47 @@ public final class Battle extends BaseBattle {
 		}
 
 		// Scan after moved all
-		for (RobotPeer robotPeer : getRobotsAtRandom()) {
-			robotPeer.performScan(getRobotsAtRandom());
+		robotsAtRandom = getRobotsAtRandom();
+
+		buildRobotGrid(robotsAtRandom);
+		for (RobotPeer robotPeer : robotsAtRandom) {
+			robotPeer.performScan(robotsAtRandom, robotGrid);
+		}
+	}
+
+	private void buildRobotGrid(List<RobotPeer> robotsAtRandom) {
+		// The grid is indexed by the positions in the random order, so robots will check the other robots
+		// in the same order as when checking against every robot
+		robotGrid.reset(battleRules.getBattlefieldWidth(), battleRules.getBattlefieldHeight());
+		for (int i = 0; i < robotsAtRandom.size(); i++) {
+			robotsAtRandom.get(i).insertInto(robotGrid, i);
 		}
 	}
 
 	private void handleDeadRobots() {
+		if (deathRobots.isEmpty()) {
+			return;
+		}
+
+		// The robots that have died this turn are no longer counted as alive when they are scored
+		for (RobotPeer deadRobot : deathRobots) {
+			countAlive(deadRobot, -1);
+		}
+
+		final List<RobotPeer> robotsAtRandom = getRobotsAtRandom();
 
 		for (RobotPeer deadRobot : getDeathRobotsAtRandom()) {
 			// Compute scores for dead robots
 			if (deadRobot.getTeamPeer() == null) {
 				deadRobot.getRobotStatistics().scoreRobotDeath(getActiveContestantCount(deadRobot));
 			} else {
-				boolean teammatesalive = false;
-
-				for (RobotPeer tm : robots) {
-					if (tm.getTeamPeer() == deadRobot.getTeamPeer() && tm.isAlive()) {
-						teammatesalive = true;
-						break;
-					}
-				}
-				if (!teammatesalive) {
+				if (teamRobotsAlive[deadRobot.getTeamPeer().getTeamIndex()] == 0) {
 					deadRobot.getRobotStatistics().scoreRobotDeath(getActiveContestantCount(deadRobot));
 				}
 			}
 
 			// Publish death to live robots
-			for (RobotPeer robotPeer : getRobotsAtRandom()) {
+			for (RobotPeer robotPeer : robotsAtRandom) {
 				if (robotPeer.isAlive()) {
 					robotPeer.addEvent(new RobotDeathEvent(robotPeer.getNameForEvent(deadRobot)));
 
@@ -620,6 +718,7 @@ public final class Battle extends BaseBattle {
 		}
 
 		deathRobots.clear();
+		deathRobotOrder.clear();
 	}
 
 	private void publishStatuses() {
@@ -643,6 +742,41 @@ public final class Battle extends BaseBattle {
 		}
 		this.activeParticipants = countActiveParticipants;
 		this.activeSentries = countActiveSentries;
+
+		Arrays.fill(teamRobotsAlive, 0);
+		Arrays.fill(teamParticipantsAlive, 0);
+		aliveGroups = 0;
+		activeContestants = 0;
+		for (RobotPeer robot : robots) {
+			if (robot.isAlive()) {
+				countAlive(robot, 1);
+			}
+		}
+	}
+
+	private void countAlive(RobotPeer robot, int delta) {
+		final TeamPeer team = robot.getTeamPeer();
+		final boolean isParticipant = !robot.isSentryRobot();
+
+		if (team == null) {
+			aliveGroups += delta;
+			if (isParticipant) {
+				activeContestants += delta;
+			}
+		} else {
+			aliveGroups += countTeam(teamRobotsAlive, team.getTeamIndex(), delta);
+			if (isParticipant) {
+				activeContestants += countTeam(teamParticipantsAlive, team.getTeamIndex(), delta);
+			}
+		}
+	}
+
+	// Changes the count of a team, and returns the change in the number of teams with a count above zero
+	private static int countTeam(int[] counts, int teamIndex, int delta) {
+		final int before = counts[teamIndex];
+
+		counts[teamIndex] += delta;
+		return (counts[teamIndex] > 0 ? 1 : 0) - (before > 0 ? 1 : 0);
 	}
 
 	private void wakeupRobots() {
@@ -674,7 +808,7 @@ public final class Battle extends BaseBattle {
 		}
 		for (RobotPeer robotPeer : robotsAtRandom) {
 			if (robotPeer.isRunning()) {
-				handleRobotWaiting(robotPeer, millisWait, nanoWait, currentTime);
+				handleRobotWaitingParallel(robotPeer);
 			}
 		}
 	}
@@ -691,6 +825,20 @@ public final class Battle extends BaseBattle {
 		}
 	}
 
+	// The robots share the processors, so a robot is allowed the wall-clock time of the shared processors,
+	// but not more CPU time than a robot running alone
+	private void handleRobotWaitingParallel(RobotPeer robotPeer) {
+		if (robotPeer.isAlive()) {
+			if (isDebugging() || robotPeer.isPaintEnabled()) {
+				robotPeer.waitSleeping(DEBUG_TURN_WAIT_MILLIS, 1);
+			} else if (currentTime == 1) {
+				robotPeer.waitSleeping(millisWait * 10, 1, cpuConstant * 10);
+			} else {
+				robotPeer.waitSleeping(millisWait, nanoWait, cpuConstant);
+			}
+		}
+	}
+
 	private void applyWaitSleeping(RobotPeer robotPeer) {
 		if (isDebugging() || robotPeer.isPaintEnabled()) {
 			robotPeer.waitSleeping(DEBUG_TURN_WAIT_MILLIS, 1);
@@ -701,25 +849,14 @@ public final class Battle extends BaseBattle {
 		}
 	}
 
+	// Returns the number of contestants alive, not counting the team of the robot
 	private int getActiveContestantCount(RobotPeer peer) {
-		int count = 0;
+		final TeamPeer team = peer.getTeamPeer();
 
-		for (ContestantPeer c : contestants) {
-			if (c instanceof RobotPeer) {
-				RobotPeer robot = (RobotPeer) c;
-				if (!robot.isSentryRobot() && robot.isAlive()) {
-					count++;
-				}
-			} else if (c instanceof TeamPeer && c != peer.getTeamPeer()) {
-				for (RobotPeer robot: (TeamPeer) c) {
-					if (!robot.isSentryRobot() && robot.isAlive()) {
-						count++;
-						break;
-					}
-				}
-			}
+		if (team != null && teamParticipantsAlive[team.getTeamIndex()] > 0) {
+			return activeContestants - 1;
 		}
-		return count;
+		return activeContestants;
 	}
 
 	private String stripNonNumericCharacters(String input) {
@@ -758,7 +895,7 @@ public final class Battle extends BaseBattle {
 		for (int i = 0; i < positions.size(); i++) {
 			coords = positions.get(i).split(",");
 
-			Random random = RandomFactory.getRandom();
+			final Random random = this.random.getPositionRandom();
 
 			x = RobotPeer.WIDTH + random.nextDouble() * (battleRules.getBattlefieldWidth() - 2 * RobotPeer.WIDTH);
 			y = RobotPeer.HEIGHT + random.nextDouble() * (battleRules.getBattlefieldHeight() - 2 * RobotPeer.HEIGHT);
@@ -789,29 +926,8 @@ public final class Battle extends BaseBattle {
 	}
 
 	private boolean oneTeamRemaining() {
-		if (countActiveParticipants() <= 1) {
-			return true;
-		}
-
-		boolean found = false;
-		TeamPeer currentTeam = null;
-
-		for (RobotPeer currentRobot : robots) {
-			if (currentRobot.isAlive()) {
-				if (!found) {
-					found = true;
-					currentTeam = currentRobot.getTeamPeer();
-				} else {
-					if (currentTeam == null && currentRobot.getTeamPeer() == null) {
-						return false;
-					}
-					if (currentTeam != currentRobot.getTeamPeer()) {
-						return false;
-					}
-				}
-			}
-		}
-		return true;
+		// All robots alive are in the same team, or there is at most one robot alive
+		return countActiveParticipants() <= 1 || aliveGroups <= 1;
 	}
 
 	// --------------------------------------------------------------------------
@@ -822,6 +938,16 @@ public final class Battle extends BaseBattle {
 		sendCommand(new KillRobotCommand(robotIndex));
 	}
 
+	/**
+	 * Kills a robot punished by another thread than the battle thread, like the thread of the robot. The robot
+	 * is killed by the battle thread before the next turn, unless the round has ended by then.
+	 *
+	 * @param robot the robot to kill.
+	 */
+	public void killPunishedRobot(RobotPeer robot) {
+		sendCommand(new KillPunishedRobotCommand(robot, getRoundNum()));
+	}
+
 	public void setPaintEnabled(int robotIndex, boolean enable) {
 		sendCommand(new EnableRobotPaintCommand(robotIndex, enable));
 	}
@@ -845,6 +971,23 @@ public final class Battle extends BaseBattle {
 	}
 
 
+	private class KillPunishedRobotCommand extends Command {
+		final RobotPeer robot;
+		final int round;
+
+		KillPunishedRobotCommand(RobotPeer robot, int round) {
+			this.robot = robot;
+			this.round = round;
+		}
+
+		public void execute() {
+			if (round == getRoundNum()) {
+				robot.kill();
+			}
+		}
+	}
+
+
 	private class EnableRobotPaintCommand extends RobotCommand {
 		final boolean enablePaint;
 
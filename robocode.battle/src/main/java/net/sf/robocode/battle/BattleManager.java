@@ -22,6 +22,7 @@ import net.sf.robocode.recording.IRecordManager;
 import net.sf.robocode.repository.IRepositoryManager;
 import net.sf.robocode.settings.ISettingsManager;
 import net.sf.robocode.ui.IWindowManager;
+import robocode.BattleResults;
 import robocode.Event;
 import robocode.control.BattleSpecification;
 import robocode.control.RandomFactory;
@@ -32,6 +33,10 @@ import robocode.control.events.BattleResumedEvent;
 import robocode.control.events.IBattleListener;
 
 import java.io.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -64,6 +69,10 @@ public class BattleManager implements IBattleManager {
 	private final AtomicInteger pauseCount = new AtomicInteger(0);
 	private final AtomicBoolean isManagedTPS = new AtomicBoolean(false);
 
+	private final Object battlePoolLock = new Object();
+	private ExecutorService battlePool;
+	private int battlePoolSize = Integer.getInteger("BATTLEPOOL", Runtime.getRuntime().availableProcessors());
+
 	public BattleManager(ISettingsManager properties, IRepositoryManager repositoryManager, IHostManager hostManager, ICpuManager cpuManager, BattleEventDispatcher battleEventDispatcher, IRecordManager recordManager) { // NO_UCD (unused code)
 		this.properties = properties;
 		this.recordManager = recordManager;
@@ -76,6 +85,15 @@ public class BattleManager implements IBattleManager {
 	}
 
 	public synchronized void cleanup() {
+		synchronized (battlePoolLock) {
+			if (battlePool != null) {
+				// Stops the battles waiting in the pool, and lets the running battles finish
+				for (Runnable task : battlePool.shutdownNow()) {
+					((Future<?>) task).cancel(false);
+				}
+				battlePool = null;
+			}
+		}
 		synchronized (battleStateLock) {
 			if (battle != null) {
 				battle.waitUntil(false);
@@ -103,7 +121,64 @@ public class BattleManager implements IBattleManager {
 
 	// Called from the RobocodeEngine
 	public void startNewBattle(BattleSpecification spec, String initialPositions, boolean waitTillOver, boolean enableRecording) {
-		battleProperties = new BattleProperties();
+		battleProperties = createBattleProperties(spec, initialPositions);
+
+		final RobotSpecification[] robots = repositoryManager.loadSelectedRobots(spec.getRobots());
+
+		startNewBattleImpl(robots, waitTillOver, enableRecording);
+	}
+
+	// Called from the RobocodeEngine
+	public Future<BattleResults[]> submitBattle(BattleSpecification spec, String initialPositions, IBattleListener listener) {
+		final RobotSpecification[] robots = repositoryManager.loadSelectedRobots(spec.getRobots());
+
+		// Each battle in the pool has its own events, which are not sent to the listeners of the battle manager
+		final BattleEventDispatcher eventDispatcher = new BattleEventDispatcher();
+
+		if (listener != null) {
+			eventDispatcher.addListener(listener);
+		}
+
+		final BattleProperties pooledBattleProperties = createBattleProperties(spec, initialPositions);
+		final long seed = createBattleSeed();
+
+		synchronized (battlePoolLock) {
+			if (battlePool == null) {
+				battlePool = Executors.newFixedThreadPool(battlePoolSize, new BattlePoolThreadFactory());
+			}
+			// The robots of all battles share the processors, so each robot is given more time per turn
+			// when there are more battles than processors, in order to avoid skipped turns
+			final int processors = Runtime.getRuntime().availableProcessors();
+			final long cpuConstant = cpuManager.getCpuConstant() * ((battlePoolSize + processors - 1) / processors);
+
+			final PooledBattle task = PooledBattle.create(properties, this, hostManager, cpuManager, eventDispatcher,
+					robots, pooledBattleProperties, seed, cpuConstant);
+
+			battlePool.execute(task);
+			return task;
+		}
+	}
+
+	public void setBattlePoolSize(int size) {
+		if (size < 1) {
+			throw new IllegalArgumentException("The battle pool size must be at least 1");
+		}
+		synchronized (battlePoolLock) {
+			if (size != battlePoolSize) {
+				battlePoolSize = size;
+
+				// Battles already submitted are still run by the old pool
+				if (battlePool != null) {
+					battlePool.shutdown();
+					battlePool = null;
+				}
+			}
+		}
+	}
+
+	private static BattleProperties createBattleProperties(BattleSpecification spec, String initialPositions) {
+		final BattleProperties battleProperties = new BattleProperties();
+
 		battleProperties.setBattlefieldWidth(spec.getBattlefield().getWidth());
 		battleProperties.setBattlefieldHeight(spec.getBattlefield().getHeight());
 		battleProperties.setGunCoolingRate(spec.getGunCoolingRate());
@@ -119,10 +194,14 @@ public class BattleManager implements IBattleManager {
 		} else {
 			battleProperties.setInitialPositions(initialPositions);
 		}
+		return battleProperties;
+	}
 
-		final RobotSpecification[] robots = repositoryManager.loadSelectedRobots(spec.getRobots());
+	private static long createBattleSeed() {
+		// seed for deterministic behavior of the battle and the robots
+		final String seed = System.getProperty("RANDOMSEED", "none");
 
-		startNewBattleImpl(robots, waitTillOver, enableRecording);
+		return seed.equals("none") ? RandomFactory.getRandom().nextLong() : Long.parseLong(seed);
 	}
 
 	@Override
@@ -150,18 +229,8 @@ public class BattleManager implements IBattleManager {
 				recordManager.detachRecorder();
 			}
 
-			// resets seed for deterministic behavior of Random
-			final String seed = System.getProperty("RANDOMSEED", "none");
-
-			if (!seed.equals("none")) {
-				// init soon as it reads random
-				cpuManager.getCpuConstant();
-
-				RandomFactory.resetDeterministic(Long.valueOf(seed));
-			}
-
 			Battle realBattle = Container.createComponent(Battle.class);
-			realBattle.setup(battlingRobotsList, battleProperties, isPaused());
+			realBattle.setup(battlingRobotsList, battleProperties, isPaused(), createBattleSeed());
 
 			battle = realBattle;
 
@@ -396,6 +465,12 @@ public class BattleManager implements IBattleManager {
 		}
 	}
 
+	public synchronized void seekTurn(int round, int turn) {
+		if (battleIsRunning(battle) && battle instanceof BattlePlayer) {
+			((BattlePlayer) battle).seek(round, turn);
+		}
+	}
+
 	public synchronized void killRobot(int robotIndex) {
 		if (battleIsRunning(battle) && battle instanceof Battle) {
 			((Battle) battle).killRobot(robotIndex);
@@ -423,4 +498,17 @@ public class BattleManager implements IBattleManager {
 	private static boolean battleIsRunning(IBattle battle) {
 		return battle != null && battle.isRunning();
 	}
+
+	private static class BattlePoolThreadFactory implements ThreadFactory {
+		private final AtomicInteger threadCount = new AtomicInteger();
+
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(Thread.currentThread().getThreadGroup(), runnable);
+
+			thread.setPriority(Thread.NORM_PRIORITY);
+			thread.setName("Battle Pool Thread " + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.battle;
+
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+
+/**
+ * The random number generators of a single battle.
+ * <p>
+ * All streams are split from one root generator seeded for the battle, so a battle is repeatable when it
+ * is started with the same seed. The engine and each robot draw from separate streams, so the numbers
+ * drawn by one robot do not depend on how many numbers the engine or the other robots have drawn.
+ * <p>
+ * The streams are not thread-safe, and must only be used by the thread owning them, i.e. the battle thread
+ * for the engine streams and the robot thread for a robot stream.
+ */
+public final class BattleRandom {
+
+	private final SplittableRandom root;
+	private final Random engineRandom;
+	private final Random positionRandom;
+
+	/**
+	 * Creates the random number generators for a battle.
+	 *
+	 * @param seed the seed of the battle.
+	 */
+	public BattleRandom(long seed) {
+		root = new SplittableRandom(seed);
+		engineRandom = new SplitStream(root.split());
+		positionRandom = new SplitStream(root.split());
+	}
+
+	/**
+	 * Returns the stream used by the engine for putting robots and bullets in random order every turn.
+	 *
+	 * @return the random number generator of the engine.
+	 */
+	public Random getEngineRandom() {
+		return engineRandom;
+	}
+
+	/**
+	 * Returns the stream used for the initial positions and headings of the robots.
+	 *
+	 * @return the random number generator for initial positions.
+	 */
+	public Random getPositionRandom() {
+		return positionRandom;
+	}
+
+	/**
+	 * Creates a new stream for a robot. The streams are created in the order the robots are created,
+	 * so each robot gets the same stream when a battle is repeated.
+	 *
+	 * @return a new random number generator for a robot.
+	 */
+	public Random createRobotRandom() {
+		return new SplitStream(root.split());
+	}
+
+	/**
+	 * A {@link Random} drawing from a {@link SplittableRandom}, which avoids the atomic updates of the seed
+	 * done by {@link Random} itself.
+	 */
+	private static final class SplitStream extends Random {
+
+		private static final long serialVersionUID = 1L;
+
+		private transient SplittableRandom source;
+
+		SplitStream(SplittableRandom source) {
+			this.source = source;
+		}
+
+		@Override
+		public synchronized void setSeed(long seed) {
+			// Called by the constructor of Random, before the source has been set
+			source = new SplittableRandom(seed);
+		}
+
+		@Override
+		protected int next(int bits) {
+			return source.nextInt() >>> (32 - bits);
+		}
+
+		@Override
+		public int nextInt() {
+			return source.nextInt();
+		}
+
+		@Override
+		public int nextInt(int bound) {
+			if (bound <= 0) {
+				throw new IllegalArgumentException("bound must be positive");
+			}
+			return source.nextInt(bound);
+		}
+
+		@Override
+		public long nextLong() {
+			return source.nextLong();
+		}
+
+		@Override
+		public double nextDouble() {
+			return source.nextDouble();
+		}
+
+		@Override
+		public boolean nextBoolean() {
+			return source.nextBoolean();
+		}
+	}
+}
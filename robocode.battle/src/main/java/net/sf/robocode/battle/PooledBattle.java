@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.battle;
+
+
+import net.sf.robocode.battle.events.BattleEventDispatcher;
+import net.sf.robocode.host.ICpuManager;
+import net.sf.robocode.host.IHostManager;
+import net.sf.robocode.io.RobocodeProperties;
+import net.sf.robocode.settings.ISettingsManager;
+import robocode.BattleResults;
+import robocode.control.RobotSpecification;
+import robocode.control.events.BattleAdaptor;
+import robocode.control.events.BattleCompletedEvent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.FutureTask;
+
+
+/**
+ * A battle run by a thread of the battle pool, with its own event dispatcher.
+ * The battle is first created when a thread of the pool is ready to run it, so battles waiting in the pool
+ * do not hold robots. The future holds the results of the battle sorted by rank, and cancelling it stops
+ * the battle.
+ */
+final class PooledBattle extends FutureTask<BattleResults[]> {
+
+	private final BattleRunner runner;
+
+	private PooledBattle(BattleRunner runner) {
+		super(runner);
+		this.runner = runner;
+	}
+
+	static PooledBattle create(ISettingsManager properties, IBattleManager battleManager, IHostManager hostManager,
+			ICpuManager cpuManager, BattleEventDispatcher eventDispatcher, RobotSpecification[] robots,
+			BattleProperties battleProperties, long seed, long cpuConstant) {
+		final BattleRunner runner = new BattleRunner(properties, battleManager, hostManager, cpuManager, eventDispatcher,
+				robots, battleProperties, seed, cpuConstant);
+
+		eventDispatcher.addListener(runner);
+		return new PooledBattle(runner);
+	}
+
+	@Override
+	public boolean cancel(boolean mayInterruptIfRunning) {
+		// The battle is stopped the usual way, as interrupting the battle thread would leave robots running
+		runner.stop();
+		return super.cancel(false);
+	}
+
+	private static final class BattleRunner extends BattleAdaptor implements Callable<BattleResults[]> {
+		private final ISettingsManager properties;
+		private final IBattleManager battleManager;
+		private final IHostManager hostManager;
+		private final ICpuManager cpuManager;
+		private final BattleEventDispatcher eventDispatcher;
+		private final RobotSpecification[] robots;
+		private final BattleProperties battleProperties;
+		private final long seed;
+		private final long cpuConstant;
+
+		private Battle battle;
+		private boolean isStopped;
+		private volatile BattleResults[] results;
+
+		BattleRunner(ISettingsManager properties, IBattleManager battleManager, IHostManager hostManager,
+				ICpuManager cpuManager, BattleEventDispatcher eventDispatcher, RobotSpecification[] robots,
+				BattleProperties battleProperties, long seed, long cpuConstant) {
+			this.properties = properties;
+			this.battleManager = battleManager;
+			this.hostManager = hostManager;
+			this.cpuManager = cpuManager;
+			this.eventDispatcher = eventDispatcher;
+			this.robots = robots;
+			this.battleProperties = battleProperties;
+			this.seed = seed;
+			this.cpuConstant = cpuConstant;
+		}
+
+		@Override
+		public void onBattleCompleted(BattleCompletedEvent event) {
+			results = event.getSortedResults();
+		}
+
+		synchronized void stop() {
+			isStopped = true;
+			if (battle != null) {
+				battle.stop(false);
+			}
+		}
+
+		public BattleResults[] call() {
+			final Thread battleThread = Thread.currentThread();
+
+			if (RobocodeProperties.isSecurityOn()) {
+				hostManager.addSafeThread(battleThread);
+			}
+			try {
+				synchronized (this) {
+					if (isStopped) {
+						throw new CancellationException("The battle was aborted");
+					}
+				}
+				final Battle realBattle = new Battle(properties, battleManager, hostManager, cpuManager, eventDispatcher);
+
+				realBattle.setCpuConstant(cpuConstant);
+				realBattle.setup(robots, battleProperties, false, seed);
+				realBattle.setBattleThread(battleThread);
+				// Pooled battles are not displayed, so they are not slowed down to the TPS of the GUI
+				realBattle.setUnmanagedTPS(true);
+
+				synchronized (this) {
+					battle = realBattle;
+					if (isStopped) {
+						// The battle is run anyway, as this cleans up its robots
+						realBattle.stop(false);
+					}
+				}
+				realBattle.run();
+			} finally {
+				hostManager.removeSafeThread(battleThread);
+			}
+			if (results == null) {
+				throw new CancellationException("The battle was aborted");
+			}
+			return results;
+		}
+	}
+}
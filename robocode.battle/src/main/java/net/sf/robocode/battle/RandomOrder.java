@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.battle;
+
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.RandomAccess;
+
+
+/**
+ * A reusable random permutation of battle objects. This is used to gain fair play in Robocode, so that an
+ * object placed before another object in a list will not gain any benefit when the game checks if a robot
+ * has won, is dead, was hit, etc.
+ * <p>
+ * Each call to {@link #shuffle(Iterable, Random)} takes a snapshot of the source and shuffles an array of
+ * indexes into that snapshot. The backing arrays are kept between calls, so the battle can reorder robots
+ * and bullets every turn without allocating new lists.
+ *
+ * @param <T> the type of the objects being ordered.
+ */
+public final class RandomOrder<T> extends AbstractList<T> implements RandomAccess {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private Object[] elements = new Object[INITIAL_CAPACITY];
+	private int[] order = new int[INITIAL_CAPACITY];
+	private int size;
+
+	/**
+	 * Takes a snapshot of the source objects and puts them in a new random order.
+	 * The shuffle is the same Fisher-Yates shuffle as used by {@link java.util.Collections#shuffle(java.util.List, Random)}.
+	 *
+	 * @param source the objects to order.
+	 * @param random the random number generator used for the shuffle.
+	 * @return this list, now containing the objects of the source in random order.
+	 */
+	public RandomOrder<T> shuffle(Iterable<? extends T> source, Random random) {
+		int count = 0;
+
+		for (T element : source) {
+			if (count == elements.length) {
+				grow();
+			}
+			elements[count] = element;
+			order[count] = count;
+			count++;
+		}
+
+		// Release references to objects that are no longer part of the source
+		if (count < size) {
+			Arrays.fill(elements, count, size, null);
+		}
+		size = count;
+
+		for (int i = count; i > 1; i--) {
+			final int j = random.nextInt(i);
+			final int tmp = order[i - 1];
+
+			order[i - 1] = order[j];
+			order[j] = tmp;
+		}
+		return this;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		return (T) elements[order[index]];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(elements, 0, size, null);
+		size = 0;
+	}
+
+	private void grow() {
+		final int newCapacity = elements.length * 2;
+
+		elements = Arrays.copyOf(elements, newCapacity);
+		order = Arrays.copyOf(order, newCapacity);
+	}
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.battle;
+
+
+import java.util.Arrays;
+
+
+/**
+ * A uniform grid over the battlefield used as broad phase for collision checks.
+ * <p>
+ * Objects are inserted with an index and the bounding box they can possibly occupy. A query returns the
+ * indexes of all objects with a bounding box overlapping the cells of the query box, without duplicates
+ * and sorted in ascending order. Hence, when the indexes are positions in a {@link RandomOrder}, the
+ * candidates are visited in the same order as when iterating over the whole list, and the result of the
+ * exact collision checks is unchanged.
+ * <p>
+ * The grid is rebuilt once per turn using {@link #reset(double, double)} and reuses its arrays, so
+ * it does not allocate memory in a running battle. Objects that move while the grid is in use are
+ * kept up to date with {@link #update(int, double, double, double, double)}.
+ */
+public final class SpatialGrid {
+
+	private static final int INITIAL_CELL_CAPACITY = 4;
+
+	private final double cellSize;
+
+	private int columns;
+	private int rows;
+	private int[][] cells = new int[0][];
+	private int[] cellCounts = new int[0];
+
+	// The cells covered by each object, stored as minColumn, minRow, maxColumn, maxRow.
+	// The minColumn is -1 for objects not in the grid
+	private int[] ranges = new int[0];
+	private int maxIndex = -1;
+
+	// Stamps used for removing duplicates, when an object is found in more than one cell
+	private int[] stamps = new int[0];
+	private int stamp;
+
+	private int[] candidates = new int[16];
+	private int candidateCount;
+
+	/**
+	 * Creates a new grid.
+	 *
+	 * @param cellSize the width and height of each cell.
+	 */
+	public SpatialGrid(double cellSize) {
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * Removes all objects from the grid and makes it cover a battlefield with the specified size.
+	 *
+	 * @param width  the width of the battlefield.
+	 * @param height the height of the battlefield.
+	 */
+	public void reset(double width, double height) {
+		final int newColumns = Math.max(1, (int) Math.ceil(width / cellSize));
+		final int newRows = Math.max(1, (int) Math.ceil(height / cellSize));
+
+		if (newColumns != columns || newRows != rows) {
+			columns = newColumns;
+			rows = newRows;
+			cells = new int[columns * rows][];
+			cellCounts = new int[columns * rows];
+		} else {
+			Arrays.fill(cellCounts, 0);
+		}
+		for (int i = 0; i <= maxIndex; i++) {
+			ranges[4 * i] = -1;
+		}
+		maxIndex = -1;
+		candidateCount = 0;
+	}
+
+	/**
+	 * Inserts an object into all cells overlapped by the specified bounding box.
+	 *
+	 * @param index the index of the object, which must be 0 or positive.
+	 * @param minX  the minimum x coordinate of the bounding box.
+	 * @param minY  the minimum y coordinate of the bounding box.
+	 * @param maxX  the maximum x coordinate of the bounding box.
+	 * @param maxY  the maximum y coordinate of the bounding box.
+	 */
+	public void insert(int index, double minX, double minY, double maxX, double maxY) {
+		if (index >= stamps.length) {
+			final int oldLength = stamps.length;
+			final int newLength = Math.max(16, 2 * (index + 1));
+
+			stamps = Arrays.copyOf(stamps, newLength);
+			ranges = Arrays.copyOf(ranges, 4 * newLength);
+			for (int i = oldLength; i < newLength; i++) {
+				ranges[4 * i] = -1;
+			}
+		}
+		if (ranges[4 * index] >= 0) {
+			throw new IllegalStateException("Object " + index + " is already in the grid");
+		}
+		final int minColumn = column(minX), maxColumn = column(maxX);
+		final int minRow = row(minY), maxRow = row(maxY);
+
+		addToCells(index, minColumn, minRow, maxColumn, maxRow);
+
+		if (index > maxIndex) {
+			maxIndex = index;
+		}
+	}
+
+	/**
+	 * Updates the bounding box of an object that has moved. Nothing happens if the object is not in the grid.
+	 *
+	 * @param index the index of the object given when it was inserted.
+	 * @param minX  the new minimum x coordinate of the bounding box.
+	 * @param minY  the new minimum y coordinate of the bounding box.
+	 * @param maxX  the new maximum x coordinate of the bounding box.
+	 * @param maxY  the new maximum y coordinate of the bounding box.
+	 */
+	public void update(int index, double minX, double minY, double maxX, double maxY) {
+		if (index > maxIndex || ranges[4 * index] < 0) {
+			return;
+		}
+		final int minColumn = column(minX), maxColumn = column(maxX);
+		final int minRow = row(minY), maxRow = row(maxY);
+		final int r = 4 * index;
+
+		if (ranges[r] == minColumn && ranges[r + 1] == minRow && ranges[r + 2] == maxColumn && ranges[r + 3] == maxRow) {
+			return; // still in the same cells, which is by far the most common case
+		}
+		for (int row = ranges[r + 1]; row <= ranges[r + 3]; row++) {
+			for (int column = ranges[r]; column <= ranges[r + 2]; column++) {
+				removeFromCell(row * columns + column, index);
+			}
+		}
+		addToCells(index, minColumn, minRow, maxColumn, maxRow);
+	}
+
+	private void addToCells(int index, int minColumn, int minRow, int maxColumn, int maxRow) {
+		final int range = 4 * index;
+
+		ranges[range] = minColumn;
+		ranges[range + 1] = minRow;
+		ranges[range + 2] = maxColumn;
+		ranges[range + 3] = maxRow;
+
+		for (int r = minRow; r <= maxRow; r++) {
+			for (int c = minColumn; c <= maxColumn; c++) {
+				final int cell = r * columns + c;
+				int[] items = cells[cell];
+				final int count = cellCounts[cell];
+
+				if (items == null) {
+					items = cells[cell] = new int[INITIAL_CELL_CAPACITY];
+				} else if (count == items.length) {
+					items = cells[cell] = Arrays.copyOf(items, 2 * count);
+				}
+				items[count] = index;
+				cellCounts[cell] = count + 1;
+			}
+		}
+	}
+
+	private void removeFromCell(int cell, int index) {
+		final int[] items = cells[cell];
+		final int last = cellCounts[cell] - 1;
+
+		for (int i = 0; i <= last; i++) {
+			if (items[i] == index) {
+				// The order within a cell does not matter, as query results are sorted
+				items[i] = items[last];
+				cellCounts[cell] = last;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Finds all objects that might overlap the specified bounding box.
+	 * The result is read using {@link #getCandidate(int)}, and is valid until the next query.
+	 *
+	 * @param minX the minimum x coordinate of the bounding box.
+	 * @param minY the minimum y coordinate of the bounding box.
+	 * @param maxX the maximum x coordinate of the bounding box.
+	 * @param maxY the maximum y coordinate of the bounding box.
+	 * @return the number of candidates found.
+	 */
+	public int query(double minX, double minY, double maxX, double maxY) {
+		if (++stamp == 0) {
+			// The stamp has wrapped around, so old stamps must be cleared in order to be unique again
+			Arrays.fill(stamps, 0);
+			stamp = 1;
+		}
+		candidateCount = 0;
+
+		final int minColumn = column(minX), maxColumn = column(maxX);
+		final int minRow = row(minY), maxRow = row(maxY);
+
+		for (int r = minRow; r <= maxRow; r++) {
+			for (int c = minColumn; c <= maxColumn; c++) {
+				final int cell = r * columns + c;
+				final int[] items = cells[cell];
+				final int count = cellCounts[cell];
+
+				for (int i = 0; i < count; i++) {
+					final int index = items[i];
+
+					if (stamps[index] != stamp) {
+						stamps[index] = stamp;
+						if (candidateCount == candidates.length) {
+							candidates = Arrays.copyOf(candidates, 2 * candidateCount);
+						}
+						candidates[candidateCount++] = index;
+					}
+				}
+			}
+		}
+		if (candidateCount > 1) {
+			Arrays.sort(candidates, 0, candidateCount);
+		}
+		return candidateCount;
+	}
+
+	/**
+	 * Returns a candidate found by the last query, where candidates are sorted by their index.
+	 *
+	 * @param i the number of the candidate, which must be less than the number of candidates found.
+	 * @return the index of the object given when it was inserted.
+	 */
+	public int getCandidate(int i) {
+		return candidates[i];
+	}
+
+	private int column(double x) {
+		return clamp((int) Math.floor(x / cellSize), columns);
+	}
+
+	private int row(double y) {
+		return clamp((int) Math.floor(y / cellSize), rows);
+	}
+
+	private static int clamp(int cell, int count) {
+		// Objects outside the battlefield (or with NaN coordinates) are put into the border cells
+		if (cell < 0) {
+			return 0;
+		}
+		return cell >= count ? count - 1 : cell;
+	}
+}
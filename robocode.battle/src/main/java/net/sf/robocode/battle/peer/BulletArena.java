@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.battle.peer;
+
+
+import robocode.BattleRules;
+import robocode.control.snapshot.BulletState;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+
+/**
+ * The bullets on the battlefield, which are owned by the battle and only used by the battle thread.
+ * <p>
+ * The bullets are kept in the order they were fired in, so the random orders of the bullets are the same
+ * as with a plain list. When a bullet has become inactive, it is removed when the battle compacts the arena
+ * after updating the bullets, and kept in a free list, so it is used again for a new bullet instead of
+ * creating a new bullet. The explosions of dead robots are not recycled, as robots rarely die.
+ * <p>
+ * The snapshots of a turn copy the bullets, and are taken by the battle thread while the arena does not
+ * change, so a snapshot never sees a bullet that is recycled.
+ *
+ * @since 1.9.5.4
+ */
+public final class BulletArena extends AbstractList<BulletPeer> implements RandomAccess {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	// The bullets on the battlefield in the order they were fired in
+	private BulletPeer[] bullets = new BulletPeer[INITIAL_CAPACITY];
+	private int size;
+
+	// The inactive bullets that can be used again
+	private BulletPeer[] free = new BulletPeer[INITIAL_CAPACITY];
+	private int freeCount;
+
+	/**
+	 * Creates a new bullet, which is a recycled bullet if there is one. The bullet is not on the battlefield
+	 * until it is added to the arena.
+	 *
+	 * @param owner       the robot firing the bullet.
+	 * @param battleRules the rules of the battle.
+	 * @param bulletId    the id of the bullet.
+	 * @return the new bullet.
+	 */
+	public BulletPeer newBullet(RobotPeer owner, BattleRules battleRules, int bulletId) {
+		final BulletPeer bullet;
+
+		if (freeCount > 0) {
+			bullet = free[--freeCount];
+			free[freeCount] = null;
+			bullet.init(owner, battleRules, bulletId);
+		} else {
+			bullet = new BulletPeer(owner, battleRules, bulletId);
+		}
+		return bullet;
+	}
+
+	@Override
+	public boolean add(BulletPeer bullet) {
+		if (size == bullets.length) {
+			bullets = Arrays.copyOf(bullets, size * 2);
+		}
+		bullets[size++] = bullet;
+		return true;
+	}
+
+	@Override
+	public BulletPeer get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		return bullets[index];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes the inactive bullets, keeping the order of the other bullets, and recycles the removed bullets.
+	 */
+	public void removeInactive() {
+		int kept = 0;
+
+		for (int i = 0; i < size; i++) {
+			final BulletPeer bullet = bullets[i];
+
+			if (bullet.getState() == BulletState.INACTIVE) {
+				recycle(bullet);
+			} else {
+				bullets[kept++] = bullet;
+			}
+		}
+		Arrays.fill(bullets, kept, size, null);
+		size = kept;
+	}
+
+	/**
+	 * Removes and recycles all bullets.
+	 */
+	@Override
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			recycle(bullets[i]);
+		}
+		Arrays.fill(bullets, 0, size, null);
+		size = 0;
+	}
+
+	private void recycle(BulletPeer bullet) {
+		if (bullet.getClass() != BulletPeer.class) {
+			return;
+		}
+		if (freeCount == free.length) {
+			free = Arrays.copyOf(free, freeCount * 2);
+		}
+		free[freeCount++] = bullet;
+	}
+}
@@ -8,6 +8,7 @@
 package net.sf.robocode.battle.peer;
 
 
+import net.sf.robocode.battle.SpatialGrid;
 import net.sf.robocode.peer.BulletStatus;
 import robocode.*;
 import robocode.control.snapshot.BulletState;
@@ -15,6 +16,8 @@ import robocode.util.Utils;
 
 import java.awt.geom.Line2D;
 import static java.lang.Math.cos;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.Math.sin;
 import java.util.List;
 
@@ -33,10 +36,13 @@ public class BulletPeer {
 
 	private static final int RADIUS = 3;
 
-	protected final RobotPeer owner;
+	// Margin added to bounding boxes in spatial grids to allow for rounding errors
+	static final double GRID_MARGIN = 1;
 
-	private final BattleRules battleRules;
-	private final int bulletId;
+	protected RobotPeer owner;
+
+	private BattleRules battleRules;
+	private int bulletId;
 
 	protected RobotPeer victim;
 
@@ -59,48 +65,84 @@ public class BulletPeer {
 
 	protected int frame; // Do not set to -1
 
-	private final int color;
+	private int color;
 
 	protected int explosionImageIndex; // Do not set to -1
 
 	BulletPeer(RobotPeer owner, BattleRules battleRules, int bulletId) {
 		super();
+		init(owner, battleRules, bulletId);
+	}
+
+	// Sets up this bullet as a new bullet, so a bullet that has become inactive can be fired again
+	final void init(RobotPeer owner, BattleRules battleRules, int bulletId) {
 		this.owner = owner;
 		this.battleRules = battleRules;
 		this.bulletId = bulletId;
+		victim = null;
 		state = BulletState.FIRED;
+		heading = 0;
+		x = 0;
+		y = 0;
+		lastX = 0;
+		lastY = 0;
+		power = 0;
+		deltaX = 0;
+		deltaY = 0;
+		boundingLine.setLine(0, 0, 0, 0);
+		frame = 0;
 		color = owner.getBulletColor(); // Store current bullet color set on robot
+		explosionImageIndex = 0;
 	}
 
-	private void checkBulletCollision(List<BulletPeer> bullets) {
-		for (BulletPeer b : bullets) {
-			if (b != null && b != this && b.owner != owner && b.isActive() && intersect(b.boundingLine)) {
-				// Check if one of the bullets belongs to a sentry robot and is within the safe zone
-				if (owner.isSentryRobot() || b.getOwner().isSentryRobot()) {
-					int sentryBorderSize = battleRules.getSentryBorderSize();
-					if (x > sentryBorderSize && x < (battleRules.getBattlefieldWidth() - sentryBorderSize)
-							&& y > sentryBorderSize && y < (battleRules.getBattlefieldHeight() - sentryBorderSize)) {
-
-						continue; // Continue, as the sentry should not interfere with bullets in the safe zone 
-					}
+	private void checkBulletCollision(List<BulletPeer> bullets, SpatialGrid bulletGrid) {
+		if (bulletGrid == null) {
+			for (BulletPeer b : bullets) {
+				if (checkBulletCollision(b)) {
+					break;
 				}
+			}
+		} else {
+			final int count = bulletGrid.query(min(boundingLine.x1, boundingLine.x2) - GRID_MARGIN,
+					min(boundingLine.y1, boundingLine.y2) - GRID_MARGIN, max(boundingLine.x1, boundingLine.x2) + GRID_MARGIN,
+					max(boundingLine.y1, boundingLine.y2) + GRID_MARGIN);
+
+			for (int i = 0; i < count; i++) {
+				if (checkBulletCollision(bullets.get(bulletGrid.getCandidate(i)))) {
+					break;
+				}
+			}
+		}
+	}
 
-				state = BulletState.HIT_BULLET;
-				frame = 0;
-				x = lastX;
-				y = lastY;
-
-				b.state = BulletState.HIT_BULLET;
-				b.frame = 0;
-				b.x = b.lastX;
-				b.y = b.lastY;
+	private boolean checkBulletCollision(BulletPeer b) {
+		if (b != null && b != this && b.owner != owner && b.isActive() && intersect(b.boundingLine)) {
+			// Check if one of the bullets belongs to a sentry robot and is within the safe zone
+			if (owner.isSentryRobot() || b.getOwner().isSentryRobot()) {
+				int sentryBorderSize = battleRules.getSentryBorderSize();
+				if (x > sentryBorderSize && x < (battleRules.getBattlefieldWidth() - sentryBorderSize)
+						&& y > sentryBorderSize && y < (battleRules.getBattlefieldHeight() - sentryBorderSize)) {
 
-				// Bugfix #366
-				owner.addEvent(new BulletHitBulletEvent(createBullet(false), b.createBullet(true)));
-				b.owner.addEvent(new BulletHitBulletEvent(b.createBullet(false), createBullet(true)));
-				break;
+					return false; // Continue, as the sentry should not interfere with bullets in the safe zone 
+				}
 			}
+
+			state = BulletState.HIT_BULLET;
+			frame = 0;
+			x = lastX;
+			y = lastY;
+
+			b.state = BulletState.HIT_BULLET;
+			b.frame = 0;
+			b.x = b.lastX;
+			b.y = b.lastY;
+
+			// Bugfix #366
+			owner.addEvent(new BulletHitBulletEvent(createBullet(false), b.createBullet(true)));
+			b.owner.addEvent(new BulletHitBulletEvent(b.createBullet(false), createBullet(true)));
+			return true;
 		}
+		return false;
 	}
 
 	private Bullet createBullet(boolean hideOwnerName) {
@@ -137,84 +179,103 @@ public class BulletPeer {
 		return (ua >= 0 && ua <= 1) && (ub >= 0 && ub <= 1);
 	}
 
-	private void checkRobotCollision(List<RobotPeer> robots) {
-		for (RobotPeer otherRobot : robots) {
-			if (!(otherRobot == null || otherRobot == owner || otherRobot.isDead())
-					&& otherRobot.getBoundingBox().intersectsLine(boundingLine)) {
+	private void checkRobotCollision(List<RobotPeer> robots, SpatialGrid robotGrid) {
+		if (robotGrid == null) {
+			for (RobotPeer otherRobot : robots) {
+				if (checkRobotCollision(otherRobot)) {
+					break;
+				}
+			}
+		} else {
+			final int count = robotGrid.query(min(boundingLine.x1, boundingLine.x2) - GRID_MARGIN,
+					min(boundingLine.y1, boundingLine.y2) - GRID_MARGIN, max(boundingLine.x1, boundingLine.x2) + GRID_MARGIN,
+					max(boundingLine.y1, boundingLine.y2) + GRID_MARGIN);
+
+			for (int i = 0; i < count; i++) {
+				if (checkRobotCollision(robots.get(robotGrid.getCandidate(i)))) {
+					break;
+				}
+			}
+		}
+	}
 
-				state = BulletState.HIT_VICTIM;
-				frame = 0;
-				victim = otherRobot;
+	private boolean checkRobotCollision(RobotPeer otherRobot) {
+		if (!(otherRobot == null || otherRobot == owner || otherRobot.isDead())
+				&& otherRobot.getBoundingBox().intersectsLine(boundingLine)) {
 
-				double damage = Rules.getBulletDamage(power);
+			state = BulletState.HIT_VICTIM;
+			frame = 0;
+			victim = otherRobot;
+
+			double damage = Rules.getBulletDamage(power);
 
-				if (owner.isSentryRobot()) {
-					if (victim.isSentryRobot()) {
+			if (owner.isSentryRobot()) {
+				if (victim.isSentryRobot()) {
+					damage = 0;
+				} else {					
+					int range = battleRules.getSentryBorderSize();
+					if (x > range && x < (battleRules.getBattlefieldWidth() - range) && y > range
+							&& y < (battleRules.getBattlefieldHeight() - range)) {
 						damage = 0;
-					} else {					
-						int range = battleRules.getSentryBorderSize();
-						if (x > range && x < (battleRules.getBattlefieldWidth() - range) && y > range
-								&& y < (battleRules.getBattlefieldHeight() - range)) {
-							damage = 0;
-						}
 					}
 				}
+			}
 
-				double score = damage;
-				if (score > otherRobot.getEnergy()) {
-					score = otherRobot.getEnergy();
-				}
-				otherRobot.updateEnergy(-damage);
+			double score = damage;
+			if (score > otherRobot.getEnergy()) {
+				score = otherRobot.getEnergy();
+			}
+			otherRobot.updateEnergy(-damage);
 
-				boolean teamFire = (owner.getTeamPeer() != null && owner.getTeamPeer() == otherRobot.getTeamPeer());
+			boolean teamFire = (owner.getTeamPeer() != null && owner.getTeamPeer() == otherRobot.getTeamPeer());
 
-				if (!teamFire && !otherRobot.isSentryRobot()) {
-					owner.getRobotStatistics().scoreBulletDamage(otherRobot.getName(), score);
-				}
+			if (!teamFire && !otherRobot.isSentryRobot()) {
+				owner.getRobotStatistics().scoreBulletDamage(otherRobot.getRobotIndex(), score);
+			}
 
-				if (otherRobot.getEnergy() <= 0 && otherRobot.isAlive()) {
-					otherRobot.kill();
-					if (!teamFire && !otherRobot.isSentryRobot()) {
-						double bonus = owner.getRobotStatistics().scoreBulletKill(otherRobot.getName());
-						if (bonus > 0) {
-							owner.println(
-									"SYSTEM: Bonus for killing "
-											+ (owner.getNameForEvent(otherRobot) + ": " + (int) (bonus + .5)));
-						}
+			if (otherRobot.getEnergy() <= 0 && otherRobot.isAlive()) {
+				otherRobot.kill();
+				if (!teamFire && !otherRobot.isSentryRobot()) {
+					double bonus = owner.getRobotStatistics().scoreBulletKill(otherRobot.getRobotIndex());
+					if (bonus > 0) {
+						owner.println(
+								"SYSTEM: Bonus for killing "
+										+ (owner.getNameForEvent(otherRobot) + ": " + (int) (bonus + .5)));
 					}
 				}
+			}
 
-				if (!victim.isSentryRobot()) {
-					owner.updateEnergy(Rules.getBulletHitBonus(power));
-				}
+			if (!victim.isSentryRobot()) {
+				owner.updateEnergy(Rules.getBulletHitBonus(power));
+			}
 
-				otherRobot.addEvent(
-						new HitByBulletEvent(
-								robocode.util.Utils.normalRelativeAngle(heading + Math.PI - otherRobot.getBodyHeading()),
-								createBullet(true))); // Bugfix #366
+			otherRobot.addEvent(
+					new HitByBulletEvent(
+							robocode.util.Utils.normalRelativeAngle(heading + Math.PI - otherRobot.getBodyHeading()),
+							createBullet(true))); // Bugfix #366
 
-				owner.addEvent(
-						new BulletHitEvent(owner.getNameForEvent(otherRobot), otherRobot.getEnergy(), createBullet(false))); // Bugfix #366
+			owner.addEvent(
+					new BulletHitEvent(owner.getNameForEvent(otherRobot), otherRobot.getEnergy(), createBullet(false))); // Bugfix #366
 
-				double newX, newY;
+			double newX, newY;
 
-				if (otherRobot.getBoundingBox().contains(lastX, lastY)) {
-					newX = lastX;
-					newY = lastY;
+			if (otherRobot.getBoundingBox().contains(lastX, lastY)) {
+				newX = lastX;
+				newY = lastY;
 
-					setX(newX);
-					setY(newY);
-				} else {
-					newX = x;
-					newY = y;
-				}
+				setX(newX);
+				setY(newY);
+			} else {
+				newX = x;
+				newY = y;
+			}
 
-				deltaX = newX - otherRobot.getX();
-				deltaY = newY - otherRobot.getY();
+			deltaX = newX - otherRobot.getX();
+			deltaY = newY - otherRobot.getY();
 
-				break;
-			}
+			return true;
 		}
+		return false;
 	}
 
 	private void checkWallCollision() {
@@ -307,15 +368,29 @@ public class BulletPeer {
 	}
 
 	public void update(List<RobotPeer> robots, List<BulletPeer> bullets) {
+		update(robots, null, bullets, null);
+	}
+
+	/**
+	 * Moves this bullet and checks if it hits a wall, a robot or another bullet.
+	 *
+	 * @param robots     the robots to check, in the order they should be checked.
+	 * @param robotGrid  grid containing the robots, indexed by their position in the robot list,
+	 *                   or {@code null} if all robots must be checked.
+	 * @param bullets    the bullets to check, in the order they should be checked.
+	 * @param bulletGrid grid containing the bullets, indexed by their position in the bullet list,
+	 *                   or {@code null} if all bullets must be checked.
+	 */
+	public void update(List<RobotPeer> robots, SpatialGrid robotGrid, List<BulletPeer> bullets, SpatialGrid bulletGrid) {
 		frame++;
 		if (isActive()) {
 			updateMovement();
 			checkWallCollision();
 			if (isActive()) {
-				checkRobotCollision(robots);
+				checkRobotCollision(robots, robotGrid);
 			}
 			if (isActive() && bullets != null) {
-				checkBulletCollision(bullets);
+				checkBulletCollision(bullets, bulletGrid);
 			}
 		}
 		updateBulletState();
@@ -357,6 +432,26 @@ public class BulletPeer {
 		boundingLine.setLine(lastX, lastY, x, y);
 	}
 
+	/**
+	 * Inserts this bullet into a grid used for checking bullet collisions during the next update of all bullets.
+	 * The bullet covers both the line it moved along in the last turn and the line it will move along in the
+	 * next update, as other bullets can be checked against it both before and after it has been updated.
+	 *
+	 * @param grid  the grid to insert this bullet into.
+	 * @param index the index of this bullet in the list of bullets being updated.
+	 */
+	public void insertInto(SpatialGrid grid, int index) {
+		if (!isActive()) {
+			return; // inactive bullets cannot be hit
+		}
+		final double v = getVelocity();
+		final double nextX = x + v * sin(heading);
+		final double nextY = y + v * cos(heading);
+
+		grid.insert(index, min(min(lastX, x), nextX) - GRID_MARGIN, min(min(lastY, y), nextY) - GRID_MARGIN,
+				max(max(lastX, x), nextX) + GRID_MARGIN, max(max(lastY, y), nextY) + GRID_MARGIN);
+	}
+
 	public int getExplosionImageIndex() {
 		return explosionImageIndex;
 	}
@@ -8,6 +8,7 @@
 package net.sf.robocode.battle.peer;
 
 
+import net.sf.robocode.battle.SpatialGrid;
 import robocode.BattleRules;
 import robocode.control.snapshot.BulletState;
 
@@ -36,7 +37,7 @@ public class ExplosionPeer extends BulletPeer {
 	}
 
 	@Override
-	public final void update(List<RobotPeer> robots, List<BulletPeer> bullets) {
+	public final void update(List<RobotPeer> robots, SpatialGrid robotGrid, List<BulletPeer> bullets, SpatialGrid bulletGrid) {
 		frame++;
 
 		x = owner.getX();
@@ -8,6 +8,7 @@
 package net.sf.robocode.battle.peer;
 
 
+import net.sf.robocode.battle.SpatialGrid;
 import robocode.Event;
 import robocode.control.RobotSetup;
 
@@ -64,7 +65,7 @@ interface IRobotPeerBattle extends ContestantPeer {
 
 	void performLoadCommands();
 
-	void performMove(List<RobotPeer> robots, double zapEnergy);
+	void performMove(List<RobotPeer> robots, SpatialGrid robotGrid, double zapEnergy);
 
-	void performScan(List<RobotPeer> robots);
+	void performScan(List<RobotPeer> robots, SpatialGrid robotGrid);
 }
@@ -11,6 +11,7 @@ package net.sf.robocode.battle.peer;
 import static net.sf.robocode.io.Logger.logMessage;
 import net.sf.robocode.battle.Battle;
 import net.sf.robocode.battle.BoundingRectangle;
+import net.sf.robocode.battle.SpatialGrid;
 import net.sf.robocode.host.IHostManager;
 import net.sf.robocode.host.RobotStatics;
 import net.sf.robocode.host.events.EventManager;
@@ -23,7 +24,6 @@ import net.sf.robocode.repository.IRobotItem;
 import net.sf.robocode.security.HiddenAccess;
 import net.sf.robocode.serialization.RbSerializer;
 import robocode.*;
-import robocode.control.RandomFactory;
 import robocode.control.RobotSetup;
 import robocode.control.RobotSpecification;
 import robocode.control.snapshot.BulletState;
@@ -47,7 +47,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicReference;
 
 
 /**
@@ -66,7 +65,7 @@ import java.util.concurrent.atomic.AtomicReference;
  * @author "Positive" (contributor)
  * @author "BD123" (contributor)
  */
-public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
+public final class RobotPeer implements IRobotPeerBattle, IRobotPeerSerial {
 
 	public static final int
 			WIDTH = 36,
@@ -76,22 +75,23 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 			HALF_WIDTH_OFFSET = WIDTH / 2,
 			HALF_HEIGHT_OFFSET = HEIGHT / 2;
 
+	// The distance from the robot center within which other robots are looked up for scans
+	private static final double SCAN_REACH = Rules.RADAR_SCAN_RADIUS + BulletPeer.GRID_MARGIN;
+
 	private static final int MAX_SKIPPED_TURNS = 30;
 	private static final int MAX_SKIPPED_TURNS_WITH_IO = 240;
 
+	// How often the CPU time of a robot is checked, while waiting for it to take action
+	private static final long CPU_TIME_CHECK_NANOS = 1000000;
+
 	private Battle battle;
 	private RobotStatistics statistics;
 	private final RobotSpecification robotSpecification;
 	private final TeamPeer teamPeer;
 
 	private IHostingRobotProxy robotProxy;
-	private AtomicReference<RobotStatus> status = new AtomicReference<>();
-	private AtomicReference<ExecCommands> commands = new AtomicReference<>();
-	private AtomicReference<EventQueue> events = new AtomicReference<>(new EventQueue());
-	private AtomicReference<List<TeamMessage>> teamMessages = new AtomicReference<>(
-			new ArrayList<TeamMessage>());
-	private AtomicReference<List<BulletStatus>> bulletUpdates = new AtomicReference<>(
-			new ArrayList<BulletStatus>());
+	private StatusBlock status = new StatusBlock();
+	private ExecExchange<EventQueue> exchange = new ExecExchange<>(new EventQueue(), new EventQueue());
 
 	// thread is running
 	private final AtomicBoolean isRunning = new AtomicBoolean(false);
@@ -101,6 +101,9 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 	private RobotStatics statics;
 	private BattleRules battleRules;
 
+	// random number generator used by the robot thread
+	private final Random random;
+
 	// for battle thread, during robots processing
 	private ExecCommands currentCommands;
 	private double lastHeading;
@@ -124,13 +127,16 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 	private boolean sgPaintEnabled;
 
 	// waiting for next tick
-	private final AtomicBoolean isSleeping = new AtomicBoolean(false);
+	private final TurnBarrier turnBarrier = new TurnBarrier();
 	private final AtomicBoolean halt = new AtomicBoolean(false);
 
 	// last and current execution time and detecting skipped turns
 	private int lastExecutionTime = -1;
 	private int currentExecutionTime;
 
+	// CPU time used by the robot thread when it was woken up for the current turn, or -1 if not woken up yet
+	private long turnCpuTimeStart = -1;
+
 	private boolean isExecFinishedAndDisabled;
 	private boolean isEnergyDrained;
 	private boolean isWinner;
@@ -155,6 +161,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		this.teamPeer = team;
 		this.state = RobotState.ACTIVE;
 		this.battleRules = battle.getBattleRules();
+		this.random = battle.getBattleRandom().createRobotRandom();
 
 		if (team != null) {
 			team.add(this);
@@ -208,6 +215,16 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		}
 	}
 
+	/**
+	 * Throws away the output text of the robot, which is done instead of reading it when no snapshot is taken.
+	 */
+	public void discardOutText() {
+		synchronized (proxyText) {
+			battleText.setLength(0);
+			proxyText.setLength(0);
+		}
+	}
+
 	public RobotStatistics getRobotStatistics() {
 		return statistics;
 	}
@@ -324,8 +341,12 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		return isRunning.get();
 	}
 
+	public Random getRandom() {
+		return random;
+	}
+
 	public boolean isSleeping() {
-		return isSleeping.get();
+		return turnBarrier.isSleeping();
 	}
 
 	public boolean isHalt() {
@@ -344,6 +365,32 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		return scanArc;
 	}
 
+	/**
+	 * Inserts this robot into a grid used for checking collisions with its bounding box.
+	 * Dead robots are not inserted, as nothing can collide with them.
+	 *
+	 * @param grid  the grid to insert this robot into.
+	 * @param index the index of this robot in the list of robots being checked.
+	 */
+	public void insertInto(SpatialGrid grid, int index) {
+		if (isDead()) {
+			return;
+		}
+		grid.insert(index, boundingBox.getMinX() - BulletPeer.GRID_MARGIN, boundingBox.getMinY() - BulletPeer.GRID_MARGIN,
+				boundingBox.getMaxX() + BulletPeer.GRID_MARGIN, boundingBox.getMaxY() + BulletPeer.GRID_MARGIN);
+	}
+
+	/**
+	 * Updates the position of this robot in a grid, after its bounding box has been moved.
+	 *
+	 * @param grid  the grid this robot was inserted into.
+	 * @param index the index of this robot given when it was inserted.
+	 */
+	public void updateIn(SpatialGrid grid, int index) {
+		grid.update(index, boundingBox.getMinX() - BulletPeer.GRID_MARGIN, boundingBox.getMinY() - BulletPeer.GRID_MARGIN,
+				boundingBox.getMaxX() + BulletPeer.GRID_MARGIN, boundingBox.getMaxY() + BulletPeer.GRID_MARGIN);
+	}
+
 	// -------------------
 	// robot space
 	// -------------------
@@ -381,23 +428,23 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 	}
 
 	public int getBodyColor() {
-		return commands.get().getBodyColor();
+		return exchange.getCommands().getBodyColor();
 	}
 
 	public int getRadarColor() {
-		return commands.get().getRadarColor();
+		return exchange.getCommands().getRadarColor();
 	}
 
 	public int getGunColor() {
-		return commands.get().getGunColor();
+		return exchange.getCommands().getGunColor();
 	}
 
 	public int getBulletColor() {
-		return commands.get().getBulletColor();
+		return exchange.getCommands().getBulletColor();
 	}
 
 	public int getScanColor() {
-		return commands.get().getScanColor();
+		return exchange.getCommands().getScanColor();
 	}
 
 	// ------------
@@ -464,7 +511,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 
 		if (!isExecFinishedAndDisabled) {
 			// from robot to battle
-			commands.set(new ExecCommands(newCommands, true));
+			exchange.submit(newCommands);
 			print(newCommands.getOutputText());
 		} else {
 			// slow down spammer
@@ -498,33 +545,24 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		checkSkippedTurn();
 
 		// from battle to robot
-		final ExecCommands resCommands = new ExecCommands(this.commands.get(), false);
-		final RobotStatus resStatus = status.get();
-
 		final boolean shouldWait = battle.isAborted() || (battle.isLastRound() && isWinner());
 
-		return new ExecResults(resCommands, resStatus, readoutEvents(), readoutTeamMessages(), readoutBullets(),
-				isHalt(), shouldWait, isPaintEnabled());
+		return exchange.exchange(status, isHalt(), shouldWait, isPaintEnabled(), true);
 	}
 
 	public final ExecResults waitForBattleEndImpl(ExecCommands newCommands) {
 		if (!isHalt()) {
 			// from robot to battle
-			commands.set(new ExecCommands(newCommands, true));
+			exchange.submit(newCommands);
 			print(newCommands.getOutputText());
 
 			waitForNextTurn();
 		}
 		// from battle to robot
-		final ExecCommands resCommands = new ExecCommands(this.commands.get(), false);
-		final RobotStatus resStatus = status.get();
-
 		final boolean shouldWait = battle.isAborted() || (battle.isLastRound() && !isWinner());
 
-		readoutTeamMessages(); // throw away
-		
-		return new ExecResults(resCommands, resStatus, readoutEvents(), new ArrayList<TeamMessage>(), readoutBullets(),
-				isHalt(), shouldWait, false);
+		// the team messages are thrown away
+		return exchange.exchange(status, isHalt(), shouldWait, false, false);
 	}
 
 	private void validateCommands(ExecCommands newCommands) {
@@ -539,42 +577,10 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		newCommands.setMaxVelocity(Math.min(abs(newCommands.getMaxVelocity()), Rules.MAX_VELOCITY));
 	}
 
-	private List<Event> readoutEvents() {
-		return events.getAndSet(new EventQueue());
-	}
-
-	private List<TeamMessage> readoutTeamMessages() {
-		return teamMessages.getAndSet(new ArrayList<TeamMessage>());
-	}
-
-	private List<BulletStatus> readoutBullets() {
-		return bulletUpdates.getAndSet(new ArrayList<BulletStatus>());
-	}
-
 	private void waitForNextTurn() {
-		synchronized (isSleeping) {
-			// Notify the battle that we are now asleep.
-			// This ends any pending wait() call in battle.runRound().
-			// Should not actually take place until we release the lock in wait(), below.
-			isSleeping.set(true);
-			isSleeping.notifyAll();
-			// Notifying battle that we're asleep
-			// Sleeping and waiting for battle to wake us up.
-			try {
-				isSleeping.wait();
-			} catch (InterruptedException e) {
-				// We are expecting this to happen when a round is ended!
-
-				// Immediately reasserts the exception by interrupting the caller thread itself
-				Thread.currentThread().interrupt();
-			}
-			isSleeping.set(false);
-			// Notify battle thread, which is waiting in
-			// our wakeup() call, to return.
-			// It's quite possible, by the way, that we'll be back in sleep (above)
-			// before the battle thread actually wakes up
-			isSleeping.notifyAll();
-		}
+		// Notify the battle that we are now asleep, and sleep until the battle wakes us up.
+		// The robot thread is interrupted when a round is ended, which is kept on the thread.
+		turnBarrier.sleep();
 	}
 
 	// -----------
@@ -582,53 +588,69 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 	// -----------
 
 	public void waitWakeup() {
-		synchronized (isSleeping) {
-			if (isSleeping()) {
-				// Wake up the thread
-				isSleeping.notifyAll();
-				try {
-					isSleeping.wait(10000);
-				} catch (InterruptedException e) {
-					// Immediately reasserts the exception by interrupting the caller thread itself
-					Thread.currentThread().interrupt();
-				}
-			}
+		if (isSleeping()) {
+			turnCpuTimeStart = getCpuTime();
 		}
+		turnBarrier.wakeup(10000 * 1000000L);
 	}
 
 	private void waitWakeupNoWait() {
-		synchronized (isSleeping) {
-			if (isSleeping()) {
-				// Wake up the thread
-				isSleeping.notifyAll();
-			}
-		}
+		turnBarrier.wakeupNoWait();
 	}
 
 	public void waitSleeping(long millisWait, int nanosWait) {
-		synchronized (isSleeping) {
-			// It's quite possible for simple robots to
-			// complete their processing before we get here,
-			// so we test if the robot is already asleep.
-
-			if (!isSleeping()) {
-				try {
-					for (long i = millisWait; i > 0 && !isSleeping() && isRunning(); i--) {
-						isSleeping.wait(0, 999999);
-					}
-					if (!isSleeping() && isRunning()) {
-						isSleeping.wait(0, nanosWait);
-					}
-				} catch (InterruptedException e) {
-					// Immediately reasserts the exception by interrupting the caller thread itself
-					Thread.currentThread().interrupt();
+		if (!turnBarrier.awaitSleeping(millisWait * 1000000L + nanosWait, isRunning)
+				&& Thread.currentThread().isInterrupted()) {
+			logMessage("Wait for " + getName() + " interrupted.");
+		}
+	}
 
-					logMessage("Wait for " + getName() + " interrupted.");
-				}
+	/**
+	 * Waits for the robot to take action until it has used the specified CPU time in this turn, or until the
+	 * specified wall-clock time has passed. Robots running in parallel share the processors, so the CPU time
+	 * is a fair measure of the time given to each robot, where the wall-clock time depends on the scheduling.
+	 * Falls back to the wall-clock time until the robot thread has been woken up by the battle.
+	 */
+	public void waitSleeping(long millisWait, int nanosWait, long cpuTimeWait) {
+		final long cpuTimeStart = turnCpuTimeStart;
+
+		if (cpuTimeStart < 0) {
+			waitSleeping(millisWait, nanosWait);
+			return;
+		}
+		final long deadline = System.nanoTime() + millisWait * 1000000L + nanosWait;
+
+		for (long remaining = deadline - System.nanoTime(); remaining > 0; remaining = deadline - System.nanoTime()) {
+			if (turnBarrier.awaitSleeping(Math.min(remaining, CPU_TIME_CHECK_NANOS), isRunning) || !isRunning()) {
+				return;
+			}
+			if (Thread.currentThread().isInterrupted()) {
+				logMessage("Wait for " + getName() + " interrupted.");
+				return;
+			}
+			if (getTurnCpuTime() >= cpuTimeWait) {
+				return; // the robot has used its CPU time, and skips the turn
 			}
 		}
 	}
 
+	/**
+	 * Returns the CPU time used by the robot thread since it was woken up for the current turn.
+	 *
+	 * @return the CPU time in nanoseconds, or -1 if the robot thread has not been woken up yet.
+	 */
+	public long getTurnCpuTime() {
+		return turnCpuTimeStart < 0 ? -1 : getCpuTime() - turnCpuTimeStart;
+	}
+
+	// The CPU time used by the robot thread. When the JVM cannot measure it, which is the case for virtual threads,
+	// the time the robot thread has been running between the turns is used instead.
+	private long getCpuTime() {
+		final long cpuTime = robotProxy != null ? robotProxy.getCpuTime() : -1;
+
+		return cpuTime >= 0 ? cpuTime : turnBarrier.getRunningTime();
+	}
+
 	public void checkSkippedTurn() {
 		// Store last and current execution time for detecting skipped turns
 		lastExecutionTime = currentExecutionTime;
@@ -636,7 +658,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 
 		int numSkippedTurns = (currentExecutionTime - lastExecutionTime) - 1;
 		if (numSkippedTurns >= 1) {
-			events.get().clear(false);
+			exchange.getEvents().clear(false);
 
 			if (isAlive()) {
 				for (int skippedTurn = lastExecutionTime + 1; skippedTurn < currentExecutionTime; skippedTurn++) {
@@ -677,7 +699,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		}
 
 		if (!valid) {
-			final Random random = RandomFactory.getRandom();
+			final Random random = battle.getBattleRandom().getPositionRandom();
 
 			double maxWidth = battleRules.getBattlefieldWidth() - RobotPeer.WIDTH;
 			double maxHeight = battleRules.getBattlefieldHeight() - RobotPeer.HEIGHT;
@@ -760,12 +782,6 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 
 		lastExecutionTime = -1;
 
-		status = new AtomicReference<>();
-
-		readoutEvents();
-		readoutTeamMessages();
-		readoutBullets();
-
 		synchronized (proxyText) { // Bug fix #387
 			battleText.setLength(0);
 			proxyText.setLength(0);
@@ -775,8 +791,8 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		// Bugfix [2628217] - Robot Colors don't stick between rounds.
 		ExecCommands newExecCommands = new ExecCommands();
 
-		newExecCommands.copyColors(commands.get());
-		commands = new AtomicReference<>(newExecCommands);
+		newExecCommands.copyColors(exchange.getCommands());
+		exchange.reset(newExecCommands);
 	}
 
 	private boolean validSpot(List<RobotPeer> robots) {
@@ -799,7 +815,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 
 		// Copy the colors from the last commands.
 		// Bugfix [2628217] - Robot Colors don't stick between rounds.
-		newExecCommands.copyColors(commands.get());
+		newExecCommands.copyColors(exchange.getCommands());
 
 		currentCommands = newExecCommands;
 
@@ -807,18 +823,12 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		int numSentries = battle.countActiveSentries();
 
 		setRobotStatus(others, numSentries, currentCommands);
-		robotProxy.startRound(currentCommands, status.get());
+		robotProxy.startRound(currentCommands, status.toRobotStatus());
 
-		synchronized (isSleeping) {
-			try {
-				// Wait for the robot to go to sleep (take action)
-				isSleeping.wait(waitMillis, waitNanos);
-			} catch (InterruptedException e) {
-				logMessage("Wait for " + getName() + " interrupted.");
-
-				// Immediately reasserts the exception by interrupting the caller thread itself
-				Thread.currentThread().interrupt();
-			}
+		// Wait for the robot to go to sleep (take action)
+		if (!turnBarrier.awaitSleeping(waitMillis * 1000000L + waitNanos, null)
+				&& Thread.currentThread().isInterrupted()) {
+			logMessage("Wait for " + getName() + " interrupted.");
 		}
 		if (!isSleeping() && !battle.isDebugging()) {
 			logMessage("\n" + getName() + " still has not started after " + waitMillis + " ms... giving up.");
@@ -826,7 +836,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 	}
 
 	public void performLoadCommands() {
-		currentCommands = commands.get();
+		currentCommands = exchange.loadCommands();
 
 		fireBullets(currentCommands.getBullets());
 
@@ -862,7 +872,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 
 			gunHeat += Rules.getGunHeat(firePower);
 
-			newBullet = new BulletPeer(this, battleRules, bulletCmd.getBulletId());
+			newBullet = battle.createBullet(this, bulletCmd.getBulletId());
 
 			newBullet.setPower(firePower);
 			if (!turnedRadarWithGun || !bulletCmd.isFireAssistValid() || statics.isAdvancedRobot()) {
@@ -880,7 +890,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		}
 	}
 
-	public final void performMove(List<RobotPeer> robots, double zapEnergy) {
+	public final void performMove(List<RobotPeer> robots, SpatialGrid robotGrid, double zapEnergy) {
 
 		// Reset robot state to active if it is not dead
 		if (isDead()) {
@@ -917,7 +927,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		}
 
 		// Now check for robot collision
-		checkRobotCollision(robots);
+		checkRobotCollision(robots, robotGrid);
 		
 		// Scan false means robot did not call scan() manually.
 		// But if we're moving, scan
@@ -936,7 +946,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		}
 	}
 
-	public void performScan(List<RobotPeer> robots) {
+	public void performScan(List<RobotPeer> robots, SpatialGrid robotGrid) {
 		if (isDead()) {
 			return;
 		}
@@ -944,7 +954,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		turnedRadarWithGun = false;
 		// scan
 		if (scan) {
-			scan(lastRadarHeading, robots);
+			scan(lastRadarHeading, robots, robotGrid);
 			turnedRadarWithGun = (lastGunHeading == lastRadarHeading) && (gunHeading == radarHeading);
 			scan = false;
 		}
@@ -966,7 +976,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 	}
 
 	private void addTeamMessage(TeamMessage message) {
-		final List<TeamMessage> queue = teamMessages.get();
+		final List<TeamMessage> queue = exchange.getTeamMessages();
 
 		queue.add(message);
 	}
@@ -999,66 +1009,81 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		return otherRobot.getName();
 	}		
 
-	private void checkRobotCollision(List<RobotPeer> robots) {
+	private void checkRobotCollision(List<RobotPeer> robots, SpatialGrid robotGrid) {
 		inCollision = false;
 
-		for (RobotPeer otherRobot : robots) {
-			if (!(otherRobot == null || otherRobot == this || otherRobot.isDead())
-					&& boundingBox.intersects(otherRobot.boundingBox)) {
-				// Bounce back
-				double angle = atan2(otherRobot.x - x, otherRobot.y - y);
+		if (robotGrid == null) {
+			for (RobotPeer otherRobot : robots) {
+				checkRobotCollision(otherRobot);
+			}
+		} else {
+			// The candidates are sorted by their position in the list, so robots are checked in the same order
+			final int count = robotGrid.query(boundingBox.getMinX() - BulletPeer.GRID_MARGIN,
+					boundingBox.getMinY() - BulletPeer.GRID_MARGIN, boundingBox.getMaxX() + BulletPeer.GRID_MARGIN,
+					boundingBox.getMaxY() + BulletPeer.GRID_MARGIN);
+
+			for (int i = 0; i < count; i++) {
+				checkRobotCollision(robots.get(robotGrid.getCandidate(i)));
+			}
+		}
+		if (inCollision) {
+			setState(RobotState.HIT_ROBOT);
+		}
+	}
 
-				double movedx = velocity * sin(bodyHeading);
-				double movedy = velocity * cos(bodyHeading);
+	private void checkRobotCollision(RobotPeer otherRobot) {
+		if (!(otherRobot == null || otherRobot == this || otherRobot.isDead())
+				&& boundingBox.intersects(otherRobot.boundingBox)) {
+			// Bounce back
+			double angle = atan2(otherRobot.x - x, otherRobot.y - y);
 
-				boolean atFault;
-				double bearing = normalRelativeAngle(angle - bodyHeading);
+			double movedx = velocity * sin(bodyHeading);
+			double movedy = velocity * cos(bodyHeading);
 
-				if ((velocity > 0 && bearing > -PI / 2 && bearing < PI / 2)
-						|| (velocity < 0 && (bearing < -PI / 2 || bearing > PI / 2))) {
+			boolean atFault;
+			double bearing = normalRelativeAngle(angle - bodyHeading);
 
-					inCollision = true;
-					atFault = true;
-					velocity = 0;
-					currentCommands.setDistanceRemaining(0);
-					x -= movedx;
-					y -= movedy;
+			if ((velocity > 0 && bearing > -PI / 2 && bearing < PI / 2)
+					|| (velocity < 0 && (bearing < -PI / 2 || bearing > PI / 2))) {
 
-					boolean teamFire = (teamPeer != null && teamPeer == otherRobot.teamPeer);
+				inCollision = true;
+				atFault = true;
+				velocity = 0;
+				currentCommands.setDistanceRemaining(0);
+				x -= movedx;
+				y -= movedy;
 
-					if (!teamFire && !otherRobot.isSentryRobot()) {
-						statistics.scoreRammingDamage(otherRobot.getName());
-					}
+				boolean teamFire = (teamPeer != null && teamPeer == otherRobot.teamPeer);
+
+				if (!teamFire && !otherRobot.isSentryRobot()) {
+					statistics.scoreRammingDamage(otherRobot.getRobotIndex());
+				}
 
-					this.updateEnergy(-Rules.ROBOT_HIT_DAMAGE);
-					otherRobot.updateEnergy(-Rules.ROBOT_HIT_DAMAGE);
+				this.updateEnergy(-Rules.ROBOT_HIT_DAMAGE);
+				otherRobot.updateEnergy(-Rules.ROBOT_HIT_DAMAGE);
 
-					if (otherRobot.energy == 0) {
-						if (otherRobot.isAlive()) {
-							otherRobot.kill();
-							if (!teamFire && !otherRobot.isSentryRobot()) {
-								final double bonus = statistics.scoreRammingKill(otherRobot.getName());
+				if (otherRobot.energy == 0) {
+					if (otherRobot.isAlive()) {
+						otherRobot.kill();
+						if (!teamFire && !otherRobot.isSentryRobot()) {
+							final double bonus = statistics.scoreRammingKill(otherRobot.getRobotIndex());
 
-								if (bonus > 0) {
-									println(
-											"SYSTEM: Ram bonus for killing " + this.getNameForEvent(otherRobot) + ": "
-											+ (int) (bonus + .5));
-								}
+							if (bonus > 0) {
+								println(
+										"SYSTEM: Ram bonus for killing " + this.getNameForEvent(otherRobot) + ": "
+										+ (int) (bonus + .5));
 							}
 						}
 					}
-					addEvent(
-							new HitRobotEvent(getNameForEvent(otherRobot), normalRelativeAngle(angle - bodyHeading),
-							otherRobot.energy, atFault));
-					otherRobot.addEvent(
-							new HitRobotEvent(getNameForEvent(this),
-							normalRelativeAngle(PI + angle - otherRobot.getBodyHeading()), energy, false));
 				}
+				addEvent(
+						new HitRobotEvent(getNameForEvent(otherRobot), normalRelativeAngle(angle - bodyHeading),
+						otherRobot.energy, atFault));
+				otherRobot.addEvent(
+						new HitRobotEvent(getNameForEvent(this),
+						normalRelativeAngle(PI + angle - otherRobot.getBodyHeading()), energy, false));
 			}
 		}
-		if (inCollision) {
-			setState(RobotState.HIT_ROBOT);
-		}
 	}
 
 	public void updateAfterCollision() {
@@ -1237,7 +1262,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 	// TODO: Only add events to robots that are alive? + Remove checks if the Robot is alive before adding the event?
 	public void addEvent(Event event) {
 		if (isRunning()) {
-			final EventQueue queue = events.get();
+			final EventQueue queue = exchange.getEvents();
 
 			if ((queue.size() > EventManager.MAX_QUEUE_SIZE)
 					&& !(event instanceof DeathEvent || event instanceof WinEvent || event instanceof SkippedTurnEvent)) {
@@ -1453,7 +1478,7 @@ private void updateHeadingAndTurn(double turnAmount) {
 		}
 	}
 
-	private void scan(double lastRadarHeading, List<RobotPeer> robots) {
+	private void scan(double lastRadarHeading, List<RobotPeer> robots, SpatialGrid robotGrid) {
 		if (statics.isDroid()) {
 			return;
 		}
@@ -1478,23 +1503,47 @@ private void updateHeadingAndTurn(double turnAmount) {
 		scanArc.setArc(x - Rules.RADAR_SCAN_RADIUS, y - Rules.RADAR_SCAN_RADIUS, 2 * Rules.RADAR_SCAN_RADIUS,
 				2 * Rules.RADAR_SCAN_RADIUS, 180.0 * startAngle / PI, 180.0 * scanRadians / PI, Arc2D.PIE);
 
-		for (RobotPeer otherRobot : robots) {
-			if (!(otherRobot == null || otherRobot == this || otherRobot.isDead())
-					&& intersects(scanArc, otherRobot.boundingBox)) {
-				double dx = otherRobot.x - x;
-				double dy = otherRobot.y - y;
-				double angle = atan2(dx, dy);
-				double dist = Math.hypot(dx, dy);
-
-				final ScannedRobotEvent event = new ScannedRobotEvent(getNameForEvent(otherRobot), otherRobot.energy,
-						normalRelativeAngle(angle - getBodyHeading()), dist, otherRobot.getBodyHeading(),
-						otherRobot.getVelocity(), otherRobot.isSentryRobot());
-
-				addEvent(event);
+		if (robotGrid == null) {
+			for (RobotPeer otherRobot : robots) {
+				scan(otherRobot);
+			}
+		} else {
+			// The candidates are sorted by their position in the list, so events are added in the same order
+			final int count = robotGrid.query(x - SCAN_REACH, y - SCAN_REACH, x + SCAN_REACH, y + SCAN_REACH);
+
+			for (int i = 0; i < count; i++) {
+				scan(robots.get(robotGrid.getCandidate(i)));
 			}
 		}
 	}
 
+	private void scan(RobotPeer otherRobot) {
+		if (otherRobot == null || otherRobot == this || otherRobot.isDead()) {
+			return;
+		}
+		final BoundingRectangle box = otherRobot.boundingBox;
+
+		// Cheap rejection of robots that are outside the scan radius, before the exact check against the arc
+		final double nearestDx = x - max(box.x, min(x, box.x + box.width));
+		final double nearestDy = y - max(box.y, min(y, box.y + box.height));
+
+		if (nearestDx * nearestDx + nearestDy * nearestDy > SCAN_REACH * SCAN_REACH) {
+			return;
+		}
+		if (intersects(scanArc, box)) {
+			double dx = otherRobot.x - x;
+			double dy = otherRobot.y - y;
+			double angle = atan2(dx, dy);
+			double dist = Math.hypot(dx, dy);
+
+			final ScannedRobotEvent event = new ScannedRobotEvent(getNameForEvent(otherRobot), otherRobot.energy,
+					normalRelativeAngle(angle - getBodyHeading()), dist, otherRobot.getBodyHeading(),
+					otherRobot.getVelocity(), otherRobot.isSentryRobot());
+
+			addEvent(event);
+		}
+	}
+
 	private boolean intersects(Arc2D arc, Rectangle2D rect) {
 		return (rect.intersectsLine(arc.getCenterX(), arc.getCenterY(), arc.getStartPoint().getX(),
 				arc.getStartPoint().getY()))
@@ -1524,7 +1573,12 @@ private void updateHeadingAndTurn(double turnAmount) {
 	}
 
 	public void punishBadBehavior(BadBehavior badBehavior) {
-		kill(); // Bug fix [2828479] - Missed onRobotDeath events
+		if (Thread.currentThread() == battle.getBattleThread()) {
+			kill(); // Bug fix [2828479] - Missed onRobotDeath events
+		} else {
+			// Robot threads must not change the battle, so the battle thread kills the robot before its next turn
+			battle.killPunishedRobot(this);
+		}
 
 		statistics.setInactive();
 
@@ -1576,7 +1630,7 @@ private void updateHeadingAndTurn(double turnAmount) {
 		energy = newEnergy;
 		if (energy < .01) {
 			energy = 0;
-			ExecCommands localCommands = commands.get();
+			ExecCommands localCommands = exchange.getCommands();
 
 			localCommands.setDistanceRemaining(0);
 			localCommands.setBodyTurnRemaining(0);
@@ -1596,7 +1650,7 @@ private void updateHeadingAndTurn(double turnAmount) {
 					if (teammate.isAlive() && teammate != this) {
 						teammate.updateEnergy(-30);
 
-						BulletPeer sBullet = new BulletPeer(this, battleRules, 0);
+						BulletPeer sBullet = battle.createBullet(this, 0);
 						sBullet.setState(BulletState.HIT_VICTIM);
 						sBullet.setX(teammate.x);
 						sBullet.setY(teammate.y);
@@ -1639,10 +1693,7 @@ private void updateHeadingAndTurn(double turnAmount) {
 		}
 
 		status = null;
-		commands = null;
-		events = null;
-		teamMessages = null;
-		bulletUpdates = null;
+		exchange = null;
 		statics = null;
 		battleRules = null;
 
@@ -1653,20 +1704,20 @@ private void updateHeadingAndTurn(double turnAmount) {
 	}
 
 	public Object getGraphicsCalls() {
-		return commands.get().getGraphicsCalls();
+		return exchange.getCommands().getGraphicsCalls();
 	}
 
 	public boolean isTryingToPaint() {
-		return commands.get().isTryingToPaint();
+		return exchange.getCommands().isTryingToPaint();
 	}
 
 	public List<DebugProperty> getDebugProperties() {
-		return commands.get().getDebugProperties();
+		return exchange.getCommands().getDebugProperties();
 	}
 
 	public void publishStatus(long currentTurn) {
 
-		final ExecCommands currentCommands = commands.get();
+		final ExecCommands currentCommands = exchange.getCommands();
 
 		int others = battle.countActiveParticipants() - (isDead() || isSentryRobot() ? 0 : 1);
 		int numSentries = battle.countActiveSentries();
@@ -1676,7 +1727,7 @@ private void updateHeadingAndTurn(double turnAmount) {
 
 	void addBulletStatus(BulletStatus bulletStatus) {
 		if (isAlive()) {
-			bulletUpdates.get().add(bulletStatus);
+			exchange.getBulletUpdates().add(bulletStatus);
 		}
 	}
 
@@ -1714,11 +1765,9 @@ private void updateHeadingAndTurn(double turnAmount) {
 	}
 
 	private void setRobotStatus (int others, int numSentries, ExecCommands currentCommands) {
-		RobotStatus stat = HiddenAccess.createStatus(energy, x, y, bodyHeading, gunHeading, radarHeading, velocity,
+		status.publish(energy, x, y, bodyHeading, gunHeading, radarHeading, velocity,
 				currentCommands.getBodyTurnRemaining(), currentCommands.getRadarTurnRemaining(),
 				currentCommands.getGunTurnRemaining(), currentCommands.getDistanceRemaining(), gunHeat, others, numSentries,
 				battle.getRoundNum(), battle.getNumRounds(), battle.getTime());
-
-		status.set(stat);
 	}
 }
@@ -9,8 +9,8 @@ package net.sf.robocode.battle.peer;
 
 
 import robocode.BattleResults;
-import java.util.Map;
-import java.util.HashMap;
+
+import java.util.Arrays;
 
 
 /**
@@ -36,7 +36,8 @@ public class RobotStatistics implements ContestantStatistics {
 	private double rammingDamageScore;
 	private double rammingKillBonus;
 
-	private Map<String, Double> robotDamageMap;
+	// The damage dealt to each robot in this round, indexed by robot index
+	private final double[] robotDamage;
 
 	private double totalScore;
 	private double totalSurvivalScore;
@@ -54,6 +55,7 @@ public class RobotStatistics implements ContestantStatistics {
 		super();
 		this.robotPeer = robotPeer;
 		this.numberOfRobots = numberOfRobots;
+		this.robotDamage = new double[numberOfRobots];
 	}
 
 	public void setRank(int rank) {
@@ -68,7 +70,7 @@ public class RobotStatistics implements ContestantStatistics {
 	}
 
 	private void resetScores() {
-		robotDamageMap = null;
+		Arrays.fill(robotDamage, 0);
 		survivalScore = 0;
 		lastSurvivorBonus = 0;
 		bulletDamageScore = 0;
@@ -186,45 +188,45 @@ public class RobotStatistics implements ContestantStatistics {
 		}
 	}
 
-	void scoreBulletDamage(String robot, double damage) {
+	void scoreBulletDamage(int robotIndex, double damage) {
 		if (isActive) {
-			incrementRobotDamage(robot, damage);
+			robotDamage[robotIndex] += damage;
 			bulletDamageScore += damage;
 		}
 	}
 
-	void scoreRammingDamage(String robot) {
+	void scoreRammingDamage(int robotIndex) {
 		if (isActive) {
-			incrementRobotDamage(robot, robocode.Rules.ROBOT_HIT_DAMAGE);
+			robotDamage[robotIndex] += robocode.Rules.ROBOT_HIT_DAMAGE;
 			rammingDamageScore += robocode.Rules.ROBOT_HIT_BONUS;
 		}
 	}
 	
-	private double calculateKillBonus(String robot, double multiplier) {
+	private double calculateKillBonus(int robotIndex, double multiplier) {
 		double bonus = 0;
 
 		if (robotPeer.getTeamPeer() == null) {
-			bonus = getRobotDamage(robot) * multiplier;
+			bonus = robotDamage[robotIndex] * multiplier;
 		} else {
 			for (RobotPeer teammate : robotPeer.getTeamPeer()) {
-				bonus += teammate.getRobotStatistics().getRobotDamage(robot) * multiplier;
+				bonus += teammate.getRobotStatistics().robotDamage[robotIndex] * multiplier;
 			}
 		}
 		return bonus;
 	}
 
-	double scoreBulletKill(String robot) {
+	double scoreBulletKill(int robotIndex) {
 		if (isActive) {
-			double bonus = calculateKillBonus(robot, 0.20);
+			double bonus = calculateKillBonus(robotIndex, 0.20);
 			bulletKillBonus += bonus;
 			return bonus;
 		}
 		return 0;
 	}
 
-	double scoreRammingKill(String robot) {
+	double scoreRammingKill(int robotIndex) {
 		if (isActive) {
-			double bonus = calculateKillBonus(robot, 0.30);
+			double bonus = calculateKillBonus(robotIndex, 0.30);
 			rammingKillBonus += bonus;
 			return bonus;
 		}
@@ -272,21 +274,6 @@ public class RobotStatistics implements ContestantStatistics {
 				totalSeconds, totalThirds);
 	}
 
-	private double getRobotDamage(String robot) {
-		if (robotDamageMap == null) {
-			robotDamageMap = new HashMap<>();
-		}
-		Double damage = robotDamageMap.get(robot);
-
-		return (damage != null) ? damage : 0;
-	}
-
-	private void incrementRobotDamage(String robot, double damage) {
-		double newDamage = getRobotDamage(robot) + damage;
-
-		robotDamageMap.put(robot, newDamage);
-	}
-
 	void cleanup() {// Do nothing, for now
 	}
 
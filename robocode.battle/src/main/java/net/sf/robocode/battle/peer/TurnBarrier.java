@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.battle.peer;
+
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Hands control back and forth between the battle thread and a robot thread every turn.
+ * <p>
+ * The robot thread goes to sleep when it has taken its action for the turn, and the battle thread wakes
+ * it up when the next turn starts. Each side first spins a number of times checking whether the other side
+ * is done, as a cheap robot usually is done within a few microseconds, and then parks its thread until it is
+ * unparked by the other side. This avoids the monitor and the notifyAll calls otherwise needed for every
+ * handoff.
+ * <p>
+ * The spin budget is set with the TURNSPIN system property, where 0 means that the threads are parked
+ * right away. Spinning only pays off when there are more processors than running robots, so it should be
+ * turned off when the robots are running on virtual threads, which give up their carrier thread when parked.
+ * <p>
+ * The barrier also measures the time the robot thread has been running, i.e. from returning from sleep() to
+ * calling it again. The time spent waiting for a processor after being woken up is not included, as the
+ * robot thread measures it itself.
+ */
+public final class TurnBarrier {
+
+	/**
+	 * The default number of times to spin before parking a thread, which is 0 on a single processor.
+	 */
+	public static final int DEFAULT_SPIN_BUDGET = Integer.getInteger("TURNSPIN",
+			Runtime.getRuntime().availableProcessors() > 1 ? 1000 : 0);
+
+	// Parks in slices, so conditions not signaled by the other side (like a robot that stops running) are noticed
+	private static final long MAX_PARK_NANOS = 1000000;
+
+	private final int spinBudget;
+
+	private final AtomicBoolean isSleeping = new AtomicBoolean(false);
+
+	// The number of wakeups given by the battle thread, and the last of these taken by the robot thread
+	private final AtomicLong wakeups = new AtomicLong();
+	private volatile long wakeupsTaken;
+
+	private volatile Thread robotThread;
+	private volatile Thread battleThread;
+
+	// The running time of the robot thread before it went to sleep, and the time it last woke up, or -1 if asleep
+	private volatile long runningNanos;
+	private volatile long runningSince = -1;
+
+	/**
+	 * Creates a new barrier using the default spin budget.
+	 */
+	public TurnBarrier() {
+		this(DEFAULT_SPIN_BUDGET);
+	}
+
+	/**
+	 * Creates a new barrier.
+	 *
+	 * @param spinBudget the number of times to spin before parking a thread.
+	 */
+	public TurnBarrier(int spinBudget) {
+		this.spinBudget = Math.max(0, spinBudget);
+	}
+
+	/**
+	 * Checks if the robot thread is asleep, i.e. waiting for the next turn.
+	 *
+	 * @return {@code true} if the robot thread is asleep; {@code false} otherwise.
+	 */
+	public boolean isSleeping() {
+		return isSleeping.get();
+	}
+
+	/**
+	 * Returns the time the robot thread has been running, which is the time it has not been asleep. The running
+	 * time is close to the CPU time of the robot thread when the thread is not preempted while running, like a
+	 * virtual thread, which keeps its carrier thread until it parks.
+	 *
+	 * @return the running time in nanoseconds, which is approximate while the robot thread goes to sleep.
+	 */
+	public long getRunningTime() {
+		final long since = runningSince;
+		final long running = runningNanos;
+
+		return since < 0 ? running : running + System.nanoTime() - since;
+	}
+
+	// -----------
+	// called on robot thread
+	// -----------
+
+	/**
+	 * Puts the robot thread to sleep until it is woken up by the battle thread, or interrupted
+	 * which is expected when a round is ended. The interrupted status of the thread is kept.
+	 */
+	public void sleep() {
+		final Thread current = Thread.currentThread();
+		final long turn = wakeups.get();
+
+		robotThread = current;
+
+		final long since = runningSince;
+
+		if (since >= 0) {
+			runningNanos += System.nanoTime() - since;
+			runningSince = -1;
+		}
+
+		// Notify the battle that we are now asleep
+		isSleeping.set(true);
+		LockSupport.unpark(battleThread);
+
+		for (int spins = 0; wakeups.get() == turn; spins++) {
+			if (current.isInterrupted()) {
+				break;
+			}
+			if (spins >= spinBudget) {
+				// The battle thread and interrupts always unpark the thread, so it is not woken up in slices
+				LockSupport.park(this);
+			}
+		}
+
+		isSleeping.set(false);
+		runningSince = System.nanoTime();
+
+		// Notify the battle thread, which is waiting in wakeup(), that we have been woken up
+		wakeupsTaken = wakeups.get();
+		LockSupport.unpark(battleThread);
+	}
+
+	// -----------
+	// called on battle thread
+	// -----------
+
+	/**
+	 * Wakes up the robot thread if it is asleep, and waits until it has been woken up.
+	 *
+	 * @param timeoutNanos the maximum time to wait for the robot thread to wake up.
+	 */
+	public void wakeup(long timeoutNanos) {
+		battleThread = Thread.currentThread();
+
+		if (!isSleeping()) {
+			return;
+		}
+		final long turn = wakeups.incrementAndGet();
+
+		LockSupport.unpark(robotThread);
+
+		awaitBattle(turn, null, timeoutNanos);
+	}
+
+	/**
+	 * Wakes up the robot thread if it is asleep, without waiting for it.
+	 */
+	public void wakeupNoWait() {
+		if (isSleeping()) {
+			wakeups.incrementAndGet();
+			LockSupport.unpark(robotThread);
+		}
+	}
+
+	/**
+	 * Waits until the robot thread is asleep, i.e. has taken its action for the turn.
+	 *
+	 * @param timeoutNanos the maximum time to wait.
+	 * @param running      the running flag of the robot, where waiting stops when the robot is no longer running,
+	 *                     or {@code null} if waiting should not depend on it.
+	 * @return {@code true} if the robot thread is asleep; {@code false} otherwise.
+	 */
+	public boolean awaitSleeping(long timeoutNanos, AtomicBoolean running) {
+		battleThread = Thread.currentThread();
+
+		// It's quite possible for simple robots to complete their processing before we get here,
+		// so we test if the robot is already asleep.
+		return isSleeping() || awaitBattle(-1, running, timeoutNanos);
+	}
+
+	// Waits for the robot thread to take the specified wakeup, or to go to sleep when the turn is -1
+	private boolean awaitBattle(long turn, AtomicBoolean running, long timeoutNanos) {
+		final Thread current = Thread.currentThread();
+		final long deadline = System.nanoTime() + timeoutNanos;
+
+		for (int spins = 0; ; spins++) {
+			if (turn < 0 ? isSleeping() : (wakeupsTaken >= turn || !isSleeping())) {
+				return true;
+			}
+			if ((running != null && !running.get()) || current.isInterrupted()) {
+				return false;
+			}
+			if (spins >= spinBudget) {
+				final long remaining = deadline - System.nanoTime();
+
+				if (remaining <= 0) {
+					return false;
+				}
+				LockSupport.parkNanos(this, Math.min(remaining, MAX_PARK_NANOS));
+			}
+		}
+	}
+}
@@ -18,6 +18,8 @@ import robocode.control.snapshot.IBulletSnapshot;
 import robocode.util.Utils;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 
 
@@ -34,6 +36,9 @@ public final class BulletSnapshot implements java.io.Serializable, IXmlSerializa
 
 	private static final long serialVersionUID = 2L;
 
+	// The bullet the values of new bullets are written relative to
+	private static final BulletSnapshot EMPTY = new BulletSnapshot();
+
 	/** The bullet state */
 	private BulletState state;
 
@@ -228,6 +233,150 @@ public final class BulletSnapshot implements java.io.Serializable, IXmlSerializa
 		return ownerIndex;
 	}
 
+	/**
+	 * Writes the bullets of a turn as columns. The values of each bullet are written as differences from the
+	 * values of the same bullet in the previous turn, if it was there.
+	 *
+	 * @param writer   the writer to write the columns to.
+	 * @param bullets  the bullets of the turn.
+	 * @param previous the bullets of the previous turn.
+	 */
+	static void writeColumns(ColumnWriter writer, BulletSnapshot[] bullets, BulletSnapshot[] previous) throws IOException {
+		writer.writeVarInt(bullets.length);
+
+		BulletSnapshot last = EMPTY;
+
+		for (BulletSnapshot bullet : bullets) {
+			writer.writeDelta(last.ownerIndex, bullet.ownerIndex);
+			writer.writeDelta(last.bulletId, bullet.bulletId);
+			last = bullet;
+		}
+
+		final BulletSnapshot[] matches = match(bullets, previous);
+
+		for (int i = 0; i < bullets.length; i++) {
+			writer.writeDelta(matches[i].state.getValue(), bullets[i].state.getValue());
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			writer.writeDelta(matches[i].power, bullets[i].power, TurnSnapshot.VALUE_SCALE);
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			writer.writeDelta(matches[i].x, bullets[i].x, TurnSnapshot.VALUE_SCALE);
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			writer.writeDelta(matches[i].y, bullets[i].y, TurnSnapshot.VALUE_SCALE);
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			writer.writeDelta(matches[i].paintX, bullets[i].paintX, TurnSnapshot.VALUE_SCALE);
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			writer.writeDelta(matches[i].paintY, bullets[i].paintY, TurnSnapshot.VALUE_SCALE);
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			writer.writeDelta(matches[i].heading, bullets[i].heading, TurnSnapshot.ANGLE_SCALE);
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			writer.writeDelta(matches[i].color, bullets[i].color);
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			writer.writeDelta(matches[i].frame, bullets[i].frame);
+		}
+		for (BulletSnapshot bullet : bullets) {
+			writer.writeBoolean(bullet.isExplosion);
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			writer.writeDelta(matches[i].explosionImageIndex, bullets[i].explosionImageIndex);
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			writer.writeDelta(matches[i].victimIndex, bullets[i].victimIndex);
+		}
+	}
+
+	/**
+	 * Reads the bullets of a turn written by
+	 * {@link #writeColumns(ColumnWriter, BulletSnapshot[], BulletSnapshot[])}.
+	 *
+	 * @param reader   the reader to read the columns from.
+	 * @param previous the bullets of the previous turn.
+	 * @return the bullets of the turn.
+	 */
+	static BulletSnapshot[] readColumns(ColumnReader reader, BulletSnapshot[] previous) throws IOException {
+		final BulletSnapshot[] bullets = new BulletSnapshot[reader.readVarInt()];
+
+		BulletSnapshot last = EMPTY;
+
+		for (int i = 0; i < bullets.length; i++) {
+			final BulletSnapshot bullet = new BulletSnapshot();
+
+			bullet.ownerIndex = reader.readDelta(last.ownerIndex);
+			bullet.bulletId = reader.readDelta(last.bulletId);
+			bullets[i] = bullet;
+			last = bullet;
+		}
+
+		final BulletSnapshot[] matches = match(bullets, previous);
+
+		for (int i = 0; i < bullets.length; i++) {
+			bullets[i].state = BulletState.toState(reader.readDelta(matches[i].state.getValue()));
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			bullets[i].power = reader.readDelta(matches[i].power, TurnSnapshot.VALUE_SCALE);
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			bullets[i].x = reader.readDelta(matches[i].x, TurnSnapshot.VALUE_SCALE);
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			bullets[i].y = reader.readDelta(matches[i].y, TurnSnapshot.VALUE_SCALE);
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			bullets[i].paintX = reader.readDelta(matches[i].paintX, TurnSnapshot.VALUE_SCALE);
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			bullets[i].paintY = reader.readDelta(matches[i].paintY, TurnSnapshot.VALUE_SCALE);
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			bullets[i].heading = reader.readDelta(matches[i].heading, TurnSnapshot.ANGLE_SCALE);
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			bullets[i].color = reader.readDelta(matches[i].color);
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			bullets[i].frame = reader.readDelta(matches[i].frame);
+		}
+		for (BulletSnapshot bullet : bullets) {
+			bullet.isExplosion = reader.readBoolean();
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			bullets[i].explosionImageIndex = reader.readDelta(matches[i].explosionImageIndex);
+		}
+		for (int i = 0; i < bullets.length; i++) {
+			bullets[i].victimIndex = reader.readDelta(matches[i].victimIndex);
+		}
+		return bullets;
+	}
+
+	// Finds the bullets of the previous turn with the same owner and id, or an empty bullet for new bullets
+	private static BulletSnapshot[] match(BulletSnapshot[] bullets, BulletSnapshot[] previous) {
+		final Map<Long, BulletSnapshot> byId = new HashMap<>();
+
+		for (BulletSnapshot bullet : previous) {
+			byId.put(bullet.getKey(), bullet);
+		}
+
+		final BulletSnapshot[] matches = new BulletSnapshot[bullets.length];
+
+		for (int i = 0; i < bullets.length; i++) {
+			final BulletSnapshot match = byId.get(bullets[i].getKey());
+
+			matches[i] = match != null ? match : EMPTY;
+		}
+		return matches;
+	}
+
+	private long getKey() {
+		return ((long) ownerIndex << 32) | (bulletId & 0xFFFFFFFFL);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -33,7 +33,7 @@ import java.util.Map;
  *
  * @since 1.6.1
  */
-public final class RobotSnapshot implements Serializable, IXmlSerializable, IRobotSnapshot {
+public final class RobotSnapshot implements Serializable, Cloneable, IXmlSerializable, IRobotSnapshot {
 
 	private static final long serialVersionUID = 2L;
 
@@ -404,6 +404,25 @@ public final class RobotSnapshot implements Serializable, IXmlSerializable, IRob
 		this.outputStreamSnapshot = outputStreamSnapshot;
 	}
 
+	/**
+	 * Returns a copy of this snapshot with another snapshot of the output print stream.
+	 *
+	 * @param outputStreamSnapshot the output print stream snapshot of the copy.
+	 * @return the copy.
+	 * @since 1.9.5.4
+	 */
+	public RobotSnapshot withOutputStreamSnapshot(String outputStreamSnapshot) {
+		final RobotSnapshot copy;
+
+		try {
+			copy = (RobotSnapshot) clone();
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(e);
+		}
+		copy.outputStreamSnapshot = outputStreamSnapshot;
+		return copy;
+	}
+
 	void stripDetails(SerializableOptions options) {
 		if (options.skipDebug) {
 			graphicsCalls = null;
@@ -696,6 +715,251 @@ public final class RobotSnapshot implements Serializable, IXmlSerializable, IRob
 		});
 	}
 
+	/**
+	 * Writes the robots of a turn as columns, as differences from the robots of the previous turn.
+	 * The data that does not change during a battle is only written for the first turn.
+	 *
+	 * @param writer   the writer to write the columns to.
+	 * @param robots   the robots of the turn.
+	 * @param previous the robots of the previous turn, or {@code null} if this is the first turn.
+	 */
+	static void writeColumns(ColumnWriter writer, RobotSnapshot[] robots, RobotSnapshot[] previous) throws IOException {
+		if (previous == null) {
+			for (RobotSnapshot robot : robots) {
+				writer.writeString(robot.name);
+				writer.writeString(robot.shortName);
+				writer.writeString(robot.veryShortName);
+				writer.writeString(robot.teamName);
+				writer.writeSignedVarLong(robot.robotIndex);
+				writer.writeSignedVarLong(robot.teamIndex);
+				writer.writeBoolean(robot.isDroid);
+				writer.writeBoolean(robot.isSentryRobot);
+			}
+			previous = new RobotSnapshot[robots.length];
+			for (int i = 0; i < robots.length; i++) {
+				previous[i] = new RobotSnapshot();
+			}
+		}
+		for (int i = 0; i < robots.length; i++) {
+			writer.writeDelta(previous[i].state.getValue(), robots[i].state.getValue());
+		}
+		for (int i = 0; i < robots.length; i++) {
+			writer.writeDelta(previous[i].energy, robots[i].energy, TurnSnapshot.VALUE_SCALE);
+		}
+		for (int i = 0; i < robots.length; i++) {
+			writer.writeDelta(previous[i].velocity, robots[i].velocity, TurnSnapshot.VALUE_SCALE);
+		}
+		for (int i = 0; i < robots.length; i++) {
+			writer.writeDelta(previous[i].gunHeat, robots[i].gunHeat, TurnSnapshot.VALUE_SCALE);
+		}
+		for (int i = 0; i < robots.length; i++) {
+			writer.writeDelta(previous[i].bodyHeading, robots[i].bodyHeading, TurnSnapshot.ANGLE_SCALE);
+		}
+		for (int i = 0; i < robots.length; i++) {
+			writer.writeDelta(previous[i].gunHeading, robots[i].gunHeading, TurnSnapshot.ANGLE_SCALE);
+		}
+		for (int i = 0; i < robots.length; i++) {
+			writer.writeDelta(previous[i].radarHeading, robots[i].radarHeading, TurnSnapshot.ANGLE_SCALE);
+		}
+		for (int i = 0; i < robots.length; i++) {
+			writer.writeDelta(previous[i].x, robots[i].x, TurnSnapshot.VALUE_SCALE);
+		}
+		for (int i = 0; i < robots.length; i++) {
+			writer.writeDelta(previous[i].y, robots[i].y, TurnSnapshot.VALUE_SCALE);
+		}
+		for (RobotSnapshot robot : robots) {
+			writer.writeVarInt((robot.isPaintRobot ? 1 : 0) | (robot.isPaintEnabled ? 2 : 0)
+					| (robot.isSGPaintEnabled ? 4 : 0) | (robot.scanArc != null ? 8 : 0));
+		}
+		for (int i = 0; i < robots.length; i++) {
+			writeColors(writer, robots[i], previous[i]);
+		}
+		for (int i = 0; i < robots.length; i++) {
+			if (robots[i].scanArc != null) {
+				robots[i].scanArc.writeColumns(writer, previous[i].scanArc);
+			}
+		}
+		for (RobotSnapshot robot : robots) {
+			writer.writeString(robot.outputStreamSnapshot);
+		}
+		for (RobotSnapshot robot : robots) {
+			final DebugProperty[] properties = robot.debugProperties;
+
+			writer.writeVarInt(properties != null ? properties.length + 1 : 0);
+			if (properties != null) {
+				for (DebugProperty property : properties) {
+					writer.writeString(property.getKey());
+					writer.writeString(property.getValue());
+				}
+			}
+		}
+		for (RobotSnapshot robot : robots) {
+			writer.writeBytes(robot.graphicsCalls instanceof byte[] ? (byte[]) robot.graphicsCalls : null);
+		}
+
+		final ScoreSnapshot[] scores = new ScoreSnapshot[robots.length];
+		final ScoreSnapshot[] previousScores = new ScoreSnapshot[robots.length];
+
+		for (int i = 0; i < robots.length; i++) {
+			scores[i] = (ScoreSnapshot) robots[i].robotScoreSnapshot;
+			previousScores[i] = previous[i].robotScoreSnapshot != null
+					? (ScoreSnapshot) previous[i].robotScoreSnapshot
+					: new ScoreSnapshot();
+		}
+		ScoreSnapshot.writeColumns(writer, scores, previousScores);
+	}
+
+	/**
+	 * Reads the robots of a turn written by {@link #writeColumns(ColumnWriter, RobotSnapshot[], RobotSnapshot[])}.
+	 *
+	 * @param reader   the reader to read the columns from.
+	 * @param count    the number of robots.
+	 * @param previous the robots of the previous turn, or {@code null} if this is the first turn.
+	 * @return the robots of the turn.
+	 */
+	static RobotSnapshot[] readColumns(ColumnReader reader, int count, RobotSnapshot[] previous) throws IOException {
+		final RobotSnapshot[] robots = new RobotSnapshot[count];
+
+		for (int i = 0; i < count; i++) {
+			robots[i] = new RobotSnapshot();
+		}
+		if (previous == null) {
+			previous = new RobotSnapshot[count];
+			for (int i = 0; i < count; i++) {
+				final RobotSnapshot robot = robots[i];
+
+				robot.name = reader.readString();
+				robot.shortName = reader.readString();
+				robot.veryShortName = reader.readString();
+				robot.teamName = reader.readString();
+				robot.robotIndex = (int) reader.readSignedVarLong();
+				robot.teamIndex = (int) reader.readSignedVarLong();
+				robot.isDroid = reader.readBoolean();
+				robot.isSentryRobot = reader.readBoolean();
+				previous[i] = new RobotSnapshot();
+			}
+		} else {
+			for (int i = 0; i < count; i++) {
+				final RobotSnapshot robot = robots[i];
+				final RobotSnapshot last = previous[i];
+
+				robot.name = last.name;
+				robot.shortName = last.shortName;
+				robot.veryShortName = last.veryShortName;
+				robot.teamName = last.teamName;
+				robot.robotIndex = last.robotIndex;
+				robot.teamIndex = last.teamIndex;
+				robot.isDroid = last.isDroid;
+				robot.isSentryRobot = last.isSentryRobot;
+			}
+		}
+		for (int i = 0; i < count; i++) {
+			robots[i].state = RobotState.toState(reader.readDelta(previous[i].state.getValue()));
+		}
+		for (int i = 0; i < count; i++) {
+			robots[i].energy = reader.readDelta(previous[i].energy, TurnSnapshot.VALUE_SCALE);
+		}
+		for (int i = 0; i < count; i++) {
+			robots[i].velocity = reader.readDelta(previous[i].velocity, TurnSnapshot.VALUE_SCALE);
+		}
+		for (int i = 0; i < count; i++) {
+			robots[i].gunHeat = reader.readDelta(previous[i].gunHeat, TurnSnapshot.VALUE_SCALE);
+		}
+		for (int i = 0; i < count; i++) {
+			robots[i].bodyHeading = reader.readDelta(previous[i].bodyHeading, TurnSnapshot.ANGLE_SCALE);
+		}
+		for (int i = 0; i < count; i++) {
+			robots[i].gunHeading = reader.readDelta(previous[i].gunHeading, TurnSnapshot.ANGLE_SCALE);
+		}
+		for (int i = 0; i < count; i++) {
+			robots[i].radarHeading = reader.readDelta(previous[i].radarHeading, TurnSnapshot.ANGLE_SCALE);
+		}
+		for (int i = 0; i < count; i++) {
+			robots[i].x = reader.readDelta(previous[i].x, TurnSnapshot.VALUE_SCALE);
+		}
+		for (int i = 0; i < count; i++) {
+			robots[i].y = reader.readDelta(previous[i].y, TurnSnapshot.VALUE_SCALE);
+		}
+
+		final boolean[] hasScanArc = new boolean[count];
+
+		for (int i = 0; i < count; i++) {
+			final int flags = reader.readVarInt();
+
+			robots[i].isPaintRobot = (flags & 1) != 0;
+			robots[i].isPaintEnabled = (flags & 2) != 0;
+			robots[i].isSGPaintEnabled = (flags & 4) != 0;
+			hasScanArc[i] = (flags & 8) != 0;
+		}
+		for (int i = 0; i < count; i++) {
+			readColors(reader, robots[i], previous[i]);
+		}
+		for (int i = 0; i < count; i++) {
+			if (hasScanArc[i]) {
+				robots[i].scanArc = SerializableArc.readColumns(reader, previous[i].scanArc);
+			}
+		}
+		for (RobotSnapshot robot : robots) {
+			robot.outputStreamSnapshot = reader.readString();
+		}
+		for (RobotSnapshot robot : robots) {
+			final int length = reader.readVarInt() - 1;
+
+			if (length >= 0) {
+				robot.debugProperties = new DebugProperty[length];
+				for (int j = 0; j < length; j++) {
+					robot.debugProperties[j] = new DebugProperty(reader.readString(), reader.readString());
+				}
+			}
+		}
+		for (RobotSnapshot robot : robots) {
+			robot.graphicsCalls = reader.readBytes();
+		}
+
+		final ScoreSnapshot[] previousScores = new ScoreSnapshot[count];
+
+		for (int i = 0; i < count; i++) {
+			previousScores[i] = previous[i].robotScoreSnapshot != null
+					? (ScoreSnapshot) previous[i].robotScoreSnapshot
+					: new ScoreSnapshot();
+		}
+
+		final ScoreSnapshot[] scores = ScoreSnapshot.readColumns(reader, previousScores);
+
+		for (int i = 0; i < count; i++) {
+			robots[i].robotScoreSnapshot = scores[i];
+		}
+		return robots;
+	}
+
+	// Writes a mask of the colors that have changed, followed by these colors
+	private static void writeColors(ColumnWriter writer, RobotSnapshot robot, RobotSnapshot previous) throws IOException {
+		final int[] colors = { robot.bodyColor, robot.gunColor, robot.radarColor, robot.scanColor };
+		final int[] previousColors = { previous.bodyColor, previous.gunColor, previous.radarColor, previous.scanColor };
+		int changed = 0;
+
+		for (int i = 0; i < colors.length; i++) {
+			if (colors[i] != previousColors[i]) {
+				changed |= 1 << i;
+			}
+		}
+		writer.writeVarInt(changed);
+		for (int i = 0; i < colors.length; i++) {
+			if ((changed & (1 << i)) != 0) {
+				writer.writeVarInt(colors[i]);
+			}
+		}
+	}
+
+	private static void readColors(ColumnReader reader, RobotSnapshot robot, RobotSnapshot previous) throws IOException {
+		final int changed = reader.readVarInt();
+
+		robot.bodyColor = (changed & 1) != 0 ? reader.readVarInt() : previous.bodyColor;
+		robot.gunColor = (changed & 2) != 0 ? reader.readVarInt() : previous.gunColor;
+		robot.radarColor = (changed & 4) != 0 ? reader.readVarInt() : previous.radarColor;
+		robot.scanColor = (changed & 8) != 0 ? reader.readVarInt() : previous.scanColor;
+	}
+
 	/**
 	 * Class used for serializing an Arc2D.double.
 	 * The purpose of this class is to overcome various serialization problems with Arc2D to cope with bug in Java 6:
@@ -706,6 +970,8 @@ public final class RobotSnapshot implements Serializable, IXmlSerializable, IRob
 	private static class SerializableArc implements Serializable {
 		private static final long serialVersionUID = 1L;
 
+		private static final SerializableArc EMPTY_ARC = new SerializableArc(0, 0, 0, 0, 0, 0, 0);
+
 		public final double x;
 		public final double y;
 		public final double w;
@@ -724,8 +990,43 @@ public final class RobotSnapshot implements Serializable, IXmlSerializable, IRob
 			type = arc.getArcType();
 		}
 
+		SerializableArc(double x, double y, double w, double h, double start, double extent, int type) {
+			this.x = x;
+			this.y = y;
+			this.w = w;
+			this.h = h;
+			this.start = start;
+			this.extent = extent;
+			this.type = type;
+		}
+
 		public Arc2D create() {
 			return new Arc2D.Double(x, y, w, h, start, extent, type);
 		}
+
+		void writeColumns(ColumnWriter writer, SerializableArc previous) throws IOException {
+			if (previous == null) {
+				previous = EMPTY_ARC;
+			}
+			writer.writeDelta(previous.x, x, TurnSnapshot.VALUE_SCALE);
+			writer.writeDelta(previous.y, y, TurnSnapshot.VALUE_SCALE);
+			writer.writeDelta(previous.w, w, TurnSnapshot.VALUE_SCALE);
+			writer.writeDelta(previous.h, h, TurnSnapshot.VALUE_SCALE);
+			writer.writeDelta(previous.start, start, TurnSnapshot.VALUE_SCALE);
+			writer.writeDelta(previous.extent, extent, TurnSnapshot.VALUE_SCALE);
+			writer.writeDelta(previous.type, type);
+		}
+
+		static SerializableArc readColumns(ColumnReader reader, SerializableArc previous) throws IOException {
+			if (previous == null) {
+				previous = EMPTY_ARC;
+			}
+			return new SerializableArc(reader.readDelta(previous.x, TurnSnapshot.VALUE_SCALE),
+					reader.readDelta(previous.y, TurnSnapshot.VALUE_SCALE),
+					reader.readDelta(previous.w, TurnSnapshot.VALUE_SCALE),
+					reader.readDelta(previous.h, TurnSnapshot.VALUE_SCALE),
+					reader.readDelta(previous.start, TurnSnapshot.VALUE_SCALE),
+					reader.readDelta(previous.extent, TurnSnapshot.VALUE_SCALE), reader.readDelta(previous.type));
+		}
 	}
 }
@@ -31,6 +31,9 @@ public final class ScoreSnapshot implements Serializable, IXmlSerializable, ISco
 
 	private static final long serialVersionUID = 1L;
 
+	// The number of values written by writeColumns()
+	private static final int COLUMNS = 17;
+
 	/** The name of the contestant, i.e. a robot or team */
 	private String name;
 
@@ -433,6 +436,89 @@ public final class ScoreSnapshot implements Serializable, IXmlSerializable, ISco
 			}
 		});
 	}
+	/**
+	 * Writes the scores of the robots of a turn as columns, as differences from the scores of the previous turn.
+	 *
+	 * @param writer   the writer to write the columns to.
+	 * @param scores   the scores of the turn.
+	 * @param previous the scores of the previous turn.
+	 */
+	static void writeColumns(ColumnWriter writer, ScoreSnapshot[] scores, ScoreSnapshot[] previous) throws IOException {
+		final double[][] values = new double[scores.length][];
+		final double[][] previousValues = new double[scores.length][];
+
+		for (int i = 0; i < scores.length; i++) {
+			// The name is only written when it changes, which is for the first turn
+			writer.writeString(Objects.equals(scores[i].name, previous[i].name) ? null : scores[i].name);
+			values[i] = scores[i].getColumnValues();
+			previousValues[i] = previous[i].getColumnValues();
+		}
+		for (int column = 0; column < COLUMNS; column++) {
+			for (int i = 0; i < scores.length; i++) {
+				writer.writeDelta(previousValues[i][column], values[i][column], TurnSnapshot.VALUE_SCALE);
+			}
+		}
+	}
+
+	/**
+	 * Reads the scores of the robots of a turn written by
+	 * {@link #writeColumns(ColumnWriter, ScoreSnapshot[], ScoreSnapshot[])}.
+	 *
+	 * @param reader   the reader to read the columns from.
+	 * @param previous the scores of the previous turn.
+	 * @return the scores of the turn.
+	 */
+	static ScoreSnapshot[] readColumns(ColumnReader reader, ScoreSnapshot[] previous) throws IOException {
+		final ScoreSnapshot[] scores = new ScoreSnapshot[previous.length];
+		final double[][] values = new double[previous.length][];
+
+		for (int i = 0; i < previous.length; i++) {
+			final String name = reader.readString();
+
+			scores[i] = new ScoreSnapshot();
+			scores[i].name = name != null ? name : previous[i].name;
+			values[i] = previous[i].getColumnValues();
+		}
+		for (int column = 0; column < COLUMNS; column++) {
+			for (int i = 0; i < previous.length; i++) {
+				values[i][column] = reader.readDelta(values[i][column], TurnSnapshot.VALUE_SCALE);
+			}
+		}
+		for (int i = 0; i < previous.length; i++) {
+			scores[i].setColumnValues(values[i]);
+		}
+		return scores;
+	}
+
+	private double[] getColumnValues() {
+		return new double[] {
+			totalScore, totalSurvivalScore, totalLastSurvivorBonus, totalBulletDamageScore, totalBulletKillBonus,
+			totalRammingDamageScore, totalRammingKillBonus, totalFirsts, totalSeconds, totalThirds, currentScore,
+			currentSurvivalScore, currentSurvivalBonus, currentBulletDamageScore, currentBulletKillBonus,
+			currentRammingDamageScore, currentRammingKillBonus
+		};
+	}
+
+	private void setColumnValues(double[] values) {
+		totalScore = values[0];
+		totalSurvivalScore = values[1];
+		totalLastSurvivorBonus = values[2];
+		totalBulletDamageScore = values[3];
+		totalBulletKillBonus = values[4];
+		totalRammingDamageScore = values[5];
+		totalRammingKillBonus = values[6];
+		totalFirsts = (int) Math.round(values[7]);
+		totalSeconds = (int) Math.round(values[8]);
+		totalThirds = (int) Math.round(values[9]);
+		currentScore = values[10];
+		currentSurvivalScore = values[11];
+		currentSurvivalBonus = values[12];
+		currentBulletDamageScore = values[13];
+		currentBulletKillBonus = values[14];
+		currentRammingDamageScore = values[15];
+		currentRammingKillBonus = values[16];
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(
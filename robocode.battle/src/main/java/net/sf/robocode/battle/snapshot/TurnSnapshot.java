@@ -11,6 +11,8 @@ package net.sf.robocode.battle.snapshot;
 import net.sf.robocode.battle.Battle;
 import net.sf.robocode.battle.peer.BulletPeer;
 import net.sf.robocode.battle.peer.RobotPeer;
+import net.sf.robocode.serialization.ColumnReader;
+import net.sf.robocode.serialization.ColumnWriter;
 import net.sf.robocode.serialization.IXmlSerializable;
 import net.sf.robocode.serialization.XmlReader;
 import net.sf.robocode.serialization.SerializableOptions;
@@ -36,6 +38,12 @@ public final class TurnSnapshot implements java.io.Serializable, IXmlSerializabl
 
 	private static final String ROBOTS_XML_ELEMENT_NAME = "robots";
 
+	/** Scale of the values written as columns with trimmed precision, i.e. 4 decimals like trimmed XML */
+	static final double VALUE_SCALE = 10000;
+
+	/** Scale of the angles in radians written as columns with trimmed precision */
+	static final double ANGLE_SCALE = 1000000;
+
 	/** List of snapshots for the robots participating in the battle */
 	private List<IRobotSnapshot> robots;
 
@@ -82,6 +90,31 @@ public final class TurnSnapshot implements java.io.Serializable, IXmlSerializabl
 		round = battle.getRoundNum();
 	}
 
+	/**
+	 * Returns a copy of this snapshot, where the output print streams of the robots are replaced. This snapshot is
+	 * not changed, as it is shared with the other listeners of the battle, like the recorder.
+	 *
+	 * @param outputStreamSnapshots the output print stream snapshot of each robot, by the index of the robot in
+	 *                              this snapshot.
+	 * @return the copy.
+	 * @since 1.9.5.4
+	 */
+	public TurnSnapshot withOutputStreamSnapshots(String[] outputStreamSnapshots) {
+		final TurnSnapshot copy = new TurnSnapshot();
+
+		copy.robots = new ArrayList<>(robots.size());
+		for (int i = 0; i < robots.size(); i++) {
+			final String text = i < outputStreamSnapshots.length ? outputStreamSnapshots[i] : null;
+
+			copy.robots.add(((RobotSnapshot) robots.get(i)).withOutputStreamSnapshot(text));
+		}
+		copy.bullets = bullets;
+		copy.tps = tps;
+		copy.round = round;
+		copy.turn = turn;
+		return copy;
+	}
+
 	@Override
 	public String toString() {
 		return this.round + "/" + turn + " (" + this.robots.size() + ")";
@@ -172,6 +205,51 @@ public final class TurnSnapshot implements java.io.Serializable, IXmlSerializabl
 		}
 	}
 
+	/**
+	 * Writes the turn as columns of primitive values, where each value is written as the difference from the
+	 * value in the previous turn. The data of the robots that does not change during a battle is only written
+	 * for the first turn.
+	 *
+	 * @param writer   the writer to write the columns to.
+	 * @param previous the previous turn of the battle, or {@code null} if this is the first turn.
+	 * @throws IOException if the turn could not be written.
+	 * @since 1.9.5.4
+	 */
+	public void writeColumns(ColumnWriter writer, TurnSnapshot previous) throws IOException {
+		writer.writeDelta(previous != null ? previous.round : 0, round);
+		writer.writeDelta(previous != null ? previous.turn : 0, turn);
+		writer.writeDelta(previous != null ? previous.tps : 0, tps);
+
+		RobotSnapshot.writeColumns(writer, robots.toArray(new RobotSnapshot[0]),
+				previous != null ? previous.robots.toArray(new RobotSnapshot[0]) : null);
+		BulletSnapshot.writeColumns(writer, bullets.toArray(new BulletSnapshot[0]),
+				previous != null ? previous.bullets.toArray(new BulletSnapshot[0]) : new BulletSnapshot[0]);
+	}
+
+	/**
+	 * Reads a turn written by {@link #writeColumns(ColumnWriter, TurnSnapshot)}.
+	 *
+	 * @param reader     the reader to read the columns from.
+	 * @param robotCount the number of robots in the battle.
+	 * @param previous   the previous turn of the battle, or {@code null} if this is the first turn.
+	 * @return the turn read.
+	 * @throws IOException if the turn could not be read.
+	 * @since 1.9.5.4
+	 */
+	public static TurnSnapshot readColumns(ColumnReader reader, int robotCount, TurnSnapshot previous) throws IOException {
+		final TurnSnapshot snapshot = new TurnSnapshot();
+
+		snapshot.round = reader.readDelta(previous != null ? previous.round : 0);
+		snapshot.turn = reader.readDelta(previous != null ? previous.turn : 0);
+		snapshot.tps = reader.readDelta(previous != null ? previous.tps : 0);
+
+		snapshot.robots = Arrays.<IRobotSnapshot>asList(RobotSnapshot.readColumns(reader, robotCount,
+				previous != null ? previous.robots.toArray(new RobotSnapshot[0]) : null));
+		snapshot.bullets = Arrays.<IBulletSnapshot>asList(BulletSnapshot.readColumns(reader,
+				previous != null ? previous.bullets.toArray(new BulletSnapshot[0]) : new BulletSnapshot[0]));
+		return snapshot;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -9,6 +9,7 @@ package net.sf.robocode.recording;
 
 
 import net.sf.robocode.battle.BaseBattle;
+import net.sf.robocode.battle.Command;
 import net.sf.robocode.battle.IBattleManager;
 import net.sf.robocode.battle.events.BattleEventDispatcher;
 import net.sf.robocode.battle.snapshot.RobotSnapshot;
@@ -30,6 +31,10 @@ public final class BattlePlayer extends BaseBattle {
 	private final RecordManager recordManager;
 	private boolean[] paint;
 
+	// The round and turn to seek to when the player has to move to another round first
+	private int seekRound = -1;
+	private int seekTurn;
+
 	public BattlePlayer(ISettingsManager properties, IBattleManager battleManager, RecordManager recordManager, BattleEventDispatcher eventDispatcher) { // NO_UCD (unused code)
 		super(
 				properties, battleManager, eventDispatcher);
@@ -72,11 +77,15 @@ public final class BattlePlayer extends BaseBattle {
 	protected void initializeRound() {
 		super.initializeRound();
 
-		final ITurnSnapshot snapshot = recordManager.readSnapshot();
+		final ITurnSnapshot snapshot = recordManager.readSnapshot(getRoundNum(), 0);
 
 		if (snapshot != null) {
 			eventDispatcher.onRoundStarted(new RoundStartedEvent(snapshot, getRoundNum(), null));
 		}
+		if (seekRound == getRoundNum()) {
+			seekRound = -1;
+			seekImpl(seekTurn);
+		}
 	}
 
 	@Override
@@ -84,6 +93,11 @@ public final class BattlePlayer extends BaseBattle {
 		super.finalizeRound();
 
 		eventDispatcher.onRoundEnded(new RoundEndedEvent(getRoundNum(), getTime(), totalTurns));
+
+		if (seekRound >= 0) {
+			// The battle moves on to the next round when this one is finalized
+			setRoundNum(seekRound - 1);
+		}
 	}
 
 	@Override
@@ -95,7 +109,13 @@ public final class BattlePlayer extends BaseBattle {
 
 	@Override
 	protected void finalizeTurn() {
-		final ITurnSnapshot snapshot = recordManager.readSnapshot();
+		dispatchTurnEnded();
+
+		super.finalizeTurn();
+	}
+
+	private void dispatchTurnEnded() {
+		final ITurnSnapshot snapshot = recordManager.readSnapshot(getRoundNum(), getTime());
 
 		if (snapshot != null) {
 			final IRobotSnapshot[] robots = snapshot.getRobots();
@@ -107,8 +127,6 @@ public final class BattlePlayer extends BaseBattle {
 			}
 			eventDispatcher.onTurnEnded(new TurnEndedEvent(snapshot));
 		}
-
-		super.finalizeTurn();
 	}
 
 	@Override
@@ -134,6 +152,22 @@ public final class BattlePlayer extends BaseBattle {
 		sendCommand(new EnableRobotPaintCommand(robotIndex, enable));
 	}
 
+	/**
+	 * Moves the replay to a turn of the record. Turns in the current round are shown right away, and turns in
+	 * other rounds when the current round has been ended.
+	 *
+	 * @param round the round to move to.
+	 * @param turn  the turn within the round to move to.
+	 */
+	public void seek(int round, int turn) {
+		sendCommand(new SeekCommand(round, turn));
+	}
+
+	private void seekImpl(int turn) {
+		currentTime = turn;
+		dispatchTurnEnded();
+	}
+
 	private class EnableRobotPaintCommand extends RobotCommand {
 		final boolean enablePaint;
 
@@ -146,4 +180,29 @@ public final class BattlePlayer extends BaseBattle {
 			paint[robotIndex] = enablePaint;
 		}
 	}
+
+	private class SeekCommand extends Command {
+		final int round;
+		final int turn;
+
+		SeekCommand(int round, int turn) {
+			this.round = round;
+			this.turn = turn;
+		}
+
+		public void execute() {
+			final Integer[] turnsInRounds = recordManager.recordInfo.getTurnsInRounds();
+
+			if (round < 0 || round >= turnsInRounds.length || turn < 0 || turn >= turnsInRounds[round]) {
+				return;
+			}
+			if (round == getRoundNum()) {
+				seekImpl(turn);
+			} else {
+				seekRound = round;
+				seekTurn = turn;
+				endRound();
+			}
+		}
+	}
 }
@@ -32,11 +32,13 @@ class BattleRecorder {
 
 	private final RecordManager recordmanager;
 	private final ISettingsManager properties;
+	private final RecordingQueue queue;
 	private BattleObserver battleObserver;
 
 	BattleRecorder(RecordManager recordmanager, ISettingsManager properties) {
 		this.recordmanager = recordmanager;
 		this.properties = properties;
+		queue = recordmanager.getRecordingQueue();
 	}
 
 	void attachRecorder(BattleEventDispatcher battleEventDispatcher) {
@@ -65,11 +67,16 @@ class BattleRecorder {
 
 		public void dispose() {
 			dispatcher.removeListener(this);
+			queue.flush();
+			// The writer thread is started again when the next battle is recorded
+			queue.shutdown();
 			recordmanager.cleanupStreams();
 		}
 
 		@Override
 		public void onBattleStarted(BattleStartedEvent event) {
+			queue.flush();
+			queue.resetStatistics();
 			recordmanager.cleanupStreams();
 			recordmanager.createRecordInfo(event.getBattleRules(), event.getRobotsCount(), event.getBattleId());
 
@@ -79,7 +86,14 @@ class BattleRecorder {
 
 		@Override
 		public void onBattleFinished(BattleFinishedEvent event) {
+			// The record must be complete before the streams are closed, and the record is saved or replayed
+			queue.flush();
 			recordmanager.cleanupStreams();
+
+			if (queue.getDroppedTurns() > 0) {
+				Logger.logMessage("The recorder could not keep up, so " + queue.getDroppedTurns()
+						+ " turns were left out of the record");
+			}
 		}
 
 		@Override
@@ -95,13 +109,13 @@ class BattleRecorder {
 		public void onRoundStarted(RoundStartedEvent event) {
 			currentRound = event.getRound();
 			currentTurn = 0;
-			recordmanager.writeTurn(event.getStartSnapshot(), currentRound, currentTurn);
+			queue.put(event.getStartSnapshot(), currentRound, currentTurn);
 		}
 
 		@Override
 		public void onTurnEnded(TurnEndedEvent event) {
 			currentTurn = event.getTurnSnapshot().getTurn();
-			recordmanager.writeTurn(event.getTurnSnapshot(), currentRound, currentTurn);
+			queue.put(event.getTurnSnapshot(), currentRound, currentTurn);
 		}
 
 		private void writeAutoRecord(BattleCompletedEvent event) {
@@ -129,6 +143,10 @@ class BattleRecorder {
 				if (properties.getOptionsCommonRecordingFormat().equalsIgnoreCase("xml")) {
 					name.append(".xml.zip");
 					recordmanager.saveRecord(name.toString(), BattleRecordFormat.XML_ZIP, new SerializableOptions(true));
+				} else if (properties.getOptionsCommonRecordingFormat().equalsIgnoreCase("columnar")) {
+					name.append(".col.br");
+					recordmanager.saveRecord(name.toString(), BattleRecordFormat.COLUMNAR,
+							new SerializableOptions(true));
 				} else if (properties.getOptionsCommonRecordingFormat().equalsIgnoreCase("csv")) {
 					recordmanager.saveRecord(name.toString(), BattleRecordFormat.CSV,
 							new SerializableOptions(true));
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.recording;
+
+
+import net.sf.robocode.io.Logger;
+import robocode.BattleResults;
+import robocode.BattleRules;
+import robocode.control.events.*;
+import robocode.control.snapshot.ITurnSnapshot;
+
+import java.io.IOException;
+
+
+/**
+ * Writes the CSV files of a battle while it runs, straight from the battle events, so the battle does not
+ * have to be recorded first. The files are the same as those saved from a record of the battle, and are
+ * closed when the battle is over, after which the events of later battles are ignored.
+ */
+final class CsvBattleRecorder extends BattleAdaptor {
+	private final CsvExporter exporter;
+
+	private BattleRules rules;
+	private int robotCount;
+	private int round;
+	private int turnsInRound;
+	private int roundsWritten;
+	private boolean isClosed;
+
+	CsvBattleRecorder(CsvExporter exporter) {
+		this.exporter = exporter;
+	}
+
+	@Override
+	public void onBattleStarted(BattleStartedEvent event) {
+		if (isClosed) {
+			return;
+		}
+		rules = event.getBattleRules();
+		robotCount = event.getRobotsCount();
+		exporter.setBattleId(event.getBattleId());
+	}
+
+	@Override
+	public void onRoundStarted(RoundStartedEvent event) {
+		if (isClosed) {
+			return;
+		}
+		round = event.getRound();
+		turnsInRound = 0;
+		writeTurn(event.getStartSnapshot());
+	}
+
+	@Override
+	public void onTurnEnded(TurnEndedEvent event) {
+		writeTurn(event.getTurnSnapshot());
+	}
+
+	@Override
+	public void onRoundEnded(RoundEndedEvent event) {
+		if (isClosed) {
+			return;
+		}
+		try {
+			exporter.writeRound(round, robotCount, rules, turnsInRound);
+			roundsWritten = round + 1;
+		} catch (IOException e) {
+			Logger.logError(e);
+		}
+	}
+
+	@Override
+	public void onBattleFinished(BattleFinishedEvent event) {
+		if (isClosed) {
+			return;
+		}
+		try {
+			// A record has a row for every round of the battle, also the rounds that were never played
+			for (int i = roundsWritten; i < rules.getNumRounds(); i++) {
+				exporter.writeRound(i, robotCount, rules, 0);
+			}
+		} catch (IOException e) {
+			Logger.logError(e);
+		}
+		if (event.isAborted()) {
+			close();
+		}
+	}
+
+	@Override
+	public void onBattleCompleted(BattleCompletedEvent event) {
+		if (isClosed) {
+			return;
+		}
+		try {
+			for (BattleResults result : event.getIndexedResults()) {
+				exporter.writeResults(result, rules.getNumRounds(), robotCount, rules);
+			}
+		} catch (IOException e) {
+			Logger.logError(e);
+		}
+		close();
+	}
+
+	private void writeTurn(ITurnSnapshot turn) {
+		if (isClosed || turn == null) {
+			return;
+		}
+		turnsInRound++;
+		try {
+			exporter.writeTurn(turn);
+		} catch (IOException e) {
+			Logger.logError(e);
+		}
+	}
+
+	private void close() {
+		if (!isClosed) {
+			isClosed = true;
+			try {
+				exporter.close();
+			} catch (IOException e) {
+				Logger.logError(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.recording;
+
+
+import net.sf.robocode.battle.snapshot.BulletSnapshot;
+import net.sf.robocode.battle.snapshot.RobotSnapshot;
+import net.sf.robocode.serialization.CsvWriter;
+import net.sf.robocode.serialization.SerializableOptions;
+import robocode.BattleResults;
+import robocode.BattleRules;
+import robocode.control.snapshot.IBulletSnapshot;
+import robocode.control.snapshot.IRobotSnapshot;
+import robocode.control.snapshot.IScoreSnapshot;
+import robocode.control.snapshot.ITurnSnapshot;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+
+/**
+ * Writes the CSV files of a battle row by row, while the turns are read from a record or as they end in a
+ * running battle, so only the current turn is held in memory.
+ * Each of the results, rounds, robots and bullets files is optional, so the robots and bullets files can be
+ * written by separate exporters in parallel.
+ */
+final class CsvExporter implements Closeable {
+
+	/**
+	 * Tells if the robots and bullets files of a record are written in parallel, which is set with the
+	 * CSVPARALLEL system property, and is the default when there is more than one processor.
+	 */
+	static final boolean PARALLEL = Boolean.parseBoolean(
+			System.getProperty("CSVPARALLEL", Boolean.toString(Runtime.getRuntime().availableProcessors() > 1)));
+
+	private final String version;
+	private final SerializableOptions options;
+	private String battleId;
+
+	private final Writer resultsWriter;
+	private final Writer roundsWriter;
+	private final Writer robotsWriter;
+	private final Writer bulletsWriter;
+
+	private final CsvWriter results;
+	private final CsvWriter rounds;
+	private final CsvWriter robots;
+	private final CsvWriter bullets;
+
+	CsvExporter(OutputStream results, OutputStream rounds, OutputStream robots, OutputStream bullets, String version,
+			SerializableOptions options) throws IOException {
+		this.version = version;
+		this.options = options;
+
+		resultsWriter = createWriter(results);
+		roundsWriter = createWriter(rounds);
+		robotsWriter = createWriter(robots);
+		bulletsWriter = createWriter(bullets);
+
+		this.results = createCsvWriter(resultsWriter,
+				"version,battleId,roundsCount,robotCount,battlefieldWidth,battlefieldHeight,gunCoolingRate,inactivityTime,teamLeaderName,rank,score,survival,lastSurvivorBonus,bulletDamage,bulletDamageBonus,ramDamage,ramDamageBonus,firsts,seconds,thirds");
+		this.rounds = createCsvWriter(roundsWriter,
+				"version,battleId,roundIndex,robotCount,battlefieldWidth,battlefieldHeight,gunCoolingRate,inactivityTime,turnsInRound");
+		this.robots = createCsvWriter(robotsWriter,
+				"version,battleId,roundIndex,turnIndex,robotIndex,robotName,energy,x,y,bodyHeading,gunHeading,radarHeading,gunHeat,velocity,score,survivalScore,bulletDamageScore,bulletKillBonus,rammingDamageScore,rammingKillBonus");
+		this.bullets = createCsvWriter(bulletsWriter,
+				"version,battleId,roundIndex,turnIndex,bulletId,ownerIndex,ownerName,state,heading,x,y,victimIndex,victimName");
+	}
+
+	private static Writer createWriter(OutputStream out) {
+		// The values are small, so they are collected as chars before they are encoded
+		return out != null ? new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024) : null;
+	}
+
+	private static CsvWriter createCsvWriter(Writer writer, String header) throws IOException {
+		if (writer == null) {
+			return null;
+		}
+		final CsvWriter csvWriter = new CsvWriter(writer, false);
+
+		csvWriter.startDocument(header);
+		return csvWriter;
+	}
+
+	void setBattleId(UUID battleId) {
+		this.battleId = battleId.toString();
+	}
+
+	void writeResults(BattleResults result, int roundsCount, int robotCount, BattleRules rules) throws IOException {
+		if (results == null) {
+			return;
+		}
+		final BattleRecordInfo.BattleResultsWrapper wrapper = new BattleRecordInfo.BattleResultsWrapper(result);
+
+		results.writeValue(version);
+		results.writeValue(battleId);
+		results.writeValue(roundsCount);
+		results.writeValue(robotCount);
+		results.writeValue(rules.getBattlefieldWidth());
+		results.writeValue(rules.getBattlefieldHeight());
+		results.writeValue(rules.getGunCoolingRate(), options.trimPrecision);
+		results.writeValue(rules.getInactivityTime());
+		results.writeValue(wrapper.getTeamLeaderName());
+		results.writeValue(wrapper.getRank());
+		results.writeValue(wrapper.getScore(), options.trimPrecision);
+		results.writeValue(wrapper.getSurvival(), options.trimPrecision);
+		results.writeValue(wrapper.getLastSurvivorBonus(), options.trimPrecision);
+		results.writeValue(wrapper.getBulletDamage(), options.trimPrecision);
+		results.writeValue(wrapper.getBulletDamageBonus(), options.trimPrecision);
+		results.writeValue(wrapper.getRamDamage(), options.trimPrecision);
+		results.writeValue(wrapper.getRamDamageBonus(), options.trimPrecision);
+		results.writeValue(wrapper.getFirsts());
+		results.writeValue(wrapper.getSeconds());
+		results.writeValue(wrapper.getThirds());
+		results.endLine();
+	}
+
+	void writeRound(int round, int robotCount, BattleRules rules, int turnsInRound) throws IOException {
+		if (rounds == null) {
+			return;
+		}
+		rounds.writeValue(version);
+		rounds.writeValue(battleId);
+		rounds.writeValue(round);
+		rounds.writeValue(robotCount);
+		rounds.writeValue(rules.getBattlefieldWidth());
+		rounds.writeValue(rules.getBattlefieldHeight());
+		rounds.writeValue(rules.getGunCoolingRate(), options.trimPrecision);
+		rounds.writeValue(rules.getInactivityTime());
+		rounds.writeValue(turnsInRound);
+		rounds.endLine();
+	}
+
+	/**
+	 * Writes the rows of the robots and bullets of a turn to the files this exporter writes.
+	 *
+	 * @param turn the turn to write.
+	 */
+	void writeTurn(ITurnSnapshot turn) throws IOException {
+		if (robots != null) {
+			writeRobots(turn);
+		}
+		if (bullets != null) {
+			writeBullets(turn);
+		}
+	}
+
+	private void writeRobots(ITurnSnapshot turn) throws IOException {
+		for (IRobotSnapshot robot : turn.getRobots()) {
+			RobotSnapshot robotSnapshot = (RobotSnapshot) robot;
+			IScoreSnapshot scoreSnapshot = robotSnapshot.getScoreSnapshot();
+
+			robots.writeValue(version);
+			robots.writeValue(battleId);
+			robots.writeValue(turn.getRound());
+			robots.writeValue(turn.getTurn());
+			robots.writeValue(robotSnapshot.getRobotIndex());
+			robots.writeValue(robotSnapshot.getName());
+			robots.writeValue(robotSnapshot.getEnergy(), options.trimPrecision);
+			robots.writeValue(robotSnapshot.getX(), options.trimPrecision);
+			robots.writeValue(robotSnapshot.getY(), options.trimPrecision);
+			robots.writeValue(robotSnapshot.getBodyHeading(), options.trimPrecision);
+			robots.writeValue(robotSnapshot.getGunHeading(), options.trimPrecision);
+			robots.writeValue(robotSnapshot.getRadarHeading(), options.trimPrecision);
+			robots.writeValue(robotSnapshot.getGunHeat(), options.trimPrecision);
+			robots.writeValue(robotSnapshot.getVelocity(), options.trimPrecision);
+			robots.writeValue(scoreSnapshot.getCurrentScore(), options.trimPrecision);
+			robots.writeValue(scoreSnapshot.getCurrentSurvivalScore(), options.trimPrecision);
+			robots.writeValue(scoreSnapshot.getCurrentBulletDamageScore(), options.trimPrecision);
+			robots.writeValue(scoreSnapshot.getCurrentBulletKillBonus(), options.trimPrecision);
+			robots.writeValue(scoreSnapshot.getCurrentRammingDamageScore(), options.trimPrecision);
+			robots.writeValue(scoreSnapshot.getCurrentRammingKillBonus(), options.trimPrecision);
+			robots.endLine();
+		}
+	}
+
+	private void writeBullets(ITurnSnapshot turn) throws IOException {
+		final IRobotSnapshot[] turnRobots = turn.getRobots();
+
+		for (IBulletSnapshot bullet : turn.getBullets()) {
+			BulletSnapshot bulletSnapshot = (BulletSnapshot) bullet;
+			IRobotSnapshot owner = turnRobots[bulletSnapshot.getOwnerIndex()];
+
+			bullets.writeValue(version);
+			bullets.writeValue(battleId);
+			bullets.writeValue(turn.getRound());
+			bullets.writeValue(turn.getTurn());
+			bullets.writeValue(bulletSnapshot.getBulletId());
+			bullets.writeValue(bulletSnapshot.getOwnerIndex());
+			bullets.writeValue(owner.getName());
+			bullets.writeValue(bulletSnapshot.getState().toString());
+			bullets.writeValue(bulletSnapshot.getHeading(), options.trimPrecision);
+			bullets.writeValue(bulletSnapshot.getPaintX(), options.trimPrecision);
+			bullets.writeValue(bulletSnapshot.getPaintY(), options.trimPrecision);
+			bullets.writeValue(bulletSnapshot.getVictimIndex());
+			bullets.writeValue(bulletSnapshot.getVictimIndex() != -1 ? turnRobots[bulletSnapshot.getVictimIndex()].getName() : null);
+			bullets.endLine();
+		}
+	}
+
+	public void close() throws IOException {
+		IOException error = null;
+
+		for (Writer writer : new Writer[] { resultsWriter, roundsWriter, robotsWriter, bulletsWriter }) {
+			if (writer != null) {
+				try {
+					writer.close();
+				} catch (IOException e) {
+					if (error == null) {
+						error = e;
+					}
+				}
+			}
+		}
+		if (error != null) {
+			throw error;
+		}
+	}
+}
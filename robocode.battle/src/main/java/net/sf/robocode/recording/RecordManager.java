@@ -9,8 +9,6 @@ package net.sf.robocode.recording;
 
 
 import net.sf.robocode.battle.events.BattleEventDispatcher;
-import net.sf.robocode.battle.snapshot.BulletSnapshot;
-import net.sf.robocode.battle.snapshot.RobotSnapshot;
 import net.sf.robocode.battle.snapshot.TurnSnapshot;
 import net.sf.robocode.io.FileUtil;
 import net.sf.robocode.io.Logger;
@@ -21,9 +19,7 @@ import net.sf.robocode.settings.ISettingsManager;
 import net.sf.robocode.version.IVersionManager;
 import robocode.BattleResults;
 import robocode.BattleRules;
-import robocode.control.snapshot.IBulletSnapshot;
-import robocode.control.snapshot.IRobotSnapshot;
-import robocode.control.snapshot.IScoreSnapshot;
+import robocode.control.events.IBattleListener;
 import robocode.control.snapshot.ITurnSnapshot;
 
 import java.io.*;
@@ -34,6 +30,12 @@ import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -47,23 +49,33 @@ public class RecordManager implements IRecordManager {
     protected final Calendar calendar = Calendar.getInstance();
     protected static final Charset utf8 = StandardCharsets.UTF_8;
 
+    // Columnar records start with "RBCR" and the version of the layout of the columns
+    private static final int COLUMNAR_MAGIC = 0x52424352;
+    private static final int COLUMNAR_VERSION = 1;
+
     protected final ISettingsManager properties;
 
     protected File tempFile;
     protected BattleRecorder recorder;
+    private final RecordingQueue recordingQueue;
     protected final IVersionManager versionManager;
 
     protected BattleRecordInfo recordInfo;
     private FileOutputStream fileWriteStream;
-    private BufferedOutputStream bufferedWriteStream;
-    private ObjectOutputStream objectWriteStream;
+    private CountingOutputStream countingWriteStream;
+    private TurnWriter turnWriteStream;
+    private int lastWrittenTime;
+
+    private TurnIndex turnIndex;
 
     private FileInputStream fileReadStream;
-    private BufferedInputStream bufferedReadStream;
-    private ObjectInputStream objectReadStream;
+    private TurnReader turnReadStream;
+    private int nextReadTurn;
+    private int[] roundStarts;
 
     public RecordManager(ISettingsManager properties, IVersionManager versionManager) { // NO_UCD (unused code)
         this.properties = properties;
+        recordingQueue = new RecordingQueue(this);
         recorder = new BattleRecorder(this, properties);
         this.versionManager = versionManager;
     }
@@ -78,6 +90,7 @@ public class RecordManager implements IRecordManager {
     }
 
     private void cleanup() {
+        recordingQueue.shutdown();
         cleanupStreams();
         if (tempFile != null && tempFile.exists()) {
             deleteTempFile();
@@ -87,21 +100,20 @@ public class RecordManager implements IRecordManager {
     }
 
     void cleanupStreams() {
-        FileUtil.cleanupStream(objectWriteStream);
-        objectWriteStream = null;
-        FileUtil.cleanupStream(bufferedWriteStream);
-        bufferedWriteStream = null;
+        FileUtil.cleanupStream(turnWriteStream);
+        turnWriteStream = null;
         FileUtil.cleanupStream(fileWriteStream);
         fileWriteStream = null;
 
-        FileUtil.cleanupStream(objectReadStream);
-        objectReadStream = null;
-        FileUtil.cleanupStream(bufferedReadStream);
-        bufferedReadStream = null;
+        turnReadStream = null;
         FileUtil.cleanupStream(fileReadStream);
         fileReadStream = null;
     }
 
+    RecordingQueue getRecordingQueue() {
+        return recordingQueue;
+    }
+
     public void attachRecorder(BattleEventDispatcher battleEventDispatcher) {
         recorder.attachRecorder(battleEventDispatcher);
     }
@@ -139,23 +151,56 @@ public class RecordManager implements IRecordManager {
     void prepareInputStream() {
         try {
             fileReadStream = new FileInputStream(tempFile);
-            bufferedReadStream = new BufferedInputStream(fileReadStream);
-            objectReadStream = new ObjectInputStream(bufferedReadStream);
+            turnReadStream = new TurnReader(new ColumnReader(fileReadStream, false), recordInfo.getRobotCount());
+            nextReadTurn = 0;
+
+            final Integer[] turnsInRounds = recordInfo.getTurnsInRounds();
+
+            roundStarts = new int[turnsInRounds.length + 1];
+            for (int i = 0; i < turnsInRounds.length; i++) {
+                roundStarts[i + 1] = roundStarts[i] + turnsInRounds[i];
+            }
         } catch (IOException e) {
             logError(e);
             fileReadStream = null;
-            bufferedReadStream = null;
-            objectReadStream = null;
+            turnReadStream = null;
         }
     }
 
-    ITurnSnapshot readSnapshot() {
-        if (objectReadStream == null) {
+    /**
+     * Reads a turn of the record. Reading the turns in order is sequential, and any other turn is found with
+     * the turn index, so the reading starts from the key frame at or before it.
+     *
+     * @param round the round of the turn.
+     * @param turn  the turn within the round.
+     * @return the snapshot of the turn, or {@code null} if the turn is not in the record.
+     */
+    ITurnSnapshot readSnapshot(int round, int turn) {
+        if (turnReadStream == null || round < 0 || round >= roundStarts.length - 1 || turn < 0
+                || turn >= roundStarts[round + 1] - roundStarts[round]) {
+            return null;
+        }
+        final int target = roundStarts[round] + turn;
+
+        if (target >= turnIndex.size()) {
             return null;
         }
         try {
-            // TODO implement seek to currentTime, warn you. turns don't have same size in bytes
-            return (ITurnSnapshot) objectReadStream.readObject();
+            final int keyFrame = turnIndex.getKeyFrame(target);
+
+            if (target < nextReadTurn || keyFrame > nextReadTurn) {
+                fileReadStream.getChannel().position(turnIndex.getOffset(keyFrame));
+                turnReadStream = new TurnReader(new ColumnReader(fileReadStream, false), recordInfo.getRobotCount());
+                nextReadTurn = keyFrame;
+            }
+            TurnSnapshot snapshot;
+
+            do {
+                snapshot = turnReadStream.read();
+                nextReadTurn++;
+            } while (nextReadTurn <= target);
+
+            return snapshot;
         } catch (Exception e) {
             logError(e);
             return null;
@@ -165,14 +210,25 @@ public class RecordManager implements IRecordManager {
     public void loadRecord(String recordFilename, BattleRecordFormat format) {
         createTempFile();
 
+        if (format == BattleRecordFormat.COLUMNAR) {
+            loadColumnarRecord(recordFilename);
+            return;
+        }
+
         try (
                 FileInputStream fis = new FileInputStream(recordFilename);
                 BufferedInputStream bis = new BufferedInputStream(fis, 1024 * 1024);
                 ZipInputStream zis = (format == BattleRecordFormat.BINARY_ZIP || format == BattleRecordFormat.XML_ZIP) ? new ZipInputStream(bis) : null;
-                FileOutputStream fos = (format == BattleRecordFormat.BINARY || format == BattleRecordFormat.BINARY_ZIP || format == BattleRecordFormat.XML_ZIP || format == BattleRecordFormat.XML) ? new FileOutputStream(tempFile) : null;
-                BufferedOutputStream bos = (fos != null) ? new BufferedOutputStream(fos, 1024 * 1024) : null;
-                ObjectOutputStream oos = (bos != null && (format == BattleRecordFormat.BINARY || format == BattleRecordFormat.BINARY_ZIP)) ? new ObjectOutputStream(bos) : null
+                FileOutputStream fos = new FileOutputStream(tempFile)
         ) {
+            turnIndex = new TurnIndex();
+
+            final TurnWriter turns = new TurnWriter(new ColumnWriter(fos, false), turnIndex);
+
+            if (zis != null) {
+                zis.getNextEntry();
+            }
+
             // Extracted ternary operation for ObjectInputStream initialization
             ObjectInputStream ois = null;
             if (format == BattleRecordFormat.BINARY) {
@@ -192,30 +248,27 @@ public class RecordManager implements IRecordManager {
             if (format == BattleRecordFormat.BINARY || format == BattleRecordFormat.BINARY_ZIP) {
                 recordInfo = (BattleRecordInfo) ois.readObject();
                 if (recordInfo.getTurnsInRounds() != null) {
-                    try (ObjectOutputStream finalOos = oos) {
-                        for (int i = 0; i < recordInfo.getTurnsInRounds().length; i++) {
-                            for (int j = recordInfo.getTurnsInRounds()[i] - 1; j >= 0; j--) {
-                                try {
-                                    ITurnSnapshot turn = (ITurnSnapshot) ois.readObject();
-                                    finalOos.writeObject(turn);
-                                } catch (ClassNotFoundException e) {
-                                    logError(e);
-                                }
+                    for (int i = 0; i < recordInfo.getTurnsInRounds().length; i++) {
+                        for (int j = recordInfo.getTurnsInRounds()[i] - 1; j >= 0; j--) {
+                            try {
+                                turns.write((TurnSnapshot) ois.readObject());
+                            } catch (ClassNotFoundException e) {
+                                logError(e);
                             }
                         }
                     }
                 }
             } else if (format == BattleRecordFormat.XML || format == BattleRecordFormat.XML_ZIP) {
                 final RecordRoot root = new RecordRoot();
-                try (ObjectOutputStream xmlOos = new ObjectOutputStream(bos)) {
-                    root.oos = xmlOos;
-                    XmlReader.deserialize(xis, root);
-                    if (root.lastException != null) {
-                        logError(root.lastException);
-                    }
-                    recordInfo = root.recordInfo;
+
+                root.turns = turns;
+                XmlReader.deserialize(xis, root);
+                if (root.lastException != null) {
+                    logError(root.lastException);
                 }
+                recordInfo = root.recordInfo;
             }
+            turns.flush();
         } catch (IOException e) {
             logError(e);
             createTempFile();
@@ -237,7 +290,7 @@ public class RecordManager implements IRecordManager {
             me = this;
         }
 
-        private ObjectOutputStream oos;
+        private TurnWriter turns;
         private IOException lastException;
         public final RecordRoot me;
         private BattleRecordInfo recordInfo;
@@ -269,7 +322,7 @@ public class RecordManager implements IRecordManager {
 
                     public void add(IXmlSerializable child) {
                         try {
-                            me.oos.writeObject(child);
+                            me.turns.write((TurnSnapshot) child);
                         } catch (IOException e) {
                             me.lastException = e;
                         }
@@ -294,6 +347,91 @@ public class RecordManager implements IRecordManager {
             saveXmlRecord(recordFilename, format, options);
         } else if (format == BattleRecordFormat.CSV) {
             saveCsvRecord(recordFilename, options);
+        } else if (format == BattleRecordFormat.COLUMNAR) {
+            saveColumnarRecord(recordFilename, options);
+        }
+    }
+
+    private void saveColumnarRecord(String recordFilename, SerializableOptions options) {
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+        try (FileOutputStream fos = new FileOutputStream(recordFilename);
+             BufferedOutputStream bos = new BufferedOutputStream(fos, 1024 * 1024)) {
+
+            final DataOutputStream dos = new DataOutputStream(bos);
+
+            dos.writeInt(COLUMNAR_MAGIC);
+            dos.writeInt(COLUMNAR_VERSION);
+            dos.writeBoolean(options.trimPrecision);
+
+            final DeflaterOutputStream zos = new DeflaterOutputStream(dos, deflater, 64 * 1024);
+            final ColumnWriter writer = new ColumnWriter(zos, options.trimPrecision);
+            final ByteArrayOutputStream info = new ByteArrayOutputStream();
+
+            try (ObjectOutputStream oos = new ObjectOutputStream(info)) {
+                oos.writeObject(recordInfo);
+            }
+            writer.writeBytes(info.toByteArray());
+
+            final TurnWriter turns = new TurnWriter(writer);
+
+            provideTurns((turn) -> {
+                TurnSnapshot t = (TurnSnapshot) turn;
+                t.stripDetails(options);
+                turns.write(t);
+            });
+
+            turns.flush();
+            zos.finish();
+        } catch (IOException | ClassNotFoundException e) {
+            logError(e);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void loadColumnarRecord(String recordFilename) {
+        final Inflater inflater = new Inflater();
+
+        try (FileInputStream fis = new FileInputStream(recordFilename);
+             BufferedInputStream bis = new BufferedInputStream(fis, 1024 * 1024);
+             FileOutputStream fos = new FileOutputStream(tempFile)) {
+
+            final DataInputStream dis = new DataInputStream(bis);
+
+            if (dis.readInt() != COLUMNAR_MAGIC) {
+                throw new IOException("Not a columnar battle record: " + recordFilename);
+            }
+            final int version = dis.readInt();
+
+            if (version != COLUMNAR_VERSION) {
+                throw new IOException("Unsupported version " + version + " of columnar battle record: " + recordFilename);
+            }
+            final ColumnReader reader = new ColumnReader(new InflaterInputStream(dis, inflater, 64 * 1024),
+                    dis.readBoolean());
+
+            try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(reader.readBytes()))) {
+                recordInfo = (BattleRecordInfo) ois.readObject();
+            }
+            if (recordInfo.getTurnsInRounds() != null) {
+                final TurnReader turnReader = new TurnReader(reader, recordInfo.getRobotCount());
+                turnIndex = new TurnIndex();
+
+                final TurnWriter turnWriter = new TurnWriter(new ColumnWriter(fos, false), turnIndex);
+
+                for (int i = 0; i < recordInfo.getTurnsInRounds().length; i++) {
+                    for (int j = recordInfo.getTurnsInRounds()[i] - 1; j >= 0; j--) {
+                        turnWriter.write(turnReader.read());
+                    }
+                }
+                turnWriter.flush();
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            logError(e);
+            createTempFile();
+            recordInfo = null;
+        } finally {
+            inflater.end();
         }
     }
 
@@ -343,9 +481,10 @@ public class RecordManager implements IRecordManager {
             if (isZip) {
                 zos.putNextEntry(new ZipEntry(dateFormat.format(calendar.getTime()) + "-robocode.xml"));
             }
-            OutputStreamWriter osw = isZip
+            // The attributes are small, so they are collected as chars before they are encoded
+            Writer osw = new BufferedWriter(isZip
                     ? new OutputStreamWriter(zos, utf8)
-                    : new OutputStreamWriter(bos, utf8);
+                    : new OutputStreamWriter(bos, utf8), 64 * 1024);
             XmlWriter xwr = isZip
                     ? new XmlWriter(osw, false)
                     : new XmlWriter(osw, true);
@@ -397,144 +536,106 @@ public class RecordManager implements IRecordManager {
         }
     }
 
-    public void generateCsvRecord(OutputStream fosResults, OutputStream fosRounds, OutputStream fosRobots, OutputStream fosBullets, SerializableOptions options, CheckedConsumer<ITurnSnapshot> extension) throws IOException, ClassNotFoundException {
-
-        String version = versionManager.getVersion();
+    public IBattleListener createCsvRecorder(String recordFilename, SerializableOptions options) throws IOException {
+        final FileOutputStream[] files = new FileOutputStream[4];
 
-        try (
-                BufferedOutputStream bosResults = new BufferedOutputStream(fosResults, 1024 * 1024);
-                OutputStreamWriter oswResults = new OutputStreamWriter(bosResults, utf8);
-                BufferedOutputStream bosRounds = new BufferedOutputStream(fosRounds, 1024 * 1024);
-                OutputStreamWriter oswRounds = new OutputStreamWriter(bosRounds, utf8);
-                BufferedOutputStream bosRobots = new BufferedOutputStream(fosRobots, 1024 * 1024);
-                OutputStreamWriter oswRobots = new OutputStreamWriter(bosRobots, utf8);
-                BufferedOutputStream bosBullets = new BufferedOutputStream(fosBullets, 1024 * 1024);
-                OutputStreamWriter oswBullets = new OutputStreamWriter(bosBullets, utf8)
-        ) {
-            CsvWriter cwrResults = new CsvWriter(oswResults, false);
-            cwrResults.startDocument("version,battleId,roundsCount,robotCount,battlefieldWidth,battlefieldHeight,gunCoolingRate,inactivityTime,teamLeaderName,rank,score,survival,lastSurvivorBonus,bulletDamage,bulletDamageBonus,ramDamage,ramDamageBonus,firsts,seconds,thirds");
+        try {
+            files[0] = new FileOutputStream(recordFilename + ".results.csv");
+            files[1] = new FileOutputStream(recordFilename + ".rounds.csv");
+            files[2] = new FileOutputStream(recordFilename + ".robots.csv");
+            files[3] = new FileOutputStream(recordFilename + ".bullets.csv");
 
-            CsvWriter cwrRounds = new CsvWriter(oswRounds, false);
-            cwrRounds.startDocument("version,battleId,roundIndex,robotCount,battlefieldWidth,battlefieldHeight,gunCoolingRate,inactivityTime,turnsInRound");
+            return new CsvBattleRecorder(new CsvExporter(files[0], files[1], files[2], files[3], versionManager.getVersion(), options));
+        } catch (IOException e) {
+            for (FileOutputStream file : files) {
+                FileUtil.cleanupStream(file);
+            }
+            throw e;
+        }
+    }
 
-            CsvWriter cwrRobots = new CsvWriter(oswRobots, false);
-            cwrRobots.startDocument("version,battleId,roundIndex,turnIndex,robotIndex,robotName,energy,x,y,bodyHeading,gunHeading,radarHeading,gunHeat,velocity,score,survivalScore,bulletDamageScore,bulletKillBonus,rammingDamageScore,rammingKillBonus");
+    public void generateCsvRecord(OutputStream fosResults, OutputStream fosRounds, OutputStream fosRobots, OutputStream fosBullets, SerializableOptions options, CheckedConsumer<ITurnSnapshot> extension) throws IOException, ClassNotFoundException {
+        final String version = versionManager.getVersion();
+        final BattleRules rules = recordInfo.getBattleRules();
+        final int roundsCount = recordInfo.getTurnsInRounds().length;
 
-            CsvWriter cwrBullets = new CsvWriter(oswBullets, false);
-            cwrBullets.startDocument("version,battleId,roundIndex,turnIndex,bulletId,ownerIndex,ownerName,state,heading,x,y,victimIndex,victimName");
-            int roundsCount = recordInfo.getTurnsInRounds().length;
+        // In parallel, the bullets are written while reading the record a second time on another thread
+        try (CsvExporter exporter = new CsvExporter(fosResults, fosRounds, fosRobots, CsvExporter.PARALLEL ? null : fosBullets, version, options);
+             CsvExporter bulletExporter = new CsvExporter(null, null, null, CsvExporter.PARALLEL ? fosBullets : null, version, options)) {
 
+            exporter.setBattleId(recordInfo.getBattleId());
+            bulletExporter.setBattleId(recordInfo.getBattleId());
 
-            // loop over robots
             for (BattleResults result : recordInfo.getResults()) {
-                BattleRecordInfo.BattleResultsWrapper wrapper = new BattleRecordInfo.BattleResultsWrapper(result);
-                cwrResults.writeValue(version);
-                cwrResults.writeValue(recordInfo.getBattleId().toString());
-                cwrResults.writeValue(roundsCount);
-                cwrResults.writeValue(recordInfo.getRobotCount());
-                cwrResults.writeValue(recordInfo.getBattleRules().getBattlefieldWidth());
-                cwrResults.writeValue(recordInfo.getBattleRules().getBattlefieldHeight());
-                cwrResults.writeValue(recordInfo.getBattleRules().getGunCoolingRate(), options.trimPrecision);
-                cwrResults.writeValue(recordInfo.getBattleRules().getInactivityTime());
-                cwrResults.writeValue(wrapper.getTeamLeaderName());
-                cwrResults.writeValue(wrapper.getRank());
-                cwrResults.writeValue(wrapper.getScore(), options.trimPrecision);
-                cwrResults.writeValue(wrapper.getSurvival(), options.trimPrecision);
-                cwrResults.writeValue(wrapper.getLastSurvivorBonus(), options.trimPrecision);
-                cwrResults.writeValue(wrapper.getBulletDamage(), options.trimPrecision);
-                cwrResults.writeValue(wrapper.getBulletDamageBonus(), options.trimPrecision);
-                cwrResults.writeValue(wrapper.getRamDamage(), options.trimPrecision);
-                cwrResults.writeValue(wrapper.getRamDamageBonus(), options.trimPrecision);
-                cwrResults.writeValue(wrapper.getFirsts());
-                cwrResults.writeValue(wrapper.getSeconds());
-                cwrResults.writeValue(wrapper.getThirds());
-
-                cwrResults.endLine();
+                exporter.writeResults(result, roundsCount, recordInfo.getRobotCount(), rules);
             }
-
-            // loop over rounds
             for (int round = 0; round < roundsCount; round++) {
-                int turnsInRound = recordInfo.getTurnsInRounds()[round];
-                cwrRounds.writeValue(version);
-                cwrRounds.writeValue(recordInfo.getBattleId().toString());
-                cwrRounds.writeValue(round);
-                cwrRounds.writeValue(recordInfo.getRobotCount());
-                cwrRounds.writeValue(recordInfo.getBattleRules().getBattlefieldWidth());
-                cwrRounds.writeValue(recordInfo.getBattleRules().getBattlefieldHeight());
-                cwrRounds.writeValue(recordInfo.getBattleRules().getGunCoolingRate(), options.trimPrecision);
-                cwrRounds.writeValue(recordInfo.getBattleRules().getInactivityTime());
-                cwrRounds.writeValue(turnsInRound);
-                cwrRounds.endLine();
+                exporter.writeRound(round, recordInfo.getRobotCount(), rules, recordInfo.getTurnsInRounds()[round]);
             }
 
-            provideTurns((turn) -> {
-                if (extension != null) {
-                    extension.accept(turn);
-                }
+            FutureTask<Void> bulletTask = null;
 
-                IRobotSnapshot[] robots = turn.getRobots();
-                for (IRobotSnapshot robot : robots) {
-                    RobotSnapshot robotSnapshot = (RobotSnapshot) robot;
-                    IScoreSnapshot scoreSnapshot = robotSnapshot.getScoreSnapshot();
-                    cwrRobots.writeValue(version);
-                    cwrRobots.writeValue(recordInfo.getBattleId().toString());
-                    cwrRobots.writeValue(turn.getRound());
-                    cwrRobots.writeValue(turn.getTurn());
-                    cwrRobots.writeValue(robotSnapshot.getRobotIndex());
-                    cwrRobots.writeValue(robotSnapshot.getName());
-                    cwrRobots.writeValue(robotSnapshot.getEnergy(), options.trimPrecision);
-                    cwrRobots.writeValue(robotSnapshot.getX(), options.trimPrecision);
-                    cwrRobots.writeValue(robotSnapshot.getY(), options.trimPrecision);
-                    cwrRobots.writeValue(robotSnapshot.getBodyHeading(), options.trimPrecision);
-                    cwrRobots.writeValue(robotSnapshot.getGunHeading(), options.trimPrecision);
-                    cwrRobots.writeValue(robotSnapshot.getRadarHeading(), options.trimPrecision);
-                    cwrRobots.writeValue(robotSnapshot.getGunHeat(), options.trimPrecision);
-                    cwrRobots.writeValue(robotSnapshot.getVelocity(), options.trimPrecision);
-                    cwrRobots.writeValue(scoreSnapshot.getCurrentScore(), options.trimPrecision);
-                    cwrRobots.writeValue(scoreSnapshot.getCurrentSurvivalScore(), options.trimPrecision);
-                    cwrRobots.writeValue(scoreSnapshot.getCurrentBulletDamageScore(), options.trimPrecision);
-                    cwrRobots.writeValue(scoreSnapshot.getCurrentBulletKillBonus(), options.trimPrecision);
-                    cwrRobots.writeValue(scoreSnapshot.getCurrentRammingDamageScore(), options.trimPrecision);
-                    cwrRobots.writeValue(scoreSnapshot.getCurrentRammingKillBonus(), options.trimPrecision);
-                    cwrRobots.endLine();
-                }
-                for (IBulletSnapshot bullet : turn.getBullets()) {
-                    BulletSnapshot bulletSnapshot = (BulletSnapshot) bullet;
-                    IRobotSnapshot owner = robots[bulletSnapshot.getOwnerIndex()];
-                    cwrBullets.writeValue(version);
-                    cwrBullets.writeValue(recordInfo.getBattleId().toString());
-                    cwrBullets.writeValue(turn.getRound());
-                    cwrBullets.writeValue(turn.getTurn());
-                    cwrBullets.writeValue(bulletSnapshot.getBulletId());
-                    cwrBullets.writeValue(bulletSnapshot.getOwnerIndex());
-                    cwrBullets.writeValue(owner.getName());
-                    cwrBullets.writeValue(bulletSnapshot.getState().toString());
-                    cwrBullets.writeValue(bulletSnapshot.getHeading(), options.trimPrecision);
-                    cwrBullets.writeValue(bulletSnapshot.getPaintX(), options.trimPrecision);
-                    cwrBullets.writeValue(bulletSnapshot.getPaintY(), options.trimPrecision);
-                    cwrBullets.writeValue(bulletSnapshot.getVictimIndex());
-                    cwrBullets.writeValue(bulletSnapshot.getVictimIndex() != -1 ? robots[bulletSnapshot.getVictimIndex()].getName() : null);
-                    cwrBullets.endLine();
+            if (CsvExporter.PARALLEL) {
+                bulletTask = new FutureTask<Void>(() -> {
+                    provideTurns(bulletExporter::writeTurn);
+                    return null;
+                });
+                new Thread(bulletTask, "CSV Bullet Exporter").start();
+            }
+            try {
+                provideTurns((turn) -> {
+                    if (extension != null) {
+                        extension.accept(turn);
+                    }
+                    exporter.writeTurn(turn);
+                });
+            } finally {
+                if (bulletTask != null) {
+                    awaitExport(bulletTask);
                 }
-            });
+            }
+        }
+    }
 
+    private static void awaitExport(FutureTask<Void> task) throws IOException, ClassNotFoundException {
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("The export was interrupted");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof ClassNotFoundException) {
+                throw (ClassNotFoundException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
         }
     }
 
     @Override
     public void provideTurns(CheckedConsumer<ITurnSnapshot> writeTurn) throws IOException, ClassNotFoundException {
-        try (FileInputStream fis = new FileInputStream(tempFile);
-             BufferedInputStream bis = new BufferedInputStream(fis, 1024 * 1024);
-             ObjectInputStream ois = new ObjectInputStream(bis)) {
+        try (FileInputStream fis = new FileInputStream(tempFile)) {
+            final TurnReader turns = new TurnReader(new ColumnReader(fis, false), recordInfo.getRobotCount());
 
             for (int i = 0; i < recordInfo.getTurnsInRounds().length; i++) {
                 if (recordInfo.getTurnsInRounds()[i] > 0) {
+                    int lastTime = -1;
+
                     for (int j = 0; j <= recordInfo.getTurnsInRounds()[i] - 1; j++) {
-                        TurnSnapshot turn = (TurnSnapshot) ois.readObject();
+                        TurnSnapshot turn = turns.read();
 
-                        if (j != turn.getTurn()) {
+                        if (j == 0 ? turn.getTurn() != 0 : turn.getTurn() <= lastTime) {
                             throw new IllegalStateException("Something rotten");
                         }
+                        lastTime = turn.getTurn();
 
                         writeTurn.accept(turn);
                     }
@@ -553,8 +654,9 @@ public class RecordManager implements IRecordManager {
             createTempFile();
 
             fileWriteStream = new FileOutputStream(tempFile);
-            bufferedWriteStream = new BufferedOutputStream(fileWriteStream, 1024 * 1024);
-            objectWriteStream = new ObjectOutputStream(bufferedWriteStream);
+            countingWriteStream = new CountingOutputStream(fileWriteStream);
+            turnIndex = new TurnIndex();
+            turnWriteStream = new TurnWriter(new ColumnWriter(countingWriteStream, false), turnIndex);
         } catch (IOException e) {
             logError(e);
         }
@@ -575,17 +677,81 @@ public class RecordManager implements IRecordManager {
 
     void writeTurn(ITurnSnapshot turn, int round, int time) {
         try {
-            if (time != recordInfo.getTurnsInRounds()[round]) {
+            // Turns may have been left out by the recording queue, but they must still come in order
+            if (recordInfo.getTurnsInRounds()[round] == 0 ? time != 0 : time <= lastWrittenTime) {
                 throw new IllegalStateException("Something rotten");
             }
-            if (time == 0) {
-                objectWriteStream.reset();
-            }
+            lastWrittenTime = time;
             recordInfo.getTurnsInRounds()[round]++;
             recordInfo.setRoundsCount(round + 1);
-            objectWriteStream.writeObject(turn);
+            turnWriteStream.write((TurnSnapshot) turn);
         } catch (IOException e) {
             logError(e);
         }
     }
+
+    /**
+     * Returns the number of turns waiting to be written to the record.
+     *
+     * @return the current depth of the recording queue.
+     * @since 1.9.5.4
+     */
+    public int getRecordingQueueDepth() {
+        return recordingQueue.getQueueDepth();
+    }
+
+    /**
+     * Returns the largest number of turns that have been waiting to be written to the record of the
+     * current or last battle.
+     *
+     * @return the maximum depth of the recording queue.
+     * @since 1.9.5.4
+     */
+    public int getRecordingMaxQueueDepth() {
+        return recordingQueue.getMaxQueueDepth();
+    }
+
+    /**
+     * Returns the number of turns left out of the record of the current or last battle, as the recorder could
+     * not keep up with the battle.
+     *
+     * @return the number of dropped turns.
+     * @since 1.9.5.4
+     */
+    public int getRecordingDroppedTurns() {
+        return recordingQueue.getDroppedTurns();
+    }
+
+    /**
+     * Returns the number of bytes written to the record of the current or last battle.
+     *
+     * @return the number of bytes written, or 0 if no battle has been recorded.
+     * @since 1.9.5.4
+     */
+    public long getRecordingBytesWritten() {
+        final CountingOutputStream stream = countingWriteStream;
+
+        return stream != null ? stream.count : 0;
+    }
+
+    // Counts the bytes written by the recording thread, which are read by other threads
+    private static final class CountingOutputStream extends FilterOutputStream {
+        volatile long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
 }
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.recording;
+
+
+import net.sf.robocode.io.Logger;
+import robocode.control.snapshot.ITurnSnapshot;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Hands the turns of a recorded battle from the battle thread to a writer thread, which serializes them into
+ * the record. The turns are kept in a bounded ring buffer, so the battle thread only has to serialize when
+ * the writer thread falls behind, and how it then handles back-pressure depends on the policy:
+ * <ul>
+ * <li>{@code block} - the battle thread waits for the writer thread, so every turn is recorded. This is the
+ * default.</li>
+ * <li>{@code drop} - turns that do not fit into the buffer are left out of the record.</li>
+ * <li>{@code sample:N} - while the buffer is full, only every Nth turn is recorded.</li>
+ * </ul>
+ * The policy is set with the RECORDPOLICY system property, and the capacity of the buffer with the
+ * RECORDQUEUE system property. The first turn of a round is always recorded.
+ * <p>
+ * If the writer thread dies, the battle thread writes the turns left in the buffer and the following turns
+ * itself, so it never waits for a writer thread that is gone.
+ */
+final class RecordingQueue {
+
+	/**
+	 * The default number of turns the buffer can hold.
+	 */
+	static final int DEFAULT_CAPACITY = Integer.getInteger("RECORDQUEUE", 256);
+
+	private static final int DEFAULT_SAMPLE_INTERVAL = 10;
+
+	// How long the battle thread waits for the writer thread before checking that it is still alive
+	private static final long WRITER_CHECK_MILLIS = 100;
+
+	enum Policy {
+		BLOCK, DROP, SAMPLE
+	}
+
+	private final RecordManager recordManager;
+	private final Policy policy;
+	private final int sampleInterval;
+	private final ArrayBlockingQueue<Entry> queue;
+
+	private volatile Thread writerThread;
+
+	// Only used by the battle thread
+	private boolean isWriterLost;
+
+	// Only updated by the battle thread
+	private volatile int maxQueueDepth;
+	private volatile int droppedTurns;
+
+	RecordingQueue(RecordManager recordManager) {
+		this(recordManager, DEFAULT_CAPACITY, System.getProperty("RECORDPOLICY", "block"));
+	}
+
+	RecordingQueue(RecordManager recordManager, int capacity, String policy) {
+		this.recordManager = recordManager;
+		queue = new ArrayBlockingQueue<Entry>(Math.max(1, capacity));
+
+		final String[] parts = policy.trim().toLowerCase().split(":", 2);
+		Policy p;
+		int interval = DEFAULT_SAMPLE_INTERVAL;
+
+		try {
+			p = Policy.valueOf(parts[0].toUpperCase());
+			if (parts.length > 1) {
+				interval = Integer.parseInt(parts[1]);
+			}
+		} catch (IllegalArgumentException e) {
+			Logger.logError("Unknown recording policy '" + policy + "', the battle thread will wait for the recorder");
+			p = Policy.BLOCK;
+		}
+		this.policy = p;
+		this.sampleInterval = Math.max(1, interval);
+	}
+
+	// -----------
+	// called on battle thread
+	// -----------
+
+	/**
+	 * Queues a turn to be written to the record, following the back-pressure policy when the buffer is full.
+	 *
+	 * @param turn  the snapshot of the turn.
+	 * @param round the round of the turn.
+	 * @param time  the turn number within the round.
+	 */
+	void put(ITurnSnapshot turn, int round, int time) {
+		final Thread writer = startWriter();
+		final Entry entry = new Entry(turn, round, time, null);
+
+		if (!writer.isAlive()) {
+			writeOnBattleThread(entry);
+		} else if (time == 0 || policy == Policy.BLOCK || (policy == Policy.SAMPLE && time % sampleInterval == 0)) {
+			enqueue(writer, entry);
+		} else if (!queue.offer(entry)) {
+			droppedTurns++;
+		}
+
+		final int depth = queue.size();
+
+		if (depth > maxQueueDepth) {
+			maxQueueDepth = depth;
+		}
+	}
+
+	/**
+	 * Waits until all queued turns have been written to the record.
+	 */
+	void flush() {
+		final Thread writer = writerThread;
+
+		if (writer == null) {
+			return;
+		}
+		final CountDownLatch written = new CountDownLatch(1);
+
+		enqueue(writer, new Entry(null, 0, 0, written));
+		try {
+			while (!written.await(WRITER_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+				if (!writer.isAlive()) {
+					// Unless the writer thread has been shut down, which leaves out the queued turns
+					if (writer == writerThread) {
+						writeOnBattleThread(null);
+					}
+					return;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Stops the writer thread, and leaves out the turns that have not been written yet. A new writer thread is
+	 * started when the next turn is queued.
+	 */
+	void shutdown() {
+		final Thread writer = writerThread;
+
+		if (writer == null) {
+			return;
+		}
+		writerThread = null;
+		queue.clear();
+		writer.interrupt();
+		try {
+			writer.join(WRITER_CHECK_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Resets the statistics of the queue, which is done when a new battle is recorded.
+	 */
+	void resetStatistics() {
+		maxQueueDepth = 0;
+		droppedTurns = 0;
+	}
+
+	/**
+	 * Returns the number of turns currently waiting to be written.
+	 *
+	 * @return the current depth of the queue.
+	 */
+	int getQueueDepth() {
+		return queue.size();
+	}
+
+	/**
+	 * Returns the largest number of turns that have been waiting to be written since the battle started.
+	 *
+	 * @return the maximum depth of the queue.
+	 */
+	int getMaxQueueDepth() {
+		return maxQueueDepth;
+	}
+
+	/**
+	 * Returns the number of turns left out of the record since the battle started.
+	 *
+	 * @return the number of dropped turns.
+	 */
+	int getDroppedTurns() {
+		return droppedTurns;
+	}
+
+	private Thread startWriter() {
+		Thread writer = writerThread;
+
+		if (writer == null) {
+			writer = new Thread(new Writer(), "Battle Recorder");
+			writer.setDaemon(true);
+			writer.start();
+			writerThread = writer;
+			isWriterLost = false;
+		}
+		return writer;
+	}
+
+	private void enqueue(Thread writer, Entry entry) {
+		try {
+			while (!queue.offer(entry, WRITER_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+				if (!writer.isAlive()) {
+					writeOnBattleThread(entry);
+					return;
+				}
+			}
+		} catch (InterruptedException e) {
+			// The battle is being stopped, so the turn is not worth waiting for
+			droppedTurns++;
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	// The writer thread has died, so nothing else takes from the queue, and the turns are still written in order
+	private void writeOnBattleThread(Entry entry) {
+		if (!isWriterLost) {
+			isWriterLost = true;
+			Logger.logError("The battle recorder has stopped, so the battle thread writes the record");
+		}
+		Entry queued;
+
+		while ((queued = queue.poll()) != null) {
+			write(queued);
+		}
+		if (entry != null) {
+			write(entry);
+		}
+	}
+
+	private void write(Entry entry) {
+		if (entry.written != null) {
+			entry.written.countDown();
+			return;
+		}
+		try {
+			recordManager.writeTurn(entry.turn, entry.round, entry.time);
+		} catch (RuntimeException e) {
+			Logger.logError(e);
+		}
+	}
+
+	// -----------
+	// called on writer thread
+	// -----------
+
+	private class Writer implements Runnable {
+		public void run() {
+			for (;;) {
+				final Entry entry;
+
+				try {
+					entry = queue.take();
+				} catch (InterruptedException e) {
+					return;
+				}
+				try {
+					write(entry);
+				} catch (Error e) {
+					// The battle thread finds the writer thread dead, and writes the remaining turns itself
+					Logger.logError("The battle recorder has stopped", e);
+					throw e;
+				}
+			}
+		}
+	}
+
+	private static final class Entry {
+		final ITurnSnapshot turn;
+		final int round;
+		final int time;
+		final CountDownLatch written;
+
+		Entry(ITurnSnapshot turn, int round, int time, CountDownLatch written) {
+			this.turn = turn;
+			this.round = round;
+			this.time = time;
+			this.written = written;
+		}
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.recording;
+
+
+import java.util.Arrays;
+
+
+/**
+ * The byte offsets of the turns in a record written by a {@link TurnWriter}, and the key frame each turn is
+ * decoded from, so any turn can be read by seeking to its key frame and reading the few turns after it.
+ * The turns are numbered in the order they were written, across all rounds.
+ */
+final class TurnIndex {
+	private long[] offsets = new long[1024];
+	private int[] keyFrames = new int[1024];
+	private int count;
+
+	/**
+	 * Adds the next turn to the index.
+	 *
+	 * @param offset     the byte offset of the turn.
+	 * @param isKeyFrame {@code true} if the turn is a key frame; {@code false} if it is written as the
+	 *                   difference from the previous turn.
+	 */
+	void add(long offset, boolean isKeyFrame) {
+		if (count == offsets.length) {
+			offsets = Arrays.copyOf(offsets, count * 2);
+			keyFrames = Arrays.copyOf(keyFrames, count * 2);
+		}
+		if (!isKeyFrame && count == 0) {
+			throw new IllegalStateException("The first turn must be a key frame");
+		}
+		offsets[count] = offset;
+		keyFrames[count] = isKeyFrame ? count : keyFrames[count - 1];
+		count++;
+	}
+
+	int size() {
+		return count;
+	}
+
+	long getOffset(int turn) {
+		return offsets[turn];
+	}
+
+	/**
+	 * Returns the key frame a turn is decoded from.
+	 *
+	 * @param turn the turn to find the key frame of.
+	 * @return the key frame at or before the turn.
+	 */
+	int getKeyFrame(int turn) {
+		return keyFrames[turn];
+	}
+}
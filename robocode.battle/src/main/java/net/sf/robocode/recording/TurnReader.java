@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.recording;
+
+
+import net.sf.robocode.battle.snapshot.TurnSnapshot;
+import net.sf.robocode.serialization.ColumnReader;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+
+
+/**
+ * Reads the turns of a battle written by a {@link TurnWriter}.
+ */
+final class TurnReader {
+	private final ColumnReader reader;
+	private final int robotCount;
+	private TurnSnapshot previous;
+
+	TurnReader(ColumnReader reader, int robotCount) {
+		this.reader = reader;
+		this.robotCount = robotCount;
+	}
+
+	TurnSnapshot read() throws IOException {
+		final boolean isKeyFrame = reader.readBoolean();
+
+		if (!isKeyFrame && previous == null) {
+			throw new StreamCorruptedException("The first turn is not a key frame");
+		}
+		previous = TurnSnapshot.readColumns(reader, robotCount, isKeyFrame ? null : previous);
+		return previous;
+	}
+}
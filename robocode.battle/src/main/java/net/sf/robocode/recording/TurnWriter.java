@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.recording;
+
+
+import net.sf.robocode.battle.snapshot.TurnSnapshot;
+import net.sf.robocode.serialization.ColumnWriter;
+
+import java.io.Flushable;
+import java.io.IOException;
+
+
+/**
+ * Writes the turns of a battle as delta encoded columns, which is how turns are stored in the temporary
+ * record and in columnar records. Each turn is written as the difference from the previous turn, except for
+ * key frames, which are written in full so the turns after them can be read on their own. The first turn of
+ * a round is always a key frame. When the turns are indexed for seeking, every {@link #KEY_FRAME_INTERVAL}th
+ * turn of a round is a key frame as well.
+ * The counterpart is {@link TurnReader}.
+ */
+final class TurnWriter implements Flushable {
+
+	/**
+	 * The number of turns between key frames in an indexed record, which bounds the number of turns read when
+	 * seeking to a turn.
+	 */
+	static final int KEY_FRAME_INTERVAL = 64;
+
+	private final ColumnWriter writer;
+	private final TurnIndex index;
+	private TurnSnapshot previous;
+	private int turnsSinceKeyFrame;
+
+	TurnWriter(ColumnWriter writer) {
+		this(writer, null);
+	}
+
+	TurnWriter(ColumnWriter writer, TurnIndex index) {
+		this.writer = writer;
+		this.index = index;
+	}
+
+	void write(TurnSnapshot turn) throws IOException {
+		final boolean isKeyFrame = previous == null || previous.getRound() != turn.getRound()
+				|| (index != null && turnsSinceKeyFrame >= KEY_FRAME_INTERVAL);
+
+		if (index != null) {
+			index.add(writer.getCount(), isKeyFrame);
+		}
+		writer.writeBoolean(isKeyFrame);
+		turn.writeColumns(writer, isKeyFrame ? null : previous);
+		previous = turn;
+		turnsSinceKeyFrame = isKeyFrame ? 1 : turnsSinceKeyFrame + 1;
+	}
+
+	public void flush() throws IOException {
+		writer.flush();
+	}
+}
@@ -58,6 +58,17 @@ public interface IBattleManager extends IBattleManagerBase {
 
 	void prevTurn();
 
+	/**
+	 * Moves the replay of a record to a turn, which is shown right away, also when the replay is paused.
+	 * Nothing happens when no record is replayed, or the turn is not in the record.
+	 *
+	 * @param round the round to move to.
+	 * @param turn  the turn within the round to move to.
+	 *
+	 * @since 1.9.5.4
+	 */
+	void seekTurn(int round, int turn);
+
 	void pauseBattle();
 
 	void resumeBattle();
@@ -24,26 +24,206 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * @since 1.6.1
  */
 public class BattleEventDispatcher implements IBattleListener {
+	/**
+	 * Interest in {@link IBattleListener#onBattleStarted(BattleStartedEvent) onBattleStarted()}.
+	 *
+	 * @since 1.9.5.4
+	 */
+	public static final int BATTLE_STARTED = 1;
+
+	/**
+	 * Interest in {@link IBattleListener#onBattleCompleted(BattleCompletedEvent) onBattleCompleted()}.
+	 *
+	 * @since 1.9.5.4
+	 */
+	public static final int BATTLE_COMPLETED = 1 << 1;
+
+	/**
+	 * Interest in {@link IBattleListener#onBattleFinished(BattleFinishedEvent) onBattleFinished()}.
+	 *
+	 * @since 1.9.5.4
+	 */
+	public static final int BATTLE_FINISHED = 1 << 2;
+
+	/**
+	 * Interest in {@link IBattleListener#onBattlePaused(BattlePausedEvent) onBattlePaused()}.
+	 *
+	 * @since 1.9.5.4
+	 */
+	public static final int BATTLE_PAUSED = 1 << 3;
+
+	/**
+	 * Interest in {@link IBattleListener#onBattleResumed(BattleResumedEvent) onBattleResumed()}.
+	 *
+	 * @since 1.9.5.4
+	 */
+	public static final int BATTLE_RESUMED = 1 << 4;
+
+	/**
+	 * Interest in {@link IBattleListener#onRoundStarted(RoundStartedEvent) onRoundStarted()}.
+	 *
+	 * @since 1.9.5.4
+	 */
+	public static final int ROUND_STARTED = 1 << 5;
+
+	/**
+	 * Interest in {@link IBattleListener#onRoundEnded(RoundEndedEvent) onRoundEnded()}.
+	 *
+	 * @since 1.9.5.4
+	 */
+	public static final int ROUND_ENDED = 1 << 6;
+
+	/**
+	 * Interest in {@link IBattleListener#onTurnStarted(TurnStartedEvent) onTurnStarted()}.
+	 *
+	 * @since 1.9.5.4
+	 */
+	public static final int TURN_STARTED = 1 << 7;
+
+	/**
+	 * Interest in {@link IBattleListener#onTurnEnded(TurnEndedEvent) onTurnEnded()}, which is the only event
+	 * that needs a snapshot of the battle every turn.
+	 *
+	 * @since 1.9.5.4
+	 */
+	public static final int TURN_ENDED = 1 << 8;
+
+	/**
+	 * Interest in {@link IBattleListener#onBattleMessage(BattleMessageEvent) onBattleMessage()}.
+	 *
+	 * @since 1.9.5.4
+	 */
+	public static final int BATTLE_MESSAGE = 1 << 9;
+
+	/**
+	 * Interest in {@link IBattleListener#onBattleError(BattleErrorEvent) onBattleError()}.
+	 *
+	 * @since 1.9.5.4
+	 */
+	public static final int BATTLE_ERROR = 1 << 10;
+
+	/**
+	 * Interest in all events.
+	 *
+	 * @since 1.9.5.4
+	 */
+	public static final int ALL_EVENTS = (1 << 11) - 1;
+
 	// This list is guaranteed to be thread-safe, which is necessary as it will be accessed
 	// by both the battle thread and battle manager thread. If this list is not thread-safe
 	// then ConcurentModificationExceptions will occur from time to time.
-	private final List<IBattleListener> listeners = new CopyOnWriteArrayList<IBattleListener>();
+	private final List<Registration> listeners = new CopyOnWriteArrayList<Registration>();
+
+	// The events at least one listener is interested in
+	private volatile int interests;
 
 	public BattleEventDispatcher() {}
 
+	/**
+	 * Adds a listener, which is interested in the events it handles. A listener extending {@link BattleAdaptor}
+	 * only handles the events it overrides the methods of, and other listeners handle all events.
+	 *
+	 * @param listener the listener to add.
+	 */
 	public void addListener(IBattleListener listener) {
 		assert (listener != null);
 
-		listeners.add(listener);
+		addListener(listener, getHandledEvents(listener));
+	}
+
+	/**
+	 * Adds a listener, which only receives the events it is interested in.
+	 *
+	 * @param listener  the listener to add.
+	 * @param interests the events the listener is interested in, e.g. {@code BATTLE_COMPLETED | BATTLE_MESSAGE}.
+	 *
+	 * @since 1.9.5.4
+	 */
+	public void addListener(IBattleListener listener, int interests) {
+		assert (listener != null);
+
+		listeners.add(new Registration(listener, interests));
+		updateInterests();
 	}
 
 	public void removeListener(IBattleListener listener) {
 		assert (listener != null);
-		listeners.remove(listener);
+		for (Registration registration : listeners) {
+			if (registration.listener == listener) {
+				listeners.remove(registration);
+				break;
+			}
+		}
+		updateInterests();
+	}
+
+	/**
+	 * Checks if any listener is interested in some of the given events, so the battle can skip creating events,
+	 * and the snapshots they carry, that nobody would receive.
+	 *
+	 * @param events the events to check, e.g. {@link #TURN_ENDED}.
+	 * @return {@code true} if at least one listener is interested in one of the events; {@code false} otherwise.
+	 *
+	 * @since 1.9.5.4
+	 */
+	public boolean isInterested(int events) {
+		return (interests & events) != 0;
+	}
+
+	private void updateInterests() {
+		int union = 0;
+
+		for (Registration registration : listeners) {
+			union |= registration.interests;
+		}
+		interests = union;
+	}
+
+	private static int getHandledEvents(IBattleListener listener) {
+		if (!(listener instanceof BattleAdaptor)) {
+			return ALL_EVENTS;
+		}
+		final Class<?>[][] parameters = {
+			{ BattleStartedEvent.class }, { BattleCompletedEvent.class }, { BattleFinishedEvent.class },
+			{ BattlePausedEvent.class }, { BattleResumedEvent.class }, { RoundStartedEvent.class },
+			{ RoundEndedEvent.class }, { TurnStartedEvent.class }, { TurnEndedEvent.class },
+			{ BattleMessageEvent.class }, { BattleErrorEvent.class }
+		};
+		final String[] names = {
+			"onBattleStarted", "onBattleCompleted", "onBattleFinished", "onBattlePaused", "onBattleResumed",
+			"onRoundStarted", "onRoundEnded", "onTurnStarted", "onTurnEnded", "onBattleMessage", "onBattleError"
+		};
+		int handled = 0;
+
+		for (int i = 0; i < names.length; i++) {
+			try {
+				if (listener.getClass().getMethod(names[i], parameters[i]).getDeclaringClass() != BattleAdaptor.class) {
+					handled |= 1 << i;
+				}
+			} catch (NoSuchMethodException e) {
+				handled |= 1 << i;
+			}
+		}
+		return handled;
+	}
+
+	private static final class Registration {
+		final IBattleListener listener;
+		final int interests;
+
+		Registration(IBattleListener listener, int interests) {
+			this.listener = listener;
+			this.interests = interests;
+		}
 	}
 
 	public void onBattleStarted(BattleStartedEvent event) {
-		for (IBattleListener listener : listeners) {
+		for (Registration registration : listeners) {
+			if ((registration.interests & BATTLE_STARTED) == 0) {
+				continue;
+			}
+			final IBattleListener listener = registration.listener;
+
 			try {
 				listener.onBattleStarted(event);
 			} catch (Throwable ex) {
@@ -53,7 +233,12 @@ public class BattleEventDispatcher implements IBattleListener {
 	}
 
 	public void onBattleCompleted(BattleCompletedEvent event) {
-		for (IBattleListener listener : listeners) {
+		for (Registration registration : listeners) {
+			if ((registration.interests & BATTLE_COMPLETED) == 0) {
+				continue;
+			}
+			final IBattleListener listener = registration.listener;
+
 			try {
 				listener.onBattleCompleted(event);
 			} catch (Throwable ex) {
@@ -63,7 +248,12 @@ public class BattleEventDispatcher implements IBattleListener {
 	}
 
 	public void onBattleFinished(BattleFinishedEvent event) {
-		for (IBattleListener listener : listeners) {
+		for (Registration registration : listeners) {
+			if ((registration.interests & BATTLE_FINISHED) == 0) {
+				continue;
+			}
+			final IBattleListener listener = registration.listener;
+
 			try {
 				listener.onBattleFinished(event);
 			} catch (Throwable ex) {
@@ -73,7 +263,12 @@ public class BattleEventDispatcher implements IBattleListener {
 	}
 
 	public void onBattlePaused(BattlePausedEvent event) {
-		for (IBattleListener listener : listeners) {
+		for (Registration registration : listeners) {
+			if ((registration.interests & BATTLE_PAUSED) == 0) {
+				continue;
+			}
+			final IBattleListener listener = registration.listener;
+
 			try {
 				listener.onBattlePaused(event);
 			} catch (Throwable ex) {
@@ -83,7 +278,12 @@ public class BattleEventDispatcher implements IBattleListener {
 	}
 
 	public void onBattleResumed(BattleResumedEvent event) {
-		for (IBattleListener listener : listeners) {
+		for (Registration registration : listeners) {
+			if ((registration.interests & BATTLE_RESUMED) == 0) {
+				continue;
+			}
+			final IBattleListener listener = registration.listener;
+
 			try {
 				listener.onBattleResumed(event);
 			} catch (Throwable ex) {
@@ -93,7 +293,12 @@ public class BattleEventDispatcher implements IBattleListener {
 	}
 
 	public void onRoundStarted(RoundStartedEvent event) {
-		for (IBattleListener listener : listeners) {
+		for (Registration registration : listeners) {
+			if ((registration.interests & ROUND_STARTED) == 0) {
+				continue;
+			}
+			final IBattleListener listener = registration.listener;
+
 			try {
 				listener.onRoundStarted(event);
 			} catch (Throwable ex) {
@@ -103,7 +308,12 @@ public class BattleEventDispatcher implements IBattleListener {
 	}
 
 	public void onRoundEnded(RoundEndedEvent event) {
-		for (IBattleListener listener : listeners) {
+		for (Registration registration : listeners) {
+			if ((registration.interests & ROUND_ENDED) == 0) {
+				continue;
+			}
+			final IBattleListener listener = registration.listener;
+
 			try {
 				listener.onRoundEnded(event);
 			} catch (Throwable ex) {
@@ -113,7 +323,12 @@ public class BattleEventDispatcher implements IBattleListener {
 	}
 
 	public void onTurnStarted(TurnStartedEvent event) {
-		for (IBattleListener listener : listeners) {
+		for (Registration registration : listeners) {
+			if ((registration.interests & TURN_STARTED) == 0) {
+				continue;
+			}
+			final IBattleListener listener = registration.listener;
+
 			try {
 				listener.onTurnStarted(event);
 			} catch (Throwable ex) {
@@ -123,7 +338,12 @@ public class BattleEventDispatcher implements IBattleListener {
 	}
 
 	public void onTurnEnded(TurnEndedEvent event) {
-		for (IBattleListener listener : listeners) {
+		for (Registration registration : listeners) {
+			if ((registration.interests & TURN_ENDED) == 0) {
+				continue;
+			}
+			final IBattleListener listener = registration.listener;
+
 			try {
 				listener.onTurnEnded(event);
 			} catch (Throwable ex) {
@@ -133,7 +353,12 @@ public class BattleEventDispatcher implements IBattleListener {
 	}
 
 	public void onBattleMessage(BattleMessageEvent event) {
-		for (IBattleListener listener : listeners) {
+		for (Registration registration : listeners) {
+			if ((registration.interests & BATTLE_MESSAGE) == 0) {
+				continue;
+			}
+			final IBattleListener listener = registration.listener;
+
 			try {
 				listener.onBattleMessage(event);
 			} catch (Throwable ex) {
@@ -143,7 +368,12 @@ public class BattleEventDispatcher implements IBattleListener {
 	}
 
 	public void onBattleError(BattleErrorEvent event) {
-		for (IBattleListener listener : listeners) {
+		for (Registration registration : listeners) {
+			if ((registration.interests & BATTLE_ERROR) == 0) {
+				continue;
+			}
+			final IBattleListener listener = registration.listener;
+
 			try {
 				listener.onBattleError(event);
 			} catch (Throwable ex) {
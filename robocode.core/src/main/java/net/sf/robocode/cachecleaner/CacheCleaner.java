@@ -37,6 +37,7 @@ public final class CacheCleaner {
 		deleteFile(roborumbleTempFile.getPath());
 		deleteFile(FileUtil.getRobotsDataDir().getPath());
 		deleteFile(FileUtil.getRobotDatabaseFile().getPath());
+		deleteFile(FileUtil.getRobotAnalysisFile().getPath());
 
 		FileUtil.createDir(roborumbleTempFile);
 
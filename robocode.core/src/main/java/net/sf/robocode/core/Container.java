@@ -170,6 +170,8 @@ public final class Container extends ContainerBase {
 			return true;
 		} catch (ClassNotFoundException ignore) {// it is not our module ?
 			// Logger.logMessage("Can't load " + module);
+		} catch (UnsupportedClassVersionError e) {// built for a newer Java, like robocode.host.virtual
+			Logger.logWarning("Can't load " + module + " on Java " + System.getProperty("java.version"));
 		} catch (IllegalAccessException e) {
 			Logger.logError(e);
 		} catch (InstantiationException e) {
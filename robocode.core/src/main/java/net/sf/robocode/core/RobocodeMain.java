@@ -62,6 +62,8 @@ public final class RobocodeMain extends RobocodeMainBase {
 		String battleFilename;
 		String recordFilename;
 		String recordXmlFilename;
+		String recordColumnarFilename;
+		String recordCsvFilename;
 		String replayFilename;
 		String resultsFilename;
 		int tps;
@@ -133,8 +135,19 @@ public final class RobocodeMain extends RobocodeMainBase {
 				}
 			}
 
-			final boolean enableCLIRecording = (setup.recordFilename != null || setup.recordXmlFilename != null);
+			final boolean enableCLIRecording = (setup.recordFilename != null || setup.recordXmlFilename != null
+					|| setup.recordColumnarFilename != null);
 			
+			if (setup.recordCsvFilename != null) {
+				try {
+					battleManager.addListener(
+							recordManager.createCsvRecorder(setup.recordCsvFilename, new SerializableOptions(false)));
+				} catch (IOException e) {
+					Logger.logError("The CSV files '" + setup.recordCsvFilename + ".*.csv' could not be created", e);
+					System.exit(8);
+				}
+			}
+
 			// Note: At this point the GUI should be opened (if enabled) before starting the battle from a battle file
 			if (setup.battleFilename != null) {
 				if (setup.replayFilename != null) {
@@ -155,6 +168,8 @@ public final class RobocodeMain extends RobocodeMainBase {
 				setup.exitOnComplete = true;
 				if (setup.replayFilename.toLowerCase().endsWith("xml.zip")) {
 					recordManager.loadRecord(setup.replayFilename, BattleRecordFormat.XML_ZIP);
+				} else if (setup.replayFilename.toLowerCase().endsWith("col.br")) {
+					recordManager.loadRecord(setup.replayFilename, BattleRecordFormat.COLUMNAR);
 				} else {
 					recordManager.loadRecord(setup.replayFilename, BattleRecordFormat.BINARY_ZIP);
 				}
@@ -223,6 +238,12 @@ public final class RobocodeMain extends RobocodeMainBase {
 			} else if (currentArg.equalsIgnoreCase("-recordXML") && (i < args.length + 1)) {
 				setup.recordXmlFilename = args[i + 1];
 				i++;
+			} else if (currentArg.equalsIgnoreCase("-recordColumnar") && (i < args.length + 1)) {
+				setup.recordColumnarFilename = args[i + 1];
+				i++;
+			} else if (currentArg.equalsIgnoreCase("-recordCSV") && (i < args.length + 1)) {
+				setup.recordCsvFilename = args[i + 1];
+				i++;
 			} else if (currentArg.equalsIgnoreCase("-replay") && (i < args.length + 1)) {
 				setup.replayFilename = args[i + 1];
 				i++;
@@ -302,7 +323,9 @@ public final class RobocodeMain extends RobocodeMainBase {
 	private void printUsage() {
 		System.out.print(
 				"Usage: robocode [-?] [-help] [-cwd path] [-battle filename [-results filename]\n"
-						+ "                [-record filename] [-recordXML filename] [-replay filename]\n"
+						+ "                [-record filename] [-recordXML filename] [-recordColumnar filename]\n"
+						+ "                [-recordCSV filename]\n"
+						+ "                [-replay filename]\n"
 						+ "                [-tps tps] [-minimize] [-nodisplay] [-nosound]\n"
 						+ "\n"
 						+ "where options include:\n"
@@ -312,6 +335,10 @@ public final class RobocodeMain extends RobocodeMainBase {
 						+ "  -results <results file>    Save results to the specified text file\n"
 						+ "  -record <bin record file>  Record the battle into the specified file as binary\n"
 						+ "  -recordXML <xml rec file>  Record the battle into the specified file as XML\n"
+						+ "  -recordColumnar <file>     Record the battle into the specified file in the\n"
+						+ "                             compact columnar format (use the .col.br extension)\n"
+						+ "  -recordCSV <file prefix>   Write the battle into CSV files with the specified\n"
+						+ "                             prefix while it runs, or while a record is replayed\n"
 						+ "  -replay <record file>      Replay the specified battle record\n"
 						+ "  -tps <tps>                 Set the TPS > 0 (Turns Per Second)\n"
 						+ "  -minimize                  Run minimized when Robocode starts\n"
@@ -331,7 +358,23 @@ public final class RobocodeMain extends RobocodeMainBase {
 						+ "  -DEXPERIMENTAL=true|false  Enable/disable access to peer in robot interfaces\n"
 						+ "  -DPARALLEL=true|false      Enable/disable parallel processing of robots turns\n"
 						+ "  -DRANDOMSEED=<long number> Set seed for deterministic behavior of random\n"
-						+ "                             numbers\n");
+						+ "                             numbers\n"
+						+ "  -DTURNSPIN=<number>        Set how many times the battle and robot threads\n"
+						+ "                             spin before parking when handing over a turn\n"
+						+ "  -DBATTLEPOOL=<number>      Set how many battles the battle pool runs in\n"
+						+ "                             parallel (default is the number of processors)\n"
+						+ "  -DCPUCALIBRATION=fast|full Calibrate the CPU constant with short trials, or\n"
+						+ "                             with a single run of 5 seconds\n"
+						+ "  -DCPUCACHE=<file>          Set the file caching CPU constants per JVM and CPU\n"
+						+ "                             (default is 'config/cpu.properties')\n"
+						+ "  -DRECORDQUEUE=<turns>      Set the number of turns buffered for the recorder\n"
+						+ "                             (default is 256)\n"
+						+ "  -DRECORDPOLICY=block|drop|sample:<n>  Wait for the recorder when it falls\n"
+						+ "                             behind, drop turns, or keep every n'th turn\n"
+						+ "  -DROBOTPROCESS=true|false  Enable/disable hosting the robots in separate\n"
+						+ "                             processes sharing memory with the battle\n"
+						+ "  -DROBOTSPERPROCESS=<number> Set how many robots a robot process hosts\n"
+						+ "                             (default is 16)\n");
 	}
 
 	private void printResultsData(BattleCompletedEvent event) {
@@ -391,6 +434,10 @@ public final class RobocodeMain extends RobocodeMainBase {
 			if (setup.recordXmlFilename != null) {
 				recordManager.saveRecord(setup.recordXmlFilename, BattleRecordFormat.XML, new SerializableOptions(false));
 			}
+			if (setup.recordColumnarFilename != null) {
+				recordManager.saveRecord(setup.recordColumnarFilename, BattleRecordFormat.COLUMNAR,
+						new SerializableOptions(false));
+			}
 		}
 
 		@Override
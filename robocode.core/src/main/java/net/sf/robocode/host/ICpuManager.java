@@ -14,5 +14,7 @@ package net.sf.robocode.host;
 public interface ICpuManager {
 	long getCpuConstant();
 
+	double getCpuConstantVariance();
+
 	void calculateCpuConstant();
 }
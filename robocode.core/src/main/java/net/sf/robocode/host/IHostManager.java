@@ -40,4 +40,6 @@ public interface IHostManager {
 	String[] getReferencedClasses(IRobotItem robotItem);
 
 	RobotType getRobotType(IRobotItem robotItem, boolean resolve, boolean message);
+
+	Integer getCodeSize(IRobotItem robotItem);
 }
@@ -306,8 +306,8 @@ public final class RobotStatics implements IRobotStatics, Serializable {
 
 			return new RobotStatics(robocodeVersion, isJuniorRobot, isInteractiveRobot, isPaintRobot, isAdvancedRobot,
 					isTeamRobot, isTeamLeader, isDroid, isSentryRobot, name, shortName, veryShortName, fullClassName,
-					shortClassName, battleRules, teammates.toArray(new String[teammates.size()]), teamName, robotIndex,
-					teamIndex);
+					shortClassName, battleRules, teammates == null ? null : teammates.toArray(new String[teammates.size()]),
+					teamName, robotIndex, teamIndex);
 		}
 	}
 
@@ -64,6 +64,37 @@ public final class ExecCommands implements Serializable {
 	}
 
 	public ExecCommands(ExecCommands origin, boolean fromRobot) {
+		copyState(origin);
+		if (fromRobot) {
+			debugProperties = origin.debugProperties; 
+			bullets = origin.bullets;
+			scan = origin.scan;
+			moved = origin.moved;
+			graphicsCalls = origin.graphicsCalls;
+			outputText = origin.outputText;
+			teamMessages = origin.teamMessages;
+			isTryingToPaint = origin.isTryingToPaint; 
+		}
+	}
+
+	/**
+	 * Turns these commands into a copy of other commands like {@code new ExecCommands(origin, false)}, where
+	 * the lists of these commands are cleared and reused.
+	 */
+	void reset(ExecCommands origin) {
+		copyState(origin);
+		bullets.clear();
+		teamMessages.clear();
+		debugProperties.clear();
+		scan = false;
+		moved = false;
+		isIORobot = false;
+		isTryingToPaint = false;
+		graphicsCalls = null;
+		outputText = null;
+	}
+
+	private void copyState(ExecCommands origin) {
 		bodyTurnRemaining = origin.bodyTurnRemaining;
 		radarTurnRemaining = origin.radarTurnRemaining;
 		gunTurnRemaining = origin.gunTurnRemaining;
@@ -75,16 +106,6 @@ public final class ExecCommands implements Serializable {
 		maxTurnRate = origin.maxTurnRate;
 		maxVelocity = origin.maxVelocity;
 		copyColors(origin);
-		if (fromRobot) {
-			debugProperties = origin.debugProperties; 
-			bullets = origin.bullets;
-			scan = origin.scan;
-			moved = origin.moved;
-			graphicsCalls = origin.graphicsCalls;
-			outputText = origin.outputText;
-			teamMessages = origin.teamMessages;
-			isTryingToPaint = origin.isTryingToPaint; 
-		}
 	}
 
 	public void copyColors(ExecCommands origin) {
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.peer;
+
+
+import robocode.Event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * Exchanges the commands and results of a robot between the robot thread and the battle thread every turn,
+ * without allocating new commands, results or lists.
+ * <p>
+ * The commands are handed over instead of copied. The robot submits its commands, which the battle loads in
+ * the next turn. When the battle loads newer commands, it releases the commands it loaded before, which the
+ * robot then takes as its commands for the following turn. So two commands take turns between the robot
+ * and the battle, and new commands are only created when a robot is late and the released commands are not
+ * ready yet.
+ * <p>
+ * The events, team messages and bullet updates are collected by the battle in one list each, while the
+ * robot reads the lists collected in the previous turn, and the lists are swapped when the robot reads them.
+ * The status is copied into a {@link StatusBlock} of the robot thread, so no status is created for the turn.
+ *
+ * @param <Q> the type of the event lists.
+ * @since 1.9.5.4
+ */
+public final class ExecExchange<Q extends List<Event>> {
+	private final AtomicReference<ExecCommands> commands = new AtomicReference<ExecCommands>();
+	private final AtomicReference<ExecCommands> released = new AtomicReference<ExecCommands>();
+	private ExecCommands loaded; // for the battle thread
+
+	private final Lists<Q> events;
+	private final Lists<List<TeamMessage>> teamMessages;
+	private final Lists<List<BulletStatus>> bulletUpdates;
+
+	private final ExecResults results = new ExecResults(); // for the robot thread
+	private final StatusBlock status = new StatusBlock(); // for the robot thread
+
+	/**
+	 * Creates an exchange.
+	 *
+	 * @param events      the list the events are collected in first.
+	 * @param otherEvents the list the events are collected in while the robot reads the first list.
+	 */
+	public ExecExchange(Q events, Q otherEvents) {
+		this.events = new Lists<Q>(events, otherEvents);
+		teamMessages = new Lists<List<TeamMessage>>(new ArrayList<TeamMessage>(), new ArrayList<TeamMessage>());
+		bulletUpdates = new Lists<List<BulletStatus>>(new ArrayList<BulletStatus>(), new ArrayList<BulletStatus>());
+	}
+
+	// -----------
+	// called on battle thread
+	// -----------
+
+	/**
+	 * Starts a new round with new commands and no events, team messages or bullet updates. The commands of the
+	 * last round are not reused, as the robot thread of the last round might still hold them.
+	 *
+	 * @param newCommands the commands to start the round with.
+	 */
+	public void reset(ExecCommands newCommands) {
+		commands.set(newCommands);
+		released.set(null);
+		loaded = null;
+
+		events.getWriting().clear();
+		teamMessages.getWriting().clear();
+		bulletUpdates.getWriting().clear();
+	}
+
+	/**
+	 * Returns the commands last submitted by the robot.
+	 *
+	 * @return the latest commands.
+	 */
+	public ExecCommands getCommands() {
+		return commands.get();
+	}
+
+	/**
+	 * Loads the commands last submitted by the robot, and releases the commands loaded before, if the robot
+	 * has submitted new commands since then.
+	 *
+	 * @return the latest commands.
+	 */
+	public ExecCommands loadCommands() {
+		final ExecCommands latest = commands.get();
+
+		if (loaded != latest) {
+			if (loaded != null) {
+				released.set(loaded);
+			}
+			loaded = latest;
+		}
+		return latest;
+	}
+
+	/**
+	 * Returns the list the events for the robot are collected in.
+	 *
+	 * @return the events of this turn.
+	 */
+	public Q getEvents() {
+		return events.getWriting();
+	}
+
+	/**
+	 * Returns the list the team messages for the robot are collected in.
+	 *
+	 * @return the team messages of this turn.
+	 */
+	public List<TeamMessage> getTeamMessages() {
+		return teamMessages.getWriting();
+	}
+
+	/**
+	 * Returns the list the bullet updates for the robot are collected in.
+	 *
+	 * @return the bullet updates of this turn.
+	 */
+	public List<BulletStatus> getBulletUpdates() {
+		return bulletUpdates.getWriting();
+	}
+
+	// -----------
+	// called on robot thread
+	// -----------
+
+	/**
+	 * Hands the commands of the robot over to the battle. The robot must not change the commands after this.
+	 *
+	 * @param newCommands the commands of the robot.
+	 */
+	public void submit(ExecCommands newCommands) {
+		commands.set(newCommands);
+	}
+
+	/**
+	 * Returns the results of the turn to the robot, with the commands the robot continues with and the lists
+	 * collected by the battle. The results, commands and lists are only valid until the next exchange.
+	 *
+	 * @param status            the status of the robot, which is copied into a status block of the robot.
+	 * @param halt              {@code true} if the robot must halt.
+	 * @param shouldWait        {@code true} if the robot should wait for the battle to end.
+	 * @param paintEnabled      {@code true} if painting is enabled for the robot.
+	 * @param withTeamMessages  {@code true} if the team messages are delivered; {@code false} if they are
+	 *                          thrown away.
+	 * @return the results of the turn.
+	 */
+	public ExecResults exchange(StatusBlock status, boolean halt, boolean shouldWait, boolean paintEnabled,
+			boolean withTeamMessages) {
+		List<TeamMessage> messages = teamMessages.swap();
+
+		if (!withTeamMessages) {
+			messages.clear();
+			messages = Collections.emptyList();
+		}
+		if (status != null) {
+			status.copyTo(this.status);
+		}
+		results.set(nextCommands(), status != null ? this.status : null, events.swap(), messages, bulletUpdates.swap(), halt, shouldWait,
+				paintEnabled);
+		return results;
+	}
+
+	// Copies the latest commands as updated by the battle into the released commands, which are not used by the
+	// battle anymore
+	private ExecCommands nextCommands() {
+		final ExecCommands latest = commands.get();
+		final ExecCommands next = released.getAndSet(null);
+
+		if (next == null || next == latest) {
+			return new ExecCommands(latest, false);
+		}
+		next.reset(latest);
+		return next;
+	}
+
+	/**
+	 * Two lists, where one is written by the battle thread while the other is read by the robot thread.
+	 */
+	private static final class Lists<L extends List<?>> {
+		private final AtomicReference<L> writing;
+		private L reading;
+
+		Lists(L first, L second) {
+			writing = new AtomicReference<L>(first);
+			reading = second;
+		}
+
+		L getWriting() {
+			return writing.get();
+		}
+
+		// Clears the list read in the previous turn, and swaps it with the list written in this turn
+		L swap() {
+			reading.clear();
+			reading = writing.getAndSet(reading);
+			return reading;
+		}
+	}
+}
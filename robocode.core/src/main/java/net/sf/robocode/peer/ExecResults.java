@@ -27,6 +27,7 @@ public final class ExecResults implements Serializable {
 
 	private ExecCommands commands;
 	private RobotStatus status;
+	private transient StatusBlock statusBlock;
 	private List<Event> events;
 	private List<TeamMessage> teamMessages;
 	private List<BulletStatus> bulletUpdates;
@@ -35,8 +36,16 @@ public final class ExecResults implements Serializable {
 	private boolean paintEnabled;
 
 	public ExecResults(ExecCommands commands, RobotStatus status, List<Event> events, List<TeamMessage> teamMessages, List<BulletStatus> bulletUpdates, boolean halt, boolean shouldWait, boolean paintEnabled) {
-		this.commands = commands;
+		set(commands, null, events, teamMessages, bulletUpdates, halt, shouldWait, paintEnabled);
 		this.status = status;
+	}
+
+	ExecResults() {}
+
+	void set(ExecCommands commands, StatusBlock statusBlock, List<Event> events, List<TeamMessage> teamMessages, List<BulletStatus> bulletUpdates, boolean halt, boolean shouldWait, boolean paintEnabled) {
+		this.commands = commands;
+		this.status = null;
+		this.statusBlock = statusBlock;
 		this.events = events;
 		this.teamMessages = teamMessages;
 		this.bulletUpdates = bulletUpdates;
@@ -45,16 +54,30 @@ public final class ExecResults implements Serializable {
 		this.paintEnabled = paintEnabled;
 	}
 
-	private ExecResults() {}
-
 	public ExecCommands getCommands() {
 		return commands;
 	}
 
 	public RobotStatus getStatus() {
+		if (status == null && statusBlock != null) {
+			return statusBlock.toRobotStatus();
+		}
 		return status;
 	}
 
+	/**
+	 * Returns the status of the robot as a status block, which does not create a {@link RobotStatus}.
+	 *
+	 * @return the status of the robot.
+	 * @since 1.9.5.4
+	 */
+	public StatusBlock getStatusBlock() {
+		if (statusBlock == null && status != null) {
+			statusBlock = new StatusBlock(status);
+		}
+		return statusBlock;
+	}
+
 	public List<Event> getEvents() {
 		return events;
 	}
@@ -89,7 +112,7 @@ public final class ExecResults implements Serializable {
 			int size = RbSerializer.SIZEOF_TYPEINFO + 3 * RbSerializer.SIZEOF_BOOL;
 
 			size += serializer.sizeOf(RbSerializer.ExecCommands_TYPE, obj.commands);
-			size += serializer.sizeOf(RbSerializer.RobotStatus_TYPE, obj.status);
+			size += serializer.sizeOf(RbSerializer.RobotStatus_TYPE, obj.getStatus());
 
 			// events
 			for (Event event : obj.events) {
@@ -120,7 +143,7 @@ public final class ExecResults implements Serializable {
 			serializer.serialize(buffer, obj.paintEnabled);
 
 			serializer.serialize(buffer, RbSerializer.ExecCommands_TYPE, obj.commands);
-			serializer.serialize(buffer, RbSerializer.RobotStatus_TYPE, obj.status);
+			serializer.serialize(buffer, RbSerializer.RobotStatus_TYPE, obj.getStatus());
 
 			for (Event event : obj.events) {
 				serializer.serialize(buffer, event);
@@ -10,6 +10,7 @@ package net.sf.robocode.peer;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Random;
 
 
 /**
@@ -25,6 +26,8 @@ public interface IRobotPeer {
 
 	boolean isRunning();
 
+	Random getRandom();
+
 	ExecResults waitForBattleEndImpl(ExecCommands newCommands);
 
 	ExecResults executeImpl(ExecCommands newCommands);
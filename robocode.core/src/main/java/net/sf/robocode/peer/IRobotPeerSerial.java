@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.peer;
+
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+
+/**
+ * The peer of a robot in the battle, which also takes the commands of the robot serialized into a buffer, and
+ * serializes the results into the same buffer. Used by the proxies of robots hosted in robot processes.
+ *
+ * @since 1.9.5.4
+ */
+public interface IRobotPeerSerial extends IRobotPeer {
+
+	void setupBuffer(ByteBuffer bidirectionalBuffer);
+
+	void setupThread();
+
+	void executeImplSerial() throws IOException;
+
+	void waitForBattleEndImplSerial() throws IOException;
+}
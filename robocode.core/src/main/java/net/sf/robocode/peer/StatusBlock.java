@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.peer;
+
+
+import net.sf.robocode.security.HiddenAccess;
+import robocode.RobotStatus;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * The status of a robot, which is published by the battle thread every turn without creating a new
+ * {@link RobotStatus}, and copied by the robot thread into a status block of its own.
+ * <p>
+ * The block is guarded by a sequence lock. The version is odd while the battle writes the status and even
+ * when the status is complete, so the robot thread copies the status again if the version changed while it
+ * was copying. A {@link RobotStatus} is only created when it is asked for, and then once per version.
+ *
+ * @since 1.9.5.4
+ */
+public final class StatusBlock {
+	private static final int ENERGY = 0;
+	private static final int X = 1;
+	private static final int Y = 2;
+	private static final int BODY_HEADING = 3;
+	private static final int GUN_HEADING = 4;
+	private static final int RADAR_HEADING = 5;
+	private static final int VELOCITY = 6;
+	private static final int BODY_TURN_REMAINING = 7;
+	private static final int RADAR_TURN_REMAINING = 8;
+	private static final int GUN_TURN_REMAINING = 9;
+	private static final int DISTANCE_REMAINING = 10;
+	private static final int GUN_HEAT = 11;
+	private static final int OTHERS = 12;
+	private static final int NUM_SENTRIES = 13;
+	private static final int ROUND_NUM = 14;
+	private static final int NUM_ROUNDS = 15;
+	private static final int TIME = 16;
+	private static final int FIELD_COUNT = 17;
+
+	private final AtomicLong version = new AtomicLong();
+	private final AtomicLongArray values = new AtomicLongArray(FIELD_COUNT);
+
+	// The last status created, for the thread owning the block
+	private RobotStatus status;
+	private long statusVersion;
+
+	/**
+	 * Creates a block holding no status yet.
+	 */
+	public StatusBlock() {}
+
+	/**
+	 * Creates a block holding a status.
+	 *
+	 * @param status the status to hold.
+	 */
+	public StatusBlock(RobotStatus status) {
+		publish(status.getEnergy(), status.getX(), status.getY(), status.getHeadingRadians(),
+				status.getGunHeadingRadians(), status.getRadarHeadingRadians(), status.getVelocity(),
+				status.getTurnRemainingRadians(), status.getRadarTurnRemainingRadians(),
+				status.getGunTurnRemainingRadians(), status.getDistanceRemaining(), status.getGunHeat(),
+				status.getOthers(), status.getNumSentries(), status.getRoundNum(), status.getNumRounds(),
+				status.getTime());
+		this.status = status;
+		statusVersion = version.get();
+	}
+
+	/**
+	 * Publishes a new status. Must only be called by the one thread writing the block.
+	 */
+	public void publish(double energy, double x, double y, double bodyHeading, double gunHeading,
+			double radarHeading, double velocity, double bodyTurnRemaining, double radarTurnRemaining,
+			double gunTurnRemaining, double distanceRemaining, double gunHeat, int others, int numSentries,
+			int roundNum, int numRounds, long time) {
+		final long start = version.get() + 1;
+
+		version.set(start);
+
+		putDouble(ENERGY, energy);
+		putDouble(X, x);
+		putDouble(Y, y);
+		putDouble(BODY_HEADING, bodyHeading);
+		putDouble(GUN_HEADING, gunHeading);
+		putDouble(RADAR_HEADING, radarHeading);
+		putDouble(VELOCITY, velocity);
+		putDouble(BODY_TURN_REMAINING, bodyTurnRemaining);
+		putDouble(RADAR_TURN_REMAINING, radarTurnRemaining);
+		putDouble(GUN_TURN_REMAINING, gunTurnRemaining);
+		putDouble(DISTANCE_REMAINING, distanceRemaining);
+		putDouble(GUN_HEAT, gunHeat);
+		values.set(OTHERS, others);
+		values.set(NUM_SENTRIES, numSentries);
+		values.set(ROUND_NUM, roundNum);
+		values.set(NUM_ROUNDS, numRounds);
+		values.set(TIME, time);
+
+		version.set(start + 1);
+	}
+
+	/**
+	 * Copies the latest complete status of this block into another block, unless the other block holds it
+	 * already.
+	 *
+	 * @param target the block to copy the status into.
+	 */
+	public void copyTo(StatusBlock target) {
+		while (true) {
+			final long start = version.get();
+
+			if (start == target.version.get()) {
+				return;
+			}
+			if ((start & 1) != 0) {
+				// The battle is writing the status right now
+				Thread.yield();
+				continue;
+			}
+			for (int i = 0; i < FIELD_COUNT; i++) {
+				target.values.set(i, values.get(i));
+			}
+			if (version.get() == start) {
+				target.version.set(start);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns the version of the status, which changes every time a status is published.
+	 *
+	 * @return the version of the status.
+	 */
+	public long getVersion() {
+		return version.get();
+	}
+
+	/**
+	 * Returns the status as a {@link RobotStatus}, which is only created once for each version.
+	 * Must only be called by the thread owning the block.
+	 *
+	 * @return the status.
+	 */
+	public RobotStatus toRobotStatus() {
+		final long current = version.get();
+
+		if (status == null || statusVersion != current) {
+			status = HiddenAccess.createStatus(getEnergy(), getX(), getY(), getHeadingRadians(),
+					getGunHeadingRadians(), getRadarHeadingRadians(), getVelocity(), getTurnRemainingRadians(),
+					getRadarTurnRemainingRadians(), getGunTurnRemainingRadians(), getDistanceRemaining(), getGunHeat(),
+					getOthers(), getNumSentries(), getRoundNum(), getNumRounds(), getTime());
+			statusVersion = current;
+		}
+		return status;
+	}
+
+	// The getters below read the block without the lock, so they are meant for a block owned by one thread
+
+	public double getEnergy() {
+		return getDouble(ENERGY);
+	}
+
+	public double getX() {
+		return getDouble(X);
+	}
+
+	public double getY() {
+		return getDouble(Y);
+	}
+
+	public double getHeadingRadians() {
+		return getDouble(BODY_HEADING);
+	}
+
+	public double getGunHeadingRadians() {
+		return getDouble(GUN_HEADING);
+	}
+
+	public double getRadarHeadingRadians() {
+		return getDouble(RADAR_HEADING);
+	}
+
+	public double getVelocity() {
+		return getDouble(VELOCITY);
+	}
+
+	public double getTurnRemainingRadians() {
+		return getDouble(BODY_TURN_REMAINING);
+	}
+
+	public double getRadarTurnRemainingRadians() {
+		return getDouble(RADAR_TURN_REMAINING);
+	}
+
+	public double getGunTurnRemainingRadians() {
+		return getDouble(GUN_TURN_REMAINING);
+	}
+
+	public double getDistanceRemaining() {
+		return getDouble(DISTANCE_REMAINING);
+	}
+
+	public double getGunHeat() {
+		return getDouble(GUN_HEAT);
+	}
+
+	public int getOthers() {
+		return (int) values.get(OTHERS);
+	}
+
+	public int getNumSentries() {
+		return (int) values.get(NUM_SENTRIES);
+	}
+
+	public int getRoundNum() {
+		return (int) values.get(ROUND_NUM);
+	}
+
+	public int getNumRounds() {
+		return (int) values.get(NUM_ROUNDS);
+	}
+
+	public long getTime() {
+		return values.get(TIME);
+	}
+
+	private void putDouble(int index, double value) {
+		values.set(index, Double.doubleToRawLongBits(value));
+	}
+
+	private double getDouble(int index) {
+		return Double.longBitsToDouble(values.get(index));
+	}
+}
@@ -22,15 +22,30 @@ public class TeamMessage implements Serializable {
 	private static final long serialVersionUID = 1L;
 
 	public TeamMessage(String sender, String recipient, byte[] message) {
+		this(sender, recipient, message, false);
+	}
+
+	/**
+	 * Creates a team message.
+	 *
+	 * @param sender    the name of the sending robot.
+	 * @param recipient the name of the receiving robot, or {@code null} if the message is broadcasted.
+	 * @param message   the bytes of the message.
+	 * @param isRaw     {@code true} if the bytes are delivered as they are; {@code false} if they hold a
+	 *                  serialized object.
+	 * @since 1.9.5.4
+	 */
+	public TeamMessage(String sender, String recipient, byte[] message, boolean isRaw) {
 		this.sender = sender;
 		this.recipient = recipient;
 		this.message = message;
-
+		this.isRaw = isRaw;
 	}
 
 	public final String sender;
 	public final String recipient;
 	public final byte[] message;
+	public final boolean isRaw;
 
 	static ISerializableHelper createHiddenSerializer() {
 		return new SerializableHelper();
@@ -43,7 +58,7 @@ public class TeamMessage implements Serializable {
 			final int r = serializer.sizeOf(obj.recipient);
 			final int m = serializer.sizeOf(obj.message);
 
-			return RbSerializer.SIZEOF_TYPEINFO + s + r + m;
+			return RbSerializer.SIZEOF_TYPEINFO + s + r + m + RbSerializer.SIZEOF_BOOL;
 		}
 
 		public void serialize(RbSerializer serializer, ByteBuffer buffer, Object object) {
@@ -52,14 +67,16 @@ public class TeamMessage implements Serializable {
 			serializer.serialize(buffer, obj.sender);
 			serializer.serialize(buffer, obj.recipient);
 			serializer.serialize(buffer, obj.message);
+			serializer.serialize(buffer, obj.isRaw);
 		}
 
 		public Object deserialize(RbSerializer serializer, ByteBuffer buffer) {
 			String sender = serializer.deserializeString(buffer);
 			String recipient = serializer.deserializeString(buffer);
 			byte[] message = serializer.deserializeBytes(buffer);
+			boolean isRaw = serializer.deserializeBoolean(buffer);
 
-			return new TeamMessage(sender, recipient, message);
+			return new TeamMessage(sender, recipient, message, isRaw);
 		}
 	}
 
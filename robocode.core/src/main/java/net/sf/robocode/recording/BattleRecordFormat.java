@@ -16,5 +16,10 @@ public enum BattleRecordFormat {
 	BINARY_ZIP,
 	XML,
 	XML_ZIP,
-	CSV
+	CSV,
+	/**
+	 * Compact binary format, where the turns are stored as delta encoded columns.
+	 * @since 1.9.5.4
+	 */
+	COLUMNAR
 }
@@ -10,6 +10,7 @@ package net.sf.robocode.recording;
 
 import net.sf.robocode.battle.events.BattleEventDispatcher;
 import net.sf.robocode.serialization.SerializableOptions;
+import robocode.control.events.IBattleListener;
 import robocode.control.snapshot.ITurnSnapshot;
 
 import java.io.IOException;
@@ -40,5 +41,18 @@ public interface IRecordManager {
 
     void generateCsvRecord(OutputStream fosResults, OutputStream fosRounds, OutputStream fosRobots, OutputStream fosBullets, SerializableOptions options, CheckedConsumer<ITurnSnapshot> extension) throws IOException, ClassNotFoundException;
 
+    /**
+     * Creates a listener that writes the CSV files of the next battle while it runs, or while a record is
+     * replayed, without recording the battle first.
+     *
+     * @param fileName the prefix of the names of the CSV files.
+     * @param options  the options for the values written.
+     * @return the listener, which must be added to the battle manager before the battle starts.
+     * @throws IOException if the files could not be created.
+     *
+     * @since 1.9.5.4
+     */
+    IBattleListener createCsvRecorder(String fileName, SerializableOptions options) throws IOException;
+
     boolean hasRecord();
 }
@@ -75,6 +75,17 @@ public final class RobotType implements Serializable {
 		}
 	}
 
+	/**
+	 * Returns the robot type with the specified type flags.
+	 *
+	 * @param typeFlags the type flags as returned by {@link #getTypeFlags()}.
+	 * @return the robot type.
+	 * @since 1.9.5.4
+	 */
+	public static RobotType valueOf(int typeFlags) {
+		return typeFlags == NONE_FLAG ? INVALID : new RobotType(typeFlags);
+	}
+
 	public int getTypeFlags() {
 		return typeFlags;
 	}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.serialization;
+
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * Reads columns of primitive values written by a {@link ColumnWriter}, where each value is read as the
+ * difference from the value in the same column of the previous row.
+ *
+ * @since 1.9.5.4
+ */
+public final class ColumnReader {
+	private final InputStream in;
+	private final boolean trimPrecision;
+	private final byte[] buffer = new byte[64 * 1024];
+	private int position;
+	private int limit;
+
+	/**
+	 * Creates a new column reader.
+	 *
+	 * @param in            the stream to read from.
+	 * @param trimPrecision {@code true} if the doubles were written with trimmed precision;
+	 *                      {@code false} if they were written exactly.
+	 */
+	public ColumnReader(InputStream in, boolean trimPrecision) {
+		this.in = in;
+		this.trimPrecision = trimPrecision;
+	}
+
+	public boolean isTrimPrecision() {
+		return trimPrecision;
+	}
+
+	public int readVarInt() throws IOException {
+		return (int) readVarLong();
+	}
+
+	public long readVarLong() throws IOException {
+		long value = 0;
+
+		for (int shift = 0; shift < 64; shift += 7) {
+			final int b = readByte();
+
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new StreamCorruptedException("Malformed variable length value");
+	}
+
+	public long readSignedVarLong() throws IOException {
+		final long value = readVarLong();
+
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	public boolean readBoolean() throws IOException {
+		return readVarLong() != 0;
+	}
+
+	/**
+	 * Reads an integer written as the difference from the previous value of the column.
+	 *
+	 * @param previous the previous value of the column.
+	 * @return the value read.
+	 */
+	public int readDelta(int previous) throws IOException {
+		return (int) (previous + readSignedVarLong());
+	}
+
+	/**
+	 * Reads a double written as the difference from the previous value of the column.
+	 *
+	 * @param previous the previous value of the column.
+	 * @param scale    the scale used when the value was written.
+	 * @return the value read.
+	 */
+	public double readDelta(double previous, double scale) throws IOException {
+		if (trimPrecision) {
+			return (Math.round(previous * scale) + readSignedVarLong()) / scale;
+		}
+		return Double.longBitsToDouble(Double.doubleToRawLongBits(previous) ^ readVarLong());
+	}
+
+	/**
+	 * Reads a string, which may be {@code null}.
+	 *
+	 * @return the string read.
+	 */
+	public String readString() throws IOException {
+		final byte[] bytes = readBytes();
+
+		return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+	}
+
+	/**
+	 * Reads an array of bytes, which may be {@code null}.
+	 *
+	 * @return the bytes read.
+	 */
+	public byte[] readBytes() throws IOException {
+		final int length = readVarInt() - 1;
+
+		if (length < 0) {
+			return null;
+		}
+		final byte[] bytes = new byte[length];
+
+		for (int offset = 0; offset < length;) {
+			if (position == limit) {
+				fill();
+			}
+			final int count = Math.min(length - offset, limit - position);
+
+			System.arraycopy(buffer, position, bytes, offset, count);
+			position += count;
+			offset += count;
+		}
+		return bytes;
+	}
+
+	private int readByte() throws IOException {
+		if (position == limit) {
+			fill();
+		}
+		return buffer[position++];
+	}
+
+	private void fill() throws IOException {
+		final int count = in.read(buffer, 0, buffer.length);
+
+		if (count <= 0) {
+			throw new EOFException();
+		}
+		position = 0;
+		limit = count;
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.serialization;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * Writes columns of primitive values, where each value is written as the difference from the value in the
+ * same column of the previous row, so values that do not change take a single byte.
+ * <p>
+ * Integers are written as variable length zig-zag encoded differences. Doubles are either written exactly,
+ * as the bits that differ from the previous value, or with trimmed precision, as the difference of the
+ * values rounded to a fixed number of decimals.
+ * The counterpart is {@link ColumnReader}.
+ *
+ * @since 1.9.5.4
+ */
+public final class ColumnWriter {
+	private final OutputStream out;
+	private final boolean trimPrecision;
+	private final byte[] buffer = new byte[64 * 1024];
+	private int position;
+	private long flushed;
+
+	/**
+	 * Creates a new column writer.
+	 *
+	 * @param out           the stream to write to.
+	 * @param trimPrecision {@code true} if doubles are rounded to the scale given when they are written;
+	 *                      {@code false} if they are written exactly.
+	 */
+	public ColumnWriter(OutputStream out, boolean trimPrecision) {
+		this.out = out;
+		this.trimPrecision = trimPrecision;
+	}
+
+	public boolean isTrimPrecision() {
+		return trimPrecision;
+	}
+
+	/**
+	 * Returns the number of bytes written so far, including the bytes that are still buffered, which is the
+	 * offset of the next value in the stream.
+	 *
+	 * @return the number of bytes written.
+	 */
+	public long getCount() {
+		return flushed + position;
+	}
+
+	public void writeVarInt(int value) throws IOException {
+		writeVarLong(value & 0xFFFFFFFFL);
+	}
+
+	public void writeVarLong(long value) throws IOException {
+		if (position > buffer.length - 10) {
+			flushBuffer();
+		}
+		while ((value & ~0x7FL) != 0) {
+			buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		buffer[position++] = (byte) value;
+	}
+
+	public void writeSignedVarLong(long value) throws IOException {
+		writeVarLong((value << 1) ^ (value >> 63));
+	}
+
+	public void writeBoolean(boolean value) throws IOException {
+		writeVarLong(value ? 1 : 0);
+	}
+
+	/**
+	 * Writes an integer as the difference from the previous value of the column.
+	 *
+	 * @param previous the previous value of the column.
+	 * @param value    the value to write.
+	 */
+	public void writeDelta(int previous, int value) throws IOException {
+		writeSignedVarLong((long) value - previous);
+	}
+
+	/**
+	 * Writes a double as the difference from the previous value of the column.
+	 *
+	 * @param previous the previous value of the column.
+	 * @param value    the value to write.
+	 * @param scale    the scale of the fixed point value written when the precision is trimmed,
+	 *                 e.g. 10000 for 4 decimals.
+	 */
+	public void writeDelta(double previous, double value, double scale) throws IOException {
+		if (trimPrecision) {
+			writeSignedVarLong(Math.round(value * scale) - Math.round(previous * scale));
+		} else {
+			// Close values share the sign, the exponent and the high part of the mantissa, so these bits are 0
+			writeVarLong(Double.doubleToRawLongBits(previous) ^ Double.doubleToRawLongBits(value));
+		}
+	}
+
+	/**
+	 * Writes a string, which may be {@code null}.
+	 *
+	 * @param value the string to write.
+	 */
+	public void writeString(String value) throws IOException {
+		writeBytes(value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+	}
+
+	/**
+	 * Writes an array of bytes, which may be {@code null}.
+	 *
+	 * @param value the bytes to write.
+	 */
+	public void writeBytes(byte[] value) throws IOException {
+		if (value == null) {
+			writeVarInt(0);
+			return;
+		}
+		writeVarInt(value.length + 1);
+		if (value.length > buffer.length - position) {
+			flushBuffer();
+			out.write(value);
+			flushed += value.length;
+		} else {
+			System.arraycopy(value, 0, buffer, position, value.length);
+			position += value.length;
+		}
+	}
+
+	/**
+	 * Writes the buffered values to the underlying stream, and flushes it.
+	 */
+	public void flush() throws IOException {
+		flushBuffer();
+		out.flush();
+	}
+
+	private void flushBuffer() throws IOException {
+		if (position > 0) {
+			out.write(buffer, 0, position);
+			flushed += position;
+			position = 0;
+		}
+	}
+}
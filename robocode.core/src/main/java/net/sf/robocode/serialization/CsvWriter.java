@@ -10,7 +10,8 @@ import java.util.Locale;
 
 // https://tools.ietf.org/html/rfc4180
 public class CsvWriter {
-    private static final DecimalFormat decimalFormat = new DecimalFormat("#.####", new DecimalFormatSymbols(Locale.US));
+    // DecimalFormat is not thread-safe, so each writer has its own, which lets writers run in parallel
+    private final DecimalFormat decimalFormat = new DecimalFormat("#.####", new DecimalFormatSymbols(Locale.US));
     private final Writer writer;
     private final boolean header;
     private boolean isStartLine;
@@ -13,6 +13,7 @@ import java.io.Writer;
 import java.text.CharacterIterator;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
+import java.text.FieldPosition;
 import java.text.StringCharacterIterator;
 import java.util.Locale;
 import java.util.Stack;
@@ -22,13 +23,19 @@ import java.util.Stack;
  * @author Pavel Savara (original)
  */
 public class XmlWriter {
-	private static final DecimalFormat decimalFormat = new DecimalFormat("#.####", new DecimalFormatSymbols(Locale.US));
+	// DecimalFormat is not thread-safe, so each writer has its own
+	private final DecimalFormat decimalFormat = new DecimalFormat("#.####", new DecimalFormatSymbols(Locale.US));
+	private final FieldPosition fieldPosition = new FieldPosition(0);
 	private final Writer writer;
 	private final Stack<String> elements = new Stack<String>();
 	private boolean headClosed = true;
 	private boolean innerElement = false;
 	private boolean indent = true;
 
+	// Numbers are formatted into these buffers, which are reused for every attribute
+	private final StringBuffer numberBuffer = new StringBuffer(32);
+	private final char[] chars = new char[64];
+
 	public XmlWriter(Writer writer, boolean indent) {
 		this.writer = writer;
 		this.indent = indent;
@@ -63,15 +70,30 @@ public class XmlWriter {
 	}
 
 	public void writeAttribute(String name, long value) throws IOException {
-		writeAttribute(name, Long.toString(value));
+		numberBuffer.setLength(0);
+		numberBuffer.append(value);
+		writeNumberAttribute(name);
 	}
 
 	public void writeAttribute(String name, double value, boolean trim) throws IOException {
+		numberBuffer.setLength(0);
 		if (trim) {
-			writeAttribute(name, decimalFormat.format(value));
+			decimalFormat.format(value, numberBuffer, fieldPosition);
 		} else {
-			writeAttribute(name, Double.toString(value));
+			numberBuffer.append(value);
 		}
+		writeNumberAttribute(name);
+	}
+
+	private void writeNumberAttribute(String name) throws IOException {
+		final int length = numberBuffer.length();
+
+		numberBuffer.getChars(0, length, chars, 0);
+		writer.write(' ');
+		writer.write(encode(name));
+		writer.write("=\"");
+		writer.write(chars, 0, length);
+		writer.write('"');
 	}
 
 	public void endElement() throws IOException {
@@ -114,6 +136,9 @@ public class XmlWriter {
 	}
 
 	private static String encode(String text) {
+		if (!needsEncoding(text)) {
+			return text;
+		}
 		final StringBuilder result = new StringBuilder();
 		final StringCharacterIterator iterator = new StringCharacterIterator(text);
 		char character = iterator.current();
@@ -139,4 +164,14 @@ public class XmlWriter {
 		return result.toString();
 	}
 
+	private static boolean needsEncoding(String text) {
+		for (int i = 0; i < text.length(); i++) {
+			final char character = text.charAt(i);
+
+			if (character == '<' || character == '>' || character == '&' || character == '\"' || character == '\n') {
+				return true;
+			}
+		}
+		return false;
+	}
 }
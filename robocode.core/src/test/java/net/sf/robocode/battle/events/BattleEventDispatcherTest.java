@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.battle.events;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import robocode.control.events.BattleAdaptor;
+import robocode.control.events.BattleCompletedEvent;
+import robocode.control.events.TurnEndedEvent;
+
+
+public class BattleEventDispatcherTest {
+
+	@Test
+	public void adaptorIsOnlyInterestedInOverriddenEvents() {
+		BattleEventDispatcher dispatcher = new BattleEventDispatcher();
+		BattleAdaptor listener = new BattleAdaptor() {
+			@Override
+			public void onBattleCompleted(BattleCompletedEvent event) {}
+		};
+
+		dispatcher.addListener(listener);
+		Assert.assertTrue(dispatcher.isInterested(BattleEventDispatcher.BATTLE_COMPLETED));
+		Assert.assertFalse(dispatcher.isInterested(BattleEventDispatcher.TURN_ENDED));
+
+		dispatcher.removeListener(listener);
+		Assert.assertFalse(dispatcher.isInterested(BattleEventDispatcher.ALL_EVENTS));
+	}
+
+	@Test
+	public void eventsAreOnlyDispatchedToInterestedListeners() {
+		BattleEventDispatcher dispatcher = new BattleEventDispatcher();
+		final int[] turns = new int[1];
+		BattleAdaptor listener = new BattleAdaptor() {
+			@Override
+			public void onTurnEnded(TurnEndedEvent event) {
+				turns[0]++;
+			}
+		};
+
+		dispatcher.addListener(listener, BattleEventDispatcher.BATTLE_COMPLETED);
+		Assert.assertFalse(dispatcher.isInterested(BattleEventDispatcher.TURN_ENDED));
+
+		dispatcher.onTurnEnded(new TurnEndedEvent(null));
+		Assert.assertEquals(0, turns[0]);
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.peer;
+
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import robocode.Event;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+
+public class ExecExchangeTest {
+
+	private static final int TURNS = 100000;
+
+	@Test
+	public void commandsTakeTurns() {
+		ExecExchange<List<Event>> exchange = new ExecExchange<List<Event>>(new ArrayList<Event>(),
+				new ArrayList<Event>());
+
+		exchange.reset(new ExecCommands());
+
+		ExecCommands robotCommands = new ExecCommands();
+		ExecCommands first = null;
+
+		for (int turn = 0; turn < 4; turn++) {
+			robotCommands.setDistanceRemaining(100);
+			robotCommands.setDebugProperty("turn", "" + turn);
+			exchange.submit(robotCommands);
+
+			ExecCommands battleCommands = exchange.loadCommands();
+
+			Assert.assertSame(robotCommands, battleCommands);
+			battleCommands.setDistanceRemaining(92);
+			exchange.getTeamMessages().add(new TeamMessage("Foo", null, new byte[1], true));
+
+			ExecResults results = exchange.exchange(null, false, false, false, true);
+
+			robotCommands = results.getCommands();
+			Assert.assertNotSame(battleCommands, robotCommands);
+			Assert.assertEquals(92, robotCommands.getDistanceRemaining(), 0);
+			Assert.assertTrue(robotCommands.getDebugProperties().isEmpty());
+			Assert.assertEquals(1, results.getTeamMessages().size());
+
+			if (turn == 1) {
+				first = robotCommands;
+			} else if (turn == 3) {
+				// The released commands are reused every second turn
+				Assert.assertSame(first, robotCommands);
+			}
+		}
+	}
+
+	@Test
+	public void turnsDoNotAllocate() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+		Assume.assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+
+		Assume.assumeTrue(allocations.isThreadAllocatedMemorySupported());
+		allocations.setThreadAllocatedMemoryEnabled(true);
+
+		ExecExchange<List<Event>> exchange = new ExecExchange<List<Event>>(new ArrayList<Event>(),
+				new ArrayList<Event>());
+		BulletStatus bulletStatus = new BulletStatus(1, 0, 0, null, true);
+		StatusBlock status = new StatusBlock();
+
+		exchange.reset(new ExecCommands());
+		runTurns(exchange, bulletStatus, status, new ExecCommands(), TURNS); // warm up
+
+		long threadId = Thread.currentThread().getId();
+		long before = allocations.getThreadAllocatedBytes(threadId);
+
+		runTurns(exchange, bulletStatus, status, new ExecCommands(), TURNS);
+		double bytesPerTurn = (double) (allocations.getThreadAllocatedBytes(threadId) - before) / TURNS;
+
+		// A few commands are created when the loop starts
+		Assert.assertTrue("Allocated " + bytesPerTurn + " bytes/turn/robot", bytesPerTurn < 1);
+	}
+
+	private static void runTurns(ExecExchange<List<Event>> exchange, BulletStatus bulletStatus, StatusBlock status,
+			ExecCommands robotCommands, int turns) {
+		for (int turn = 0; turn < turns; turn++) {
+			status.publish(100, 50, 50, 0, 0, 0, 8, 0, 0, 0, 0, 0, 1, 0, 0, 10, turn);
+			robotCommands.setBodyTurnRemaining(1);
+			exchange.submit(robotCommands);
+			exchange.loadCommands().setBodyTurnRemaining(0);
+			exchange.getBulletUpdates().add(bulletStatus);
+			robotCommands = exchange.exchange(status, false, false, false, true).getCommands();
+		}
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.peer;
+
+
+import net.sf.robocode.security.HiddenAccess;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import robocode.RobotStatus;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+public class StatusBlockTest {
+
+	@BeforeClass
+	public static void init() {
+		HiddenAccess.init();
+	}
+
+	@Test
+	public void statusIsCopied() {
+		StatusBlock battle = new StatusBlock();
+		StatusBlock robot = new StatusBlock();
+
+		publish(battle, 7);
+		battle.copyTo(robot);
+
+		Assert.assertEquals(battle.getVersion(), robot.getVersion());
+		Assert.assertEquals(7, robot.getX(), 0);
+		Assert.assertEquals(7, robot.getGunHeat(), 0);
+		Assert.assertEquals(7, robot.getRoundNum());
+		Assert.assertEquals(7, robot.getTime());
+
+		RobotStatus status = robot.toRobotStatus();
+
+		Assert.assertEquals(7, status.getDistanceRemaining(), 0);
+		Assert.assertEquals(7, status.getNumSentries());
+		Assert.assertSame(status, robot.toRobotStatus());
+
+		publish(battle, 8);
+		battle.copyTo(robot);
+		Assert.assertNotSame(status, robot.toRobotStatus());
+		Assert.assertEquals(8, robot.toRobotStatus().getTime());
+
+		StatusBlock copy = new StatusBlock(robot.toRobotStatus());
+
+		Assert.assertEquals(8, copy.getEnergy(), 0);
+		Assert.assertSame(robot.toRobotStatus(), copy.toRobotStatus());
+	}
+
+	@Test
+	public void copiedStatusIsConsistent() throws InterruptedException {
+		final StatusBlock battle = new StatusBlock();
+		final AtomicBoolean stop = new AtomicBoolean();
+
+		Thread writer = new Thread(new Runnable() {
+			public void run() {
+				for (int turn = 1; !stop.get(); turn++) {
+					publish(battle, turn);
+				}
+			}
+		});
+
+		writer.start();
+		try {
+			StatusBlock robot = new StatusBlock();
+
+			for (int i = 0; i < 100000; i++) {
+				battle.copyTo(robot);
+
+				long time = robot.getTime();
+
+				Assert.assertEquals(time, (long) robot.getEnergy());
+				Assert.assertEquals(time, (long) robot.getHeadingRadians());
+				Assert.assertEquals(time, (long) robot.getDistanceRemaining());
+				Assert.assertEquals(time, robot.getOthers());
+				Assert.assertEquals(time, robot.getNumRounds());
+			}
+		} finally {
+			stop.set(true);
+			writer.join();
+		}
+	}
+
+	private static void publish(StatusBlock block, int turn) {
+		block.publish(turn, turn, turn, turn, turn, turn, turn, turn, turn, turn, turn, turn, turn, turn, turn, turn,
+				turn);
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.serialization;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+
+public class ColumnWriterTest {
+
+	@Test
+	public void exactValuesAreReadBack() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ColumnWriter writer = new ColumnWriter(out, false);
+
+		writer.writeDelta(0, Integer.MIN_VALUE);
+		writer.writeDelta(Integer.MIN_VALUE, Integer.MAX_VALUE);
+		writer.writeDelta(0.0, 123.456789, 10000);
+		writer.writeDelta(123.456789, -0.1, 10000);
+		writer.writeDelta(-0.1, Double.NaN, 10000);
+		writer.writeString("Robocode æøå");
+		writer.writeString(null);
+		writer.writeBytes(new byte[100000]);
+		writer.writeBoolean(true);
+		writer.flush();
+
+		ColumnReader reader = new ColumnReader(new ByteArrayInputStream(out.toByteArray()), false);
+
+		Assert.assertEquals(Integer.MIN_VALUE, reader.readDelta(0));
+		Assert.assertEquals(Integer.MAX_VALUE, reader.readDelta(Integer.MIN_VALUE));
+		Assert.assertEquals(123.456789, reader.readDelta(0.0, 10000), 0);
+		Assert.assertEquals(-0.1, reader.readDelta(123.456789, 10000), 0);
+		Assert.assertTrue(Double.isNaN(reader.readDelta(-0.1, 10000)));
+		Assert.assertEquals("Robocode æøå", reader.readString());
+		Assert.assertNull(reader.readString());
+		Assert.assertEquals(100000, reader.readBytes().length);
+		Assert.assertTrue(reader.readBoolean());
+	}
+
+	@Test
+	public void trimmedValuesAreRounded() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ColumnWriter writer = new ColumnWriter(out, true);
+
+		writer.writeDelta(0.0, 123.456789, 10000);
+		writer.writeDelta(123.456789, 123.456789, 10000);
+		writer.flush();
+
+		// An unchanged value takes a single byte
+		Assert.assertEquals(5, out.size());
+
+		ColumnReader reader = new ColumnReader(new ByteArrayInputStream(out.toByteArray()), true);
+		double value = reader.readDelta(0.0, 10000);
+
+		Assert.assertEquals(123.4568, value, 1e-9);
+		Assert.assertEquals(123.4568, reader.readDelta(value, 10000), 1e-9);
+	}
+
+	@Test(expected = EOFException.class)
+	public void truncatedStreamIsRejected() throws IOException {
+		new ColumnReader(new ByteArrayInputStream(new byte[] { (byte) 0x80 }), false).readVarLong();
+	}
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.serialization;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+
+public class CsvWriterTest {
+
+	@Test
+	public void valuesAreFormattedLikeStrings() throws IOException {
+		StringWriter out = new StringWriter();
+		CsvWriter writer = new CsvWriter(out, false);
+
+		writer.startDocument("header");
+		writer.writeValue(Long.MIN_VALUE);
+		writer.writeValue(0.1 + 0.2, false);
+		writer.writeValue(0.1 + 0.2, true);
+		writer.writeValue(-12.345650, true);
+		writer.writeValue(1e-7, false);
+		writer.writeValue((String) null);
+		writer.writeValue("a \"robot\"\r\n");
+		writer.writeValue(true);
+		writer.endLine();
+
+		Assert.assertEquals("header\n" + Long.MIN_VALUE + "," + (0.1 + 0.2) + ",0.3,-12.3456,1.0E-7,,a 'robot'  ,true\r\n",
+				out.toString());
+	}
+}
@@ -111,6 +111,7 @@ public class RbSerializerTest {
 		data[10] = 10;
 		ec.getTeamMessages().add(new TeamMessage("Foo", "Bar", data));
 		ec.getTeamMessages().add(new TeamMessage("Foo", "Bar", null));
+		ec.getTeamMessages().add(new TeamMessage("Foo", null, data, true));
 
 		ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
 		RbSerializer rbs = new RbSerializer();
@@ -124,6 +125,10 @@ public class RbSerializerTest {
 		Assert.assertEquals(ec2.getTeamMessages().get(0).sender, "Foo");
 		Assert.assertEquals(ec2.getTeamMessages().get(0).recipient, "Bar");
 		Assert.assertArrayEquals(ec2.getTeamMessages().get(1).message,new byte[0]);
+		Assert.assertFalse(ec2.getTeamMessages().get(0).isRaw);
+		Assert.assertTrue(ec2.getTeamMessages().get(2).isRaw);
+		Assert.assertNull(ec2.getTeamMessages().get(2).recipient);
+		Assert.assertArrayEquals(ec2.getTeamMessages().get(2).message, data);
 	}
 
 	@Test
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package robocode.util;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+import robocode.TeamRobot;
+
+import java.awt.geom.Point2D;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+
+public class MessageCodecsTest {
+
+	private static final MessageCodec<Point2D.Double> POINT = new MessageCodec<Point2D.Double>() {
+		public void encode(Point2D.Double value, ByteBuffer buffer) {
+			buffer.putDouble(value.x);
+			buffer.putDouble(value.y);
+		}
+
+		public Point2D.Double decode(ByteBuffer buffer) {
+			return new Point2D.Double(buffer.getDouble(), buffer.getDouble());
+		}
+	};
+
+	@Test
+	public void valuesAreReadBack() {
+		MessageCodecs codecs = new MessageCodecs();
+		ByteBuffer buffer = ByteBuffer.allocate(TeamRobot.MAX_MESSAGE_SIZE);
+
+		codecs.register(Point2D.Double.class, POINT);
+
+		codecs.encode(42, buffer);
+		codecs.encode(Long.MIN_VALUE, buffer);
+		codecs.encode(-0.5, buffer);
+		codecs.encode(true, buffer);
+		codecs.encode('x', buffer);
+		codecs.encode("Robocode æøå", buffer);
+		codecs.encode(null, buffer);
+		codecs.encode(new int[] { 1, -2, 3 }, buffer);
+		codecs.encode(new double[] { Math.PI, Double.NaN }, buffer);
+		codecs.encode(new byte[0], buffer);
+		codecs.encode(new Point2D.Double(10, 20), buffer);
+		buffer.flip();
+
+		Assert.assertEquals(42, codecs.decode(buffer));
+		Assert.assertEquals(Long.MIN_VALUE, codecs.decode(buffer));
+		Assert.assertEquals(-0.5, codecs.decode(buffer));
+		Assert.assertEquals(true, codecs.decode(buffer));
+		Assert.assertEquals('x', codecs.decode(buffer));
+		Assert.assertEquals("Robocode æøå", codecs.decode(buffer));
+		Assert.assertNull(codecs.decode(buffer));
+		Assert.assertArrayEquals(new int[] { 1, -2, 3 }, (int[]) codecs.decode(buffer));
+		Assert.assertArrayEquals(new double[] { Math.PI, Double.NaN }, (double[]) codecs.decode(buffer), 0);
+		Assert.assertArrayEquals(new byte[0], (byte[]) codecs.decode(buffer));
+		Assert.assertEquals(new Point2D.Double(10, 20), codecs.decode(buffer));
+		Assert.assertFalse(buffer.hasRemaining());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unregisteredClassIsRejected() {
+		new MessageCodecs().encode(new Point2D.Double(), ByteBuffer.allocate(100));
+	}
+
+	@Test(expected = BufferOverflowException.class)
+	public void tooBigMessageIsRejected() {
+		new MessageCodecs().encode(new double[TeamRobot.MAX_MESSAGE_SIZE / 8],
+				ByteBuffer.allocate(TeamRobot.MAX_MESSAGE_SIZE));
+	}
+
+	@Test(expected = BufferUnderflowException.class)
+	public void truncatedArrayIsRejected() {
+		ByteBuffer buffer = ByteBuffer.allocate(100);
+
+		new MessageCodecs().encode(new long[10], buffer);
+		buffer.flip();
+		buffer.limit(50);
+		new MessageCodecs().decode(buffer);
+	}
+}
@@ -0,0 +1,31 @@
+plugins {
+    id("net.sf.robocode.java-conventions")
+    `java-library`
+}
+
+dependencies {
+    implementation(project(":robocode.api"))
+    implementation(project(":robocode.core"))
+    implementation(project(":robocode.host"))
+    implementation("org.picocontainer:picocontainer:2.15")
+}
+
+description = "Robocode Host on virtual threads"
+
+// Virtual threads need Java 21, where the other modules are built for Java 8
+java {
+    sourceCompatibility = JavaVersion.VERSION_21
+    targetCompatibility = JavaVersion.VERSION_21
+    withJavadocJar()
+    withSourcesJar()
+}
+
+tasks {
+    javadoc {
+        source = sourceSets["main"].java
+        include("net/sf/robocode/host/virtual/Module.java")
+    }
+    jar {
+        dependsOn("javadoc")
+    }
+}
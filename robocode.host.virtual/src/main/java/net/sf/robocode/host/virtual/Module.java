@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.virtual;
+
+
+import net.sf.robocode.core.BaseModule;
+import net.sf.robocode.core.Container;
+import net.sf.robocode.host.IRobotThreadFactory;
+import net.sf.robocode.io.Logger;
+import net.sf.robocode.io.RobocodeProperties;
+
+
+/**
+ * Runs the robots on virtual threads instead of platform threads, when the VIRTUALTHREADS system property is
+ * set to true. This pays off for battles with many cheap robots, where the robots would otherwise need an OS
+ * thread each and a context switch for every turn.
+ * <p>
+ * Virtual threads have no permissions under a security manager, so the robots are only run on virtual threads
+ * when security is off, i.e. with -DNOSECURITY=true. The threads park between the turns instead of spinning,
+ * unless the TURNSPIN system property is set, as spinning would keep the few carrier threads from running
+ * the other robots.
+ *
+ * @since 1.9.5.4
+ */
+public class Module extends BaseModule {
+	static {
+		if (System.getProperty("VIRTUALTHREADS", "false").equals("true")) {
+			if (RobocodeProperties.isSecurityOn()) {
+				Logger.logWarning("Robots cannot run on virtual threads when security is on. Use -DNOSECURITY=true");
+			} else {
+				if (System.getProperty("TURNSPIN") == null) {
+					System.setProperty("TURNSPIN", "0");
+				}
+				Container.cache.addComponent(IRobotThreadFactory.class, VirtualRobotThreadFactory.class);
+			}
+		}
+	}
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.virtual;
+
+
+import net.sf.robocode.host.IRobotThreadFactory;
+
+
+/**
+ * Creates virtual threads for the robots. A virtual thread is not in the thread group of the robot, and its
+ * CPU time cannot be measured, so the robot is found by its thread, and the time the robot has been running
+ * between its turns is used as its CPU time. Virtual threads are not preempted, so this time is the time the
+ * robot has been using its carrier thread.
+ *
+ * @since 1.9.5.4
+ */
+public class VirtualRobotThreadFactory implements IRobotThreadFactory {
+
+	public Thread newThread(ThreadGroup group, Runnable runnable) {
+		// The thread is named after the robot when it starts running it
+		return Thread.ofVirtual().unstarted(runnable);
+	}
+}
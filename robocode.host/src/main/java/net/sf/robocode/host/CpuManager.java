@@ -9,11 +9,21 @@ package net.sf.robocode.host;
 
 
 import net.sf.robocode.core.Container;
+import net.sf.robocode.io.FileUtil;
 import net.sf.robocode.io.Logger;
 import net.sf.robocode.settings.ISettingsManager;
 import net.sf.robocode.ui.IWindowManager;
 import net.sf.robocode.util.JavaVersion;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Properties;
+
 
 /**
  * @author Mathew A. Nelson (original)
@@ -26,9 +36,15 @@ public class CpuManager implements ICpuManager { // NO_UCD (use default)
 	private static final int APPROXIMATE_CYCLES_ALLOWED = 6250;
 	private static final int TEST_PERIOD_MILLIS = 5000;
 
+	// The fast calibration runs a number of short trials after a warmup, where the JIT has compiled the test
+	private static final int WARMUP_MILLIS = 100;
+	private static final int TRIAL_MILLIS = 20;
+	private static final int TRIALS = 12;
+
 	private static final boolean JAVA_9_OR_NEWER = JavaVersion.getJavaMajorVersion() >= 9;
 
 	private long cpuConstant = -1;
+	private double cpuConstantVariance = -1;
 	private final ISettingsManager properties;
 
 	public CpuManager(ISettingsManager properties) { // NO_UCD (unused code)
@@ -38,33 +54,71 @@ public class CpuManager implements ICpuManager { // NO_UCD (use default)
 	public long getCpuConstant() {
 		if (cpuConstant == -1) {
 			cpuConstant = properties.getCpuConstant();
-			if (cpuConstant == -1) {
+			if (cpuConstant == -1 && !loadCachedCpuConstant()) {
 				calculateCpuConstant();
 			}
 		}
 		return cpuConstant;
 	}
 
+	public double getCpuConstantVariance() {
+		return cpuConstantVariance;
+	}
+
 	public void calculateCpuConstant() {
 		setStatus("Estimating CPU speed, please wait...");
 
-		setCpuConstant();
+		if (System.getProperty("CPUCALIBRATION", "fast").equals("full")) {
+			setCpuConstant();
+		} else {
+			setCpuConstantFast();
+		}
 		Logger.logMessage(
 				"Each robot will be allowed a maximum of " + cpuConstant + " nanoseconds per turn on this system.");
 
 		properties.setCpuConstant(cpuConstant);
 		properties.saveProperties();
+		saveCachedCpuConstant();
 
 		setStatus("");
 	}
 
 	private void setCpuConstant() {
+		long start = System.currentTimeMillis();
+		long count = runTest(TEST_PERIOD_MILLIS);
+
+		cpuConstant = toCpuConstant(count, System.currentTimeMillis() - start);
+		cpuConstantVariance = -1;
+	}
+
+	private void setCpuConstantFast() {
+		runTest(WARMUP_MILLIS);
+
+		double[] constants = new double[TRIALS];
+
+		for (int i = 0; i < TRIALS; i++) {
+			long start = System.nanoTime();
+			long count = runTest(TRIAL_MILLIS);
+
+			constants[i] = toCpuConstant(count, (System.nanoTime() - start) / 1000000.0);
+		}
+		double[] stats = computeStatistics(constants);
+
+		cpuConstant = Math.max(1, (long) stats[0]);
+		cpuConstantVariance = stats[1];
+
+		Logger.logMessage("The CPU constant was measured with a standard deviation of "
+				+ (long) Math.sqrt(cpuConstantVariance) + " nanoseconds.");
+	}
+
+	// Runs the test for the specified time, and returns the number of calculations done
+	private static long runTest(long millis) {
 		long count = 0;
 		double d = 0;
 
 		long start = System.currentTimeMillis();
 
-		while (System.currentTimeMillis() - start < TEST_PERIOD_MILLIS) {
+		while (System.currentTimeMillis() - start < millis) {
 			d += Math.hypot(Math.sqrt(Math.abs(log(Math.atan(Math.random())))), Math.cbrt(Math.abs(Math.random() * 10))) / exp(Math.random());
 			count++;
 		}
@@ -73,8 +127,146 @@ public class CpuManager implements ICpuManager { // NO_UCD (use default)
 		if (d == 0.0) {
 			Logger.logMessage("bingo!");
 		}
+		return count;
+	}
+
+	private static long toCpuConstant(long count, double millis) {
+		return Math.max(1, (long) (1000000.0 * APPROXIMATE_CYCLES_ALLOWED * millis / Math.max(1, count)));
+	}
+
+	/**
+	 * Computes the mean and variance of the measured values, where outliers are rejected using the
+	 * interquartile range. A trial is an outlier when the thread was e.g. descheduled or paused by the GC.
+	 *
+	 * @param values the measured values.
+	 * @return the mean and variance of the values, which are not outliers.
+	 */
+	static double[] computeStatistics(double[] values) {
+		double[] sorted = values.clone();
+
+		Arrays.sort(sorted);
+
+		double q1 = sorted[sorted.length / 4];
+		double q3 = sorted[(3 * sorted.length) / 4];
+		double low = q1 - 1.5 * (q3 - q1);
+		double high = q3 + 1.5 * (q3 - q1);
+
+		double sum = 0;
+		int count = 0;
+
+		for (double value : sorted) {
+			if (value >= low && value <= high) {
+				sum += value;
+				count++;
+			}
+		}
+		double mean = sum / count;
+		double squares = 0;
+
+		for (double value : sorted) {
+			if (value >= low && value <= high) {
+				squares += (value - mean) * (value - mean);
+			}
+		}
+		return new double[] { mean, count > 1 ? squares / (count - 1) : 0 };
+	}
+
+	// The measured CPU constant is reused on machines with the same JVM and CPU,
+	// which saves the calibration on e.g. new containers that share the cache file
+	private static File getCacheFile() {
+		String path = System.getProperty("CPUCACHE");
 
-		cpuConstant = Math.max(1, (long) (1000000.0 * APPROXIMATE_CYCLES_ALLOWED * TEST_PERIOD_MILLIS / count));
+		return path != null ? new File(path) : new File(FileUtil.getConfigDir(), "cpu.properties");
+	}
+
+	static String getCacheKey() {
+		String key = System.getProperty("java.vm.vendor") + '_' + System.getProperty("java.vm.version") + '_'
+				+ System.getProperty("os.arch") + '_' + getCpuModel() + '_' + Runtime.getRuntime().availableProcessors();
+
+		return key.replaceAll("[^A-Za-z0-9._-]+", "_");
+	}
+
+	private static String getCpuModel() {
+		String model = System.getenv("PROCESSOR_IDENTIFIER"); // Windows
+
+		if (model == null) {
+			File cpuInfo = new File("/proc/cpuinfo"); // Linux
+
+			if (cpuInfo.canRead()) {
+				try (BufferedReader reader = new BufferedReader(new FileReader(cpuInfo))) {
+					String line;
+
+					while ((line = reader.readLine()) != null) {
+						if (line.startsWith("model name")) {
+							model = line.substring(line.indexOf(':') + 1).trim();
+							break;
+						}
+					}
+				} catch (IOException e) {
+					Logger.logError(e);
+				}
+			}
+		}
+		return model != null ? model : "unknown";
+	}
+
+	private boolean loadCachedCpuConstant() {
+		File file = getCacheFile();
+
+		if (!file.exists()) {
+			return false;
+		}
+		Properties cache = new Properties();
+
+		try (FileInputStream in = new FileInputStream(file)) {
+			cache.load(in);
+		} catch (IOException e) {
+			Logger.logError("Could not read the CPU constant from " + file + ": " + e);
+			return false;
+		}
+		String key = getCacheKey();
+		String constant = cache.getProperty(key + ".constant");
+
+		if (constant == null) {
+			return false;
+		}
+		try {
+			cpuConstant = Long.parseLong(constant);
+			cpuConstantVariance = Double.parseDouble(cache.getProperty(key + ".variance", "-1"));
+		} catch (NumberFormatException e) {
+			Logger.logError("Invalid CPU constant in " + file + ": " + e);
+			cpuConstant = -1;
+			return false;
+		}
+		Logger.logMessage(
+				"Each robot will be allowed a maximum of " + cpuConstant + " nanoseconds per turn on this system.");
+
+		properties.setCpuConstant(cpuConstant);
+		properties.saveProperties();
+		return true;
+	}
+
+	private void saveCachedCpuConstant() {
+		File file = getCacheFile();
+		Properties cache = new Properties();
+
+		if (file.exists()) {
+			try (FileInputStream in = new FileInputStream(file)) {
+				cache.load(in);
+			} catch (IOException e) {
+				Logger.logError("Could not read the CPU constant from " + file + ": " + e);
+			}
+		}
+		String key = getCacheKey();
+
+		cache.setProperty(key + ".constant", "" + cpuConstant);
+		cache.setProperty(key + ".variance", "" + cpuConstantVariance);
+
+		try (FileOutputStream out = new FileOutputStream(file)) {
+			cache.store(out, "Robocode CPU constants per JVM and CPU");
+		} catch (IOException e) {
+			Logger.logError("Could not save the CPU constant to " + file + ": " + e);
+		}
 	}
 
 	private void setStatus(String message) {
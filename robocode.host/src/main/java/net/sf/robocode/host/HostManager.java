@@ -8,12 +8,14 @@
 package net.sf.robocode.host;
 
 
+import net.sf.robocode.host.process.RobotProcess;
 import net.sf.robocode.host.proxies.*;
 import net.sf.robocode.host.security.*;
 import net.sf.robocode.host.jarjar.JarJarURLConnection;
 import net.sf.robocode.io.Logger;
 import net.sf.robocode.io.RobocodeProperties;
 import net.sf.robocode.peer.IRobotPeer;
+import net.sf.robocode.peer.IRobotPeerSerial;
 import net.sf.robocode.repository.IRobotItem;
 import net.sf.robocode.repository.RobotType;
 import net.sf.robocode.security.HiddenAccess;
@@ -35,6 +37,9 @@ public class HostManager implements IHostManager {
 	public HostManager(ISettingsManager properties, IThreadManager threadManager) { // NO_UCD (unused code)
 		this.properties = properties;
 		this.threadManager = threadManager;
+
+		// Robots run on platform threads unless a module like robocode.host.virtual has added a thread factory
+		RobotThreadManager.setThreadFactory(Container.getComponent(IRobotThreadFactory.class));
 	}
 
 	static {
@@ -88,8 +93,22 @@ public class HostManager implements IHostManager {
 		return getHost(robotItem).getRobotType(robotItem, resolve, message);
 	}
 
+	public Integer getCodeSize(IRobotItem robotItem) {
+		return getHost(robotItem).getCodeSize(robotItem);
+	}
+
 	public IHostingRobotProxy createRobotProxy(RobotSpecification robotSpecification, RobotStatics statics, IRobotPeer peer) {
 		IRobotItem specification = (IRobotItem) HiddenAccess.getFileSpecification(robotSpecification);
+
+		if (RobotProcess.isEnabled() && peer instanceof IRobotPeerSerial) {
+			IHostingRobotProxy proxy = RobotProcess.createRobotProxy(this, robotSpecification, statics,
+					(IRobotPeerSerial) peer);
+
+			// The robot is hosted in the battle process when no robot process can host it
+			if (proxy != null) {
+				return proxy;
+			}
+		}
 		return getHost(specification).createRobotProxy(this, robotSpecification, statics, peer);
 	}
 
@@ -23,4 +23,5 @@ public interface IHost { // NO_UCD (use default)
 	IHostingRobotProxy createRobotProxy(IHostManager hostManager, RobotSpecification robotSpecification, IRobotStatics statics, IRobotPeer peer);
 	String[] getReferencedClasses(IRobotItem robotItem);
 	RobotType getRobotType(IRobotItem robotItem, boolean resolve, boolean message);
+	Integer getCodeSize(IRobotItem robotItem);
 }
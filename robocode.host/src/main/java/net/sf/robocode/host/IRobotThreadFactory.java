@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host;
+
+
+/**
+ * Creates the threads running the robots, which is a component a module can add to the container to run the
+ * robots on other threads than platform threads, like the virtual threads of the robocode.host.virtual module.
+ * Robots run on platform threads when there is no such component.
+ *
+ * @since 1.9.5.4
+ */
+public interface IRobotThreadFactory {
+
+	/**
+	 * Creates a thread running robots, which is not started.
+	 *
+	 * @param group    the thread group of the robot, which the thread does not need to belong to, as the robot is
+	 *                 also found by its thread.
+	 * @param runnable the runnable of the thread.
+	 * @return the new thread.
+	 */
+	Thread newThread(ThreadGroup group, Runnable runnable);
+}
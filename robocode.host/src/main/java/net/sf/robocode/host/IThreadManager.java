@@ -19,6 +19,25 @@ import java.io.PrintStream;
 public interface IThreadManager extends IThreadManagerBase {
 	void addThreadGroup(ThreadGroup g, IHostedThread robotProxy);
 
+	void removeThreadGroup(ThreadGroup g);
+
+	/**
+	 * Adds the thread of a robot, which is not in the thread group of the robot, like a virtual thread.
+	 *
+	 * @param t          the thread running the robot.
+	 * @param robotProxy the robot.
+	 * @since 1.9.5.4
+	 */
+	void addThread(Thread t, IHostedThread robotProxy);
+
+	/**
+	 * Removes the thread of a robot added with {@link #addThread(Thread, IHostedThread)}.
+	 *
+	 * @param t the thread running the robot.
+	 * @since 1.9.5.4
+	 */
+	void removeThread(Thread t);
+
 	IHostedThread getLoadingRobotProxy(Thread t);
 
 	IHostedThread getLoadedOrLoadingRobotProxy(Thread t);
@@ -8,6 +8,7 @@
 package net.sf.robocode.host;
 
 
+import net.sf.robocode.host.security.RobotAnalysisCache;
 import net.sf.robocode.host.security.RobotClassLoader;
 import net.sf.robocode.host.proxies.*;
 import net.sf.robocode.peer.IRobotStatics;
@@ -58,12 +59,23 @@ public class JavaHost implements IHost {
 	}
 
 	public String[] getReferencedClasses(IRobotItem robotItem) {
+		final RobotAnalysisCache analysisCache = RobotAnalysisCache.getInstance();
+		final String[] cached = analysisCache.getReferencedClasses(robotItem.getClassPathURL(),
+				robotItem.getFullClassName());
+
+		if (cached != null) {
+			return cached;
+		}
 		IRobotClassLoader loader = null;
 
 		try {
 			loader = createLoader(robotItem);
 			loader.loadRobotMainClass(true);
-			return loader.getReferencedClasses();
+			String[] referencedClasses = loader.getReferencedClasses();
+
+			analysisCache.putReferencedClasses(robotItem.getClassPathURL(), robotItem.getFullClassName(),
+					referencedClasses);
+			return referencedClasses;
 
 		} catch (ClassNotFoundException e) {
 			Logger.logError(e);
@@ -75,7 +87,18 @@ public class JavaHost implements IHost {
 		}
 	}
 
+	public Integer getCodeSize(IRobotItem robotItem) {
+		return RobotAnalysisCache.getInstance().getCodeSize(robotItem.getClassPathURL());
+	}
+
 	public RobotType getRobotType(IRobotItem robotItem, boolean resolve, boolean message) {
+		final RobotAnalysisCache analysisCache = RobotAnalysisCache.getInstance();
+		final RobotType cached = analysisCache.getRobotType(robotItem.getClassPathURL(),
+				robotItem.getFullClassName(), resolve);
+
+		if (cached != null) {
+			return cached;
+		}
 		IRobotClassLoader loader = null;
 
 		try {
@@ -86,7 +109,18 @@ public class JavaHost implements IHost {
 				// this class is not robot
 				return RobotType.INVALID;
 			}
-			return checkInterfaces(robotClass, robotItem);
+			RobotType robotType = checkInterfaces(robotClass, robotItem);
+
+			// invalid robots are not cached, so they are reported again
+			if (robotType.isValid()) {
+				analysisCache.putRobotType(robotItem.getClassPathURL(), robotItem.getFullClassName(), resolve,
+						robotType);
+				if (resolve) {
+					analysisCache.putReferencedClasses(robotItem.getClassPathURL(), robotItem.getFullClassName(),
+							loader.getReferencedClasses());
+				}
+			}
+			return robotType;
 
 		} catch (Throwable t) {
 			if (message) {
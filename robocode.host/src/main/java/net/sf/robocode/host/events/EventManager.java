@@ -11,9 +11,11 @@ package net.sf.robocode.host.events;
 import net.sf.robocode.host.proxies.BasicRobotProxy;
 import net.sf.robocode.io.Logger;
 import net.sf.robocode.io.RobocodeProperties;
+import net.sf.robocode.peer.StatusBlock;
 import net.sf.robocode.security.HiddenAccess;
 import robocode.*;
 import robocode.exception.EventInterruptedException;
+import robocode.robotinterfaces.IBasicEvents;
 import robocode.robotinterfaces.IBasicRobot;
 
 import java.util.*;
@@ -39,17 +41,23 @@ public final class EventManager implements IEventManager {
 	public final static int MAX_QUEUE_SIZE = 256;
 
 	private final List<Condition> customEvents = new CopyOnWriteArrayList<Condition>();
-	private final EventQueue eventQueue;
+	private final PriorityEventQueue eventQueue;
 
 	private final boolean[] interruptible = new boolean[MAX_PRIORITY + 1];
 	private Event currentTopEvent;
 	private int currentTopEventPriority;
 	private ScannedRobotEvent dummyScannedRobotEvent;
+	private StatusEvent dummyStatusEvent;
 	private Map<String, Event> eventNames;
 
 	private IBasicRobot robot;
 	private BasicRobotProxy robotProxy;
 
+	// The status of this turn, for which no StatusEvent has been created yet
+	private StatusBlock pendingStatus;
+	private Class<?> statusListenerClass;
+	private boolean handlesStatus;
+
 	/**
 	 * Constructs a new EventManager.
 	 *
@@ -57,7 +65,7 @@ public final class EventManager implements IEventManager {
 	 */
 	public EventManager(BasicRobotProxy robotProxy) {
 		this.robotProxy = robotProxy;
-		eventQueue = new EventQueue();
+		eventQueue = new PriorityEventQueue();
 
 		registerEventNames();
 		reset();
@@ -92,6 +100,17 @@ public final class EventManager implements IEventManager {
 		}
 	}
 
+	/**
+	 * Adds the StatusEvent of this turn to the event queue. The event is only created if the robot will see it,
+	 * i.e. if it is dispatched to an onStatus() handler of the robot, is read from the event queue by the robot,
+	 * or must wait in the event queue for an event handler to return.
+	 *
+	 * @param status is the status of the robot in this turn.
+	 */
+	public void addStatusEvent(StatusBlock status) {
+		pendingStatus = status;
+	}
+
 	/**
 	 * Adds an custom event to the event queue based on a condition.
 	 * @param condition is the condition that must be met in order to trigger the custom event.
@@ -106,6 +125,7 @@ public final class EventManager implements IEventManager {
 	 *                              {@code false} if system events should stay on the event queue.
 	 */
 	public void clearAllEvents(boolean includingSystemEvents) {
+		pendingStatus = null;
 		eventQueue.clear(includingSystemEvents);
 		// customEvents.clear(); // Custom event should not be cleared here
 	}
@@ -130,10 +150,9 @@ public final class EventManager implements IEventManager {
 	 */
 	public List<Event> getAllEvents() {
 		List<Event> events = new ArrayList<Event>();
+		addPendingStatusEvent();
 		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				events.add(e);
-			}
+			eventQueue.getAll(events);
 		}
 		return events;
 	}
@@ -144,11 +163,7 @@ public final class EventManager implements IEventManager {
 	public List<BulletHitBulletEvent> getBulletHitBulletEvents() {
 		List<BulletHitBulletEvent> events = new ArrayList<BulletHitBulletEvent>();
 		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof BulletHitBulletEvent) {
-					events.add((BulletHitBulletEvent) e);
-				}
-			}
+			eventQueue.getAll(BulletHitBulletEvent.class, events);
 		}
 		return events;
 	}
@@ -159,11 +174,7 @@ public final class EventManager implements IEventManager {
 	public List<BulletHitEvent> getBulletHitEvents() {
 		List<BulletHitEvent> events = new ArrayList<BulletHitEvent>();
 		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof BulletHitEvent) {
-					events.add((BulletHitEvent) e);
-				}
-			}
+			eventQueue.getAll(BulletHitEvent.class, events);
 		}
 		return events;
 	}
@@ -174,11 +185,7 @@ public final class EventManager implements IEventManager {
 	public List<BulletMissedEvent> getBulletMissedEvents() {
 		List<BulletMissedEvent> events = new ArrayList<BulletMissedEvent>();
 		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof BulletMissedEvent) {
-					events.add((BulletMissedEvent) e);
-				}
-			}
+			eventQueue.getAll(BulletMissedEvent.class, events);
 		}
 		return events;
 	}
@@ -189,11 +196,7 @@ public final class EventManager implements IEventManager {
 	public List<HitByBulletEvent> getHitByBulletEvents() {
 		List<HitByBulletEvent> events = new ArrayList<HitByBulletEvent>();
 		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof HitByBulletEvent) {
-					events.add((HitByBulletEvent) e);
-				}
-			}
+			eventQueue.getAll(HitByBulletEvent.class, events);
 		}
 		return events;
 	}
@@ -205,11 +208,7 @@ public final class EventManager implements IEventManager {
 		List<HitRobotEvent> events = new ArrayList<HitRobotEvent>();
 
 		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof HitRobotEvent) {
-					events.add((HitRobotEvent) e);
-				}
-			}
+			eventQueue.getAll(HitRobotEvent.class, events);
 		}
 		return events;
 	}
@@ -220,11 +219,7 @@ public final class EventManager implements IEventManager {
 	public List<HitWallEvent> getHitWallEvents() {
 		List<HitWallEvent> events = new ArrayList<HitWallEvent>();
 		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof HitWallEvent) {
-					events.add((HitWallEvent) e);
-				}
-			}
+			eventQueue.getAll(HitWallEvent.class, events);
 		}
 		return events;
 	}
@@ -235,11 +230,7 @@ public final class EventManager implements IEventManager {
 	public List<RobotDeathEvent> getRobotDeathEvents() {
 		List<RobotDeathEvent> events = new ArrayList<RobotDeathEvent>();
 		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof RobotDeathEvent) {
-					events.add((RobotDeathEvent) e);
-				}
-			}
+			eventQueue.getAll(RobotDeathEvent.class, events);
 		}
 		return events;
 	}
@@ -250,11 +241,7 @@ public final class EventManager implements IEventManager {
 	public List<ScannedRobotEvent> getScannedRobotEvents() {
 		List<ScannedRobotEvent> events = new ArrayList<ScannedRobotEvent>();
 		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof ScannedRobotEvent) {
-					events.add((ScannedRobotEvent) e);
-				}
-			}
+			eventQueue.getAll(ScannedRobotEvent.class, events);
 		}
 		return events;
 	}
@@ -265,11 +252,7 @@ public final class EventManager implements IEventManager {
 	public List<MessageEvent> getMessageEvents() {
 		List<MessageEvent> events = new ArrayList<MessageEvent>();
 		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof MessageEvent) {
-					events.add((MessageEvent) e);
-				}
-			}
+			eventQueue.getAll(MessageEvent.class, events);
 		}
 		return events;
 	}
@@ -279,12 +262,9 @@ public final class EventManager implements IEventManager {
 	 */
 	public List<StatusEvent> getStatusEvents() {
 		List<StatusEvent> events = new ArrayList<StatusEvent>();
+		addPendingStatusEvent();
 		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof StatusEvent) {
-					events.add((StatusEvent) e);
-				}
-			}
+			eventQueue.getAll(StatusEvent.class, events);
 		}
 		return events;
 	}
@@ -349,12 +329,18 @@ public final class EventManager implements IEventManager {
 			}
 		}
 
-		// Sort the events based on the time and priority of the events
-		eventQueue.sort();
-
 		// Process event queue here
+		try {
+			processEventQueue();
+		} finally {
+			// The status event stays in the event queue, if it was not dispatched
+			addPendingStatusEvent();
+		}
+	}
+
+	private void processEventQueue() {
 		Event currentEvent;
-		while ((currentEvent = (eventQueue.size() > 0) ? eventQueue.get(0) : null) != null
+		while ((currentEvent = nextEvent()) != null
 				&& currentEvent.getPriority() >= currentTopEventPriority) {
 
 			if (currentEvent.getPriority() == currentTopEventPriority) {
@@ -373,7 +359,7 @@ public final class EventManager implements IEventManager {
 			currentTopEventPriority = currentEvent.getPriority();
 			currentTopEvent = currentEvent;
 
-			eventQueue.remove(currentEvent);
+			eventQueue.poll();
 			try {
 				dispatch(currentEvent);
 
@@ -393,6 +379,62 @@ public final class EventManager implements IEventManager {
 		}
 	}
 
+	/**
+	 * Returns the next event to dispatch. If the status event of this turn is next, and dispatching it
+	 * would not call the robot, the status event is dropped without being created.
+	 */
+	private Event nextEvent() {
+		Event next = eventQueue.peek();
+
+		if (pendingStatus != null) {
+			final int priority = dummyStatusEvent.getPriority();
+
+			// The status event is added in this turn, before the other events of this turn
+			if (next == null || next.getTime() > getTime()
+					|| (next.getTime() == getTime() && next.getPriority() <= priority)) {
+				if (priority > currentTopEventPriority && !handlesStatus()) {
+					pendingStatus = null;
+				} else {
+					addPendingStatusEvent();
+					next = eventQueue.peek();
+				}
+			}
+		}
+		return next;
+	}
+
+	private void addPendingStatusEvent() {
+		if (pendingStatus != null) {
+			final StatusEvent event = new StatusEvent(pendingStatus.toRobotStatus());
+
+			pendingStatus = null;
+			add(event);
+		}
+	}
+
+	/**
+	 * Checks if the robot has an onStatus() handler, i.e. does not use the empty handler of {@link Robot}.
+	 */
+	private boolean handlesStatus() {
+		final IBasicEvents listener = (robot != null) ? robot.getBasicEventListener() : null;
+
+		if (listener == null) {
+			return false;
+		}
+		if (listener.getClass() != statusListenerClass) {
+			try {
+				handlesStatus = listener.getClass().getMethod("onStatus", StatusEvent.class).getDeclaringClass()
+						!= Robot.class;
+			} catch (NoSuchMethodException e) {
+				handlesStatus = true;
+			} catch (SecurityException e) {
+				handlesStatus = true;
+			}
+			statusListenerClass = listener.getClass();
+		}
+		return handlesStatus;
+	}
+
 	/**
 	 * Checks if the user's condition for a custom event is satisfied.
 	 * @param condition is the condition to check.
@@ -546,7 +588,8 @@ public final class EventManager implements IEventManager {
 		registerEventNames(new RoundEndedEvent(0, 0, 0));
 		registerEventNames(dummyScannedRobotEvent);
 		registerEventNames(new SkippedTurnEvent(0));
-		registerEventNames(new StatusEvent(null));
+		dummyStatusEvent = new StatusEvent(null);
+		registerEventNames(dummyStatusEvent);
 		registerEventNames(new WinEvent());
 
 		// same as any line above but for custom event
@@ -12,7 +12,6 @@ import net.sf.robocode.security.HiddenAccess;
 import robocode.Event;
 
 import java.util.ArrayList;
-import java.util.Collections;
 
 
 /**
@@ -27,27 +26,26 @@ public class EventQueue extends ArrayList<Event> {
 			super.clear();
 			return;
 		}
-
-		for (int i = 0; i < size(); i++) {
-			Event e = get(i);
-
-			if (!HiddenAccess.isCriticalEvent(e)) {
-				remove(i--);
-			}
-		}
+		removeOlderThan(Long.MAX_VALUE);
 	}
 
 	public void clear(long clearTime) {
+		removeOlderThan(clearTime);
+	}
+
+	// Moves the events to keep to the front in one pass, instead of removing the other events one by one
+	private void removeOlderThan(long clearTime) {
+		int kept = 0;
+
 		for (int i = 0; i < size(); i++) {
 			Event e = get(i);
 
-			if ((e.getTime() <= clearTime) && !HiddenAccess.isCriticalEvent(e)) {
-				remove(i--);
+			if ((e.getTime() > clearTime) || HiddenAccess.isCriticalEvent(e)) {
+				set(kept++, e);
 			}
 		}
-	}
-
-	void sort() {
-		Collections.sort(this);
+		if (kept < size()) {
+			subList(kept, size()).clear();
+		}
 	}
 }
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.events;
+
+
+import net.sf.robocode.security.HiddenAccess;
+import robocode.Event;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * The event queue of a robot, which keeps the events in one bucket per priority and indexes them by class,
+ * so the next event is found without sorting the queue, and the events of a class without scanning it.
+ * <p>
+ * The events are kept in the order of {@link Event#compareTo(Event)}, i.e. by time, then by priority, where
+ * events that compare equal keep the order they were added in. Each bucket is sorted by itself, as events
+ * of the same priority are added in order of time, and the next event is the first event of the bucket with
+ * the earliest and highest priority first event.
+ *
+ * @since 1.9.5.4
+ */
+final class PriorityEventQueue {
+
+	// The priorities go from -1 for the DeathEvent to 110 for the RoundEndedEvent
+	private static final int MIN_PRIORITY = -1;
+	private static final int BUCKET_COUNT = 128;
+
+	private final Bucket[] buckets = new Bucket[BUCKET_COUNT];
+
+	// A bit for each bucket that holds events
+	private final long[] usedBuckets = new long[BUCKET_COUNT / 64];
+
+	// The number of events of each class in each bucket
+	private final Map<Class<?>, int[]> classCounts = new IdentityHashMap<Class<?>, int[]>();
+
+	private int size;
+
+	PriorityEventQueue() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			buckets[i] = new Bucket();
+		}
+	}
+
+	int size() {
+		return size;
+	}
+
+	void add(Event event) {
+		final int index = bucketIndex(event.getPriority());
+
+		buckets[index].add(event);
+		usedBuckets[index >> 6] |= 1L << index;
+		count(event, index, 1);
+		size++;
+	}
+
+	/**
+	 * Returns the next event without removing it.
+	 *
+	 * @return the next event, or {@code null} if the queue is empty.
+	 */
+	Event peek() {
+		final int index = nextBucket();
+
+		return index >= 0 ? buckets[index].peek() : null;
+	}
+
+	/**
+	 * Removes the next event.
+	 *
+	 * @return the removed event, or {@code null} if the queue is empty.
+	 */
+	Event poll() {
+		final int index = nextBucket();
+
+		if (index < 0) {
+			return null;
+		}
+		final Event event = buckets[index].poll();
+
+		removed(event, index);
+		return event;
+	}
+
+	/**
+	 * Removes all events, or all events but the critical events.
+	 *
+	 * @param includingSystemEvents {@code true} if the critical events must be removed as well.
+	 */
+	void clear(boolean includingSystemEvents) {
+		if (includingSystemEvents) {
+			for (Bucket bucket : buckets) {
+				bucket.clear();
+			}
+			Arrays.fill(usedBuckets, 0);
+			classCounts.clear();
+			size = 0;
+		} else {
+			removeOlderThan(Long.MAX_VALUE);
+		}
+	}
+
+	/**
+	 * Removes the events that are not critical and occurred at or before a specific time.
+	 *
+	 * @param clearTime the time of the latest events to remove.
+	 */
+	void clear(long clearTime) {
+		removeOlderThan(clearTime);
+	}
+
+	/**
+	 * Adds all events to a list in the order they are dispatched in.
+	 *
+	 * @param result the list to add the events to.
+	 */
+	void getAll(List<Event> result) {
+		final int start = result.size();
+
+		for (Bucket bucket : buckets) {
+			result.addAll(Arrays.asList(bucket.events).subList(bucket.head, bucket.tail));
+		}
+		Collections.sort(result.subList(start, result.size()));
+	}
+
+	/**
+	 * Adds the events of a class and its subclasses to a list, ordered by priority and then by time.
+	 *
+	 * @param type   the class of the events.
+	 * @param result the list to add the events to.
+	 * @param <T>    the type of the events.
+	 */
+	<T extends Event> void getAll(Class<T> type, List<T> result) {
+		final int[] counts = new int[BUCKET_COUNT];
+		boolean found = false;
+
+		for (Map.Entry<Class<?>, int[]> entry : classCounts.entrySet()) {
+			if (type.isAssignableFrom(entry.getKey())) {
+				final int[] classCount = entry.getValue();
+
+				for (int i = 0; i < BUCKET_COUNT; i++) {
+					counts[i] += classCount[i];
+				}
+				found = true;
+			}
+		}
+		if (!found) {
+			return;
+		}
+		for (int i = BUCKET_COUNT - 1; i >= 0; i--) {
+			if (counts[i] > 0) {
+				final Bucket bucket = buckets[i];
+
+				for (int j = bucket.head; j < bucket.tail; j++) {
+					if (type.isInstance(bucket.events[j])) {
+						result.add(type.cast(bucket.events[j]));
+					}
+				}
+			}
+		}
+	}
+
+	// Returns the bucket holding the next event, which is the bucket with the earliest first event, where the
+	// bucket with the highest priority goes first when the first events occurred at the same time
+	private int nextBucket() {
+		int next = -1;
+		long nextTime = 0;
+
+		for (int word = usedBuckets.length - 1; word >= 0; word--) {
+			long bits = usedBuckets[word];
+
+			while (bits != 0) {
+				final int bit = 63 - Long.numberOfLeadingZeros(bits);
+				final int index = (word << 6) + bit;
+				final long time = buckets[index].peek().getTime();
+
+				if (next < 0 || time < nextTime) {
+					next = index;
+					nextTime = time;
+				}
+				bits &= ~(1L << bit);
+			}
+		}
+		return next;
+	}
+
+	private void removeOlderThan(long clearTime) {
+		for (int index = 0; index < BUCKET_COUNT; index++) {
+			final Bucket bucket = buckets[index];
+
+			if (bucket.isEmpty()) {
+				continue;
+			}
+			int kept = bucket.head;
+
+			for (int i = bucket.head; i < bucket.tail; i++) {
+				final Event event = bucket.events[i];
+
+				if (event.getTime() <= clearTime && !HiddenAccess.isCriticalEvent(event)) {
+					count(event, index, -1);
+					size--;
+				} else {
+					bucket.events[kept++] = event;
+				}
+			}
+			Arrays.fill(bucket.events, kept, bucket.tail, null);
+			bucket.tail = kept;
+			if (bucket.isEmpty()) {
+				bucket.clear();
+				usedBuckets[index >> 6] &= ~(1L << index);
+			}
+		}
+	}
+
+	private void removed(Event event, int index) {
+		if (buckets[index].isEmpty()) {
+			usedBuckets[index >> 6] &= ~(1L << index);
+		}
+		count(event, index, -1);
+		size--;
+	}
+
+	private void count(Event event, int index, int delta) {
+		int[] counts = classCounts.get(event.getClass());
+
+		if (counts == null) {
+			counts = new int[BUCKET_COUNT];
+			classCounts.put(event.getClass(), counts);
+		}
+		counts[index] += delta;
+	}
+
+	private static int bucketIndex(int priority) {
+		return Math.max(0, Math.min(BUCKET_COUNT - 1, priority - MIN_PRIORITY));
+	}
+
+	/**
+	 * The events of one priority, kept in order from the head to the tail of an array.
+	 */
+	private static final class Bucket {
+		Event[] events = new Event[8];
+		int head;
+		int tail;
+
+		boolean isEmpty() {
+			return head == tail;
+		}
+
+		void add(Event event) {
+			if (tail == events.length) {
+				if (head > 0) {
+					System.arraycopy(events, head, events, 0, tail - head);
+					Arrays.fill(events, tail - head, tail, null);
+					tail -= head;
+					head = 0;
+				} else {
+					events = Arrays.copyOf(events, events.length * 2);
+				}
+			}
+			// The events are usually added in order, so they are rarely moved
+			int i = tail++;
+
+			while (i > head && event.compareTo(events[i - 1]) < 0) {
+				events[i] = events[i - 1];
+				i--;
+			}
+			events[i] = event;
+		}
+
+		Event peek() {
+			return events[head];
+		}
+
+		Event poll() {
+			final Event event = events[head];
+
+			events[head++] = null;
+			if (head == tail) {
+				head = 0;
+				tail = 0;
+			}
+			return event;
+		}
+
+		void clear() {
+			Arrays.fill(events, head, tail, null);
+			head = 0;
+			tail = 0;
+		}
+	}
+}
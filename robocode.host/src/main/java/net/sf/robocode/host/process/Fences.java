@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.process;
+
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+
+/**
+ * Memory fences for the memory shared with another process, which is accessed with plain accesses.
+ * <p>
+ * The fences of VarHandle are used when the JVM has them, i.e. from Java 9. On Java 8, the same fences of
+ * sun.misc.Unsafe are used instead, which are only looked up by reflection, so nothing is compiled against
+ * sun.misc.
+ *
+ * @since 1.9.5.4
+ */
+final class Fences {
+
+	private static final MethodType FENCE_TYPE = MethodType.methodType(void.class);
+
+	private static final MethodHandle RELEASE_FENCE;
+	private static final MethodHandle ACQUIRE_FENCE;
+
+	static {
+		MethodHandle release;
+		MethodHandle acquire;
+
+		try {
+			final Class<?> varHandle = Class.forName("java.lang.invoke.VarHandle");
+			final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+			release = lookup.findStatic(varHandle, "releaseFence", FENCE_TYPE);
+			acquire = lookup.findStatic(varHandle, "acquireFence", FENCE_TYPE);
+		} catch (ClassNotFoundException e) {
+			final Object unsafe = getUnsafe();
+
+			release = findUnsafeFence(unsafe, "storeFence");
+			acquire = findUnsafeFence(unsafe, "loadFence");
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+		RELEASE_FENCE = release;
+		ACQUIRE_FENCE = acquire;
+	}
+
+	private Fences() {}
+
+	/**
+	 * Keeps the loads and stores before the fence from being reordered with the stores after it, so the other
+	 * process sees the data before it sees a position that is stored after it.
+	 */
+	static void releaseFence() {
+		invoke(RELEASE_FENCE);
+	}
+
+	/**
+	 * Keeps the loads before the fence from being reordered with the loads and stores after it, so the data
+	 * written by the other process is not accessed before the position that was loaded before it.
+	 */
+	static void acquireFence() {
+		invoke(ACQUIRE_FENCE);
+	}
+
+	// The fences throw nothing, but invokeExact() is declared to throw any Throwable
+	private static void invoke(MethodHandle fence) {
+		try {
+			fence.invokeExact();
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new IllegalStateException(t);
+		}
+	}
+
+	private static Object getUnsafe() {
+		try {
+			final Field field = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+
+			field.setAccessible(true);
+			return field.get(null);
+		} catch (Exception e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private static MethodHandle findUnsafeFence(Object unsafe, String name) {
+		try {
+			return MethodHandles.lookup().findVirtual(unsafe.getClass(), name, FENCE_TYPE).bindTo(unsafe);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+}
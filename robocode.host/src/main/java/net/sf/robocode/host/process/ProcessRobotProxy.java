@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.process;
+
+
+import net.sf.robocode.host.IHostManager;
+import net.sf.robocode.host.RobotStatics;
+import net.sf.robocode.host.proxies.IHostingRobotProxy;
+import net.sf.robocode.io.Logger;
+import net.sf.robocode.peer.BadBehavior;
+import net.sf.robocode.peer.ExecCommands;
+import net.sf.robocode.peer.ExecResults;
+import net.sf.robocode.peer.IRobotPeerSerial;
+import net.sf.robocode.serialization.RbSerializer;
+import robocode.RobotStatus;
+import robocode.control.RobotSpecification;
+import robocode.exception.AbortedException;
+import robocode.exception.DeathException;
+import robocode.exception.DisabledException;
+import robocode.exception.WinException;
+import robocode.robotinterfaces.IBasicRobot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * The proxy of a robot hosted in a robot process, which is used by the battle like the proxy of a robot hosted
+ * in the battle process.
+ * <p>
+ * The commands of the robot are taken by a thread of this proxy, which acts as the robot thread towards the
+ * robot peer. It hands the commands to the peer in their serialized form, and writes back the results or the
+ * exception thrown by the peer. When the robot process has ended, the thread acts like a robot that does
+ * nothing for the rest of the battle.
+ *
+ * @since 1.9.5.4
+ */
+final class ProcessRobotProxy implements IHostingRobotProxy, Runnable {
+
+	// The time between checks for the proxy being cleaned up, while no commands are written
+	private static final long POLL_NANOS = 100000000L;
+
+	private static final long LOAD_TIMEOUT_NANOS = 60000000000L;
+	private static final long REQUEST_TIMEOUT_NANOS = 10000000000L;
+	private static final long WRITE_TIMEOUT_NANOS = 10000000000L;
+	private static final long STOP_TIMEOUT_NANOS = 1000000000L;
+
+	private static final int MAX_MESSAGE_LENGTH = 1000;
+
+	private final IHostManager hostManager;
+	private final RobotProcess process;
+	private final SharedChannel.Slot slot;
+	private final IRobotPeerSerial peer;
+
+	// Used by the battle thread only
+	private final RbSerializer serializer = new RbSerializer();
+	private final ByteBuffer reply;
+	private String name;
+	private Thread thread;
+
+	// The tag of the current round, and of the round the battle has stopped the robot in
+	private volatile int round;
+	private volatile int stoppedRound;
+
+	private volatile boolean isCleanedUp;
+
+	ProcessRobotProxy(IHostManager hostManager, RobotProcess process, SharedChannel.Slot slot, IRobotPeerSerial peer) {
+		this.hostManager = hostManager;
+		this.process = process;
+		this.slot = slot;
+		this.peer = peer;
+
+		reply = slot.allocateSmall();
+	}
+
+	/**
+	 * Loads the robot in the robot process. The slot is given back when the robot can not be loaded.
+	 *
+	 * @return true if the robot has been loaded; false otherwise.
+	 */
+	boolean load(RobotSpecification robotSpecification, RobotStatics statics) {
+		final String robot = robotSpecification.getNameAndVersion();
+		final ByteBuffer data = ByteBuffer.allocate(serializer.sizeOf(robot) + RbSerializer.SIZEOF_INT
+				+ RbSerializer.SIZEOF_LONG + serializer.sizeOf(RbSerializer.RobotStatics_TYPE, statics));
+
+		// The commands written while the robot is loaded belong to the first round
+		round = slot.nextTag();
+
+		name = statics.getName();
+		serializer.serialize(data, robot);
+		serializer.serialize(data, round);
+		serializer.serialize(data, peer.getRandom().nextLong()); // the seed of the random numbers of the robot
+		serializer.serialize(data, RbSerializer.RobotStatics_TYPE, statics);
+		data.flip();
+
+		final int result = request(SharedChannel.LOAD, data, LOAD_TIMEOUT_NANOS);
+
+		if (result != SharedChannel.DONE) {
+			process.releaseSlot(slot.index, result == SharedChannel.FAILED);
+			return false;
+		}
+		return true;
+	}
+
+	// -----------
+	// called on battle thread
+	// -----------
+
+	public void startRound(ExecCommands commands, RobotStatus status) {
+		if (thread == null) {
+			thread = new Thread(this);
+			thread.setDaemon(true);
+			thread.setPriority(Thread.NORM_PRIORITY - 1);
+			hostManager.addSafeThread(thread);
+			thread.start();
+		} else {
+			round = slot.nextTag();
+		}
+		final ByteBuffer data = ByteBuffer.allocate(serializer.sizeOf(RbSerializer.ExecCommands_TYPE, commands)
+				+ serializer.sizeOf(RbSerializer.RobotStatus_TYPE, status));
+
+		serializer.serialize(data, RbSerializer.ExecCommands_TYPE, commands);
+		serializer.serialize(data, RbSerializer.RobotStatus_TYPE, status);
+		data.flip();
+
+		if (slot.requests.write(SharedChannel.START_ROUND, round, data, WRITE_TIMEOUT_NANOS)) {
+			process.wakeUp();
+		}
+		// Lets the thread act like a robot doing nothing in this round, if the robot process has ended
+		LockSupport.unpark(thread);
+	}
+
+	public void waitForStopThread() {
+		// The robot stops when its commands are no longer waiting for the next turn
+		stoppedRound = round;
+		if (thread != null) {
+			thread.interrupt();
+		}
+		final int result = request(SharedChannel.STOP, null, REQUEST_TIMEOUT_NANOS);
+
+		if (result == SharedRing.NONE && process.isAlive()) {
+			Logger.logError("Robot " + name + " is not stopping in its robot process.");
+			peer.punishBadBehavior(BadBehavior.UNSTOPPABLE);
+			peer.setRunning(false);
+			return;
+		}
+		// The robot has told that it is no longer running before the reply was written
+		final long deadline = System.nanoTime() + STOP_TIMEOUT_NANOS;
+
+		while (peer.isRunning() && System.nanoTime() < deadline) {
+			LockSupport.parkNanos(this, 1000000);
+		}
+	}
+
+	public void cleanup() {
+		isCleanedUp = true;
+		if (thread != null) {
+			thread.interrupt();
+		}
+		final int result = request(SharedChannel.CLEANUP, null, REQUEST_TIMEOUT_NANOS);
+
+		process.releaseSlot(slot.index, result == SharedChannel.DONE || result == SharedChannel.FAILED);
+	}
+
+	public long getCpuTime() {
+		return -1; // the robot peer measures the time the robot has been running instead
+	}
+
+	public IBasicRobot getRobotObject() {
+		return null;
+	}
+
+	// Writes a request and waits for its reply, which is DONE, FAILED, or NONE if there is none within the timeout
+	private int request(int type, ByteBuffer data, long timeoutNanos) {
+		final int tag = slot.nextTag();
+
+		if (!slot.requests.write(type, tag, data, WRITE_TIMEOUT_NANOS)) {
+			return SharedRing.NONE;
+		}
+		process.wakeUp();
+
+		final long deadline = System.nanoTime() + timeoutNanos;
+
+		for (long remaining = timeoutNanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+			final int result = slot.replies.read(reply, remaining);
+
+			if (result == SharedRing.NONE || result == SharedRing.CLOSED) {
+				break;
+			}
+			// Replies to earlier requests that were given up on are skipped
+			if (slot.replies.getTag() == tag) {
+				return result;
+			}
+		}
+		return SharedRing.NONE;
+	}
+
+	// -----------
+	// called on robot thread
+	// -----------
+
+	public void forceStopThread() {
+		// The robot is stopped by the robot process, which does not reply as this thread can't wait for it
+		if (slot.requests.write(SharedChannel.FORCE_STOP, round, null, WRITE_TIMEOUT_NANOS)) {
+			process.wakeUp();
+		}
+	}
+
+	public void run() {
+		peer.setupThread();
+
+		final ByteBuffer buffer = slot.allocateLarge();
+		final ByteBuffer exception = slot.allocateSmall();
+		final RbSerializer serializer = new RbSerializer();
+		int idleRound = 0;
+
+		peer.setupBuffer(buffer);
+
+		try {
+			while (!isCleanedUp) {
+				if (slot.commands.isClosed() || !process.isAlive()) {
+					// The robot process has ended, so the robot does nothing once in every round
+					final int current = round;
+
+					if (current != idleRound) {
+						idleRound = current;
+						runIdle(current);
+					} else {
+						LockSupport.parkNanos(this, POLL_NANOS);
+					}
+					continue;
+				}
+				final int type = slot.commands.read(buffer, POLL_NANOS);
+
+				// Commands left behind by the robot in an earlier round are skipped
+				if (type <= 0 || slot.commands.getTag() != round) {
+					continue;
+				}
+				try {
+					switch (type) {
+					case SharedChannel.EXECUTE:
+					case SharedChannel.WAIT_FOR_BATTLE_END:
+						execute(type, buffer, exception, serializer);
+						break;
+
+					case SharedChannel.DRAIN_ENERGY:
+						peer.drainEnergy();
+						break;
+
+					case SharedChannel.PUNISH:
+						peer.punishBadBehavior(BadBehavior.values()[buffer.getInt()]);
+						break;
+
+					case SharedChannel.SET_RUNNING:
+						peer.setRunning(buffer.get() != 0);
+						break;
+					}
+				} catch (RuntimeException e) {
+					Logger.logError("Bad command from the robot process", e);
+				}
+			}
+		} finally {
+			hostManager.removeSafeThread(Thread.currentThread());
+		}
+	}
+
+	private void execute(int type, ByteBuffer buffer, ByteBuffer exception, RbSerializer serializer) {
+		final int tag = round;
+
+		// The robot thread is interrupted when the battle stops the robot, which ends the wait for the next turn
+		Thread.interrupted();
+		if (stoppedRound == tag) {
+			Thread.currentThread().interrupt();
+		}
+		int kind;
+		String message = null;
+
+		try {
+			if (type == SharedChannel.EXECUTE) {
+				peer.executeImplSerial();
+			} else {
+				peer.waitForBattleEndImplSerial();
+			}
+			buffer.flip();
+			slot.results.write(SharedChannel.RESULTS, tag, buffer, WRITE_TIMEOUT_NANOS);
+			return;
+		} catch (WinException e) {
+			kind = SharedChannel.WIN;
+		} catch (DeathException e) {
+			kind = SharedChannel.DEATH;
+		} catch (AbortedException e) {
+			kind = SharedChannel.ABORTED;
+		} catch (DisabledException e) {
+			kind = SharedChannel.DISABLED;
+			message = e.getMessage();
+		} catch (IOException e) {
+			kind = SharedChannel.ERROR;
+			message = e.toString();
+		} catch (RuntimeException e) {
+			kind = SharedChannel.ERROR;
+			message = e.toString(); // like the results being too big for the ring
+		}
+		if (message != null && message.length() > MAX_MESSAGE_LENGTH) {
+			message = message.substring(0, MAX_MESSAGE_LENGTH);
+		}
+		exception.clear();
+		exception.putInt(kind);
+		serializer.serialize(exception, message);
+		exception.flip();
+		slot.results.write(SharedChannel.EXCEPTION, tag, exception, WRITE_TIMEOUT_NANOS);
+	}
+
+	// Acts like a robot that can't start, which waits for the end of the round
+	private void runIdle(int tag) {
+		Thread.interrupted();
+		if (stoppedRound == tag) {
+			Thread.currentThread().interrupt();
+		}
+		peer.drainEnergy();
+		try {
+			ExecResults results;
+
+			do {
+				results = peer.waitForBattleEndImpl(new ExecCommands());
+			} while (!results.isHalt() && results.isShouldWait() && !isCleanedUp && round == tag);
+		} catch (RuntimeException e) {
+			Logger.logError(e);
+		}
+		peer.setRunning(false);
+	}
+}
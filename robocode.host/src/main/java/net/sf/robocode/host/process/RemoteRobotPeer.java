@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.process;
+
+
+import net.sf.robocode.peer.BadBehavior;
+import net.sf.robocode.peer.ExecCommands;
+import net.sf.robocode.peer.ExecResults;
+import net.sf.robocode.peer.IRobotPeer;
+import net.sf.robocode.serialization.RbSerializer;
+import robocode.exception.AbortedException;
+import robocode.exception.DeathException;
+import robocode.exception.DisabledException;
+import robocode.exception.RobotException;
+import robocode.exception.WinException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+
+/**
+ * The peer of a robot hosted in a robot process, which sends the commands of the robot to the peer of the robot
+ * in the battle process, and waits for the results.
+ *
+ * @since 1.9.5.4
+ */
+final class RemoteRobotPeer implements IRobotPeer {
+
+	private static final long WRITE_TIMEOUT_NANOS = 10000000000L;
+
+	private final SharedChannel.Slot slot;
+	private final Random random;
+
+	// Used by the robot thread only
+	private final RbSerializer serializer = new RbSerializer();
+	private final ByteBuffer results;
+	private ByteBuffer commands = ByteBuffer.allocateDirect(4096);
+
+	private volatile int round;
+	private volatile boolean isRunning;
+
+	RemoteRobotPeer(SharedChannel.Slot slot, int round, long seed) {
+		this.slot = slot;
+		this.round = round;
+		this.random = new Random(seed);
+
+		results = slot.allocateLarge();
+	}
+
+	/**
+	 * Sets the round the commands written from now on belong to.
+	 *
+	 * @param round the tag of the round.
+	 */
+	void setRound(int round) {
+		this.round = round;
+	}
+
+	public void drainEnergy() {
+		send(SharedChannel.DRAIN_ENERGY, null);
+	}
+
+	public void punishBadBehavior(BadBehavior badBehavior) {
+		final ByteBuffer data = ByteBuffer.allocate(RbSerializer.SIZEOF_INT);
+
+		data.putInt(badBehavior.ordinal());
+		data.flip();
+		send(SharedChannel.PUNISH, data);
+	}
+
+	public void setRunning(boolean value) {
+		final ByteBuffer data = ByteBuffer.allocate(RbSerializer.SIZEOF_BOOL);
+
+		isRunning = value;
+		data.put((byte) (value ? 1 : 0));
+		data.flip();
+		send(SharedChannel.SET_RUNNING, data);
+	}
+
+	public boolean isRunning() {
+		return isRunning;
+	}
+
+	public Random getRandom() {
+		return random;
+	}
+
+	public ExecResults executeImpl(ExecCommands newCommands) {
+		return exchange(SharedChannel.EXECUTE, newCommands);
+	}
+
+	public ExecResults waitForBattleEndImpl(ExecCommands newCommands) {
+		return exchange(SharedChannel.WAIT_FOR_BATTLE_END, newCommands);
+	}
+
+	private void send(int type, ByteBuffer data) {
+		slot.commands.write(type, round, data, WRITE_TIMEOUT_NANOS);
+	}
+
+	private ExecResults exchange(int type, ExecCommands newCommands) {
+		final int tag = round;
+
+		try {
+			serialize(newCommands);
+			if (!slot.commands.write(type, tag, commands, WRITE_TIMEOUT_NANOS)) {
+				throw new AbortedException(); // the battle process has ended
+			}
+			while (true) {
+				// Waits for the results even when interrupted, like the robot peer in the battle process does
+				final int result = slot.results.read(results, Long.MAX_VALUE);
+
+				if (result == SharedRing.CLOSED) {
+					throw new AbortedException();
+				}
+				// Results left behind for the robot in an earlier round are skipped
+				if (slot.results.getTag() != tag) {
+					continue;
+				}
+				if (result == SharedChannel.RESULTS) {
+					return (ExecResults) serializer.deserialize(results);
+				}
+				if (result == SharedChannel.EXCEPTION) {
+					throw createException(results.getInt(), serializer.deserializeString(results));
+				}
+			}
+		} catch (IOException e) {
+			throw new RobotException(e.toString());
+		}
+	}
+
+	private void serialize(ExecCommands newCommands) throws IOException {
+		final int maxLength = slot.commands.getMaxLength();
+		int length = serializer.sizeOf(RbSerializer.ExecCommands_TYPE, newCommands) + 3 * RbSerializer.SIZEOF_INT;
+
+		if (length > maxLength) {
+			// The painting of the turn is left out, like the painting of a robot going over its painting buffer
+			newCommands.setGraphicsCalls(new byte[0]);
+			length = serializer.sizeOf(RbSerializer.ExecCommands_TYPE, newCommands) + 3 * RbSerializer.SIZEOF_INT;
+			if (length > maxLength) {
+				throw new RobotException("The commands of the turn are too big. " + length + ">" + maxLength);
+			}
+		}
+		if (commands.capacity() < length) {
+			commands = ByteBuffer.allocateDirect(Math.min(Math.max(length, 2 * commands.capacity()), maxLength));
+		}
+		commands.clear();
+		serializer.serializeToBuffer(commands, RbSerializer.ExecCommands_TYPE, newCommands);
+		commands.flip();
+	}
+
+	private static Error createException(int kind, String message) {
+		switch (kind) {
+		case SharedChannel.WIN:
+			return new WinException();
+
+		case SharedChannel.DEATH:
+			return new DeathException();
+
+		case SharedChannel.ABORTED:
+			return new AbortedException();
+
+		case SharedChannel.DISABLED:
+			return new DisabledException(message);
+
+		default:
+			return new RobotException(message);
+		}
+	}
+}
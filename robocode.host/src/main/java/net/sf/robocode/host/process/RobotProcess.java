@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.process;
+
+
+import net.sf.robocode.host.IHostManager;
+import net.sf.robocode.host.RobotStatics;
+import net.sf.robocode.host.proxies.IHostingRobotProxy;
+import net.sf.robocode.io.FileUtil;
+import net.sf.robocode.io.Logger;
+import net.sf.robocode.peer.IRobotPeerSerial;
+import robocode.control.RobotSpecification;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A robot process, which is a JVM hosting robots for the battle process, so a robot that crashes its JVM or
+ * runs it out of memory does not take down the battle. The robots are hosted by RobotProcessHost, and talk to
+ * the battle through the memory shared with the battle process.
+ * <p>
+ * A robot process hosts up to ROBOTSPERPROCESS robots (16 by default), and is kept for the next battles when
+ * its robots have been cleaned up. The robot process ends when the battle process ends, which it notices by
+ * the end of its standard input, which the battle process also uses to wake up the robot process when it has
+ * written a request.
+ *
+ * @since 1.9.5.4
+ */
+public final class RobotProcess {
+
+	private static final int DEFAULT_SLOT_COUNT = 16;
+
+	private static final long START_TIMEOUT_MILLIS = 60000;
+
+	// The system properties passed on to the robot processes
+	private static final String[] PROPERTIES = {
+		"NOSECURITY", "debug", "TESTING", "EXPERIMENTAL", "logMessages", "logErrors", "TURNSPIN", "ROBOTPATH",
+		"java.security.manager", "java.security.policy"
+	};
+
+	// Guarded by itself
+	private static final List<RobotProcess> processes = new ArrayList<RobotProcess>();
+
+	private final File file;
+	private final Process process;
+	private final SharedChannel channel;
+	private final OutputStream pipe;
+
+	// Guarded by processes
+	private final boolean[] usedSlots;
+
+	private volatile boolean isAlive = true;
+
+	private RobotProcess(File file, Process process, SharedChannel channel) {
+		this.file = file;
+		this.process = process;
+		this.channel = channel;
+		this.pipe = process.getOutputStream();
+		this.usedSlots = new boolean[channel.getSlotCount()];
+	}
+
+	/**
+	 * Checks if robots are hosted in robot processes, i.e. that the ROBOTPROCESS property has been set to
+	 * <code>true</code>.
+	 *
+	 * @return true if robots are hosted in robot processes; false if they are hosted in the battle process.
+	 */
+	public static boolean isEnabled() {
+		return System.getProperty("ROBOTPROCESS", "false").equals("true");
+	}
+
+	/**
+	 * Creates a proxy for a robot hosted in a robot process, and starts a robot process if all are in use.
+	 *
+	 * @return the proxy, or {@code null} if the robot could not be hosted in a robot process, in which case it
+	 *         should be hosted in the battle process.
+	 */
+	public static IHostingRobotProxy createRobotProxy(IHostManager hostManager, RobotSpecification robotSpecification,
+			RobotStatics statics, IRobotPeerSerial peer) {
+		RobotProcess process = null;
+		int slot = -1;
+
+		try {
+			synchronized (processes) {
+				for (RobotProcess p : processes) {
+					slot = p.takeSlot();
+					if (slot >= 0) {
+						process = p;
+						break;
+					}
+				}
+				if (process == null) {
+					process = start();
+					processes.add(process);
+					slot = process.takeSlot();
+				}
+			}
+			final ProcessRobotProxy proxy = new ProcessRobotProxy(hostManager, process, process.channel.getSlot(slot),
+					peer);
+
+			if (proxy.load(robotSpecification, statics)) {
+				return proxy;
+			}
+			Logger.logWarning("Can't load " + statics.getName() + " in a robot process");
+		} catch (IOException e) {
+			Logger.logWarning("Can't start a robot process: " + e);
+		}
+		return null;
+	}
+
+	private static RobotProcess start() throws IOException {
+		final File file = File.createTempFile("robocode", ".robots");
+
+		file.deleteOnExit();
+
+		final SharedChannel channel = SharedChannel.create(file, Integer.getInteger("ROBOTSPERPROCESS",
+				DEFAULT_SLOT_COUNT));
+		final ProcessBuilder builder = new ProcessBuilder(getCommand(file));
+
+		builder.directory(FileUtil.getCwd());
+		builder.redirectOutput(ProcessBuilder.Redirect.INHERIT);
+		builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+
+		final Process process = builder.start();
+		final long deadline = System.currentTimeMillis() + START_TIMEOUT_MILLIS;
+
+		try {
+			while (!channel.isReady()) {
+				if (!process.isAlive() || System.currentTimeMillis() > deadline) {
+					throw new IOException("The robot process did not start");
+				}
+				Thread.sleep(10);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while starting the robot process");
+		} catch (IOException e) {
+			process.destroy();
+			file.delete();
+			throw e;
+		}
+		final RobotProcess robotProcess = new RobotProcess(file, process, channel);
+		final Thread watchdog = new Thread(new Runnable() {
+			public void run() {
+				robotProcess.awaitExit();
+			}
+		}, "Robot process watchdog");
+
+		watchdog.setDaemon(true);
+		watchdog.start();
+
+		return robotProcess;
+	}
+
+	private static List<String> getCommand(File file) {
+		final List<String> command = new ArrayList<String>();
+
+		command.add(new File(System.getProperty("java.home"), "bin" + File.separator + "java").getPath());
+
+		// Options like the memory and the opened modules, but not the debugger and agents of the battle process
+		for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+			if (argument.startsWith("--add-") || argument.startsWith("-XX:")
+					|| (argument.startsWith("-X") && !argument.startsWith("-Xrun") && !argument.startsWith("-Xdebug")
+					&& !argument.startsWith("-Xdock"))) {
+				command.add(argument);
+			}
+		}
+		for (String property : PROPERTIES) {
+			final String value = System.getProperty(property);
+
+			if (value != null) {
+				command.add("-D" + property + '=' + value);
+			}
+		}
+		command.add("-DWORKINGDIRECTORY=" + FileUtil.getCwd().getPath());
+		command.add("-Djava.awt.headless=true");
+		command.add("-cp");
+		command.add(System.getProperty("robocode.class.path", System.getProperty("java.class.path")));
+		command.add(RobotProcessMain.class.getName());
+		command.add(file.getPath());
+
+		return command;
+	}
+
+	private void awaitExit() {
+		boolean interrupted = false;
+
+		while (true) {
+			try {
+				final int exitValue = process.waitFor();
+
+				if (exitValue != 0) {
+					Logger.logWarning("The robot process ended with exit code " + exitValue);
+				}
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		isAlive = false;
+		channel.close();
+		file.delete();
+
+		synchronized (processes) {
+			processes.remove(this);
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Checks if the robot process is running.
+	 *
+	 * @return true if the robot process is running; false if it has ended.
+	 */
+	boolean isAlive() {
+		return isAlive;
+	}
+
+	/**
+	 * Wakes up the robot process, which reads the requests written to all slots.
+	 */
+	void wakeUp() {
+		synchronized (pipe) {
+			try {
+				pipe.write(1);
+				pipe.flush();
+			} catch (IOException e) {
+				// The robot process has ended, which the watchdog notices
+			}
+		}
+	}
+
+	// Must be called while holding the lock on processes
+	private int takeSlot() {
+		if (isAlive) {
+			for (int i = 0; i < usedSlots.length; i++) {
+				if (!usedSlots[i]) {
+					usedSlots[i] = true;
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Gives back the slot of a robot that has been cleaned up.
+	 *
+	 * @param slot    the index of the slot.
+	 * @param isClean true if the robot process has cleaned up the robot; false if the slot should not be used
+	 *                again, as the robot might still write to it.
+	 */
+	void releaseSlot(int slot, boolean isClean) {
+		if (isClean) {
+			synchronized (processes) {
+				usedSlots[slot] = false;
+			}
+		}
+	}
+}
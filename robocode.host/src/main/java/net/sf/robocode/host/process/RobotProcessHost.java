@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.process;
+
+
+import net.sf.robocode.host.IHostManager;
+import net.sf.robocode.host.RobotStatics;
+import net.sf.robocode.host.proxies.IHostingRobotProxy;
+import net.sf.robocode.io.Logger;
+import net.sf.robocode.peer.ExecCommands;
+import net.sf.robocode.repository.IRepositoryManager;
+import net.sf.robocode.serialization.RbSerializer;
+import robocode.RobotStatus;
+import robocode.control.RobotSpecification;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+
+/**
+ * Hosts robots for the battle process in a robot process. The requests of the battle for a robot, like starting
+ * a round, are handled one after the other by a thread of the robot, as handling them can take a while, like
+ * stopping a robot that does not want to stop.
+ *
+ * @since 1.9.5.4
+ */
+public final class RobotProcessHost {
+
+	private static final long WRITE_TIMEOUT_NANOS = 10000000000L;
+
+	private final IHostManager hostManager;
+	private final IRepositoryManager repositoryManager;
+
+	public RobotProcessHost(IHostManager hostManager, IRepositoryManager repositoryManager) { // NO_UCD (unused code)
+		this.hostManager = hostManager;
+		this.repositoryManager = repositoryManager;
+	}
+
+	/**
+	 * Hosts robots until the battle process has ended.
+	 *
+	 * @param fileName the file with the memory shared with the battle process.
+	 * @param pipe     the standard input of the robot process, which the battle process writes to when it has
+	 *                 written requests, and which ends when the battle process ends.
+	 * @throws IOException if the shared memory can not be opened.
+	 */
+	public void run(String fileName, InputStream pipe) throws IOException {
+		hostManager.initSecurity();
+
+		final SharedChannel channel = SharedChannel.open(new File(fileName));
+		final HostedRobot[] robots = new HostedRobot[channel.getSlotCount()];
+
+		for (int i = 0; i < robots.length; i++) {
+			robots[i] = new HostedRobot(channel.getSlot(i));
+		}
+		channel.setReady();
+
+		final byte[] bytes = new byte[256];
+
+		while (pipe.read(bytes) >= 0) {
+			for (HostedRobot robot : robots) {
+				robot.takeRequests();
+			}
+		}
+	}
+
+	/**
+	 * A slot of the shared memory, and the robot hosted in it.
+	 */
+	private final class HostedRobot implements ThreadFactory {
+		private final SharedChannel.Slot slot;
+		private final ByteBuffer request;
+		private final ExecutorService executor;
+
+		// Used by the thread of the executor only
+		private final RbSerializer serializer = new RbSerializer();
+		private RemoteRobotPeer peer;
+		private IHostingRobotProxy proxy;
+
+		HostedRobot(SharedChannel.Slot slot) {
+			this.slot = slot;
+
+			request = slot.allocateSmall();
+			executor = Executors.newSingleThreadExecutor(this);
+		}
+
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread(runnable, "Robot process slot " + slot.index);
+
+			thread.setDaemon(true);
+			return thread;
+		}
+
+		void takeRequests() {
+			int type;
+
+			while ((type = slot.requests.read(request, 0)) > 0) {
+				final int requestType = type;
+				final int tag = slot.requests.getTag();
+				final ByteBuffer data = ByteBuffer.allocate(request.remaining());
+
+				data.put(request);
+				data.flip();
+
+				executor.execute(new Runnable() {
+					public void run() {
+						handle(requestType, tag, data);
+					}
+				});
+			}
+		}
+
+		private void handle(int type, int tag, ByteBuffer data) {
+			try {
+				switch (type) {
+				case SharedChannel.LOAD:
+					reply(tag, load(data));
+					break;
+
+				case SharedChannel.START_ROUND:
+					if (proxy != null) {
+						final ExecCommands commands = (ExecCommands) serializer.deserializeAny(data);
+						final RobotStatus status = (RobotStatus) serializer.deserializeAny(data);
+
+						peer.setRound(tag);
+						proxy.startRound(commands, status);
+					}
+					break;
+
+				case SharedChannel.STOP:
+					if (proxy != null) {
+						proxy.waitForStopThread();
+					}
+					reply(tag, true);
+					break;
+
+				case SharedChannel.FORCE_STOP:
+					if (proxy != null) {
+						proxy.forceStopThread();
+					}
+					break;
+
+				case SharedChannel.CLEANUP:
+					if (proxy != null) {
+						proxy.cleanup();
+					}
+					proxy = null;
+					peer = null;
+					reply(tag, true);
+					break;
+				}
+			} catch (RuntimeException e) {
+				Logger.logError(e);
+				reply(tag, false);
+			}
+		}
+
+		private boolean load(ByteBuffer data) {
+			final String name = serializer.deserializeString(data);
+			final int round = serializer.deserializeInt(data);
+			final long seed = serializer.deserializeLong(data);
+			final RobotStatics statics = (RobotStatics) serializer.deserializeAny(data);
+
+			RobotSpecification[] specifications = repositoryManager.loadSelectedRobots(name);
+
+			if (specifications.length != 1) {
+				// The robot might have been added to the repository of the battle process after this one was loaded
+				repositoryManager.refresh(false);
+				specifications = repositoryManager.loadSelectedRobots(name);
+				if (specifications.length != 1) {
+					return false;
+				}
+			}
+			peer = new RemoteRobotPeer(slot, round, seed);
+			proxy = (IHostingRobotProxy) hostManager.createRobotProxy(specifications[0], statics, peer);
+			return true;
+		}
+
+		private void reply(int tag, boolean done) {
+			slot.replies.write(done ? SharedChannel.DONE : SharedChannel.FAILED, tag, null, WRITE_TIMEOUT_NANOS);
+		}
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.process;
+
+
+import net.sf.robocode.core.Container;
+import net.sf.robocode.io.Logger;
+import net.sf.robocode.security.HiddenAccess;
+
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+
+/**
+ * The main class of a robot process, which is started by the battle process with the file of the memory shared
+ * with it as argument.
+ *
+ * @since 1.9.5.4
+ */
+public final class RobotProcessMain {
+
+	private RobotProcessMain() {}
+
+	public static void main(String[] args) {
+		// Taken before anything else can replace it
+		final InputStream pipe = System.in;
+
+		if (args.length != 1) {
+			Logger.logError("Usage: RobotProcessMain <file>");
+			System.exit(1);
+		}
+		HiddenAccess.initContainer();
+
+		// Here we cross transition to the RobotProcessHost loaded by the EngineClassLoader
+		final Object host = Container.cache.getComponent("robocode.host.process");
+		int exitCode = 0;
+
+		try {
+			final Method run = host.getClass().getMethod("run", String.class, InputStream.class);
+
+			run.invoke(host, args[0], pipe);
+		} catch (InvocationTargetException e) {
+			Logger.logError(e.getCause());
+			exitCode = 1;
+		} catch (Exception e) {
+			Logger.logError(e);
+			exitCode = 1;
+		}
+		System.exit(exitCode);
+	}
+}
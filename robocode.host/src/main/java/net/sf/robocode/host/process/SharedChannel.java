@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.process;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * The memory shared by the battle process and a robot process, which is a memory mapped file with a slot for
+ * each robot the robot process can host. Each slot has four rings:
+ * <ul>
+ * <li>commands, written by the robot and read by the battle, like the commands of a turn;</li>
+ * <li>results, written by the battle and read by the robot, which are the results of the commands;</li>
+ * <li>requests, written by the battle and read by the robot process, like starting a round;</li>
+ * <li>replies, written by the robot process and read by the battle, telling that a request is done.</li>
+ * </ul>
+ * The commands and results are tagged with the round they belong to, and the requests and replies with the
+ * number of the request, so messages left behind by a robot that was stopped are told apart.
+ *
+ * @since 1.9.5.4
+ */
+final class SharedChannel {
+
+	// commands
+	static final int EXECUTE = 1;
+	static final int WAIT_FOR_BATTLE_END = 2;
+	static final int DRAIN_ENERGY = 3;
+	static final int PUNISH = 4;
+	static final int SET_RUNNING = 5;
+
+	// results
+	static final int RESULTS = 6;
+	static final int EXCEPTION = 7;
+
+	// requests
+	static final int LOAD = 8;
+	static final int START_ROUND = 9;
+	static final int STOP = 10;
+	static final int FORCE_STOP = 11;
+	static final int CLEANUP = 12;
+
+	// replies
+	static final int DONE = 13;
+	static final int FAILED = 14;
+
+	// The exceptions thrown by the battle for commands, sent with an EXCEPTION result
+	static final int WIN = 1;
+	static final int DEATH = 2;
+	static final int ABORTED = 3;
+	static final int DISABLED = 4;
+	static final int ERROR = 5;
+
+	// The commands and results of a turn can be large, like the painting of a robot, but the requests are small
+	private static final int LARGE_CAPACITY = 1 << 20;
+	private static final int SMALL_CAPACITY = 1 << 16;
+
+	private static final int MAGIC = 0x52424843;
+	private static final int MAGIC_OFFSET = 0;
+	private static final int SLOTS_OFFSET = 4;
+	private static final int LARGE_OFFSET = 8;
+	private static final int SMALL_OFFSET = 12;
+	private static final int READY_OFFSET = 16;
+	private static final int HEADER_SIZE = 4096;
+
+	private final ByteBuffer memory;
+	private final Slot[] slots;
+
+	private SharedChannel(ByteBuffer memory, int slotCount, int largeCapacity, int smallCapacity) {
+		this.memory = memory;
+		slots = new Slot[slotCount];
+
+		final int largeSize = SharedRing.sizeOf(largeCapacity);
+		final int smallSize = SharedRing.sizeOf(smallCapacity);
+		int offset = HEADER_SIZE;
+
+		for (int i = 0; i < slotCount; i++) {
+			final SharedRing commands = new SharedRing(slice(offset, largeSize));
+			final SharedRing results = new SharedRing(slice(offset + largeSize, largeSize));
+			final SharedRing requests = new SharedRing(slice(offset + 2 * largeSize, smallSize));
+			final SharedRing replies = new SharedRing(slice(offset + 2 * largeSize + smallSize, smallSize));
+
+			slots[i] = new Slot(i, commands, results, requests, replies);
+			offset += 2 * largeSize + 2 * smallSize;
+		}
+	}
+
+	/**
+	 * Creates the shared memory in a file, which is done by the battle process.
+	 *
+	 * @param file      the file, which is made as large as needed.
+	 * @param slotCount the number of robots the robot process can host.
+	 * @return the shared memory.
+	 * @throws IOException if the file can not be mapped.
+	 */
+	static SharedChannel create(File file, int slotCount) throws IOException {
+		final long size = HEADER_SIZE
+				+ (long) slotCount * (2 * SharedRing.sizeOf(LARGE_CAPACITY) + 2 * SharedRing.sizeOf(SMALL_CAPACITY));
+
+		if (slotCount <= 0 || size > Integer.MAX_VALUE) {
+			throw new IOException("Can't share memory with " + slotCount + " robots");
+		}
+		final ByteBuffer memory = map(file, size);
+
+		memory.putInt(MAGIC_OFFSET, MAGIC);
+		memory.putInt(SLOTS_OFFSET, slotCount);
+		memory.putInt(LARGE_OFFSET, LARGE_CAPACITY);
+		memory.putInt(SMALL_OFFSET, SMALL_CAPACITY);
+
+		return new SharedChannel(memory, slotCount, LARGE_CAPACITY, SMALL_CAPACITY);
+	}
+
+	/**
+	 * Opens the shared memory created by the battle process, which is done by the robot process.
+	 *
+	 * @param file the file.
+	 * @return the shared memory.
+	 * @throws IOException if the file can not be mapped, or was not created by the battle process.
+	 */
+	static SharedChannel open(File file) throws IOException {
+		final ByteBuffer memory = map(file, file.length());
+
+		if (memory.capacity() < HEADER_SIZE || memory.getInt(MAGIC_OFFSET) != MAGIC) {
+			throw new IOException("Not a robot process file: " + file);
+		}
+		final int slotCount = memory.getInt(SLOTS_OFFSET);
+		final int largeCapacity = memory.getInt(LARGE_OFFSET);
+		final int smallCapacity = memory.getInt(SMALL_OFFSET);
+
+		if (largeCapacity != LARGE_CAPACITY || smallCapacity != SMALL_CAPACITY || slotCount <= 0
+				|| HEADER_SIZE + (long) slotCount * (2 * SharedRing.sizeOf(largeCapacity)
+				+ 2 * SharedRing.sizeOf(smallCapacity)) > memory.capacity()) {
+			throw new IOException("Not a robot process file: " + file);
+		}
+		return new SharedChannel(memory, slotCount, largeCapacity, smallCapacity);
+	}
+
+	private static ByteBuffer map(File file, long size) throws IOException {
+		final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+
+		try {
+			if (raf.length() < size) {
+				raf.setLength(size);
+			}
+			return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+		} finally {
+			// The mapping stays valid when the file is closed
+			raf.close();
+		}
+	}
+
+	private ByteBuffer slice(int offset, int size) {
+		final ByteBuffer slice = memory.duplicate();
+
+		slice.position(offset);
+		slice.limit(offset + size);
+		return slice.slice();
+	}
+
+	int getSlotCount() {
+		return slots.length;
+	}
+
+	Slot getSlot(int index) {
+		return slots[index];
+	}
+
+	/**
+	 * Tells the battle process that the robot process is ready to host robots.
+	 */
+	void setReady() {
+		memory.putInt(READY_OFFSET, 1);
+	}
+
+	boolean isReady() {
+		return memory.getInt(READY_OFFSET) == 1;
+	}
+
+	/**
+	 * Closes all the rings, which ends the waits of this process.
+	 */
+	void close() {
+		for (Slot slot : slots) {
+			slot.commands.close();
+			slot.results.close();
+			slot.requests.close();
+			slot.replies.close();
+		}
+	}
+
+	/**
+	 * The rings used for a robot.
+	 */
+	static final class Slot {
+		final int index;
+		final SharedRing commands;
+		final SharedRing results;
+		final SharedRing requests;
+		final SharedRing replies;
+
+		// The tags of the requests and rounds, which are not used again by the next robot in the slot
+		private final AtomicInteger tags = new AtomicInteger();
+
+		Slot(int index, SharedRing commands, SharedRing results, SharedRing requests, SharedRing replies) {
+			this.index = index;
+			this.commands = commands;
+			this.results = results;
+			this.requests = requests;
+			this.replies = replies;
+		}
+
+		/**
+		 * Returns a new tag for a request or a round, which is done by the battle process.
+		 *
+		 * @return the tag.
+		 */
+		int nextTag() {
+			return tags.incrementAndGet();
+		}
+
+		/**
+		 * Creates a buffer large enough for any message of the commands and results.
+		 *
+		 * @return the buffer.
+		 */
+		ByteBuffer allocateLarge() {
+			return ByteBuffer.allocateDirect(commands.getMaxLength());
+		}
+
+		/**
+		 * Creates a buffer large enough for any message of the requests and replies.
+		 *
+		 * @return the buffer.
+		 */
+		ByteBuffer allocateSmall() {
+			return ByteBuffer.allocate(requests.getMaxLength());
+		}
+	}
+}
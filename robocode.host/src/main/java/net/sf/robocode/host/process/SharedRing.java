@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.process;
+
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * A ring buffer of messages in memory shared by two processes, where one process writes the messages and the
+ * other reads them. There is no way to signal the other process, so each side polls the positions of the
+ * other side, first spinning and then parking with a growing delay.
+ * <p>
+ * The ring starts with the position written up to, followed by the position read up to on its own cache line,
+ * followed by the records. Each record has a header with its type, the length of its data, and a tag like the
+ * round the message belongs to. A record never wraps around the end of the ring, which is filled up with a
+ * padding record instead.
+ * <p>
+ * The shared memory is accessed with plain accesses, which are ordered by {@link Fences}. The position written
+ * up to is stored after a release fence, so the reading side sees the record when it sees the position, and is
+ * loaded before an acquire fence, so the record is not read before the position. Likewise, the position read up
+ * to is stored after the record has been read, and loaded before the record is overwritten.
+ * <p>
+ * The writing and the reading side each take a lock, so several threads of a process can write or read the
+ * same ring. The data written by the other process is checked before it is used, so a broken or hostile
+ * process can not make the reading process fail in other ways than by seeing the ring as closed.
+ *
+ * @since 1.9.5.4
+ */
+final class SharedRing {
+
+	/**
+	 * Returned by read() when no message was written within the timeout.
+	 */
+	static final int NONE = 0;
+
+	/**
+	 * Returned by read() when the ring is closed, e.g. because the other process has ended.
+	 */
+	static final int CLOSED = -1;
+
+	private static final int PADDING = Integer.MAX_VALUE;
+
+	private static final int WRITE_POSITION = 0;
+	private static final int READ_POSITION = 64;
+	private static final int HEADER_SIZE = 128;
+	private static final int RECORD_HEADER_SIZE = 16;
+
+	private static final int SPIN_BUDGET = Integer.getInteger("TURNSPIN",
+			Runtime.getRuntime().availableProcessors() > 1 ? 1000 : 0);
+
+	// Waits are done in short slices first, as the other process usually answers within a turn
+	private static final long MIN_PARK_NANOS = 1000;
+	private static final long MAX_SHORT_PARK_NANOS = 100000;
+	private static final long MAX_PARK_NANOS = 1000000;
+	private static final long SHORT_WAIT_NANOS = 10000000;
+
+	private final ByteBuffer buffer;
+	private final int capacity;
+	private final Object writeLock = new Object();
+	private final Object readLock = new Object();
+
+	private volatile boolean closed;
+
+	// Guarded by readLock
+	private int tag;
+
+	/**
+	 * Creates a ring on the shared memory.
+	 *
+	 * @param memory the shared memory, which starts with the positions, followed by the records. The
+	 *               size of the records must be a power of 2.
+	 */
+	SharedRing(ByteBuffer memory) {
+		buffer = memory.duplicate();
+		capacity = buffer.capacity() - HEADER_SIZE;
+		if (capacity < 2 * RECORD_HEADER_SIZE || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("The size of the records must be a power of 2: " + capacity);
+		}
+	}
+
+	/**
+	 * Returns the size of the shared memory needed by a ring.
+	 *
+	 * @param capacity the size of the records, which must be a power of 2.
+	 * @return the size in bytes.
+	 */
+	static int sizeOf(int capacity) {
+		return HEADER_SIZE + capacity;
+	}
+
+	/**
+	 * Returns the largest data of a message, which is half the size of the records, so a message always fits
+	 * when the ring is empty.
+	 *
+	 * @return the size in bytes.
+	 */
+	int getMaxLength() {
+		return capacity / 2 - RECORD_HEADER_SIZE;
+	}
+
+	/**
+	 * Closes the ring, which ends the waits of this process. The other process is not notified.
+	 */
+	void close() {
+		closed = true;
+	}
+
+	boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Writes a message, and waits for the reading side to make room for it if the ring is full.
+	 *
+	 * @param type         the type of the message, which must be positive.
+	 * @param tag          the tag of the message.
+	 * @param data         the data of the message from its position to its limit, which is not changed.
+	 * @param timeoutNanos the maximum time to wait for room.
+	 * @return {@code true} if the message was written; {@code false} if the ring is closed or there was no room.
+	 */
+	boolean write(int type, int tag, ByteBuffer data, long timeoutNanos) {
+		final int length = data != null ? data.remaining() : 0;
+
+		if (length > getMaxLength()) {
+			throw new IllegalArgumentException("Message too big. " + length + ">" + getMaxLength());
+		}
+		final int size = align(RECORD_HEADER_SIZE + length);
+
+		synchronized (writeLock) {
+			long write = buffer.getLong(WRITE_POSITION);
+			int index = (int) write & (capacity - 1);
+			final int padding = capacity - index < size ? capacity - index : 0;
+
+			if (!awaitRoom(write + padding + size, timeoutNanos)) {
+				return false;
+			}
+			if (padding > 0) {
+				putHeader(index, PADDING, padding - RECORD_HEADER_SIZE, 0);
+				write += padding;
+				index = 0;
+			}
+			putHeader(index, type, length, tag);
+			if (length > 0) {
+				final ByteBuffer target = buffer.duplicate();
+
+				target.position(HEADER_SIZE + index + RECORD_HEADER_SIZE);
+				target.put(data.duplicate());
+			}
+			// The record must be written before the position is moved past it
+			Fences.releaseFence();
+			buffer.putLong(WRITE_POSITION, write + size);
+		}
+		return true;
+	}
+
+	/**
+	 * Reads the next message, and waits for it to be written if the ring is empty. Waiting is not ended by
+	 * interrupts, but the interrupted status of the thread is kept.
+	 *
+	 * @param data         the buffer to read the data of the message into, which is cleared, and flipped when
+	 *                     the data has been read.
+	 * @param timeoutNanos the maximum time to wait for a message.
+	 * @return the type of the message, {@link #NONE} if no message was written within the timeout, or
+	 *         {@link #CLOSED} if the ring is closed or the other process broke it.
+	 */
+	int read(ByteBuffer data, long timeoutNanos) {
+		synchronized (readLock) {
+			while (true) {
+				long read = buffer.getLong(READ_POSITION);
+
+				if (!awaitMessage(read, timeoutNanos)) {
+					return closed ? CLOSED : NONE;
+				}
+				final long available = writePosition() - read;
+				final int index = (int) read & (capacity - 1);
+				final int type = buffer.getInt(HEADER_SIZE + index);
+				final int length = buffer.getInt(HEADER_SIZE + index + 4);
+				final int size = length >= 0 && length <= capacity ? align(RECORD_HEADER_SIZE + length) : -1;
+
+				if (type <= 0 || size < 0 || size > available || available > capacity || size > capacity - index
+						|| (type != PADDING && length > data.capacity())) {
+					closed = true; // broken by the other process
+					return CLOSED;
+				}
+				read += size;
+				if (type == PADDING) {
+					putRead(read);
+					continue;
+				}
+				final ByteBuffer source = buffer.duplicate();
+
+				source.position(HEADER_SIZE + index + RECORD_HEADER_SIZE);
+				source.limit(source.position() + length);
+				data.clear();
+				data.put(source);
+				data.flip();
+				tag = buffer.getInt(HEADER_SIZE + index + 8);
+
+				putRead(read);
+				return type;
+			}
+		}
+	}
+
+	/**
+	 * Returns the tag of the message read last.
+	 *
+	 * @return the tag.
+	 */
+	int getTag() {
+		synchronized (readLock) {
+			return tag;
+		}
+	}
+
+	private void putHeader(int index, int type, int length, int tag) {
+		buffer.putInt(HEADER_SIZE + index, type);
+		buffer.putInt(HEADER_SIZE + index + 4, length);
+		buffer.putInt(HEADER_SIZE + index + 8, tag);
+	}
+
+	private void putRead(long read) {
+		// The record must be read before the position is moved past it, as it is overwritten then
+		Fences.acquireFence();
+		buffer.putLong(READ_POSITION, read);
+	}
+
+	private boolean awaitRoom(long end, long timeoutNanos) {
+		final Waiter waiter = new Waiter(timeoutNanos);
+
+		try {
+			while (end - readPosition() > capacity) {
+				if (!waiter.await()) {
+					return false;
+				}
+			}
+		} finally {
+			waiter.done();
+		}
+		return !closed;
+	}
+
+	private boolean awaitMessage(long read, long timeoutNanos) {
+		final Waiter waiter = new Waiter(timeoutNanos);
+
+		try {
+			while (writePosition() == read) {
+				if (!waiter.await()) {
+					return false;
+				}
+			}
+		} finally {
+			waiter.done();
+		}
+		return !closed;
+	}
+
+	// The acquire fence after the position keeps the records from being accessed before it, and the position from
+	// being loaded only once for all the waiting
+	private long readPosition() {
+		final long position = buffer.getLong(READ_POSITION);
+
+		Fences.acquireFence();
+		return position;
+	}
+
+	private long writePosition() {
+		final long position = buffer.getLong(WRITE_POSITION);
+
+		Fences.acquireFence();
+		return position;
+	}
+
+	private static int align(int size) {
+		return (size + RECORD_HEADER_SIZE - 1) & -RECORD_HEADER_SIZE;
+	}
+
+	// Spins, and then parks the thread with a growing delay
+	private final class Waiter {
+		private final long start = System.nanoTime();
+		private final long timeoutNanos;
+		private int spins;
+		private long parkNanos = MIN_PARK_NANOS;
+		private boolean interrupted;
+
+		Waiter(long timeoutNanos) {
+			this.timeoutNanos = timeoutNanos;
+		}
+
+		boolean await() {
+			final long waited = System.nanoTime() - start;
+
+			if (closed || waited >= timeoutNanos) {
+				return false;
+			}
+			if (spins < SPIN_BUDGET) {
+				spins++;
+				return true;
+			}
+			// A pending interrupt would end every park right away, so it is cleared until the wait is done
+			interrupted |= Thread.interrupted();
+
+			LockSupport.parkNanos(this, Math.min(parkNanos, timeoutNanos - waited));
+			parkNanos = Math.min(2 * parkNanos, waited < SHORT_WAIT_NANOS ? MAX_SHORT_PARK_NANOS : MAX_PARK_NANOS);
+			return true;
+		}
+
+		void done() {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
@@ -46,7 +46,7 @@ public class BasicRobotProxy extends HostingRobotProxy implements IBasicRobotPee
 
 	private IGraphicsProxy graphicsProxy;
 
-	private RobotStatus status;
+	private StatusBlock status;
 	private boolean isDisabled;
 	protected ExecCommands commands;
 	private ExecResults execResults;
@@ -77,7 +77,7 @@ public class BasicRobotProxy extends HostingRobotProxy implements IBasicRobotPee
 	}
 
 	protected void initializeRound(ExecCommands commands, RobotStatus status) {
-		updateStatus(commands, status);
+		updateStatus(commands, new StatusBlock(status));
 
 		eventManager.reset();
 		eventManager.add(new StatusEvent(status)); // Start event
@@ -379,14 +379,14 @@ public class BasicRobotProxy extends HostingRobotProxy implements IBasicRobotPee
 		// Call server
 		execResults = peer.executeImpl(commands);
 
-		updateStatus(execResults.getCommands(), execResults.getStatus());
+		updateStatus(execResults.getCommands(), execResults.getStatusBlock());
 
 		graphicsProxy.setPaintingEnabled(execResults.isPaintEnabled());
 		firedEnergy = 0;
 		firedHeat = 0;
 
 		// add new events
-		eventManager.add(new StatusEvent(execResults.getStatus()));
+		eventManager.addStatusEvent(status);
 		if (statics.isPaintRobot() && execResults.isPaintEnabled()) {
 			// Add paint event, if robot is a paint robot and its painting is enabled
 			eventManager.add(new PaintEvent());
@@ -441,7 +441,7 @@ public class BasicRobotProxy extends HostingRobotProxy implements IBasicRobotPee
 			// Call server
 			execResults = peer.waitForBattleEndImpl(commands);
 
-			updateStatus(execResults.getCommands(), execResults.getStatus());
+			updateStatus(execResults.getCommands(), execResults.getStatusBlock());
 
 			// Add remaining events like BattleEndedEvent Otherwise, the robot might never receive those events
 			if (execResults.getEvents() != null) {
@@ -455,7 +455,7 @@ public class BasicRobotProxy extends HostingRobotProxy implements IBasicRobotPee
 		} while (!execResults.isHalt() && execResults.isShouldWait());
 	}
 
-	private void updateStatus(ExecCommands commands, RobotStatus status) {
+	private void updateStatus(ExecCommands commands, StatusBlock status) {
 		this.status = status;
 		this.commands = commands;
 	}
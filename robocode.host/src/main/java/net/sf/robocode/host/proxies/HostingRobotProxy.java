@@ -20,6 +20,7 @@ import net.sf.robocode.io.RobocodeProperties;
 import net.sf.robocode.peer.BadBehavior;
 import net.sf.robocode.peer.ExecCommands;
 import net.sf.robocode.peer.IRobotPeer;
+import net.sf.robocode.security.HiddenAccess;
 import net.sf.robocode.repository.IRobotItem;
 import net.sf.robocode.core.Container;
 import robocode.RobotStatus;
@@ -155,6 +156,12 @@ abstract class HostingRobotProxy implements IHostingRobotProxy, IHostedThread {
 		}
 	}
 
+	public long getCpuTime() {
+		final RobotThreadManager manager = robotThreadManager;
+
+		return manager != null ? manager.getCpuTime() : -1;
+	}
+
 	public void waitForStopThread() {
 		if (!robotThreadManager.waitForStop()) {
 			peer.punishBadBehavior(BadBehavior.UNSTOPPABLE);
@@ -215,6 +222,9 @@ abstract class HostingRobotProxy implements IHostingRobotProxy, IHostedThread {
 			robotThreadManager.initAWT();
 		}
 
+		// The robot and the threads it creates draw random numbers from the stream of this robot
+		HiddenAccess.setThreadRandom(peer.getRandom());
+
 		if (robotSpecification.isValid() && loadRobotRound()) {
 			try {
 				if (robot != null) {
@@ -277,6 +287,7 @@ abstract class HostingRobotProxy implements IHostingRobotProxy, IHostedThread {
 		}
 
 		peer.setRunning(false);
+		HiddenAccess.setThreadRandom(null);
 
 		// If battle is waiting for us, well, all done!
 		synchronized (this) {
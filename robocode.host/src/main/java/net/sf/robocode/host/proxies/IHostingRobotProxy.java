@@ -24,6 +24,8 @@ public interface IHostingRobotProxy {
 
 	void waitForStopThread();
 
+	long getCpuTime();
+
 	void cleanup();
 
 	IBasicRobot getRobotObject();
@@ -15,9 +15,11 @@ import net.sf.robocode.peer.IRobotPeer;
 import net.sf.robocode.peer.TeamMessage;
 import net.sf.robocode.repository.IRobotItem;
 import robocode.MessageEvent;
+import robocode.TeamRobot;
 import robocode.robotinterfaces.peer.ITeamRobotPeer;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 
@@ -25,7 +27,7 @@ import java.util.List;
  * @author Pavel Savara (original)
  */
 public class TeamRobotProxy extends AdvancedRobotProxy implements ITeamRobotPeer {
-	private static final int MAX_MESSAGE_SIZE = 32768;
+	private static final int MAX_MESSAGE_SIZE = TeamRobot.MAX_MESSAGE_SIZE;
 	private final ByteArrayOutputStream byteStreamWriter;
 
 	public TeamRobotProxy(IRobotItem specification, IHostManager hostManager, IRobotPeer peer, RobotStatics statics) {
@@ -89,12 +91,42 @@ public class TeamRobotProxy extends AdvancedRobotProxy implements ITeamRobotPeer
 
 	}
 
+	public void broadcastRawMessage(ByteBuffer message) throws IOException {
+		sendRawMessage(null, message);
+	}
+
+	public void sendRawMessage(String name, ByteBuffer message) throws IOException {
+		setCall();
+
+		try {
+			if (!statics.isTeamRobot()) {
+				throw new IOException("You are not on a team.");
+			}
+			if (message.remaining() > MAX_MESSAGE_SIZE) {
+				throw new IOException("Message too big. " + message.remaining() + ">" + MAX_MESSAGE_SIZE);
+			}
+			final byte[] bytes = new byte[message.remaining()];
+
+			// Read from a duplicate, so the robot can send the same buffer again
+			message.duplicate().get(bytes);
+			commands.getTeamMessages().add(new TeamMessage(getName(), name, bytes, true));
+		} catch (IOException e) {
+			out.printStackTrace(e);
+			throw e;
+		}
+	}
+
 	@Override
 	protected final void loadTeamMessages(List<TeamMessage> teamMessages) {
 		if (teamMessages == null) {
 			return;
 		}
 		for (TeamMessage teamMessage : teamMessages) {
+			if (teamMessage.isRaw) {
+				// A broadcasted message is shared by all teammates, so each of them gets a copy of its own
+				eventManager.add(new MessageEvent(teamMessage.sender, teamMessage.message.clone()));
+				continue;
+			}
 			try {
 				ByteArrayInputStream byteStreamReader = new ByteArrayInputStream(teamMessage.message);
 				byteStreamReader.reset();
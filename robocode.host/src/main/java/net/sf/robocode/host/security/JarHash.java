@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.security;
+
+
+import net.sf.robocode.io.FileUtil;
+import net.sf.robocode.io.Logger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivilegedAction;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Hashes the content of robot jars, so the robots of a jar can be recognized when the jar is copied or
+ * touched, and not when the jar is replaced. The hash of a jar is only computed again when the length or
+ * modification time of the jar file changes.
+ *
+ * @since 1.9.5.4
+ */
+final class JarHash {
+
+	private static final Map<File, JarHash> hashes = new HashMap<File, JarHash>();
+
+	private final long length;
+	private final long lastModified;
+	private final String hash;
+
+	private JarHash(long length, long lastModified, String hash) {
+		this.length = length;
+		this.lastModified = lastModified;
+		this.hash = hash;
+	}
+
+	/**
+	 * Returns the jar file of a robot class path like jar:file:/robots/foo.jar!/.
+	 *
+	 * @param classPathURL the class path of the robot.
+	 * @return the jar file, or {@code null} if the class path is not a jar file, e.g. a directory or a jar
+	 *         inside another jar.
+	 */
+	static File getJarFile(URL classPathURL) {
+		if (classPathURL == null || !"jar".equals(classPathURL.getProtocol())) {
+			return null;
+		}
+		final String path = classPathURL.getPath();
+		final int separator = path.indexOf("!/");
+
+		if (!path.startsWith("file:") || separator != path.length() - 2) {
+			return null;
+		}
+		try {
+			return new File(URLDecoder.decode(path.substring("file:".length(), separator), "UTF-8"));
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the hash of the content of the jar file of a robot class path.
+	 *
+	 * @param classPathURL the class path of the robot.
+	 * @return the hash, or {@code null} if the class path is not a jar file or the jar could not be read.
+	 */
+	static String of(URL classPathURL) {
+		final File file = getJarFile(classPathURL);
+
+		if (file == null) {
+			return null;
+		}
+		return AccessController.doPrivileged(new PrivilegedAction<String>() {
+			public String run() {
+				return of(file);
+			}
+		});
+	}
+
+	private static String of(File file) {
+		final long length = file.length();
+		final long lastModified = file.lastModified();
+
+		synchronized (hashes) {
+			final JarHash jarHash = hashes.get(file);
+
+			if (jarHash != null && jarHash.length == length && jarHash.lastModified == lastModified) {
+				return jarHash.hash;
+			}
+		}
+		InputStream in = null;
+
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			final byte[] buffer = new byte[8192];
+
+			in = new FileInputStream(file);
+			for (int read; (read = in.read(buffer)) != -1;) {
+				digest.update(buffer, 0, read);
+			}
+			final String hash = toHex(digest.digest());
+
+			synchronized (hashes) {
+				hashes.put(file, new JarHash(length, lastModified, hash));
+			}
+			return hash;
+		} catch (IOException e) {
+			Logger.logError(e);
+			return null;
+		} catch (NoSuchAlgorithmException e) {
+			Logger.logError(e);
+			return null;
+		} finally {
+			FileUtil.cleanupStream(in);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		final StringBuilder sb = new StringBuilder(bytes.length * 2);
+
+		for (byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+}
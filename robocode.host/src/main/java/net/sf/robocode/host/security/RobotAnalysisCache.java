@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.security;
+
+
+import net.sf.robocode.core.ContainerBase;
+import net.sf.robocode.io.FileUtil;
+import net.sf.robocode.io.Logger;
+import net.sf.robocode.manager.IVersionManagerBase;
+import net.sf.robocode.repository.CodeSizeCalculator;
+import net.sf.robocode.repository.RobotType;
+
+import java.io.*;
+import java.net.URL;
+import java.util.*;
+
+
+/**
+ * The analysis of the robots in robot jars, which is kept on disk, so the robot repository only analyses the
+ * robots of new or changed jars when it is rebuilt. The analysis holds the robot type and the referenced
+ * classes of each robot, and the code size of each jar.
+ * <p>
+ * The analysis is keyed by a hash of the content of the jar, so a jar that is copied or touched is not
+ * analysed again, and a jar that is replaced is. Robots in directories or in jars inside other jars are
+ * not cached, as their classes might change without the jar changing.
+ * <p>
+ * The file is a list of records, which are appended as the robots are analysed, where a later record
+ * replaces an earlier record with the same key. The file is discarded when it was written by another
+ * version of Robocode, as the analysis depends on the Robocode API.
+ *
+ * @since 1.9.5.4
+ */
+public final class RobotAnalysisCache {
+
+	private static final String HEADER = "# Robot analysis of Robocode ";
+
+	private static final String ROBOT_TYPE = "type";
+	private static final String REFERENCED_CLASSES = "refs";
+	private static final String CODE_SIZE = "size";
+
+	private static final String NONE = "-";
+
+	private static RobotAnalysisCache instance;
+
+	private final File file;
+	private final String header;
+	private final Map<String, String> records = new HashMap<String, String>();
+
+	RobotAnalysisCache(File file, String version) {
+		this.file = file;
+		header = HEADER + version;
+		load();
+	}
+
+	/**
+	 * Returns the cache kept in the robots directory.
+	 *
+	 * @return the cache.
+	 */
+	public static synchronized RobotAnalysisCache getInstance() {
+		if (instance == null) {
+			final IVersionManagerBase versionManager = ContainerBase.getComponent(IVersionManagerBase.class);
+
+			instance = new RobotAnalysisCache(FileUtil.getRobotAnalysisFile(),
+					versionManager != null ? versionManager.getVersion() : "unknown");
+		}
+		return instance;
+	}
+
+	/**
+	 * Returns the type of a robot, if the robot has been analysed before.
+	 *
+	 * @param classPathURL  the class path of the robot.
+	 * @param fullClassName the name of the robot class.
+	 * @param resolve       {@code true} for the type found when the classes of the robot are resolved.
+	 * @return the robot type, or {@code null} if it is not cached.
+	 */
+	public RobotType getRobotType(URL classPathURL, String fullClassName, boolean resolve) {
+		final String value = get(JarHash.of(classPathURL), ROBOT_TYPE, fullClassName, String.valueOf(resolve));
+
+		return value != null ? RobotType.valueOf(Integer.parseInt(value)) : null;
+	}
+
+	/**
+	 * Caches the type of a robot.
+	 *
+	 * @param classPathURL  the class path of the robot.
+	 * @param fullClassName the name of the robot class.
+	 * @param resolve       {@code true} if the type was found with the classes of the robot resolved.
+	 * @param robotType     the robot type.
+	 */
+	public void putRobotType(URL classPathURL, String fullClassName, boolean resolve, RobotType robotType) {
+		put(JarHash.of(classPathURL), ROBOT_TYPE, fullClassName, String.valueOf(resolve),
+				String.valueOf(robotType.getTypeFlags()));
+	}
+
+	/**
+	 * Returns the classes referenced by a robot, if the robot has been analysed before.
+	 *
+	 * @param classPathURL  the class path of the robot.
+	 * @param fullClassName the name of the robot class.
+	 * @return the names of the referenced classes, or {@code null} if they are not cached.
+	 */
+	public String[] getReferencedClasses(URL classPathURL, String fullClassName) {
+		final String value = get(JarHash.of(classPathURL), REFERENCED_CLASSES, fullClassName);
+
+		return value != null ? split(value) : null;
+	}
+
+	/**
+	 * Caches the classes referenced by a robot.
+	 *
+	 * @param classPathURL      the class path of the robot.
+	 * @param fullClassName     the name of the robot class.
+	 * @param referencedClasses the names of the referenced classes.
+	 */
+	public void putReferencedClasses(URL classPathURL, String fullClassName, String[] referencedClasses) {
+		put(JarHash.of(classPathURL), REFERENCED_CLASSES, fullClassName, join(Arrays.asList(referencedClasses)));
+	}
+
+	/**
+	 * Returns the code size of the jar of a robot, which is computed once for each jar.
+	 *
+	 * @param classPathURL the class path of the robot.
+	 * @return the code size, or {@code null} if the robot is not in a jar or the code size could not be computed.
+	 */
+	public Integer getCodeSize(URL classPathURL) {
+		final String hash = JarHash.of(classPathURL);
+
+		if (hash == null) {
+			return null;
+		}
+		String value = get(hash, CODE_SIZE);
+
+		if (value == null) {
+			final Integer codeSize = CodeSizeCalculator.getJarFileCodeSize(JarHash.getJarFile(classPathURL));
+
+			value = codeSize != null ? codeSize.toString() : NONE;
+			put(hash, CODE_SIZE, value);
+		}
+		return value.equals(NONE) ? null : Integer.valueOf(value);
+	}
+
+	private synchronized String get(String hash, String... key) {
+		return hash != null ? records.get(key(hash, key)) : null;
+	}
+
+	private void put(String hash, String... keyAndValue) {
+		if (hash == null) {
+			return;
+		}
+		final String key = key(hash, Arrays.copyOf(keyAndValue, keyAndValue.length - 1));
+		final String value = keyAndValue[keyAndValue.length - 1];
+
+		synchronized (this) {
+			if (!value.equals(records.put(key, value))) {
+				append(key + '\t' + value);
+			}
+		}
+	}
+
+	private static String key(String hash, String... key) {
+		final StringBuilder sb = new StringBuilder(hash);
+
+		for (String part : key) {
+			sb.append('\t').append(part);
+		}
+		return sb.toString();
+	}
+
+	private static String join(Collection<String> names) {
+		final StringBuilder sb = new StringBuilder();
+
+		for (String name : names) {
+			if (sb.length() > 0) {
+				sb.append(',');
+			}
+			sb.append(name);
+		}
+		return sb.toString();
+	}
+
+	private static String[] split(String names) {
+		return names.length() == 0 ? new String[0] : names.split(",");
+	}
+
+	private void load() {
+		if (!file.exists()) {
+			return;
+		}
+		BufferedReader reader = null;
+		int lines = 0;
+
+		try {
+			reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+
+			if (!header.equals(reader.readLine())) {
+				reader.close();
+				file.delete(); // written by another version
+				return;
+			}
+			for (String line; (line = reader.readLine()) != null;) {
+				final int separator = line.lastIndexOf('\t');
+
+				if (separator > 0) {
+					records.put(line.substring(0, separator), line.substring(separator + 1));
+					lines++;
+				}
+			}
+		} catch (IOException e) {
+			Logger.logError("Can't load robot analysis: " + e.getMessage());
+		} finally {
+			FileUtil.cleanupStream(reader);
+		}
+		if (lines > 2 * records.size()) {
+			save(); // drop the records that have been replaced
+		}
+	}
+
+	private void save() {
+		Writer writer = null;
+
+		try {
+			writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+			writer.write(header + '\n');
+			for (Map.Entry<String, String> record : records.entrySet()) {
+				writer.write(record.getKey() + '\t' + record.getValue() + '\n');
+			}
+		} catch (IOException e) {
+			Logger.logError("Can't save robot analysis: " + e.getMessage());
+		} finally {
+			FileUtil.cleanupStream(writer);
+		}
+	}
+
+	private void append(String record) {
+		final boolean exists = file.exists();
+		Writer writer = null;
+
+		try {
+			writer = new OutputStreamWriter(new FileOutputStream(file, true), "UTF-8");
+			if (!exists) {
+				writer.write(header + '\n');
+			}
+			writer.write(record + '\n');
+		} catch (IOException e) {
+			Logger.logError("Can't save robot analysis: " + e.getMessage());
+		} finally {
+			FileUtil.cleanupStream(writer);
+		}
+	}
+}
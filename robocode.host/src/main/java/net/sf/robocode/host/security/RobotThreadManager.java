@@ -9,6 +9,7 @@ package net.sf.robocode.host.security;
 
 
 import net.sf.robocode.host.IHostedThread;
+import net.sf.robocode.host.IRobotThreadFactory;
 import net.sf.robocode.host.IThreadManager;
 import net.sf.robocode.io.Logger;
 import net.sf.robocode.io.RobocodeProperties;
@@ -17,6 +18,8 @@ import static net.sf.robocode.io.Logger.logMessage;
 import static net.sf.robocode.io.Logger.logWarning;
 import robocode.exception.RobotException;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.lang.reflect.InvocationTargetException;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -31,28 +34,116 @@ import java.util.Map;
  */
 public class RobotThreadManager {
 
+	private static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+	private static final boolean isCpuTimeSupported = initCpuTime();
+
 	private final IHostedThread robotProxy;
-	private Thread runThread;
-	private ThreadGroup runThreadGroup;
+	private IThreadManager threadManager;
+	private RobotThreadPool.Worker worker;
+	private volatile Thread runThread;
 	private Object awtForThreadGroup;
 	private final Map<Thread, Disposal> disposeAppContextThreadMap = new HashMap<Thread, Disposal>();
 
 	public RobotThreadManager(IHostedThread robotProxy) {
 		this.robotProxy = robotProxy;
-		createThreadGroup();
+	}
+
+	private static boolean initCpuTime() {
+		return AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
+			public Boolean run() {
+				try {
+					if (threadMXBean.isThreadCpuTimeSupported()) {
+						if (!threadMXBean.isThreadCpuTimeEnabled()) {
+							threadMXBean.setThreadCpuTimeEnabled(true);
+						}
+						return true;
+					}
+				} catch (UnsupportedOperationException e) {
+					logWarning("CPU time of threads cannot be measured: " + e.getMessage());
+				} catch (SecurityException e) {
+					logWarning("CPU time of threads cannot be measured: " + e.getMessage());
+				}
+				return false;
+			}
+		});
+	}
+
+	/**
+	 * Checks if the CPU time used by robot threads can be measured on this JVM.
+	 *
+	 * @return {@code true} if the CPU time can be measured; {@code false} otherwise.
+	 */
+	public static boolean isCpuTimeSupported() {
+		return isCpuTimeSupported;
+	}
+
+	/**
+	 * Sets the factory of the threads running the robots, which is used for threads created from now on.
+	 *
+	 * @param factory the factory, or {@code null} if the robots run on platform threads.
+	 * @since 1.9.5.4
+	 */
+	public static void setThreadFactory(IRobotThreadFactory factory) {
+		RobotThreadPool.setThreadFactory(factory);
+	}
+
+	/**
+	 * Returns the CPU time used by the thread running the robot, which is measured by the JVM.
+	 *
+	 * @return the CPU time in nanoseconds, or -1 if the CPU time cannot be measured, like for virtual threads, or
+	 *         the thread is not running.
+	 */
+	public long getCpuTime() {
+		final Thread thread = runThread;
+
+		if (!isCpuTimeSupported || thread == null) {
+			return -1;
+		}
+		return threadMXBean.getThreadCpuTime(thread.getId());
 	}
 
 	public void cleanup() {
+		if (worker == null) {
+			return;
+		}
+		// The worker only runs this robot, so it is retired at the end of the battle
+		if (worker.isRunning()) {
+			Logger.logWarning("Could not destroy " + worker.getThread().getName());
+		}
+		retireWorker();
+	}
+
+	private void removeFromThreadManager() {
+		// Only the thread group of this robot is removed, as other battles might be running at the same time
+		if (threadManager != null) {
+			threadManager.removeThreadGroup(worker.getThreadGroup());
+			if (!worker.isInThreadGroup()) {
+				threadManager.removeThread(worker.getThread());
+			}
+		}
+	}
+
+	private void retireWorker() {
+		removeFromThreadManager();
+
+		final ThreadGroup threadGroup = worker.getThreadGroup();
+		final Thread thread = worker.getThread();
+
+		worker.retire();
+		worker = null;
 		try {
-			if (runThread == null || !runThread.isAlive()) {
-				if (!discardAWT()) {
-					runThreadGroup.destroy();
+			if (!discardAWT()) {
+				// The thread group is destroyed when the thread has ended, which might take a while for a robot
+				// that could not be stopped
+				threadGroup.setDaemon(true);
+				if (!thread.isAlive() && !threadGroup.isDestroyed()) {
+					threadGroup.destroy();
 				}
-			} else {
-				Logger.logWarning("Could not destroy " + runThread.getName());
 			}
+		} catch (IllegalThreadStateException e) {
+			// The thread ended and destroyed the thread group meanwhile
 		} catch (Exception e) {
-			Logger.logError("Could not destroy " + runThreadGroup.getName(), e);
+			Logger.logError("Could not destroy " + threadGroup.getName(), e);
 		}
 	}
 
@@ -83,14 +174,25 @@ public class RobotThreadManager {
 	}
 
 	public void start(IThreadManager threadManager) {
+		this.threadManager = threadManager;
 		try {
-			threadManager.addThreadGroup(runThreadGroup, robotProxy);
+			final ClassLoader classLoader = robotProxy.getRobotClassloader();
 
-			runThread = new Thread(runThreadGroup, robotProxy, robotProxy.getStatics().getName());
-			runThread.setDaemon(true);
-			runThread.setPriority(Thread.NORM_PRIORITY - 1);
-			runThread.setContextClassLoader(this.robotProxy.getRobotClassloader());
-			runThread.start();
+			if (worker != null && !worker.isIdleFor(robotProxy, classLoader)) {
+				// The robot is still running the previous round, as it is not stopped when security is off, or the
+				// thread has been stopped by the robot itself when it skipped too many turns
+				retireWorker();
+			}
+			if (worker == null) {
+				worker = RobotThreadPool.create();
+			}
+			threadManager.addThreadGroup(worker.getThreadGroup(), robotProxy);
+			if (!worker.isInThreadGroup()) {
+				threadManager.addThread(worker.getThread(), robotProxy);
+			}
+
+			runThread = worker.getThread();
+			worker.start(robotProxy, robotProxy.getStatics().getName(), classLoader);
 		} catch (Exception e) {
 			logError("Exception starting thread", e);
 		}
@@ -100,20 +202,23 @@ public class RobotThreadManager {
 	 * @return true as peaceful stop
 	 */
 	public boolean waitForStop() {
+		if (worker == null) {
+			return true;
+		}
 		boolean isAlive = false;
 
-		if (runThread != null && runThread.isAlive()) {
-			runThread.interrupt();
-			waitForStop(runThread);
-			isAlive = runThread.isAlive();
+		if (worker.isRunning()) {
+			worker.getThread().interrupt();
+			waitForStop(worker);
+			isAlive = worker.isRunning();
 		}
 
 		Thread[] threads = new Thread[100];
 
-		runThreadGroup.enumerate(threads);
+		worker.getThreadGroup().enumerate(threads);
 
 		for (Thread thread : threads) {
-			if (thread != null && thread != runThread && thread.isAlive()) {
+			if (thread != null && thread != worker.getThread() && thread.isAlive()) {
 				thread.interrupt();
 				waitForStop(thread);
 				isAlive |= thread.isAlive();
@@ -140,27 +245,60 @@ public class RobotThreadManager {
 	 * @return true as peaceful stop
 	 */
 	public boolean forceStop() {
-		int res = stopSteps(runThread);
+		int res = 0;
 
-		Thread[] threads = new Thread[100];
+		if (worker != null) {
+			res = stopSteps(worker);
 
-		runThreadGroup.enumerate(threads);
+			Thread[] threads = new Thread[100];
 
-		for (Thread thread : threads) {
-			if (thread != null && thread != runThread && thread.isAlive()) {
-				res += stopSteps(thread);
+			worker.getThreadGroup().enumerate(threads);
+
+			for (Thread thread : threads) {
+				if (thread != null && thread != worker.getThread() && thread.isAlive()) {
+					res += stopSteps(thread);
+				}
 			}
 		}
 		if (res > 0) {
 			robotProxy.println("SYSTEM: This robot has been stopped.  No score will be generated.");
 
-			// recycle thread group
-			createThreadGroup();
+			// The next round is run by a new thread in a new thread group
+			retireWorker();
 		}
 		runThread = null;
 		return res == 0;
 	}
 
+	/**
+	 * @param worker worker running the robot to stop
+	 * @return 0 as peaceful stop
+	 */
+	private int stopSteps(RobotThreadPool.Worker worker) {
+		if (!worker.isRunning()) {
+			return 0;
+		}
+		final Thread t = worker.getThread();
+
+		t.setPriority(Thread.MIN_PRIORITY);
+		t.interrupt();
+		try {
+			worker.awaitStop(500);
+		} catch (InterruptedException e) {
+			// Immediately reasserts the exception by interrupting the caller thread itself
+			Thread.currentThread().interrupt();
+		}
+		if (worker.isRunning()) {
+			stop(t);
+		}
+		if (worker.isRunning()) {
+			logError("Unable to stop thread: " + t.getName());
+		} else {
+			logMessage(robotProxy.getStatics().getName() + " has been stopped.");
+		}
+		return 1;
+	}
+
 	/**
 	 * @param t thread to stop
 	 * @return 0 as peaceful stop
@@ -174,7 +312,7 @@ public class RobotThreadManager {
 			if (t.isAlive()) {
 				// noinspection deprecation
 				// t.suspend();
-				logError("Unable to stop thread: " + runThread.getName());
+				logError("Unable to stop thread: " + t.getName());
 			} else {
 				logMessage(robotProxy.getStatics().getName() + " has been stopped.");
 			}
@@ -186,8 +324,13 @@ public class RobotThreadManager {
 	@SuppressWarnings("deprecation")
 	private void stop(Thread t) {
 		if (t != null) {
-			// noinspection deprecation
-			t.stop();
+			try {
+				// noinspection deprecation
+				t.stop();
+			} catch (UnsupportedOperationException e) {
+				// Threads cannot be stopped on Java 20 and newer, and virtual threads never
+				return;
+			}
 			try {
 				t.join(1500);
 			} catch (InterruptedException e) {
@@ -214,6 +357,19 @@ public class RobotThreadManager {
 		}
 	}
 
+	private void waitForStop(RobotThreadPool.Worker worker) {
+		try {
+			if (!worker.awaitStop(500)) {
+				logMessage("Waiting for robot " + robotProxy.getStatics().getName() + " to stop thread "
+						+ worker.getThread().getName());
+				worker.awaitStop(500);
+			}
+		} catch (InterruptedException e) {
+			// Immediately reasserts the exception by interrupting the caller thread itself
+			Thread.currentThread().interrupt();
+		}
+	}
+
 	private void waitForStop(Thread thread) {
 		for (int j = 0; j < 100 && thread.isAlive(); j++) {
 			if (j == 50) {
@@ -230,13 +386,6 @@ public class RobotThreadManager {
 		}
 	}
 
-	private void createThreadGroup() {
-		runThreadGroup = new ThreadGroup(robotProxy.getStatics().getName());
-
-		// bit lower than battle have
-		runThreadGroup.setMaxPriority(Thread.NORM_PRIORITY - 1);
-	}
-
 	private Object createNewAppContext() {
 		// Add the current thread to our disposeAppContextThreadMap if it does not exit already
 		if (!disposeAppContextThreadMap.containsKey(Thread.currentThread())) {
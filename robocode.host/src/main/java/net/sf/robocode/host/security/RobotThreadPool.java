@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.security;
+
+
+import net.sf.robocode.host.IRobotThreadFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * The threads running the robots, which are kept between the rounds of a battle instead of creating a new
+ * thread for each robot in each round.
+ * <p>
+ * Each worker has a thread in its own thread group, which the robot owns while the worker is running it, so
+ * the thread manager finds the robot by the thread group of the worker and of the threads the robot creates.
+ * A worker is parked when the robot has finished a round, and runs the same robot with the same class loader
+ * in the next round. A worker never runs another robot, so the thread local values and the thread group of a
+ * robot are never seen by another robot. When the battle is over, or the robot had to be stopped, the worker
+ * is retired, and the thread ends.
+ * <p>
+ * The threads are created by the thread factory if there is one, which might create threads that are not in
+ * the thread group of the worker, like virtual threads. The thread manager finds the robot by such a thread.
+ * The workers wait on a lock instead of a monitor, as a virtual thread waiting on a monitor keeps its carrier
+ * thread.
+ *
+ * @since 1.9.5.4
+ */
+final class RobotThreadPool {
+
+	private static final AtomicInteger workerCount = new AtomicInteger();
+
+	// Creates the threads of new workers, or null if the workers run on platform threads
+	private static volatile IRobotThreadFactory threadFactory;
+
+	private RobotThreadPool() {}
+
+	/**
+	 * Sets the factory of the threads of new workers.
+	 *
+	 * @param factory the factory, or {@code null} if the workers run on platform threads.
+	 */
+	static void setThreadFactory(IRobotThreadFactory factory) {
+		threadFactory = factory;
+	}
+
+	/**
+	 * Creates a worker for a robot, which is kept by the robot for the rounds of a battle.
+	 *
+	 * @return the worker, which has not run a robot yet.
+	 */
+	static Worker create() {
+		return new Worker();
+	}
+
+	static final class Worker implements Runnable {
+
+		private final ThreadGroup threadGroup;
+		private final Thread thread;
+		private final boolean isInThreadGroup;
+
+		private final Lock lock = new ReentrantLock();
+
+		// Signalled when the worker is given a robot to run, or is retired
+		private final Condition robotStarted = lock.newCondition();
+
+		// Signalled when the robot has finished the round
+		private final Condition robotStopped = lock.newCondition();
+
+		// Guarded by lock
+		private Runnable robot;
+		private boolean retired;
+
+		// The robot the worker was started with, and its class loader, which the worker runs in every round
+		private Runnable owner;
+		private ClassLoader ownerClassLoader;
+
+		private Worker() {
+			threadGroup = new ThreadGroup("Robot thread group " + workerCount.incrementAndGet());
+
+			// bit lower than battle have
+			threadGroup.setMaxPriority(Thread.NORM_PRIORITY - 1);
+
+			final IRobotThreadFactory factory = threadFactory;
+
+			thread = factory != null ? factory.newThread(threadGroup, this) : new Thread(threadGroup, this);
+			thread.setDaemon(true);
+			isInThreadGroup = thread.getThreadGroup() == threadGroup;
+		}
+
+		ThreadGroup getThreadGroup() {
+			return threadGroup;
+		}
+
+		Thread getThread() {
+			return thread;
+		}
+
+		/**
+		 * Checks if the thread of the worker is in the thread group of the worker, which is not the case for
+		 * virtual threads, so the robot must be found by its thread.
+		 *
+		 * @return {@code true} if the thread is in the thread group of the worker; {@code false} otherwise.
+		 */
+		boolean isInThreadGroup() {
+			return isInThreadGroup;
+		}
+
+		/**
+		 * Starts running a robot for a round.
+		 *
+		 * @param robot       the robot, which must be the robot the worker was started with the first time.
+		 * @param name        the name of the thread, which is the name of the robot.
+		 * @param classLoader the class loader of the robot.
+		 * @throws IllegalStateException if the worker has run another robot, or the robot with another class loader.
+		 */
+		void start(Runnable robot, String name, ClassLoader classLoader) {
+			lock.lock();
+			try {
+				if (owner == null) {
+					owner = robot;
+					ownerClassLoader = classLoader;
+				} else if (owner != robot || ownerClassLoader != classLoader) {
+					throw new IllegalStateException("The worker runs another robot: " + thread.getName());
+				}
+				thread.setName(name);
+				thread.setPriority(Thread.NORM_PRIORITY - 1);
+				thread.setContextClassLoader(classLoader);
+
+				this.robot = robot;
+				if (thread.getState() == Thread.State.NEW) {
+					thread.start();
+				} else {
+					robotStarted.signalAll();
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Checks if the worker is running a robot.
+		 *
+		 * @return {@code true} if the robot has not finished the round; {@code false} otherwise.
+		 */
+		boolean isRunning() {
+			lock.lock();
+			try {
+				return robot != null && thread.isAlive();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Checks if the worker can start running a robot.
+		 *
+		 * @return {@code true} if the worker is not running a robot, and has not been stopped or retired;
+		 *         {@code false} otherwise.
+		 */
+		boolean isIdle() {
+			lock.lock();
+			try {
+				return robot == null && !retired && thread.getState() != Thread.State.TERMINATED;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Checks if the worker can start running a robot in the next round.
+		 *
+		 * @param robot       the robot.
+		 * @param classLoader the class loader of the robot.
+		 * @return {@code true} if the worker is idle and has only run the robot with the class loader, or has not
+		 *         run a robot yet; {@code false} otherwise.
+		 */
+		boolean isIdleFor(Runnable robot, ClassLoader classLoader) {
+			lock.lock();
+			try {
+				return isIdle() && (owner == null || owner == robot && ownerClassLoader == classLoader);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Waits for the robot to finish the round.
+		 *
+		 * @param millis the maximum time to wait in milliseconds.
+		 * @return {@code true} if the robot has finished the round; {@code false} otherwise.
+		 * @throws InterruptedException if the waiting thread is interrupted.
+		 */
+		boolean awaitStop(long millis) throws InterruptedException {
+			long remaining = TimeUnit.MILLISECONDS.toNanos(millis);
+
+			lock.lock();
+			try {
+				while (isRunning()) {
+					if (remaining <= 0) {
+						return false;
+					}
+					remaining = robotStopped.awaitNanos(remaining);
+				}
+				return true;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Lets the thread of the worker end when it is not running a robot.
+		 */
+		void retire() {
+			lock.lock();
+			try {
+				retired = true;
+				thread.setContextClassLoader(null);
+				robotStarted.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		public void run() {
+			while (true) {
+				final Runnable next;
+
+				lock.lock();
+				try {
+					while (robot == null && !retired) {
+						// The robot might have been interrupted as it finished the round, which is cleared below
+						robotStarted.awaitUninterruptibly();
+					}
+					if (robot == null) {
+						return; // retired
+					}
+					next = robot;
+				} finally {
+					lock.unlock();
+				}
+
+				// Clear an interrupt that was meant for the robot of the previous round
+				Thread.interrupted();
+
+				boolean completed = false;
+
+				try {
+					next.run();
+					completed = true;
+				} finally {
+					lock.lock();
+					try {
+						robot = null;
+
+						// The thread ends when the robot has been stopped
+						retired |= !completed;
+						robotStopped.signalAll();
+					} finally {
+						lock.unlock();
+					}
+				}
+			}
+		}
+	}
+}
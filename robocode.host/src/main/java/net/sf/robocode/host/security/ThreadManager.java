@@ -18,7 +18,11 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -33,11 +37,16 @@ public class ThreadManager implements IThreadManager {
 
 	private final PrintStream syserr = System.err;
 
-	private final List<Thread> safeThreads = new CopyOnWriteArrayList<Thread>();
-	private final List<ThreadGroup> safeThreadGroups = new CopyOnWriteArrayList<ThreadGroup>();
-	private final List<ThreadGroup> groups = new CopyOnWriteArrayList<ThreadGroup>();
+	// Threads and thread groups do not override equals() and hashCode(), so these are looked up by identity
+	// in constant time, however many robots are hosted, as the security checks of robots look them up
+	private final Set<Thread> safeThreads = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+	private final Set<ThreadGroup> safeThreadGroups = Collections.newSetFromMap(
+			new ConcurrentHashMap<ThreadGroup, Boolean>());
+	private final Map<ThreadGroup, IHostedThread> robots = new ConcurrentHashMap<ThreadGroup, IHostedThread>();
+
+	// The robots running on threads that are not in their thread group, like virtual threads
+	private final Map<Thread, IHostedThread> robotThreads = new ConcurrentHashMap<Thread, IHostedThread>();
 	private final List<Thread> outputStreamThreads = new CopyOnWriteArrayList<Thread>();
-	private final List<IHostedThread> robots = new CopyOnWriteArrayList<IHostedThread>();
 
 	private Thread robotLoaderThread;
 	private IHostedThread loadingRobot;
@@ -57,10 +66,21 @@ public class ThreadManager implements IThreadManager {
 	}
 
 	public void addThreadGroup(ThreadGroup g, IHostedThread robotProxy) {
-		if (!groups.contains(g)) {
-			groups.add(g);
-			robots.add(robotProxy);
-		}
+		// Battles running in parallel add and remove these
+		robots.putIfAbsent(g, robotProxy);
+	}
+
+	public void removeThreadGroup(ThreadGroup g) {
+		robots.remove(g);
+	}
+
+	public void addThread(Thread t, IHostedThread robotProxy) {
+		// The threads are pooled, so the thread might have run another robot before
+		robotThreads.put(t, robotProxy);
+	}
+
+	public void removeThread(Thread t) {
+		robotThreads.remove(t);
 	}
 
 	public synchronized IHostedThread getLoadingRobot() {
@@ -76,7 +96,7 @@ public class ThreadManager implements IThreadManager {
 		return null;
 	}
 
-	public synchronized IHostedThread getLoadedOrLoadingRobotProxy(Thread t) {
+	public IHostedThread getLoadedOrLoadingRobotProxy(Thread t) {
 		IHostedThread robotProxy = getRobotProxy(t);
 
 		if (robotProxy == null) {
@@ -87,21 +107,17 @@ public class ThreadManager implements IThreadManager {
 
 	public IHostedThread getRobotProxy(Thread t) {
 		ThreadGroup g = t.getThreadGroup();
+		IHostedThread robotProxy = g != null ? robots.get(g) : null;
 
-		if (g == null) {
-			return null;
+		if (robotProxy == null && !robotThreads.isEmpty()) {
+			robotProxy = robotThreads.get(t);
 		}
-		int index = groups.indexOf(g);
-
-		if (index == -1) {
-			return null;
-		}
-		return robots.get(index);
+		return robotProxy;
 	}
 
 	public void reset() {
-		groups.clear();
 		robots.clear();
+		robotThreads.clear();
 	}
 
 	public synchronized void setLoadingRobot(IHostedThread newLoadingRobotProxy) {
@@ -179,24 +195,18 @@ public class ThreadManager implements IThreadManager {
 	}
 
 	public boolean isSafeThread(Thread c) {
-		try {
-			if (safeThreads.contains(c)) {
-				return true;
-			}
+		ThreadGroup g = c.getThreadGroup();
 
-			for (ThreadGroup tg : safeThreadGroups) {
-				if (c.getThreadGroup() == tg) {
-					safeThreads.add(c);
-					return true;
-				}
+		if (g != null) {
+			// The threads of robots are never safe, which is the most frequent check, so these take one lookup
+			if (robots.containsKey(g)) {
+				return false;
+			}
+			if (safeThreadGroups.contains(g)) {
+				return true;
 			}
-
-			return false;
-		} catch (Exception e) {
-			syserr.println("Exception checking safe thread: ");
-			e.printStackTrace(syserr);
-			return false;
 		}
+		return safeThreads.contains(c);
 	}
 
 	public PrintStream getRobotOutputStream() {
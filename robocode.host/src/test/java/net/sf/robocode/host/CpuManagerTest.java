@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class CpuManagerTest {
+
+	@Test
+	public void outliersAreRejected() {
+		double[] stats = CpuManager.computeStatistics(new double[] {
+			1000, 1010, 990, 1005, 995, 1000, 1002, 998, 5000, 20
+		});
+
+		Assert.assertEquals(1000, stats[0], 1e-9);
+		Assert.assertEquals(258.0 / 7, stats[1], 1e-9);
+	}
+
+	@Test
+	public void equalValuesHaveNoVariance() {
+		double[] stats = CpuManager.computeStatistics(new double[] { 700, 700, 700 });
+
+		Assert.assertEquals(700, stats[0], 1e-9);
+		Assert.assertEquals(0, stats[1], 1e-9);
+	}
+
+	@Test
+	public void cacheKeyIsAPropertyName() {
+		Assert.assertTrue(CpuManager.getCacheKey().matches("[A-Za-z0-9._-]+"));
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.events;
+
+
+import net.sf.robocode.security.HiddenAccess;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import robocode.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+
+public class PriorityEventQueueTest {
+
+	@BeforeClass
+	public static void init() {
+		HiddenAccess.init();
+	}
+
+	@Test
+	public void eventsArePolledInSortedOrder() {
+		Random random = new Random(42);
+		PriorityEventQueue queue = new PriorityEventQueue();
+		List<Event> expected = new ArrayList<Event>();
+
+		for (int i = 0; i < 500; i++) {
+			Event event = createEvent(random);
+
+			queue.add(event);
+			expected.add(event);
+		}
+		Collections.sort(expected);
+
+		List<Event> all = new ArrayList<Event>();
+
+		queue.getAll(all);
+		Assert.assertEquals(expected, all);
+
+		List<Event> polled = new ArrayList<Event>();
+
+		while (queue.peek() != null) {
+			Event next = queue.peek();
+
+			Assert.assertSame(next, queue.poll());
+			polled.add(next);
+		}
+		Assert.assertEquals(expected, polled);
+		Assert.assertEquals(0, queue.size());
+		Assert.assertNull(queue.poll());
+	}
+
+	@Test
+	public void criticalEventsAreNotCleared() {
+		PriorityEventQueue queue = new PriorityEventQueue();
+		DeathEvent death = new DeathEvent();
+		HitWallEvent old = new HitWallEvent(0);
+		HitWallEvent recent = new HitWallEvent(0);
+
+		death.setTime(1);
+		old.setTime(1);
+		recent.setTime(5);
+		queue.add(death);
+		queue.add(old);
+		queue.add(recent);
+
+		queue.clear(3);
+		Assert.assertEquals(2, queue.size());
+		Assert.assertSame(death, queue.poll());
+		Assert.assertSame(recent, queue.poll());
+
+		queue.add(death);
+		queue.add(recent);
+		queue.clear(false);
+		Assert.assertEquals(1, queue.size());
+		Assert.assertSame(death, queue.peek());
+
+		queue.clear(true);
+		Assert.assertEquals(0, queue.size());
+		Assert.assertNull(queue.peek());
+	}
+
+	@Test
+	public void eventsAreFoundByClass() {
+		Random random = new Random(7);
+		PriorityEventQueue queue = new PriorityEventQueue();
+		int scanned = 0;
+
+		for (int i = 0; i < 200; i++) {
+			Event event = createEvent(random);
+
+			if (event instanceof ScannedRobotEvent) {
+				scanned++;
+			}
+			queue.add(event);
+		}
+		if (queue.poll() instanceof ScannedRobotEvent) {
+			scanned--;
+		}
+		List<ScannedRobotEvent> events = new ArrayList<ScannedRobotEvent>();
+
+		queue.getAll(ScannedRobotEvent.class, events);
+		Assert.assertEquals(scanned, events.size());
+		for (int i = 1; i < events.size(); i++) {
+			Assert.assertTrue(events.get(i - 1).compareTo(events.get(i)) <= 0);
+		}
+
+		List<DeathEvent> none = new ArrayList<DeathEvent>();
+
+		queue.getAll(DeathEvent.class, none);
+		Assert.assertTrue(none.isEmpty());
+
+		List<Event> all = new ArrayList<Event>();
+
+		queue.getAll(Event.class, all);
+		Assert.assertEquals(queue.size(), all.size());
+	}
+
+	// Each class of event gets a priority of its own, as in the event manager
+	private static Event createEvent(Random random) {
+		Event event;
+
+		switch (random.nextInt(4)) {
+		case 0:
+			event = new ScannedRobotEvent("Foo", 100, 0, random.nextInt(400), 0, 8, false);
+			event.setPriority(10);
+			break;
+
+		case 1:
+			event = new HitRobotEvent("Foo", 0, 100, random.nextBoolean());
+			event.setPriority(40);
+			break;
+
+		case 2:
+			event = new HitWallEvent(0);
+			event.setPriority(70 + random.nextInt(30));
+			break;
+
+		default:
+			event = new BulletMissedEvent(null);
+			event.setPriority(60);
+			break;
+		}
+		event.setTime(random.nextInt(10));
+		return event;
+	}
+}
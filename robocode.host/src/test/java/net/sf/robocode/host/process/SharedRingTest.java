@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.process;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+
+public class SharedRingTest {
+
+	private static final int CAPACITY = 256;
+
+	@Test
+	public void messagesAreReadInOrderAcrossTheEndOfTheRing() {
+		final ByteBuffer memory = ByteBuffer.allocateDirect(SharedRing.sizeOf(CAPACITY));
+		final SharedRing writer = new SharedRing(memory);
+		final SharedRing reader = new SharedRing(memory);
+		final ByteBuffer data = ByteBuffer.allocate(reader.getMaxLength());
+
+		for (int i = 0; i < 100; i++) {
+			Assert.assertTrue(writer.write(1 + i % 3, i, message(i, i % 50), 0));
+			Assert.assertTrue(writer.write(4, -i, null, 0));
+
+			Assert.assertEquals(1 + i % 3, reader.read(data, 0));
+			Assert.assertEquals(i, reader.getTag());
+			Assert.assertEquals(message(i, i % 50), data);
+
+			Assert.assertEquals(4, reader.read(data, 0));
+			Assert.assertEquals(-i, reader.getTag());
+			Assert.assertEquals(0, data.remaining());
+		}
+		Assert.assertEquals(SharedRing.NONE, reader.read(data, 0));
+	}
+
+	@Test
+	public void writingWaitsForRoom() {
+		final ByteBuffer memory = ByteBuffer.allocateDirect(SharedRing.sizeOf(CAPACITY));
+		final SharedRing writer = new SharedRing(memory);
+		final SharedRing reader = new SharedRing(memory);
+		final ByteBuffer data = ByteBuffer.allocate(reader.getMaxLength());
+
+		Assert.assertTrue(writer.write(1, 1, message(1, writer.getMaxLength()), 0));
+		Assert.assertTrue(writer.write(1, 2, message(2, writer.getMaxLength()), 0));
+		Assert.assertFalse(writer.write(1, 3, message(3, 1), 1000000));
+
+		Assert.assertEquals(1, reader.read(data, 0));
+		Assert.assertTrue(writer.write(1, 3, message(3, 1), 0));
+	}
+
+	@Test
+	public void readingEndsWhenClosed() throws InterruptedException {
+		final SharedRing ring = new SharedRing(ByteBuffer.allocateDirect(SharedRing.sizeOf(CAPACITY)));
+		final ByteBuffer data = ByteBuffer.allocate(ring.getMaxLength());
+		final int[] result = new int[1];
+
+		final Thread thread = new Thread() {
+			public void run() {
+				result[0] = ring.read(data, Long.MAX_VALUE);
+			}
+		};
+
+		thread.start();
+		ring.close();
+		thread.join(10000);
+
+		Assert.assertFalse(thread.isAlive());
+		Assert.assertEquals(SharedRing.CLOSED, result[0]);
+		Assert.assertFalse(ring.write(1, 1, null, 0));
+	}
+
+	@Test
+	public void brokenRecordsCloseTheRing() {
+		final ByteBuffer memory = ByteBuffer.allocateDirect(SharedRing.sizeOf(CAPACITY));
+		final SharedRing writer = new SharedRing(memory);
+		final SharedRing reader = new SharedRing(memory);
+		final ByteBuffer data = ByteBuffer.allocate(reader.getMaxLength());
+
+		Assert.assertTrue(writer.write(1, 1, message(1, 10), 0));
+		memory.putInt(SharedRing.sizeOf(0) + 4, CAPACITY * 2); // the length of the record
+
+		Assert.assertEquals(SharedRing.CLOSED, reader.read(data, 0));
+		Assert.assertTrue(reader.isClosed());
+	}
+
+	@Test
+	public void messagesArePassedBetweenThreads() throws InterruptedException {
+		final ByteBuffer memory = ByteBuffer.allocateDirect(SharedRing.sizeOf(CAPACITY));
+		final SharedRing writer = new SharedRing(memory);
+		final SharedRing reader = new SharedRing(memory);
+		final int count = 10000;
+
+		final Thread thread = new Thread() {
+			public void run() {
+				for (int i = 0; i < count; i++) {
+					writer.write(1, i, message(i, i % 20), Long.MAX_VALUE);
+				}
+			}
+		};
+
+		thread.start();
+
+		final ByteBuffer data = ByteBuffer.allocate(reader.getMaxLength());
+
+		for (int i = 0; i < count; i++) {
+			Assert.assertEquals(1, reader.read(data, 10000000000L));
+			Assert.assertEquals(i, reader.getTag());
+			Assert.assertEquals(message(i, i % 20), data);
+		}
+		thread.join(10000);
+	}
+
+	private static ByteBuffer message(int seed, int length) {
+		final ByteBuffer message = ByteBuffer.allocate(length);
+
+		for (int i = 0; i < length; i++) {
+			message.put((byte) (seed + i));
+		}
+		message.flip();
+		return message;
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.security;
+
+
+import net.sf.robocode.repository.RobotType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+
+
+public class RobotAnalysisCacheTest {
+
+	private static final RobotType ADVANCED_TEAM_ROBOT = new RobotType(false, false, false, true, true, true,
+			false, false);
+
+	private File file;
+	private URL jar;
+
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("robot", ".analysis");
+		file.deleteOnExit();
+		Assert.assertTrue(file.delete());
+
+		File jarFile = File.createTempFile("robot", ".jar");
+
+		jarFile.deleteOnExit();
+		writeJar(jarFile, 1);
+		jar = new URL("jar:" + jarFile.toURI().toURL() + "!/");
+	}
+
+	@Test
+	public void analysisIsKeptOnDisk() {
+		RobotAnalysisCache cache = new RobotAnalysisCache(file, "1.0");
+
+		Assert.assertNull(cache.getRobotType(jar, "foo.Bar", true));
+		cache.putRobotType(jar, "foo.Bar", true, ADVANCED_TEAM_ROBOT);
+		cache.putReferencedClasses(jar, "foo.Bar", new String[] { "foo.Bar", "foo.Bar$1" });
+		cache.putReferencedClasses(jar, "foo.Baz", new String[0]);
+
+		cache = new RobotAnalysisCache(file, "1.0");
+
+		Assert.assertEquals(ADVANCED_TEAM_ROBOT, cache.getRobotType(jar, "foo.Bar", true));
+		Assert.assertTrue(cache.getRobotType(jar, "foo.Bar", true).isTeamRobot());
+		Assert.assertNull(cache.getRobotType(jar, "foo.Bar", false));
+		Assert.assertArrayEquals(new String[] { "foo.Bar", "foo.Bar$1" }, cache.getReferencedClasses(jar, "foo.Bar"));
+		Assert.assertArrayEquals(new String[0], cache.getReferencedClasses(jar, "foo.Baz"));
+	}
+
+	@Test
+	public void analysisOfOtherVersionsIsDiscarded() {
+		new RobotAnalysisCache(file, "1.0").putRobotType(jar, "foo.Bar", true, ADVANCED_TEAM_ROBOT);
+
+		Assert.assertNull(new RobotAnalysisCache(file, "2.0").getRobotType(jar, "foo.Bar", true));
+		Assert.assertNull(new RobotAnalysisCache(file, "1.0").getRobotType(jar, "foo.Bar", true));
+	}
+
+	@Test
+	public void changedJarsAreAnalysedAgain() throws IOException {
+		RobotAnalysisCache cache = new RobotAnalysisCache(file, "1.0");
+		File jarFile = JarHash.getJarFile(jar);
+
+		cache.putRobotType(jar, "foo.Bar", false, ADVANCED_TEAM_ROBOT);
+		writeJar(jarFile, 2);
+		Assert.assertTrue(jarFile.setLastModified(jarFile.lastModified() + 2000));
+
+		Assert.assertNull(cache.getRobotType(jar, "foo.Bar", false));
+	}
+
+	@Test
+	public void robotsInDirectoriesAreNotCached() throws IOException {
+		RobotAnalysisCache cache = new RobotAnalysisCache(file, "1.0");
+		URL directory = file.getParentFile().toURI().toURL();
+
+		cache.putRobotType(directory, "foo.Bar", true, ADVANCED_TEAM_ROBOT);
+		Assert.assertNull(cache.getRobotType(directory, "foo.Bar", true));
+		Assert.assertNull(cache.getCodeSize(directory));
+		Assert.assertFalse(file.exists());
+	}
+
+	// The content only matters for the hash, so any bytes will do
+	private static void writeJar(File file, int content) throws IOException {
+		OutputStream out = new FileOutputStream(file);
+
+		try {
+			out.write(new byte[] { 'P', 'K', (byte) content });
+		} finally {
+			out.close();
+		}
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.security;
+
+
+import net.sf.robocode.host.IRobotThreadFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class RobotThreadPoolTest {
+
+	@Test
+	public void workersRunRoundsOnTheSameThread() throws InterruptedException {
+		RobotThreadPool.Worker worker = RobotThreadPool.create();
+		final Thread[] threads = new Thread[2];
+		final Runnable robot = new Runnable() {
+			private int round;
+
+			public void run() {
+				threads[round++] = Thread.currentThread();
+			}
+		};
+
+		for (int round = 0; round < 2; round++) {
+			worker.start(robot, "robot" + round, null);
+			Assert.assertTrue(worker.awaitStop(1000));
+		}
+		Assert.assertSame(worker.getThread(), threads[0]);
+		Assert.assertSame(threads[0], threads[1]);
+		Assert.assertSame(worker.getThreadGroup(), threads[1].getThreadGroup());
+		Assert.assertEquals("robot1", threads[1].getName());
+		worker.retire();
+	}
+
+	@Test
+	public void workersRunOnTheThreadsOfTheThreadFactory() throws InterruptedException {
+		final ThreadGroup carriers = new ThreadGroup("carriers");
+		final ThreadGroup[] groups = new ThreadGroup[1];
+
+		// Like a factory of virtual threads, which are not in the thread group of the worker
+		RobotThreadPool.setThreadFactory(new IRobotThreadFactory() {
+			public Thread newThread(ThreadGroup group, Runnable runnable) {
+				return new Thread(carriers, runnable);
+			}
+		});
+		final RobotThreadPool.Worker worker;
+
+		try {
+			worker = RobotThreadPool.create();
+		} finally {
+			RobotThreadPool.setThreadFactory(null);
+		}
+		worker.start(new Runnable() {
+			public void run() {
+				groups[0] = Thread.currentThread().getThreadGroup();
+			}
+		}, "robot", null);
+		Assert.assertTrue(worker.awaitStop(1000));
+		Assert.assertFalse(worker.isInThreadGroup());
+		Assert.assertSame(carriers, groups[0]);
+		worker.retire();
+	}
+
+	@Test
+	public void interruptsDoNotReachTheNextRound() throws InterruptedException {
+		RobotThreadPool.Worker worker = RobotThreadPool.create();
+		final boolean[] interrupted = new boolean[1];
+		final Runnable robot = new Runnable() {
+			private boolean isFirstRound = true;
+
+			public void run() {
+				if (isFirstRound) {
+					isFirstRound = false;
+					Thread.currentThread().interrupt();
+				} else {
+					interrupted[0] = Thread.currentThread().isInterrupted();
+				}
+			}
+		};
+
+		worker.start(robot, "robot", null);
+		Assert.assertTrue(worker.awaitStop(1000));
+		worker.getThread().interrupt();
+
+		worker.start(robot, "robot", null);
+		Assert.assertTrue(worker.awaitStop(1000));
+		Assert.assertFalse(interrupted[0]);
+		worker.retire();
+	}
+
+	@Test
+	public void workersOnlyRunTheRobotTheyWereStartedWith() throws InterruptedException {
+		RobotThreadPool.Worker worker = RobotThreadPool.create();
+		final ClassLoader classLoader = new ClassLoader() {};
+		final Runnable robot = new Runnable() {
+			public void run() {}
+		};
+		final Runnable otherRobot = new Runnable() {
+			public void run() {}
+		};
+
+		worker.start(robot, "robot", classLoader);
+		Assert.assertTrue(worker.awaitStop(1000));
+
+		Assert.assertTrue(worker.isIdleFor(robot, classLoader));
+		Assert.assertFalse(worker.isIdleFor(otherRobot, classLoader));
+		Assert.assertFalse(worker.isIdleFor(robot, new ClassLoader() {}));
+		try {
+			worker.start(otherRobot, "other robot", classLoader);
+			Assert.fail("The worker ran another robot");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		worker.retire();
+		worker.getThread().join(1000);
+		Assert.assertFalse(worker.getThread().isAlive());
+	}
+
+	@Test
+	public void stoppedWorkersAreNotUsedAgain() throws InterruptedException {
+		RobotThreadPool.Worker worker = RobotThreadPool.create();
+
+		worker.start(new Runnable() {
+			@SuppressWarnings("deprecation")
+			public void run() {
+				throw new ThreadDeath(); // as when the robot stops its own thread after skipping too many turns
+			}
+		}, "robot", null);
+		Assert.assertTrue(worker.awaitStop(1000));
+		Assert.assertFalse(worker.isIdle());
+	}
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.security;
+
+
+import net.sf.robocode.host.IHostedThread;
+import net.sf.robocode.host.RobotStatics;
+import net.sf.robocode.host.io.RobotFileSystemManager;
+import net.sf.robocode.host.io.RobotOutputStream;
+import net.sf.robocode.repository.IRobotItem;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class ThreadManagerTest {
+
+	@Test
+	public void robotsAreFoundByTheirThreadGroup() throws InterruptedException {
+		final ThreadManager threadManager = new ThreadManager();
+		final ThreadGroup[] groups = addRobots(threadManager, 50);
+		final IHostedThread[] found = new IHostedThread[1];
+
+		runIn(groups[17], new Runnable() {
+			public void run() {
+				found[0] = threadManager.getLoadedOrLoadingRobotProxy(Thread.currentThread());
+			}
+		});
+		Assert.assertEquals("robot17", found[0].toString());
+		Assert.assertFalse(isSafeThread(threadManager, groups[17]));
+
+		threadManager.removeThreadGroup(groups[17]);
+		runIn(groups[17], new Runnable() {
+			public void run() {
+				found[0] = threadManager.getLoadedOrLoadingRobotProxy(Thread.currentThread());
+			}
+		});
+		Assert.assertNull(found[0]);
+	}
+
+	@Test
+	public void robotsAreFoundByTheirThreadOutsideTheirThreadGroup() throws InterruptedException {
+		final ThreadManager threadManager = new ThreadManager();
+		final IHostedThread robot = new Robot("virtual");
+		final IHostedThread[] found = new IHostedThread[1];
+
+		addRobots(threadManager, 2);
+
+		// Like a virtual thread, which is in a thread group shared by all virtual threads
+		final Thread thread = new Thread(new Runnable() {
+			public void run() {
+				found[0] = threadManager.getLoadedOrLoadingRobotProxy(Thread.currentThread());
+			}
+		});
+
+		threadManager.addThread(thread, robot);
+		thread.start();
+		thread.join();
+		Assert.assertSame(robot, found[0]);
+
+		threadManager.removeThread(thread);
+		Assert.assertNull(threadManager.getRobotProxy(thread));
+	}
+
+	@Test
+	public void threadsOfSafeThreadGroupsAreSafe() throws InterruptedException {
+		ThreadManager threadManager = new ThreadManager();
+		ThreadGroup safe = new ThreadGroup("safe");
+
+		threadManager.addSafeThreadGroup(safe);
+		Assert.assertTrue(isSafeThread(threadManager, safe));
+		Assert.assertFalse(isSafeThread(threadManager, new ThreadGroup(safe, "child")));
+		Assert.assertFalse(threadManager.isSafeThread());
+
+		threadManager.addSafeThread(Thread.currentThread());
+		Assert.assertTrue(threadManager.isSafeThread());
+		threadManager.removeSafeThread(Thread.currentThread());
+		Assert.assertFalse(threadManager.isSafeThread());
+	}
+
+	/**
+	 * The lookups done by RobocodeSecurityManager.checkPermission() for a robot thread must be map hits, which
+	 * compare the thread groups by identity, instead of searching the thread groups of all robots with equals(),
+	 * so the cost does not depend on the number of robots.
+	 */
+	@Test
+	public void robotsAreFoundWithoutSearchingAllRobots() throws InterruptedException {
+		final ThreadManager threadManager = new ThreadManager();
+		final CountingThreadGroup[] groups = new CountingThreadGroup[50];
+
+		for (int i = 0; i < groups.length; i++) {
+			groups[i] = new CountingThreadGroup("robot" + i);
+			threadManager.addThreadGroup(groups[i], new Robot("robot" + i));
+		}
+		threadManager.addSafeThreadGroup(Thread.currentThread().getThreadGroup());
+		for (CountingThreadGroup group : groups) {
+			group.comparisons = 0;
+		}
+
+		final CountingThreadGroup last = groups[groups.length - 1];
+		final IHostedThread[] found = new IHostedThread[1];
+		final boolean[] safe = new boolean[1];
+
+		runIn(last, new Runnable() {
+			public void run() {
+				final Thread c = Thread.currentThread();
+
+				safe[0] = threadManager.isSafeThread(c);
+				found[0] = threadManager.getLoadedOrLoadingRobotProxy(c);
+			}
+		});
+		Assert.assertFalse(safe[0]);
+		Assert.assertEquals("robot49", found[0].toString());
+		for (CountingThreadGroup group : groups) {
+			Assert.assertEquals(group.getName(), 0, group.comparisons);
+		}
+	}
+
+	private static ThreadGroup[] addRobots(ThreadManager threadManager, int count) {
+		final ThreadGroup[] groups = new ThreadGroup[count];
+
+		for (int i = 0; i < count; i++) {
+			groups[i] = new ThreadGroup("robot" + i);
+			threadManager.addThreadGroup(groups[i], new Robot("robot" + i));
+		}
+		return groups;
+	}
+
+	private static boolean isSafeThread(final ThreadManager threadManager, ThreadGroup group)
+		throws InterruptedException {
+		final boolean[] safe = new boolean[1];
+
+		runIn(group, new Runnable() {
+			public void run() {
+				safe[0] = threadManager.isSafeThread();
+			}
+		});
+		return safe[0];
+	}
+
+	private static void runIn(ThreadGroup group, Runnable runnable) throws InterruptedException {
+		final Throwable[] failure = new Throwable[1];
+		final Thread thread = new Thread(group, runnable);
+
+		thread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+			public void uncaughtException(Thread t, Throwable e) {
+				failure[0] = e;
+			}
+		});
+		thread.start();
+		thread.join();
+		if (failure[0] instanceof AssertionError) {
+			throw (AssertionError) failure[0];
+		}
+		Assert.assertNull(failure[0]);
+	}
+
+	private static class CountingThreadGroup extends ThreadGroup {
+		volatile int comparisons;
+
+		CountingThreadGroup(String name) {
+			super(name);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			comparisons++;
+			return super.equals(obj);
+		}
+	}
+
+	private static class Robot implements IHostedThread {
+		private final String name;
+
+		Robot(String name) {
+			this.name = name;
+		}
+
+		public void run() {}
+
+		public void println(String s) {}
+
+		public void drainEnergy() {}
+
+		public void punishSecurityViolation(String message) {}
+
+		public RobotStatics getStatics() {
+			return null;
+		}
+
+		public RobotFileSystemManager getRobotFileSystemManager() {
+			return null;
+		}
+
+		public RobotOutputStream getOut() {
+			return null;
+		}
+
+		public ClassLoader getRobotClassloader() {
+			return null;
+		}
+
+		public IRobotItem getRobotSpecification() {
+			return null;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+}
@@ -11,6 +11,9 @@ dependencies {
     implementation(project(":robocode.core"))
     implementation(project(":robocode.content"))
     implementation(project(":robocode.host"))
+    if (findProject(":robocode.host.virtual") != null) {
+        runtimeOnly(project(":robocode.host.virtual"))
+    }
     implementation(project(":robocode.repository"))
     implementation(project(":robocode.roborumble"))
     implementation(project(":robocode.samples"))
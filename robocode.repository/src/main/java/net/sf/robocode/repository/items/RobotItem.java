@@ -523,7 +523,8 @@ public class RobotItem extends RobotSpecItem implements IRobotItem {
 	public Integer getCodeSize() {
 		String value = properties.getProperty(ROBOT_CODESIZE);
 		if (value == null) {
-			return null;
+			// measured from the jar of the robot, if the robot is in a jar
+			return Container.getComponent(IHostManager.class).getCodeSize(this);
 		}
 		try {
 			return Integer.parseInt(value);
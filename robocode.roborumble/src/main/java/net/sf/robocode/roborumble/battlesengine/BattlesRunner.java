@@ -9,13 +9,16 @@ package net.sf.robocode.roborumble.battlesengine;
 
 
 import net.sf.robocode.io.Logger;
+import robocode.BattleResults;
 import robocode.control.*;
 import robocode.control.events.BattleAdaptor;
-import robocode.control.events.BattleCompletedEvent;
 import robocode.control.events.BattleErrorEvent;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 
 /**
@@ -33,11 +36,12 @@ public class BattlesRunner {
 	private final int numrounds;
 	private final int fieldlen;
 	private final int fieldhei;
+	private final int battlePoolSize;
 	private final String outfile;
 	private final String user;
 	private final String game;
-	private static RobotResults[] lastResults;
 	private static IRobocodeEngine engine;
+	private static final BattleObserver battleObserver = new BattleObserver();
 
 	public BattlesRunner(String game, Properties parameters) {
 
@@ -45,6 +49,7 @@ public class BattlesRunner {
 		numrounds = Integer.parseInt(parameters.getProperty("ROUNDS", "10"));
 		fieldlen = Integer.parseInt(parameters.getProperty("FIELDL", "800"));
 		fieldhei = Integer.parseInt(parameters.getProperty("FIELDH", "600"));
+		battlePoolSize = Integer.parseInt(parameters.getProperty("BATTLEPOOL", "1"));
 		outfile = parameters.getProperty("OUTPUT", "");
 		user = parameters.getProperty("USER", "");
 		this.game = game;
@@ -55,8 +60,10 @@ public class BattlesRunner {
 	private void initialize() {
 		if (engine == null) {
 			engine = new RobocodeEngine();
-			engine.addBattleListener(new BattleObserver());
+			engine.addBattleListener(battleObserver);
 		}
+		// Battles only run in parallel when asked for, as parallel battles share the CPU time of the robots
+		engine.setBattlePoolSize(battlePoolSize);
 	}
 
 	public String getVersion() {
@@ -80,7 +87,9 @@ public class BattlesRunner {
 			return;
 		}
 
-		// run battle
+		// Submit the battles to the battle pool of the engine, which runs BATTLEPOOL battles at a time
+		List<RumbleBattle> submittedBattles = new ArrayList<RumbleBattle>();
+		List<Future<BattleResults[]>> submittedResults = new ArrayList<Future<BattleResults[]>>();
 		int index = 0;
 
 		while (index < rumbleBattles.size()) {
@@ -88,7 +97,7 @@ public class BattlesRunner {
 
 			String enemies = getEnemies(melee, rumbleBattle.getBots());
 
-			System.out.println("Fighting battle " + (index) + " ... " + enemies);
+			System.out.println("Submitting battle " + (index) + " ... " + enemies);
 
 			final RobotSpecification[] robotsList = engine.getLocalRepository(enemies);
 
@@ -100,11 +109,8 @@ public class BattlesRunner {
 					final BattleSpecification specification = new BattleSpecification(battle.getNumRounds(),
 							battle.getBattlefield(), robotsList);
 
-					lastResults = null;
-					engine.runBattle(specification, true);
-					if (lastResults != null && lastResults.length > 1) {
-						dumpResults(outtxt, lastResults, rumbleBattle, melee);
-					}
+					submittedBattles.add(rumbleBattle);
+					submittedResults.add(engine.submitBattle(specification, null, battleObserver));
 				}
 			} else {
 				System.err.println("Skipping battle because can't load robots: " + enemies);
@@ -112,6 +118,24 @@ public class BattlesRunner {
 			index++;
 		}
 
+		// Dump the results in the order of the battles
+		for (int i = 0; i < submittedBattles.size(); i++) {
+			try {
+				RobotResults[] results = RobotResults.convertResults(submittedResults.get(i).get());
+
+				if (results.length > 1) {
+					dumpResults(outtxt, results, submittedBattles.get(i), melee);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (ExecutionException e) {
+				System.err.println("Battle failed: " + e.getCause());
+			} catch (CancellationException e) {
+				System.err.println("Battle was aborted");
+			}
+		}
+
 		// close
 		outtxt.close();
 	}
@@ -193,15 +217,10 @@ public class BattlesRunner {
 		}
 	}
 
-	class BattleObserver extends BattleAdaptor {
+	static class BattleObserver extends BattleAdaptor {
 		@Override
 		public void onBattleError(final BattleErrorEvent event) {
 			Logger.realErr.println(event.getError());
 		}
-
-		@Override
-		public void onBattleCompleted(final BattleCompletedEvent event) {
-			lastResults = RobotResults.convertResults(event.getSortedResults());
-		}
 	}
 }
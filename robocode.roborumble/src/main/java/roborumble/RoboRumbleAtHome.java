@@ -16,6 +16,7 @@ import net.sf.robocode.roborumble.netengine.UpdateRatingFiles;
 
 import static net.sf.robocode.roborumble.util.PropertiesUtil.getProperties;
 
+import java.lang.management.ManagementFactory;
 import java.util.Map;
 import java.util.Properties;
 
@@ -151,8 +152,12 @@ public class RoboRumbleAtHome {
                     }
                 }
 
-                // Disable the -DPRARALLEL and -DRANDOMSEED options
-                System.setProperty("PARALLEL", "false"); // TODO: Remove when robot thread CPU time can be measured
+                // Disable the -DPARALLEL option if the CPU time of robot threads cannot be measured, as robots
+                // running in parallel are only treated fairly when given the same CPU time.
+                // Disable the -DRANDOMSEED option
+                if (!ManagementFactory.getThreadMXBean().isThreadCpuTimeSupported()) {
+                    System.setProperty("PARALLEL", "false");
+                }
                 System.setProperty("RANDOMSEED", "none"); // In tournaments, robots should not be deterministic!
 
                 // Execute battles
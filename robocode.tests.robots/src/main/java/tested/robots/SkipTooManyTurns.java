@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package tested.robots;
+
+
+import robocode.AdvancedRobot;
+
+
+/**
+ * Takes so long for one turn that it skips too many turns, and is killed by its own thread.
+ */
+public class SkipTooManyTurns extends AdvancedRobot {
+
+	@Override
+	public void run() {
+		// noinspection InfiniteLoopStatement
+		for (;;) {
+			if (getTime() == 10) {
+				try {
+					Thread.sleep(2000);
+				} catch (InterruptedException e) {
+					// eat interrupt
+					e.printStackTrace(out);
+				}
+			}
+			turnLeft(10);
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.test.robots;
+
+
+import net.sf.robocode.battle.IBattleManagerBase;
+import net.sf.robocode.core.ContainerBase;
+import net.sf.robocode.repository.IRepositoryManagerBase;
+import net.sf.robocode.test.helpers.Assert;
+import net.sf.robocode.test.helpers.RobocodeTestBed;
+import org.junit.Test;
+import robocode.BattleResults;
+import robocode.control.BattleSpecification;
+import robocode.control.RobotSpecification;
+import robocode.control.events.BattleAdaptor;
+import robocode.control.events.TurnEndedEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Runs the same battle a number of times in parallel in the battle pool. As the battles use the same seed,
+ * they must all end with the same results, unless they affect each other.
+ */
+public class TestBattlePool extends RobocodeTestBed {
+	private static final int BATTLES = 3;
+
+	@Test
+	public void runBattles() throws Exception {
+		final IBattleManagerBase battleManager = ContainerBase.getComponent(IBattleManagerBase.class);
+		final RobotSpecification[] robots = ContainerBase.getComponent(IRepositoryManagerBase.class).loadSelectedRobots(
+				"sample.Fire,sample.Crazy");
+
+		Assert.assertEquals(2, robots.length);
+
+		final BattleSpecification spec = new BattleSpecification(getNumRounds(), battleFieldSpec, robots);
+		final List<Future<BattleResults[]>> futures = new ArrayList<Future<BattleResults[]>>();
+		final AtomicInteger turns = new AtomicInteger();
+
+		battleManager.setBattlePoolSize(BATTLES);
+
+		final String oldSeed = System.getProperty("RANDOMSEED");
+
+		System.setProperty("RANDOMSEED", "42");
+		try {
+			for (int i = 0; i < BATTLES; i++) {
+				futures.add(battleManager.submitBattle(spec, "(50,50,0), (400,300,0)", new BattleAdaptor() {
+					@Override
+					public void onTurnEnded(TurnEndedEvent event) {
+						turns.incrementAndGet();
+					}
+				}));
+			}
+		} finally {
+			if (oldSeed == null) {
+				System.clearProperty("RANDOMSEED");
+			} else {
+				System.setProperty("RANDOMSEED", oldSeed);
+			}
+		}
+
+		final BattleResults[] expected = futures.get(0).get();
+
+		Assert.assertEquals(2, expected.length);
+		Assert.assertTrue(turns.get() > 0);
+
+		for (Future<BattleResults[]> future : futures) {
+			final BattleResults[] results = future.get();
+
+			Assert.assertEquals(expected.length, results.length);
+			for (int i = 0; i < results.length; i++) {
+				Assert.assertEquals(expected[i].getTeamLeaderName(), results[i].getTeamLeaderName());
+				Assert.assertEquals(expected[i].getScore(), results[i].getScore());
+				Assert.assertEquals(expected[i].getFirsts(), results[i].getFirsts());
+			}
+		}
+		// The events of the pooled battles are not sent to the listeners of the engine
+		Assert.assertEquals(0, errors);
+	}
+
+	@Override
+	public String getRobotName() {
+		return "sample.Fire";
+	}
+
+	@Override
+	public int getNumRounds() {
+		return 3;
+	}
+}
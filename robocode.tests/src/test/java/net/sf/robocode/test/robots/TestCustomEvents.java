@@ -45,8 +45,8 @@ public class TestCustomEvents extends RobocodeTestBed {
 			test(gh, "130 onTick99\n130 onTick30");
 			break;
 
-		case 1451:
-			test(gh, "1451 onTick99\n1451 onLowEnergy98\n1451 onTick30\n1451 onScannedRobot10");
+		case 1400:
+			test(gh, "1400 onTick99\n1400 onLowEnergy98\n1400 onTick30\n1400 onScannedRobot10");
 			break;
 
 		default:
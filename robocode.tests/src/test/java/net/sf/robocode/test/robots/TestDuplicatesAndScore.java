@@ -55,14 +55,14 @@ public class TestDuplicatesAndScore extends RobocodeTestBed {
 			robots = event.getStartSnapshot().getRobots();
 			Assert.assertEquals(8, robots.length);
 
-			net.sf.robocode.test.helpers.Assert.assertNear(568.1445492, robots[0].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(436.7181397, robots[1].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(316.4177265, robots[2].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(721.2294027, robots[3].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(142.7260067, robots[4].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(738.1464346, robots[5].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(335.0596303, robots[6].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(390.7055126, robots[7].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(351.6252513, robots[0].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(612.0803553, robots[1].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(346.3095801, robots[2].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(215.5070529, robots[3].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(53.9163452, robots[4].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(199.3082035, robots[5].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(692.2553907, robots[6].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(530.0049389, robots[7].getX());
 
 			net.sf.robocode.test.helpers.Assert.assertNear(100.000, robots[0].getEnergy());
 			net.sf.robocode.test.helpers.Assert.assertNear(200.000, robots[1].getEnergy());
@@ -82,25 +82,25 @@ public class TestDuplicatesAndScore extends RobocodeTestBed {
 		robots = event.getTurnSnapshot().getRobots();
 
 		if (lastTurn == 1) {
-			net.sf.robocode.test.helpers.Assert.assertNear(568.1445492, robots[0].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(437.5845260, robots[1].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(316.4177265, robots[2].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(721.2294027, robots[3].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(142.4365354, robots[4].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(738.1464346, robots[5].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(335.0596303, robots[6].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(389.7078698, robots[7].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(351.6252513, robots[0].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(612.8349414, robots[1].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(346.3095801, robots[2].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(215.5070529, robots[3].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(53.0627712, robots[4].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(199.3082035, robots[5].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(692.2553907, robots[6].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(530.0164200, robots[7].getX());
 		}
 
 		if (lastTurn == 1365) {
-			net.sf.robocode.test.helpers.Assert.assertNear(527.1839449, robots[0].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(341.8063907, robots[1].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(316.4177264, robots[2].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(662.4020551, robots[3].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(129.2596444, robots[4].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(738.1464345, robots[5].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(395.2010724, robots[6].getX());
-			net.sf.robocode.test.helpers.Assert.assertNear(333.4148840, robots[7].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(351.6046309, robots[0].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(684.3099773, robots[1].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(346.3095801, robots[2].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(227.9318476, robots[3].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(38.3273160, robots[4].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(199.3082035, robots[5].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(705.3497665, robots[6].getX());
+			net.sf.robocode.test.helpers.Assert.assertNear(263.0602736, robots[7].getX());
 		}
 	}
 
@@ -131,8 +131,8 @@ public class TestDuplicatesAndScore extends RobocodeTestBed {
 
 		Assert.assertThat(results[0].getTeamLeaderName(), is("tested.robots.TestTeam (2)"));
 		Assert.assertThat(results[1].getTeamLeaderName(), is("tested.robots.TestTeam (1)"));
-		Assert.assertThat(results[2].getTeamLeaderName(), is("sample.Fire (1)"));
-		Assert.assertThat(results[3].getTeamLeaderName(), is("sample.Crazy"));
+		Assert.assertThat(results[2].getTeamLeaderName(), is("sample.Crazy"));
+		Assert.assertThat(results[3].getTeamLeaderName(), is("sample.Fire (1)"));
 
 		Assert.assertThat(results[0].getLastSurvivorBonus(), is(100));
 		Assert.assertThat(results[1].getLastSurvivorBonus(), is(0));
@@ -140,25 +140,25 @@ public class TestDuplicatesAndScore extends RobocodeTestBed {
 		Assert.assertThat(results[3].getLastSurvivorBonus(), is(0));
 
 		Assert.assertThat(results[0].getRamDamage(), is(0));
-		Assert.assertThat(results[1].getRamDamage(), is(2));
-		Assert.assertThat(results[2].getRamDamage(), is(1));
-		Assert.assertThat(results[3].getRamDamage(), is(10));
+		Assert.assertThat(results[1].getRamDamage(), is(0));
+		Assert.assertThat(results[2].getRamDamage(), is(4));
+		Assert.assertThat(results[3].getRamDamage(), is(0));
 
-		Assert.assertThat(results[0].getBulletDamageBonus(), is(91));
+		Assert.assertThat(results[0].getBulletDamageBonus(), is(86));
 		Assert.assertThat(results[1].getBulletDamageBonus(), is(18));
 		Assert.assertThat(results[2].getBulletDamageBonus(), is(0));
 		Assert.assertThat(results[3].getBulletDamageBonus(), is(0));
 
-		Assert.assertThat(results[0].getBulletDamage(), is(501));
-		Assert.assertThat(results[1].getBulletDamage(), is(291));
-		Assert.assertThat(results[2].getBulletDamage(), is(92));
-		Assert.assertThat(results[3].getBulletDamage(), is(48));
+		Assert.assertThat(results[0].getBulletDamage(), is(432));
+		Assert.assertThat(results[1].getBulletDamage(), is(180));
+		Assert.assertThat(results[2].getBulletDamage(), is(40));
+		Assert.assertThat(results[3].getBulletDamage(), is(120));
 
-		Assert.assertThat(results[0].getScore(), is(1192));
-		Assert.assertThat(results[1].getScore(), is(661));
-		Assert.assertThat(results[2].getScore(), is(243));
-		Assert.assertThat(results[3].getScore(), is(158));
+		Assert.assertThat(results[0].getScore(), is(1168));
+		Assert.assertThat(results[1].getScore(), is(448));
+		Assert.assertThat(results[2].getScore(), is(244));
+		Assert.assertThat(results[3].getScore(), is(220));
 
-		Assert.assertThat(lastTurn, is(866));
+		Assert.assertThat(lastTurn, is(1439));
 	}
 }
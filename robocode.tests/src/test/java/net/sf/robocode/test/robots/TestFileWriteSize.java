@@ -38,6 +38,11 @@ public class TestFileWriteSize extends RobocodeTestBed {
 		return "tested.robots.FileWriteSize";
 	}
 
+	@Override
+	public String getInitialPositions() {
+		return "(50,50,0), (400,300,0)"; // Make sure the target does not hit a wall, so both robots are zapped equally
+	}
+
 	@Override
 	public void onTurnEnded(TurnEndedEvent event) {
 		super.onTurnEnded(event);
@@ -42,10 +42,10 @@ public class TestPosition extends RobocodeTestBed {
 			IRobotSnapshot crazy = event.getStartSnapshot().getRobots()[0];
 			IRobotSnapshot target = event.getStartSnapshot().getRobots()[1];
 
-			Assert.assertNear(568.1445492, crazy.getX());
-			Assert.assertNear(163.0032275, crazy.getY());
-			Assert.assertNear(436.7181397, target.getX());
-			Assert.assertNear(351.5039067, target.getY());
+			Assert.assertNear(351.6252513, crazy.getX());
+			Assert.assertNear(537.4850787, crazy.getY());
+			Assert.assertNear(612.0803553, target.getX());
+			Assert.assertNear(487.1508376, target.getY());
 		}
 	}
 
@@ -58,22 +58,22 @@ public class TestPosition extends RobocodeTestBed {
 		IRobotSnapshot target = event.getTurnSnapshot().getRobots()[1];
 
 		if (lastTurn == 1) {
-			Assert.assertNear(567.2831835, crazy.getX());
-			Assert.assertNear(162.4952421, crazy.getY());
-			Assert.assertNear(436.7181397, target.getX());
-			Assert.assertNear(351.5039067, target.getY());
+			Assert.assertNear(351.8838383, crazy.getX());
+			Assert.assertNear(536.5190907, crazy.getY());
+			Assert.assertNear(612.0803553, target.getX());
+			Assert.assertNear(487.1508376, target.getY());
 		}
 
 		if (lastTurn == 1700) {
-			Assert.assertNear(373.9958377, crazy.getX());
-			Assert.assertNear(196.1380677, crazy.getY());
-			Assert.assertNear(340.3212984, target.getX());
-			Assert.assertNear(456.5502002, target.getY());
+			Assert.assertNear(373.1548639, crazy.getX());
+			Assert.assertNear(392.2259137, crazy.getY());
+			Assert.assertNear(528.9597887, target.getX());
+			Assert.assertNear(499.0857183, target.getY());
 		}
 	}
 
 	@Override
 	protected void runTeardown() {
-		Assert.assertThat(lastTurn, is(2080));
+		Assert.assertThat(lastTurn, is(2517));
 	}
 }
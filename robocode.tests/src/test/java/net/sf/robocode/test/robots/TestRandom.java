@@ -51,7 +51,7 @@ public class TestRandom extends RobocodeTestBed {
             final Random random = Utils.getRandom();
 
             if (event.getRobotsCount() == 2) {
-                Assert.assertNear(0.98484154, random.nextDouble());
+                Assert.assertNear(0.63741743, random.nextDouble());
             }
         }
     }
@@ -60,15 +60,15 @@ public class TestRandom extends RobocodeTestBed {
     public void onTurnEnded(TurnEndedEvent event) {
         super.onTurnEnded(event);
 
-        Assert.assertTrue(event.getTurnSnapshot().getTurn() <= 1407);
+        Assert.assertTrue(event.getTurnSnapshot().getTurn() <= 1201);
         IRobotSnapshot fire = event.getTurnSnapshot().getRobots()[0];
         IRobotSnapshot random = event.getTurnSnapshot().getRobots()[1];
 
-        if (event.getTurnSnapshot().getTurn() == 1241) {
-            Assert.assertNear(213.18621928, fire.getX());
-            Assert.assertNear(371.45706118, fire.getY());
-            Assert.assertNear(782.0, random.getX());
-            Assert.assertNear(230.95479253, random.getY());
+        if (event.getTurnSnapshot().getTurn() == 1000) {
+            Assert.assertNear(334.87229768, fire.getX());
+            Assert.assertNear(395.97724693, fire.getY());
+            Assert.assertNear(663.75572853, random.getX());
+            Assert.assertNear(27.57012107, random.getY());
         }
     }
 }
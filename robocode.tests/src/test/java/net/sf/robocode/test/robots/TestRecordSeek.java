@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.test.robots;
+
+
+import net.sf.robocode.battle.IBattleManagerBase;
+import net.sf.robocode.core.ContainerBase;
+import net.sf.robocode.test.helpers.Assert;
+import net.sf.robocode.test.helpers.RobocodeTestBed;
+import org.junit.Test;
+import robocode.control.snapshot.IBulletSnapshot;
+import robocode.control.snapshot.IRobotSnapshot;
+import robocode.control.snapshot.ITurnSnapshot;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Records a battle, and seeks to turns before, on and after the key frames of the record, which are written every
+ * 64 turns. Every turn read by seeking must be the same as the turn read when the record is played back in order.
+ */
+public class TestRecordSeek extends RobocodeTestBed {
+	private static final int KEY_FRAME_INTERVAL = 64;
+
+	private final List<List<String>> sequentialTurns = new ArrayList<List<String>>();
+	private int seeks;
+
+	@Test
+	public void run() {
+		super.run();
+	}
+
+	@Override
+	public String getRobotName() {
+		return "sample.Walls";
+	}
+
+	@Override
+	public String getEnemyName() {
+		return "sample.SpinBot,sample.Crazy,sample.Corners";
+	}
+
+	@Override
+	public int getNumRounds() {
+		return 2;
+	}
+
+	@Override
+	public boolean isEnableRecording() {
+		return true;
+	}
+
+	@Override
+	protected void runTeardown() {
+		try {
+			// The record manager is loaded by the engine class loader, so it is reached through reflection
+			final IBattleManagerBase battleManager = ContainerBase.getComponent(IBattleManagerBase.class);
+			final Class<?> recordManagerClass = battleManager.getClass().getClassLoader().loadClass(
+					"net.sf.robocode.recording.IRecordManager");
+			final Object recordManager = ContainerBase.getComponent(recordManagerClass);
+			final Method prepareInputStream = recordManager.getClass().getDeclaredMethod("prepareInputStream");
+			final Method readSnapshot = recordManager.getClass().getDeclaredMethod("readSnapshot", int.class,
+					int.class);
+
+			prepareInputStream.setAccessible(true);
+			readSnapshot.setAccessible(true);
+			prepareInputStream.invoke(recordManager);
+
+			// Playback in order
+			for (int round = 0; round < getNumRounds(); round++) {
+				final List<String> turns = new ArrayList<String>();
+
+				ITurnSnapshot turn;
+
+				while ((turn = (ITurnSnapshot) readSnapshot.invoke(recordManager, round, turns.size())) != null) {
+					Assert.assertEquals(round, turn.getRound());
+					turns.add(describe(turn));
+				}
+				Assert.assertTrue("Round " + round + " is too short", turns.size() > 2 * KEY_FRAME_INTERVAL + 1);
+				sequentialTurns.add(turns);
+			}
+
+			// Backwards, forwards past key frames, and into the other round
+			final int[] offsets = { 1, 0, -1, KEY_FRAME_INTERVAL + 1, -1, 0, KEY_FRAME_INTERVAL, -KEY_FRAME_INTERVAL };
+
+			for (int round = getNumRounds() - 1; round >= 0; round--) {
+				final List<String> turns = sequentialTurns.get(round);
+
+				for (int keyFrame = KEY_FRAME_INTERVAL; keyFrame < turns.size(); keyFrame += KEY_FRAME_INTERVAL) {
+					for (int offset : offsets) {
+						seek(readSnapshot, recordManager, round, keyFrame + offset);
+					}
+				}
+				seek(readSnapshot, recordManager, round, turns.size() - 1);
+				seek(readSnapshot, recordManager, round, 0);
+				seek(readSnapshot, recordManager, 1 - round, KEY_FRAME_INTERVAL + 1);
+			}
+			Assert.assertNull(readSnapshot.invoke(recordManager, 0, sequentialTurns.get(0).size()));
+			Assert.assertTrue(seeks > 10 * offsets.length);
+		} catch (Exception e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	private void seek(Method readSnapshot, Object recordManager, int round, int turn) throws Exception {
+		final List<String> turns = sequentialTurns.get(round);
+
+		if (turn < 0 || turn >= turns.size()) {
+			return;
+		}
+		final ITurnSnapshot snapshot = (ITurnSnapshot) readSnapshot.invoke(recordManager, round, turn);
+
+		Assert.assertNotNull("Turn " + turn + " of round " + round, snapshot);
+		Assert.assertEquals("Turn " + turn + " of round " + round, turns.get(turn), describe(snapshot));
+		seeks++;
+	}
+
+	private static String describe(ITurnSnapshot turn) {
+		final StringBuilder description = new StringBuilder();
+
+		description.append(turn.getRound()).append('/').append(turn.getTurn());
+		for (IRobotSnapshot robot : turn.getRobots()) {
+			description.append(' ').append(robot.getName()).append(' ').append(robot.getState()).append(' ')
+					.append(robot.getX()).append(',').append(robot.getY()).append(',').append(robot.getEnergy())
+					.append(',').append(robot.getBodyHeading()).append(',').append(robot.getGunHeading()).append(',')
+					.append(robot.getScoreSnapshot().getCurrentScore());
+		}
+		for (IBulletSnapshot bullet : turn.getBullets()) {
+			description.append(" bullet ").append(bullet.getBulletId()).append(' ').append(bullet.getState())
+					.append(' ').append(bullet.getX()).append(',').append(bullet.getY());
+		}
+		return description.toString();
+	}
+}
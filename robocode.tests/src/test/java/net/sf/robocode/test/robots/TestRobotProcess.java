@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.test.robots;
+
+
+import net.sf.robocode.battle.IBattleManagerBase;
+import net.sf.robocode.core.ContainerBase;
+import net.sf.robocode.test.helpers.Assert;
+import net.sf.robocode.test.helpers.RobocodeTestBed;
+import org.junit.Test;
+import robocode.control.events.BattleCompletedEvent;
+import robocode.control.events.TurnEndedEvent;
+import robocode.control.snapshot.IRobotSnapshot;
+import robocode.control.snapshot.ITurnSnapshot;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+
+/**
+ * Runs a battle with the robots hosted in robot processes, and kills one of the robot processes in the first
+ * round. The robots of the killed process must be disabled for the rest of the battle, while the other robots
+ * go on fighting.
+ */
+public class TestRobotProcess extends RobocodeTestBed {
+	private static final int ROBOTS_PER_PROCESS = 4;
+
+	private int processCount;
+	private int killedRobots;
+	private int disabledRobots = -1;
+	private int enabledRobots = -1;
+	private int resultCount;
+
+	@Test
+	public void run() {
+		super.run();
+	}
+
+	@Override
+	public String getRobotName() {
+		return "sample.Fire";
+	}
+
+	@Override
+	public String getEnemyName() {
+		return "sample.Crazy,sample.SpinBot,sample.Walls,sample.Tracker,sample.SittingDuck";
+	}
+
+	@Override
+	public int getExpectedRobotCount(String robotList) {
+		return 6;
+	}
+
+	@Override
+	public int getNumRounds() {
+		return 3;
+	}
+
+	@Override
+	protected void runSetup() {
+		System.setProperty("ROBOTPROCESS", "true");
+		System.setProperty("ROBOTSPERPROCESS", "" + ROBOTS_PER_PROCESS);
+	}
+
+	@Override
+	public void after() {
+		System.clearProperty("ROBOTPROCESS");
+		System.clearProperty("ROBOTSPERPROCESS");
+		super.after();
+	}
+
+	@Override
+	public void onTurnEnded(TurnEndedEvent event) {
+		super.onTurnEnded(event);
+
+		final ITurnSnapshot turn = event.getTurnSnapshot();
+
+		if (turn.getRound() == 0 && turn.getTurn() == 100) {
+			killRobotProcess();
+		}
+		if (turn.getRound() == 1 && turn.getTurn() == 20) {
+			disabledRobots = 0;
+			enabledRobots = 0;
+			for (IRobotSnapshot robot : turn.getRobots()) {
+				if (robot.getEnergy() == 0) {
+					disabledRobots++;
+				} else {
+					enabledRobots++;
+				}
+			}
+		}
+	}
+
+	@Override
+	public void onBattleCompleted(BattleCompletedEvent event) {
+		super.onBattleCompleted(event);
+		resultCount = event.getSortedResults().length;
+	}
+
+	@Override
+	protected void runTeardown() {
+		Assert.assertTrue("Robot processes: " + processCount, processCount >= 2);
+		Assert.assertEquals(ROBOTS_PER_PROCESS, killedRobots);
+		Assert.assertEquals(killedRobots, disabledRobots);
+		Assert.assertEquals(6 - killedRobots, enabledRobots);
+		Assert.assertEquals(6, resultCount);
+	}
+
+	// The robot processes are kept by RobotProcess, which is loaded by the engine class loader
+	private void killRobotProcess() {
+		try {
+			final IBattleManagerBase battleManager = ContainerBase.getComponent(IBattleManagerBase.class);
+			final Class<?> robotProcessClass = battleManager.getClass().getClassLoader().loadClass(
+					"net.sf.robocode.host.process.RobotProcess");
+			final List<?> processes = (List<?>) getField(robotProcessClass, "processes").get(null);
+
+			synchronized (processes) {
+				processCount = processes.size();
+
+				final Object robotProcess = processes.get(0);
+
+				for (boolean isUsed : (boolean[]) getField(robotProcessClass, "usedSlots").get(robotProcess)) {
+					if (isUsed) {
+						killedRobots++;
+					}
+				}
+				((Process) getField(robotProcessClass, "process").get(robotProcess)).destroyForcibly();
+			}
+		} catch (Exception e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	private static Field getField(Class<?> type, String name) throws NoSuchFieldException {
+		final Field field = type.getDeclaredField(name);
+
+		field.setAccessible(true);
+		return field;
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.test.robots;
+
+
+import net.sf.robocode.test.helpers.Assert;
+import net.sf.robocode.test.helpers.RobocodeTestBed;
+import org.junit.Test;
+import robocode.control.events.TurnEndedEvent;
+import robocode.control.snapshot.IRobotSnapshot;
+import robocode.control.snapshot.RobotState;
+
+
+/**
+ * Checks that a robot killed by its own thread for skipping too many turns dies like a robot killed by the battle,
+ * i.e. that the other robots are told, and that the round goes on with the robots still alive.
+ */
+public class TestSkippedTooManyTurns extends RobocodeTestBed {
+	private boolean messagedSkipped;
+	private int deathTurn = -1;
+	private int robotsAliveAtDeath;
+	private int lastTurn;
+
+	@Test
+	public void run() {
+		super.run();
+	}
+
+	@Override
+	public String getRobotName() {
+		return "tested.robots.RobotDeathEvents";
+	}
+
+	@Override
+	public String getEnemyName() {
+		return "tested.robots.SkipTooManyTurns,sample.Crazy,sample.Target";
+	}
+
+	@Override
+	public void onTurnEnded(TurnEndedEvent event) {
+		super.onTurnEnded(event);
+
+		final IRobotSnapshot[] robots = event.getTurnSnapshot().getRobots();
+
+		if (robots[0].getOutputStreamSnapshot().contains("enemyCount != getOthers()")) {
+			Assert.fail("Robot is missing RobotDeathEvent");
+		}
+		if (robots[1].getOutputStreamSnapshot().contains("has not performed any actions in a reasonable amount")) {
+			messagedSkipped = true;
+		}
+		if (deathTurn < 0 && robots[1].getState() == RobotState.DEAD) {
+			deathTurn = event.getTurnSnapshot().getTurn();
+			for (IRobotSnapshot robot : robots) {
+				if (robot.getState() != RobotState.DEAD) {
+					robotsAliveAtDeath++;
+				}
+			}
+		}
+		lastTurn = event.getTurnSnapshot().getTurn();
+	}
+
+	@Override
+	protected void runTeardown() {
+		Assert.assertTrue("Didn't skip too many turns", messagedSkipped);
+		Assert.assertTrue("Didn't die", deathTurn > 0);
+		Assert.assertTrue("Robots alive at death: " + robotsAliveAtDeath, robotsAliveAtDeath >= 2);
+		Assert.assertTrue("The round ended when the robot died", lastTurn > deathTurn + 1);
+	}
+}
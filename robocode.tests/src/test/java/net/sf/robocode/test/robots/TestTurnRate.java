@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2001-2023 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.test.robots;
+
+
+import net.sf.robocode.io.Logger;
+import net.sf.robocode.test.helpers.Assert;
+import net.sf.robocode.test.helpers.RobocodeTestBed;
+import org.junit.Ignore;
+import org.junit.Test;
+import robocode.control.events.TurnEndedEvent;
+
+
+/**
+ * Measures the number of turns per second of battles between sample robots, which mostly depends on how
+ * fast control is handed between the battle thread and the robot threads. The first round is a warmup,
+ * and is not measured.
+ */
+@Ignore("is a benchmark, which depends on the machine, please run explicitly if you did something to the turn handling")
+public class TestTurnRate extends RobocodeTestBed {
+	private long turns;
+	private long startTime;
+	private long endTime;
+
+	@Test
+	public void runTwoRobots() {
+		run("sample.Walls", "sample.SpinBot");
+		report("2 robots");
+	}
+
+	@Test
+	public void runTenRobots() {
+		run("sample.Walls", "sample.SpinBot,sample.Crazy,sample.Corners,sample.Fire,sample.RamFire,sample.Tracker,"
+				+ "sample.TrackFire,sample.SittingDuck,sample.Target");
+		report("10 robots");
+	}
+
+	@Override
+	public void onTurnEnded(TurnEndedEvent event) {
+		super.onTurnEnded(event);
+		if (event.getTurnSnapshot().getRound() > 0) {
+			if (turns++ == 0) {
+				startTime = System.nanoTime();
+			}
+			endTime = System.nanoTime();
+		}
+	}
+
+	private void report(String battle) {
+		Assert.assertTrue(turns > 1);
+
+		final double tps = (turns - 1) * 1e9 / (endTime - startTime);
+
+		Logger.realOut.println(battle + ": " + turns + " turns, " + Math.round(tps) + " TPS");
+	}
+
+	@Override
+	public String getRobotName() {
+		return "sample.Walls";
+	}
+
+	@Override
+	public int getNumRounds() {
+		return 6;
+	}
+}
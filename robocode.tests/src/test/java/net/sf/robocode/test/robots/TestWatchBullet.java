@@ -36,10 +36,10 @@ public class TestWatchBullet extends RobocodeTestBed {
 		final String out = robot.getOutputStreamSnapshot();
 		final int time = event.getTurnSnapshot().getTurn();
 
-		test(out, time, 33, "33 487.438779505497 119.51131582855926 347.66745091446046 true");
-		test(out, time, 45, "45 459.24550664858225 248.46533618316306 347.66745091446046 true");
-		test(out, time, 52, "52 442.799430815382 323.6885147233484 347.66745091446046 true");
-		test(out, time, 53, "53 440.4499914106391 334.43468308623204 347.66745091446046 false");
+		test(out, time, 35, "35 425.05642466413804 456.23065264747737 73.25161641278176 true");
+		test(out, time, 45, "45 581.0120136392226 503.16315908168775 73.25161641278176 true");
+		test(out, time, 58, "58 783.7542793068325 564.1754174461612 73.25161641278176 true");
+		test(out, time, 59, "59 799.3498382043409 568.8686680895822 73.25161641278176 false");
 	}
 
 	private void test(String out, int timecurr, int timeWatch, String in) {
@@ -10,7 +10,7 @@ package net.sf.robocode.ui.battle;
 
 import net.sf.robocode.battle.IBattleManager;
 import net.sf.robocode.battle.events.BattleEventDispatcher;
-import net.sf.robocode.battle.snapshot.RobotSnapshot;
+import net.sf.robocode.battle.snapshot.TurnSnapshot;
 import net.sf.robocode.io.Logger;
 import robocode.control.events.*;
 import robocode.control.snapshot.IRobotSnapshot;
@@ -102,32 +102,24 @@ public final class AwtBattleAdaptor {
 				if (lastSnapshot != current || !skipSameFrames || forceRepaint) {
 					lastSnapshot = current;
 
-					IRobotSnapshot[] robots = null;
+					// The output is shown in a copy, as the snapshot is shared with the other listeners of the battle
+					final String[] output = new String[outCache != null ? outCache.length : 0];
 
 					if (readoutText) {
 						synchronized (snapshot) {
-							robots = lastSnapshot.getRobots();
-
-							for (int i = 0; i < robots.length; i++) {
-								RobotSnapshot robot = (RobotSnapshot) robots[i];
-
+							for (int i = 0; i < output.length; i++) {
 								final StringBuilder cache = outCache[i];
 
 								if (cache.length() > 0) {
-									robot.setOutputStreamSnapshot(cache.toString());
-									outCache[i].setLength(0);
+									output[i] = cache.toString();
+									cache.setLength(0);
 								}
 							}
 						}
 					}
 
-					battleEventDispatcher.onTurnEnded(new TurnEndedEvent(lastSnapshot));
-
-					if (readoutText) {
-						for (IRobotSnapshot robot : robots) {
-							((RobotSnapshot) robot).setOutputStreamSnapshot(null);
-						}
-					}
+					battleEventDispatcher.onTurnEnded(new TurnEndedEvent(
+							((TurnSnapshot) lastSnapshot).withOutputStreamSnapshots(output)));
 
 					calculateFPS();
 				}
@@ -183,12 +175,10 @@ public final class AwtBattleAdaptor {
 			final IRobotSnapshot[] robots = event.getTurnSnapshot().getRobots();
 
 			for (int i = 0; i < robots.length; i++) {
-				RobotSnapshot robot = (RobotSnapshot) robots[i];
 				final int r = i;
-				final String text = robot.getOutputStreamSnapshot();
+				final String text = robots[i].getOutputStreamSnapshot();
 
 				if (text != null && text.length() != 0) {
-					robot.setOutputStreamSnapshot(null);
 					EventQueue.invokeLater(new Runnable() {
 						public void run() {
 							synchronized (snapshot) {
@@ -901,9 +901,14 @@ public class MenuBar extends JMenuBar {
 			}
 
 			long cpuConstant = cpuManager.getCpuConstant();
+			double variance = cpuManager.getCpuConstantVariance();
 
-			JOptionPane.showMessageDialog(this, "CPU constant: " + cpuConstant + " nanoseconds per turn",
-					"New CPU constant", JOptionPane.INFORMATION_MESSAGE);
+			String message = "CPU constant: " + cpuConstant + " nanoseconds per turn";
+
+			if (variance >= 0) {
+				message += "\nStandard deviation: " + (long) Math.sqrt(variance) + " nanoseconds";
+			}
+			JOptionPane.showMessageDialog(this, message, "New CPU constant", JOptionPane.INFORMATION_MESSAGE);
 		}
 	}
 
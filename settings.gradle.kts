@@ -3,6 +3,10 @@ include(":robocode.api")
 include(":robocode.battle")
 include(":robocode.core")
 include(":robocode.host")
+// Robots can run on virtual threads, which needs Java 21 to build
+if (JavaVersion.current().isCompatibleWith(JavaVersion.VERSION_21)) {
+    include(":robocode.host.virtual")
+}
 include(":robocode.installer")
 include(":robocode.content")
 include(":robocode.repository")